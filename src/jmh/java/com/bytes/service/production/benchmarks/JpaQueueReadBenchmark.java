@@ -0,0 +1,129 @@
+package com.bytes.service.production.benchmarks;
+
+import com.bytes.service.production.adapters.outbound.persistence.JpaOrderProductionAdapter;
+import com.bytes.service.production.adapters.outbound.persistence.OrderProductionEntity;
+import com.bytes.service.production.adapters.outbound.persistence.OrderProductionRepository;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura da fila ativa pelo H2 em memória: projeção do adapter contra a abordagem ingênua,
+ * que carrega entidades gerenciadas numa transação de escrita e só depois monta os objetos de domínio.
+ * Rodar com {@code mvn -Pjmh test-compile exec:exec -Djmh.args=JpaQueueReadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JpaQueueReadBenchmark {
+
+    private static final List<ProductionStatus> ACTIVE = List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION);
+
+    @Param({"100", "1000", "10000"})
+    public int queueSize;
+
+    private ConfigurableApplicationContext context;
+    private JpaOrderProductionAdapter adapter;
+    private EntityManager entityManager;
+    private TransactionTemplate transaction;
+    private ProductionOrderMapper mapper;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(PersistenceOnly.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jpa-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.cloud.config.enabled=false",
+                        "eureka.client.enabled=false")
+                .run();
+        OrderProductionRepository repository = context.getBean(OrderProductionRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        adapter = new JpaOrderProductionAdapter(repository, transactionManager);
+        entityManager = context.getBean(EntityManager.class);
+        transaction = new TransactionTemplate(transactionManager);
+        mapper = new ProductionOrderMapper();
+
+        LocalDateTime receivedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<OrderProduction> orders = new ArrayList<>(queueSize);
+        for (int i = 0; i < queueSize; i++) {
+            long orderId = i + 1;
+            ProductionStatus status = i % 4 == 0 ? ProductionStatus.IN_PREPARATION : ProductionStatus.RECEIVED;
+            orders.add(new OrderProduction(orderId, status, receivedAt.plusSeconds(i), i + 1, "Customer " + orderId));
+        }
+        adapter.saveAll(orders);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductionQueue> projection() {
+        return transaction.execute(status -> adapter.findByStatusIn(new ArrayList<>(ACTIVE)).stream()
+                .map(mapper::toProductionQueueDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProductionQueue> managedEntities() {
+        return transaction.execute(status -> entityManager
+                .createQuery("SELECT o FROM OrderProductionEntity o WHERE o.status IN :statuses", OrderProductionEntity.class)
+                .setParameter("statuses", ACTIVE)
+                .getResultList().stream()
+                .map(JpaQueueReadBenchmark::toDomain)
+                .map(mapper::toProductionQueueDTO)
+                .toList());
+    }
+
+    private static OrderProduction toDomain(OrderProductionEntity entity) {
+        OrderProduction production = new OrderProduction(entity.getOrderId(), entity.getStatus(), entity.getStartedAt(),
+                entity.getPositionInQueue(), entity.getCustomerName());
+        production.setId(entity.getId());
+        production.setUpdatedAt(entity.getUpdatedAt());
+        production.setFinishedAt(entity.getFinishedAt());
+        production.setDeliveredAt(entity.getDeliveredAt());
+        return production;
+    }
+
+    // Só DataSource, Flyway e JPA; nada de web, mensageria ou beans da aplicação
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = OrderProductionEntity.class)
+    @EnableJpaRepositories(basePackageClasses = OrderProductionRepository.class)
+    static class PersistenceOnly {
+    }
+}
@@ -0,0 +1,46 @@
+package com.bytes.service.production.benchmarks;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductionOrderMapperBenchmark {
+
+    private List<OrderProduction> activeOrders;
+
+    @Setup
+    public void setUp(ProductionQueueState queue) {
+        activeOrders = queue.repository.findByStatusIn(
+                List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION)
+        );
+    }
+
+    @Benchmark
+    public List<ProductionQueue> toProductionQueueDTO(ProductionQueueState queue) {
+        List<ProductionQueue> result = new ArrayList<>(activeOrders.size());
+        for (OrderProduction order : activeOrders) {
+            result.add(queue.mapper.toProductionQueueDTO(order));
+        }
+        return result;
+    }
+}
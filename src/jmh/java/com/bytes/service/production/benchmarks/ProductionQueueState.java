@@ -0,0 +1,81 @@
+package com.bytes.service.production.benchmarks;
+
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryNotificationOutbox;
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryOrderArchive;
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryOrderProductionRepository;
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryStationTaskRepository;
+import com.bytes.service.production.adapters.outbound.persistence.IndexedOrderProductionRepository;
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.application.events.ProductionEventDispatcher;
+import com.bytes.service.production.application.queue.FifoOrderingPolicy;
+import com.bytes.service.production.application.queue.QueueOrderingPolicy;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.queue.QueuePositionIndex;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Fila pré-carregada com {@code queueSize} pedidos ativos no repositório em memória, atrás do índice de posições,
+ * do mesmo jeito que a aplicação monta o repositório.
+ */
+@State(Scope.Benchmark)
+public class ProductionQueueState {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int queueSize;
+
+    public InMemoryOrderProductionRepository store;
+    public QueuePositionIndex index;
+    public IndexedOrderProductionRepository repository;
+    public ProductionOrderMapper mapper;
+    public ProductionEventDispatcher events;
+    public InMemoryNotificationOutbox outbox;
+    public InMemoryStationTaskRepository stationTasks;
+    public InMemoryOrderArchive archive;
+    public PreparationTimeEstimator estimator;
+    public QueueOrderingPolicy orderingPolicy;
+    public long[] orderIds;
+
+    @Setup
+    public void setUpQueue() {
+        store = new InMemoryOrderProductionRepository();
+        index = new QueuePositionIndex();
+        repository = new IndexedOrderProductionRepository(store, index);
+        mapper = new ProductionOrderMapper();
+        orderingPolicy = new FifoOrderingPolicy();
+        events = new ProductionEventDispatcher(List.of(orderingPolicy));
+        outbox = new InMemoryNotificationOutbox();
+        stationTasks = new InMemoryStationTaskRepository();
+        archive = new InMemoryOrderArchive();
+        estimator = new PreparationTimeEstimator(0.2, Duration.ofMinutes(10));
+        orderIds = new long[queueSize];
+
+        LocalDateTime receivedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 0; i < queueSize; i++) {
+            long orderId = i + 1;
+            ProductionStatus status = i % 4 == 0 ? ProductionStatus.IN_PREPARATION : ProductionStatus.RECEIVED;
+            repository.save(new OrderProduction(orderId, status, receivedAt.plusSeconds(i), null, "Customer " + orderId));
+            orderIds[i] = orderId;
+        }
+    }
+
+    // Ninguém entrega os avisos durante o benchmark; descarta para a outbox não crescer entre iterações
+    @TearDown(Level.Iteration)
+    public void drainOutbox() {
+        outbox.pending().forEach(notification -> outbox.markDelivered(notification.getId()));
+    }
+
+    public OrderProduction stored(long orderId) {
+        return store.findByOrderId(orderId).orElseThrow();
+    }
+}
@@ -0,0 +1,93 @@
+package com.bytes.service.production.benchmarks;
+
+import com.bytes.service.production.application.useCases.GetActiveOrdersUseCase;
+import com.bytes.service.production.application.useCases.StartOrderUseCase;
+import com.bytes.service.production.application.useCases.UpdateOrderStatusUseCase;
+import com.bytes.service.production.domain.models.OrderIntake;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminhos quentes dos casos de uso contra o repositório em memória.
+ * Rodar com {@code mvn -Pjmh test-compile exec:exec}; o profiler de GC já vem ligado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UseCaseBenchmark {
+
+    private static final int INTAKE_BATCH = 100;
+
+    private StartOrderUseCase startOrderUseCase;
+    private UpdateOrderStatusUseCase updateOrderStatusUseCase;
+    private GetActiveOrdersUseCase getActiveOrdersUseCase;
+
+    private long nextOrderId;
+    private long firstOfBatch;
+    private int cursor;
+
+    @Setup
+    public void setUp(ProductionQueueState queue) {
+        startOrderUseCase = new StartOrderUseCase(queue.repository, queue.events, queue.stationTasks, queue.estimator, queue.archive);
+        updateOrderStatusUseCase = new UpdateOrderStatusUseCase(queue.repository, queue.events, queue.outbox);
+        getActiveOrdersUseCase = new GetActiveOrdersUseCase(queue.mapper, queue.repository, queue.estimator, queue.orderingPolicy);
+        nextOrderId = queue.queueSize + 1L;
+    }
+
+    @Setup(Level.Invocation)
+    public void markBatch() {
+        firstOfBatch = nextOrderId;
+    }
+
+    // Tira os pedidos do lote para a fila voltar ao tamanho do parâmetro
+    @TearDown(Level.Invocation)
+    public void dropBatch(ProductionQueueState queue) {
+        for (long orderId = firstOfBatch; orderId < nextOrderId; orderId++) {
+            queue.store.delete(orderId);
+            queue.index.remove(orderId);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INTAKE_BATCH)
+    public void startOrder() {
+        for (int i = 0; i < INTAKE_BATCH; i++) {
+            startOrderUseCase.execute(new OrderIntake(nextOrderId++, "Benchmark Customer"));
+        }
+    }
+
+    // A volta para RECEIVED é uma escrita de campo no objeto guardado, fora do caso de uso
+    @Benchmark
+    public void updateOrderStatus(ProductionQueueState queue) {
+        long orderId = queue.orderIds[cursor++ % queue.queueSize];
+        var stored = queue.stored(orderId);
+        ProductionStatus original = stored.getStatus();
+        stored.setStatus(ProductionStatus.RECEIVED);
+        updateOrderStatusUseCase.execute(orderId, ProductionStatus.IN_PREPARATION);
+        stored.setStatus(original);
+    }
+
+    @Benchmark
+    public List<ProductionQueue> getActiveOrders() {
+        return getActiveOrdersUseCase.execute();
+    }
+}
@@ -0,0 +1,22 @@
+package com.bytes.service.production.adapters.inbound.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenCommandDTO {
+    public static final String SUBSCRIBE = "subscribe";
+    public static final String UPDATE_STATUS = "updateStatus";
+
+    private String type;
+    private String requestId; // Devolvido na resposta para o terminal casar com o comando
+    private Long lastSequence; // subscribe: retoma pelos deltas em buffer em vez de pedir snapshot
+    private List<StatusUpdateRequestDTO> updates;
+}
@@ -0,0 +1,47 @@
+package com.bytes.service.production.adapters.inbound.dtos;
+
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.QueueDelta;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KitchenMessageDTO {
+    public static final String SNAPSHOT = "snapshot";
+    public static final String DELTAS = "deltas";
+    public static final String RESULT = "result";
+    public static final String ERROR = "error";
+
+    private String type;
+    private Long sequence;
+    private List<ProductionQueue> orders;
+    private List<QueueDelta> deltas;
+    private String requestId;
+    private List<StatusUpdateResultDTO> results;
+    private String error;
+
+    public static KitchenMessageDTO snapshot(long sequence, List<ProductionQueue> orders) {
+        return KitchenMessageDTO.builder().type(SNAPSHOT).sequence(sequence).orders(orders).build();
+    }
+
+    public static KitchenMessageDTO deltas(long sequence, List<QueueDelta> deltas) {
+        return KitchenMessageDTO.builder().type(DELTAS).sequence(sequence).deltas(deltas).build();
+    }
+
+    public static KitchenMessageDTO result(String requestId, List<StatusUpdateResultDTO> results) {
+        return KitchenMessageDTO.builder().type(RESULT).requestId(requestId).results(results).build();
+    }
+
+    public static KitchenMessageDTO error(String requestId, String error) {
+        return KitchenMessageDTO.builder().type(ERROR).requestId(requestId).error(error).build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.bytes.service.production.adapters.inbound.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemDTO {
+    private String productName;
+    private Integer quantity;
+    private String category;
+    private String observations;
+}
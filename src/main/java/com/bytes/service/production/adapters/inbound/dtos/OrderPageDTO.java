@@ -0,0 +1,19 @@
+package com.bytes.service.production.adapters.inbound.dtos;
+
+import com.bytes.service.production.domain.models.ProductionQueue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDTO {
+    private List<ProductionQueue> items;
+    // Nulo na última página
+    private String nextCursor;
+}
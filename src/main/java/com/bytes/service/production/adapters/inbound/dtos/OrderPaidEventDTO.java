@@ -0,0 +1,19 @@
+package com.bytes.service.production.adapters.inbound.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPaidEventDTO {
+    private Long orderId;
+    private String customerName;
+    private List<OrderItemDTO> items;
+    private String channel;
+}
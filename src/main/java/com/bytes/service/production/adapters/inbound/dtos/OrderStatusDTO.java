@@ -18,4 +18,5 @@ public class OrderStatusDTO {
     private String statusDescription;
     private Integer queuePosition;
     private LocalDateTime lastUpdate;
+    private LocalDateTime estimatedReadyAt;
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.bytes.service.production.adapters.inbound.dtos;
+
+import com.bytes.service.production.domain.models.ProductionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusUpdateRequestDTO {
+    private Long orderId;
+    private ProductionStatus status;
+}
@@ -0,0 +1,26 @@
+package com.bytes.service.production.adapters.inbound.dtos;
+
+import com.bytes.service.production.domain.models.ProductionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusUpdateResultDTO {
+    private Long orderId;
+    private ProductionStatus status;
+    private boolean success;
+    private String error; // Motivo da recusa; nulo quando a transição foi aplicada
+
+    public static StatusUpdateResultDTO applied(Long orderId, ProductionStatus status) {
+        return new StatusUpdateResultDTO(orderId, status, true, null);
+    }
+
+    public static StatusUpdateResultDTO rejected(Long orderId, ProductionStatus status, String error) {
+        return new StatusUpdateResultDTO(orderId, status, false, error);
+    }
+}
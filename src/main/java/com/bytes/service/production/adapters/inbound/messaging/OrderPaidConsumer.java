@@ -0,0 +1,55 @@
+package com.bytes.service.production.adapters.inbound.messaging;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderPaidEventDTO;
+import com.bytes.service.production.domain.models.OrderChannel;
+import com.bytes.service.production.domain.models.ProductionItem;
+import com.bytes.service.production.domain.models.OrderIntake;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Consome os eventos de pedido pago em lote e coloca todos na fila de produção de uma vez.
+ * Se a gravação falhar a exceção sobe para o binder, o offset não é confirmado e o lote é reentregue;
+ * pedidos que já entraram na fila são ignorados na reentrega.
+ */
+public class OrderPaidConsumer implements Consumer<List<OrderPaidEventDTO>> {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderPaidConsumer.class);
+
+    private final ProductionServicePort productionService;
+
+    public OrderPaidConsumer(ProductionServicePort productionService) {
+        this.productionService = productionService;
+    }
+
+    @Override
+    public void accept(List<OrderPaidEventDTO> events) {
+        List<OrderIntake> intakes = events.stream()
+                .filter(Objects::nonNull)
+                .filter(event -> event.getOrderId() != null)
+                .map(this::toIntake)
+                .toList();
+        if (intakes.size() < events.size()) {
+            log.warn("Ignoring {} order paid events without order id", events.size() - intakes.size());
+        }
+        if (intakes.isEmpty()) {
+            return;
+        }
+
+        int started = productionService.startProductions(intakes);
+        log.debug("Order paid batch of {} events queued {} new orders", intakes.size(), started);
+    }
+
+    private OrderIntake toIntake(OrderPaidEventDTO event) {
+        List<ProductionItem> items = event.getItems() == null ? List.of() : event.getItems().stream()
+                .filter(Objects::nonNull)
+                .map(item -> new ProductionItem(item.getProductName(), item.getQuantity(), item.getCategory(), item.getObservations()))
+                .toList();
+        return new OrderIntake(event.getOrderId(), event.getCustomerName(), items, OrderChannel.fromName(event.getChannel()));
+    }
+}
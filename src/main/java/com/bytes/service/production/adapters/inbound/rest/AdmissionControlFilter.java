@@ -0,0 +1,104 @@
+package com.bytes.service.production.adapters.inbound.rest;
+
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter;
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter.Permit;
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter.Priority;
+import com.bytes.service.production.exceptions.ErrorMessageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Controle de admissão na frente do ProductionController. GETs são polling e entram como leitura,
+ * o resto como escrita; quando o limite aperta, leituras recebem 429 com Retry-After antes das escritas.
+ * Streams (SSE e WebSocket) ficam de fora: a conexão dura minutos e seguraria uma vaga o tempo todo.
+ * Só 503, 504 e timeouts reduzem o limite; erro de cliente ou bug devolve a vaga sem mexer nele.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String REJECTION_MESSAGE = "Service is overloaded, retry later";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper, Duration retryAfter) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.endsWith("/queue/stream") || path.endsWith("/queue/ws");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        Permit permit = limiter.tryAcquire(read ? Priority.READ : Priority.WRITE);
+        if (permit == null) {
+            reject(response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            if (isOverload(e)) {
+                permit.dropped();
+            } else {
+                permit.ignored();
+            }
+            throw e;
+        }
+        int status = response.getStatus();
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            permit.dropped();
+        } else if (status >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            permit.ignored();
+        } else {
+            permit.success();
+        }
+    }
+
+    // Só timeout e falta de recurso (conexão, trava, transação expirada) indicam sobrecarga; um bug que falha rápido
+    // derrubaria o limite sem motivo
+    static boolean isOverload(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof TransactionTimedOutException
+                    || cause instanceof AsyncRequestTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorMessageResponse(REJECTION_MESSAGE));
+    }
+}
@@ -1,27 +1,92 @@
 package com.bytes.service.production.adapters.inbound.rest;
 
+import com.bytes.service.production.adapters.inbound.dtos.OrderPageDTO;
 import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateRequestDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateResultDTO;
+import com.bytes.service.production.domain.models.OrderCursor;
+import com.bytes.service.production.domain.models.OrderPageQuery;
 import com.bytes.service.production.domain.models.ProductionQueue;
-import com.bytes.service.production.application.ProductionService;
+import com.bytes.service.production.application.queue.QueueVersionTracker;
 import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/production")
 public class ProductionController {
-    
-    private final ProductionService productionService;
 
-    public ProductionController(ProductionService productionService) {
+    static final int MAX_BATCH_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductionServicePort productionService;
+    private final QueueStreamPublisher queueStreamPublisher;
+    private final QueueVersionTracker queueVersions;
+
+    public ProductionController(ProductionServicePort productionService, QueueStreamPublisher queueStreamPublisher, QueueVersionTracker queueVersions) {
         this.productionService = productionService;
+        this.queueStreamPublisher = queueStreamPublisher;
+        this.queueVersions = queueVersions;
     }
 
     @GetMapping("/queue")
-    public ResponseEntity<List<ProductionQueue>> getProductionQueue() {
-        return ResponseEntity.ok(productionService.getActiveOrders());
+    public ResponseEntity<List<ProductionQueue>> getProductionQueue(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = queueVersions.queueTag();
+        if (matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(productionService.getActiveOrders());
+    }
+
+    @GetMapping("/orders")
+    public ResponseEntity<OrderPageDTO> listOrders(
+            @RequestParam(value = "status", required = false) List<ProductionStatus> statuses,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        OrderCursor after;
+        try {
+            after = cursor == null ? null : OrderCursor.fromToken(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productionService.listOrders(new OrderPageQuery(statuses, from, to, after, limit)));
+    }
+
+    @GetMapping(value = "/queue/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProductionQueue(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return queueStreamPublisher.open(lastEventId);
+    }
+
+    @GetMapping("/stations/{station}/queue")
+    public ResponseEntity<List<StationTask>> getStationQueue(@PathVariable String station) {
+        return ResponseEntity.ok(productionService.getStationQueue(station));
+    }
+
+    @PutMapping("/stations/{station}/orders/{orderId}/status")
+    public ResponseEntity<Void> updateStationStatus(
+            @PathVariable String station,
+            @PathVariable Long orderId,
+            @RequestBody StationTaskStatus status) {
+        productionService.updateStationStatus(orderId, station, status);
+        return ResponseEntity.ok().build();
     }
 
     @PutMapping("/{orderId}/status")
@@ -33,9 +98,42 @@ public class ProductionController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/status")
+    public ResponseEntity<List<StatusUpdateResultDTO>> updateStatuses(
+            @RequestBody List<StatusUpdateRequestDTO> updates) {
+        if (updates.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productionService.updateStatuses(updates));
+    }
+
     @GetMapping("/order/{orderId}/status")
-    public ResponseEntity<OrderStatusDTO> getOrderStatus(@PathVariable Long orderId) {
-        return ResponseEntity.ok(productionService.getOrderStatus(orderId));
+    public ResponseEntity<OrderStatusDTO> getOrderStatus(
+            @PathVariable Long orderId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = queueVersions.orderTag(orderId);
+        if (matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(productionService.getOrderStatus(orderId));
+    }
+
+    // A tag é lida antes da consulta, que vai ao primário, então uma escrita concorrente no máximo gera um 200 a mais,
+    // nunca um 304 velho
+    private boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.bytes.service.production.adapters.inbound.rest;
+
+import com.bytes.service.production.application.queue.QueueDeltaFeed;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.QueueDelta;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém as conexões SSE das telas da cozinha e da retirada.
+ * Envio e heartbeat rodam numa única thread, então cada tela recebe os deltas na ordem do feed.
+ * A consulta do snapshot roda fora dela; só o envio do snapshot volta para a thread de envio.
+ */
+public class QueueStreamPublisher implements AutoCloseable {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String DELTA_EVENT = "delta";
+
+    private static final Logger log = LoggerFactory.getLogger(QueueStreamPublisher.class);
+
+    private final QueueDeltaFeed feed;
+    private final ProductionServicePort productionService;
+    private final Duration timeout;
+    private final ScheduledExecutorService sender;
+    private final ExecutorService snapshotLoader;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Runnable unsubscribe;
+
+    public QueueStreamPublisher(QueueDeltaFeed feed, ProductionServicePort productionService, Duration heartbeatInterval, Duration timeout,
+                                ThreadFactory threadFactory) {
+        this.feed = feed;
+        this.productionService = productionService;
+        this.timeout = timeout;
+        this.sender = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.sender.scheduleAtFixedRate(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        this.snapshotLoader = Executors.newThreadPerTaskExecutor(threadFactory);
+        this.unsubscribe = feed.subscribe(delta -> sender.execute(() -> broadcast(delta)));
+    }
+
+    public SseEmitter open(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> disconnect(subscriber));
+        emitter.onTimeout(() -> disconnect(subscriber));
+        emitter.onError(error -> disconnect(subscriber));
+
+        sender.execute(() -> start(subscriber, lastEventId));
+        return emitter;
+    }
+
+    public int connectedClients() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void close() {
+        unsubscribe.run();
+        sender.shutdownNow();
+        snapshotLoader.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void start(Subscriber subscriber, Long lastEventId) {
+        Optional<List<QueueDelta>> missed = lastEventId == null ? Optional.empty() : feed.since(lastEventId);
+        if (missed.isEmpty()) {
+            loadSnapshot(subscriber);
+            return;
+        }
+        try {
+            subscriber.lastSequence = lastEventId;
+            for (QueueDelta delta : missed.get()) {
+                send(subscriber, delta);
+            }
+            subscribers.add(subscriber);
+        } catch (IOException | RuntimeException e) {
+            fail(subscriber, e);
+        }
+    }
+
+    // A consulta ao banco não pode segurar os deltas e heartbeats das outras telas; só o envio volta para o sender
+    private void loadSnapshot(Subscriber subscriber) {
+        long sequence = feed.currentSequence();
+        snapshotLoader.execute(() -> {
+            List<ProductionQueue> snapshot;
+            try {
+                snapshot = productionService.getActiveOrders();
+            } catch (RuntimeException e) {
+                fail(subscriber, e);
+                return;
+            }
+            if (!sender.isShutdown()) {
+                sender.execute(() -> sendSnapshot(subscriber, sequence, snapshot));
+            }
+        });
+    }
+
+    private void sendSnapshot(Subscriber subscriber, long sequence, List<ProductionQueue> snapshot) {
+        if (subscriber.closed) {
+            return;
+        }
+        // Os deltas que saíram durante a leitura não passaram por esta tela; vão logo depois do snapshot
+        Optional<List<QueueDelta>> missed = feed.since(sequence);
+        if (missed.isEmpty()) {
+            loadSnapshot(subscriber);
+            return;
+        }
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(sequence))
+                    .name(SNAPSHOT_EVENT)
+                    .data(snapshot));
+            subscriber.lastSequence = sequence;
+            for (QueueDelta delta : missed.get()) {
+                send(subscriber, delta);
+            }
+            subscribers.add(subscriber);
+        } catch (IOException | RuntimeException e) {
+            fail(subscriber, e);
+        }
+    }
+
+    private void fail(Subscriber subscriber, Exception cause) {
+        log.debug("Could not start queue stream", cause);
+        subscriber.emitter.completeWithError(cause);
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    private void broadcast(QueueDelta delta) {
+        for (Subscriber subscriber : subscribers) {
+            if (delta.getSequence() <= subscriber.lastSequence) {
+                continue;
+            }
+            try {
+                send(subscriber, delta);
+            } catch (IOException | RuntimeException e) {
+                drop(subscriber, e);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | RuntimeException e) {
+                drop(subscriber, e);
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber, QueueDelta delta) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(String.valueOf(delta.getSequence()))
+                .name(DELTA_EVENT)
+                .data(delta));
+        subscriber.lastSequence = delta.getSequence();
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        subscribers.remove(subscriber);
+        subscriber.emitter.completeWithError(cause);
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private long lastSequence;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bytes.service.production.adapters.inbound.rest;
+
+import com.bytes.service.production.adapters.outbound.persistence.ReadWriteRoutingDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Leva o read-your-writes junto com o cliente em vez de deixá-lo preso à thread que fez a escrita.
+ * Toda escrita devolve um cookie com o prazo até quando as leituras daquele cliente vão ao primário;
+ * cada requisição que chega com o cookie ainda válido é roteada para o primário, seja qual for a thread.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "production-read-after";
+
+    private final ReadWriteRoutingDataSource routing;
+    private final Duration readYourWritesWindow;
+
+    public ReadYourWritesFilter(ReadWriteRoutingDataSource routing, Duration readYourWritesWindow) {
+        this.routing = routing;
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Começa limpo: um pino que sobrou na thread é de quem a usou antes, não deste cliente
+        routing.unpin();
+        Long pinnedUntil = pinnedUntil(request);
+        if (pinnedUntil != null) {
+            routing.pinPrimaryUntil(pinnedUntil);
+        }
+        // Escrita devolve o cookie já na entrada: a resposta pode ser confirmada antes de a transação voltar ao filtro
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE_NAME, Long.toString(routing.readYourWritesDeadline()))
+                    .path("/")
+                    .maxAge(readYourWritesWindow)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            routing.unpin();
+        }
+    }
+
+    private static Long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.bytes.service.production.adapters.inbound.rest;
+
+import com.bytes.service.production.exceptions.BusinessException;
+import com.bytes.service.production.exceptions.ErrorMessageResponse;
+import com.bytes.service.production.exceptions.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Erros de domínio viram 4xx com a mensagem do caso de uso; sem isso saíam como 500 e o controle de admissão
+ * contava pedido inexistente ou transição inválida como sobrecarga.
+ */
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorMessageResponse> handleNotFound(ResourceNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorMessageResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ErrorMessageResponse> handleBusinessRule(BusinessException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(new ErrorMessageResponse(e.getMessage()));
+    }
+}
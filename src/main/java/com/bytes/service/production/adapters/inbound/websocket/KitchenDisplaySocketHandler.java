@@ -0,0 +1,265 @@
+package com.bytes.service.production.adapters.inbound.websocket;
+
+import com.bytes.service.production.adapters.inbound.dtos.KitchenCommandDTO;
+import com.bytes.service.production.adapters.inbound.dtos.KitchenMessageDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateRequestDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateResultDTO;
+import com.bytes.service.production.application.queue.QueueDeltaCoalescer;
+import com.bytes.service.production.application.queue.QueueDeltaFeed;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.QueueDelta;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Canal dos terminais da cozinha: o terminal assina a fila e manda as transições de status pela mesma conexão.
+ * Os deltas do feed são juntados por pedido e enviados uma vez por tick; todo envio roda numa única thread,
+ * então cada terminal recebe os lotes na ordem do feed. Só o snapshot é lido do banco fora dela.
+ */
+public class KitchenDisplaySocketHandler extends TextWebSocketHandler implements AutoCloseable {
+
+    static final int MAX_BATCH_SIZE = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenDisplaySocketHandler.class);
+
+    private final QueueDeltaFeed feed;
+    private final ProductionServicePort productionService;
+    private final ObjectMapper objectMapper;
+    private final int sendTimeLimitMillis;
+    private final int bufferSizeLimit;
+    private final ScheduledExecutorService sender;
+    private final ExecutorService snapshotLoader;
+    private final QueueDeltaCoalescer pending = new QueueDeltaCoalescer();
+    private final Map<String, Terminal> terminals = new ConcurrentHashMap<>();
+    private final Runnable unsubscribe;
+
+    public KitchenDisplaySocketHandler(QueueDeltaFeed feed, ProductionServicePort productionService, ObjectMapper objectMapper,
+                                       Duration tick, Duration sendTimeLimit, int bufferSizeLimit, ThreadFactory threadFactory) {
+        this.feed = feed;
+        this.productionService = productionService;
+        this.objectMapper = objectMapper;
+        this.sendTimeLimitMillis = (int) sendTimeLimit.toMillis();
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sender = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.sender.scheduleAtFixedRate(this::flush, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+        this.snapshotLoader = Executors.newThreadPerTaskExecutor(threadFactory);
+        this.unsubscribe = feed.subscribe(pending::add);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // O decorator serializa os envios da thread do tick e das respostas e derruba terminais lentos demais
+        terminals.put(session.getId(), new Terminal(new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMillis, bufferSizeLimit)));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        terminals.remove(session.getId());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        Terminal terminal = terminals.get(session.getId());
+        if (terminal == null) {
+            return;
+        }
+        KitchenCommandDTO command;
+        try {
+            command = objectMapper.readValue(message.getPayload(), KitchenCommandDTO.class);
+        } catch (JsonProcessingException e) {
+            send(terminal, KitchenMessageDTO.error(null, "Malformed command"));
+            return;
+        }
+
+        String type = command.getType() == null ? "" : command.getType();
+        switch (type) {
+            case KitchenCommandDTO.SUBSCRIBE -> sender.execute(() -> subscribe(terminal, command.getLastSequence()));
+            case KitchenCommandDTO.UPDATE_STATUS -> updateStatus(terminal, command);
+            default -> send(terminal, KitchenMessageDTO.error(command.getRequestId(), "Unknown command type: " + command.getType()));
+        }
+    }
+
+    public int connectedTerminals() {
+        return terminals.size();
+    }
+
+    @Override
+    public void close() {
+        unsubscribe.run();
+        sender.shutdownNow();
+        snapshotLoader.shutdownNow();
+        for (Terminal terminal : terminals.values()) {
+            try {
+                terminal.session.close(CloseStatus.GOING_AWAY);
+            } catch (IOException e) {
+                log.debug("Could not close kitchen terminal session", e);
+            }
+        }
+        terminals.clear();
+    }
+
+    // As transições voltam para todos os terminais, inclusive quem mandou, pelo lote do próximo tick
+    private void updateStatus(Terminal terminal, KitchenCommandDTO command) {
+        List<StatusUpdateRequestDTO> updates = command.getUpdates();
+        if (updates == null || updates.isEmpty() || updates.size() > MAX_BATCH_SIZE) {
+            send(terminal, KitchenMessageDTO.error(command.getRequestId(), "Command must carry between 1 and " + MAX_BATCH_SIZE + " updates"));
+            return;
+        }
+        List<StatusUpdateResultDTO> results;
+        try {
+            results = productionService.updateStatuses(updates);
+        } catch (RuntimeException e) {
+            log.warn("Could not apply status updates from kitchen terminal", e);
+            send(terminal, KitchenMessageDTO.error(command.getRequestId(), "Could not apply status updates"));
+            return;
+        }
+        send(terminal, KitchenMessageDTO.result(command.getRequestId(), results));
+    }
+
+    // Só esta thread envia lotes, então marcar o terminal como assinante antes do primeiro envio não fura a ordem
+    private void subscribe(Terminal terminal, Long lastSequence) {
+        Optional<List<QueueDelta>> missed = lastSequence == null ? Optional.empty() : feed.since(lastSequence);
+        if (missed.isEmpty()) {
+            loadSnapshot(terminal);
+            return;
+        }
+        terminal.lastSequence = lastSequence;
+        terminal.subscribed = true;
+        sendMissed(terminal, missed.get());
+    }
+
+    // A consulta ao banco não pode segurar os lotes dos outros terminais; só o envio volta para a thread do tick
+    private void loadSnapshot(Terminal terminal) {
+        long sequence = feed.currentSequence();
+        snapshotLoader.execute(() -> {
+            List<ProductionQueue> orders;
+            try {
+                orders = productionService.getActiveOrders();
+            } catch (RuntimeException e) {
+                drop(terminal, e);
+                return;
+            }
+            if (!sender.isShutdown()) {
+                sender.execute(() -> sendSnapshot(terminal, sequence, orders));
+            }
+        });
+    }
+
+    private void sendSnapshot(Terminal terminal, long sequence, List<ProductionQueue> orders) {
+        if (!terminals.containsKey(terminal.session.getId())) {
+            return;
+        }
+        // Os lotes que saíram durante a leitura não passaram por este terminal; vão logo depois do snapshot
+        Optional<List<QueueDelta>> missed = feed.since(sequence);
+        if (missed.isEmpty()) {
+            loadSnapshot(terminal);
+            return;
+        }
+        try {
+            terminal.lastSequence = sequence;
+            terminal.subscribed = true;
+            terminal.send(text(KitchenMessageDTO.snapshot(sequence, orders)));
+        } catch (IOException | RuntimeException e) {
+            drop(terminal, e);
+            return;
+        }
+        sendMissed(terminal, missed.get());
+    }
+
+    private void sendMissed(Terminal terminal, List<QueueDelta> missed) {
+        QueueDeltaCoalescer replay = new QueueDeltaCoalescer();
+        missed.forEach(replay::add);
+        List<QueueDelta> batch = replay.drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        terminal.lastSequence = batch.get(batch.size() - 1).getSequence();
+        send(terminal, KitchenMessageDTO.deltas(terminal.lastSequence, batch));
+    }
+
+    void flush() {
+        List<QueueDelta> batch = pending.drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        long sequence = batch.get(batch.size() - 1).getSequence();
+        TextMessage shared = null;
+        for (Terminal terminal : terminals.values()) {
+            if (!terminal.subscribed || sequence <= terminal.lastSequence) {
+                continue;
+            }
+            try {
+                if (batch.get(0).getSequence() > terminal.lastSequence) {
+                    // Caso comum: o lote inteiro é novo para o terminal e é serializado uma vez só
+                    if (shared == null) {
+                        shared = text(KitchenMessageDTO.deltas(sequence, batch));
+                    }
+                    terminal.send(shared);
+                } else {
+                    long after = terminal.lastSequence;
+                    terminal.send(text(KitchenMessageDTO.deltas(sequence,
+                            batch.stream().filter(delta -> delta.getSequence() > after).toList())));
+                }
+                terminal.lastSequence = sequence;
+            } catch (IOException | RuntimeException e) {
+                drop(terminal, e);
+            }
+        }
+    }
+
+    private void send(Terminal terminal, KitchenMessageDTO message) {
+        try {
+            terminal.send(text(message));
+        } catch (IOException | RuntimeException e) {
+            drop(terminal, e);
+        }
+    }
+
+    private TextMessage text(KitchenMessageDTO message) throws JsonProcessingException {
+        return new TextMessage(objectMapper.writeValueAsString(message));
+    }
+
+    private void drop(Terminal terminal, Exception cause) {
+        log.debug("Dropping kitchen terminal", cause);
+        terminals.remove(terminal.session.getId());
+        try {
+            terminal.session.close(CloseStatus.SERVER_ERROR);
+        } catch (IOException e) {
+            log.debug("Could not close kitchen terminal session", e);
+        }
+    }
+
+    private static final class Terminal {
+        private final WebSocketSession session;
+        private volatile boolean subscribed;
+        private long lastSequence;
+
+        private Terminal(WebSocketSession session) {
+            this.session = session;
+        }
+
+        private void send(TextMessage message) throws IOException {
+            session.sendMessage(message);
+        }
+    }
+}
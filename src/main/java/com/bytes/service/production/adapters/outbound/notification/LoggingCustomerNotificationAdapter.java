@@ -0,0 +1,17 @@
+package com.bytes.service.production.adapters.outbound.notification;
+
+import com.bytes.service.production.domain.models.CustomerNotification;
+import com.bytes.service.production.domain.ports.outbound.CustomerNotificationPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Entrega padrão enquanto não existe um canal real (push, SMS, painel de retirada)
+public class LoggingCustomerNotificationAdapter implements CustomerNotificationPort {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingCustomerNotificationAdapter.class);
+
+    @Override
+    public void send(CustomerNotification notification) {
+        log.info("Order {} is now {}", notification.getOrderId(), notification.getStatus());
+    }
+}
@@ -0,0 +1,269 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StatusTransition;
+import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+import com.bytes.service.production.domain.queue.QueuePositionIndex;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém a posição na fila em memória em vez de regravar cada pedido a cada transição.
+ * A posição exposta é a da fila por ordem de chegada com quem está em preparo na frente; a política de ordenação
+ * só reordena os que esperam (ver QueueStanding).
+ */
+public class IndexedOrderProductionRepository implements OrderProductionRepositoryPort {
+
+    static final Set<ProductionStatus> ACTIVE_STATUSES = Set.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION);
+
+    private final OrderProductionRepositoryPort delegate;
+    private final QueuePositionIndex index;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    public IndexedOrderProductionRepository(OrderProductionRepositoryPort delegate) {
+        this(delegate, new QueuePositionIndex());
+    }
+
+    public IndexedOrderProductionRepository(OrderProductionRepositoryPort delegate, QueuePositionIndex index) {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    @Override
+    public Integer countByStatusIn(List<ProductionStatus> statuses) {
+        return delegate.countByStatusIn(statuses);
+    }
+
+    @Override
+    public boolean existsByOrderId(Long orderId) {
+        return delegate.existsByOrderId(orderId);
+    }
+
+    @Override
+    public void save(OrderProduction production) {
+        ensureLoaded();
+
+        Long orderId = production.getOrderId();
+        if (!ACTIVE_STATUSES.contains(production.getStatus())) {
+            production.setPositionInQueue(null);
+            delegate.save(production);
+            afterCommit(() -> index.remove(orderId));
+            return;
+        }
+
+        boolean preparing = isPreparing(production.getStatus());
+        production.setPositionInQueue(provisionalPosition(orderId, 1));
+        delegate.save(production);
+        afterCommit(() -> production.setPositionInQueue(index.add(orderId, preparing)));
+    }
+
+    @Override
+    public boolean insertIfAbsent(OrderProduction production) {
+        ensureLoaded();
+
+        Long orderId = production.getOrderId();
+        boolean arriving = !index.contains(orderId);
+        production.setPositionInQueue(provisionalPosition(orderId, 1));
+        if (delegate.insertIfAbsent(production)) {
+            afterCommit(() -> production.setPositionInQueue(index.add(orderId)));
+            return true;
+        }
+
+        production.setPositionInQueue(null);
+        if (arriving) {
+            // Caminho raro: só a reentrega paga a leitura, e só entra no índice o pedido existente que ainda ocupa a fila
+            delegate.findByOrderId(orderId)
+                    .filter(existing -> ACTIVE_STATUSES.contains(existing.getStatus()))
+                    .ifPresent(existing -> {
+                        boolean preparing = isPreparing(existing.getStatus());
+                        afterCommit(() -> index.add(orderId, preparing));
+                    });
+        }
+        return false;
+    }
+
+    @Override
+    public void saveAll(List<OrderProduction> productions) {
+        ensureLoaded();
+
+        int arriving = 0;
+        for (OrderProduction production : productions) {
+            if (!ACTIVE_STATUSES.contains(production.getStatus())) {
+                production.setPositionInQueue(null);
+                continue;
+            }
+            if (!index.contains(production.getOrderId())) {
+                arriving++;
+            }
+            production.setPositionInQueue(provisionalPosition(production.getOrderId(), arriving));
+        }
+        delegate.saveAll(productions);
+        afterCommit(() -> {
+            for (OrderProduction production : productions) {
+                if (ACTIVE_STATUSES.contains(production.getStatus())) {
+                    production.setPositionInQueue(index.add(production.getOrderId(), isPreparing(production.getStatus())));
+                } else {
+                    index.remove(production.getOrderId());
+                }
+            }
+        });
+    }
+
+    @Override
+    public Optional<ProductionStatus> updateStatus(StatusTransition transition) {
+        ensureLoaded();
+
+        Optional<ProductionStatus> previousStatus = delegate.updateStatus(transition);
+        if (previousStatus.isPresent()) {
+            afterCommit(() -> move(transition));
+        }
+        return previousStatus;
+    }
+
+    @Override
+    public Set<Long> updateStatuses(List<StatusTransition> transitions) {
+        ensureLoaded();
+
+        Set<Long> applied = delegate.updateStatuses(transitions);
+        List<StatusTransition> moved = transitions.stream()
+                .filter(transition -> applied.contains(transition.getOrderId()))
+                .toList();
+        if (!moved.isEmpty()) {
+            afterCommit(() -> moved.forEach(this::move));
+        }
+        return applied;
+    }
+
+    @Override
+    public List<OrderProduction> findByStatusIn(List<Object> objects) {
+        return withPositions(delegate.findByStatusIn(objects));
+    }
+
+    @Override
+    public Optional<OrderProduction> findByOrderId(Long orderId) {
+        return delegate.findByOrderId(orderId).map(this::withPosition);
+    }
+
+    @Override
+    public List<OrderProduction> findByOrderIdIn(Collection<Long> orderIds) {
+        return withPositions(delegate.findByOrderIdIn(orderIds));
+    }
+
+    @Override
+    public List<OrderProduction> findByStatusOrderByStartedAtAsc(ProductionStatus productionStatus) {
+        return withPositions(delegate.findByStatusOrderByStartedAtAsc(productionStatus));
+    }
+
+    @Override
+    public List<OrderProduction> findPage(OrderPageQuery query) {
+        return withPositions(delegate.findPage(query));
+    }
+
+    public void reload() {
+        loadLock.lock();
+        try {
+            index.clear();
+            List<OrderProduction> activeOrders = delegate.findByStatusIn(
+                    List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION)
+            );
+            activeOrders.stream()
+                    .sorted(Comparator.comparing(OrderProduction::getId, Comparator.nullsLast(Comparator.naturalOrder()))
+                            .thenComparing(OrderProduction::getStartedAt, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .forEach(order -> index.add(order.getOrderId(), isPreparing(order.getStatus())));
+            loaded = true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Adota a ordem global do sequenciador; pedidos gravados aqui depois entram no fim até a próxima rodada
+    public void resequence(List<OrderProduction> ordersInQueueOrder) {
+        loadLock.lock();
+        try {
+            index.replaceAll(ordersInQueueOrder.stream().map(OrderProduction::getOrderId).toList(),
+                    ordersInQueueOrder.stream()
+                            .filter(order -> isPreparing(order.getStatus()))
+                            .map(OrderProduction::getOrderId)
+                            .collect(Collectors.toSet()));
+            loaded = true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // O índice é compartilhado com quem calcula a posição do status sem montar a fila
+    public QueuePositionIndex index() {
+        return index;
+    }
+
+    private void move(StatusTransition transition) {
+        if (ACTIVE_STATUSES.contains(transition.getNewStatus())) {
+            index.add(transition.getOrderId(), isPreparing(transition.getNewStatus()));
+        } else {
+            index.remove(transition.getOrderId());
+        }
+    }
+
+    // Valor gravado na linha antes do commit: o slot que o pedido já tem ou o fim da fila. O slot definitivo
+    // vem do índice depois do commit, e as leituras sempre usam o índice
+    private Integer provisionalPosition(Long orderId, int arrivalOffset) {
+        Integer current = index.positionOf(orderId);
+        return current != null ? current : index.size() + arrivalOffset;
+    }
+
+    // O índice só muda depois do commit, como os eventos do ProductionEventDispatcher: um rollback não deixa slot
+    // fantasma nem tira da fila um pedido que continua ativo. Sem transação ativa, muda na hora
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static boolean isPreparing(ProductionStatus status) {
+        return status == ProductionStatus.IN_PREPARATION;
+    }
+
+    private List<OrderProduction> withPositions(List<OrderProduction> orders) {
+        orders.forEach(this::withPosition);
+        return orders;
+    }
+
+    private OrderProduction withPosition(OrderProduction order) {
+        ensureLoaded();
+        // Leitura nunca mexe no índice: uma leitura atrasada (réplica, corrida com a saída do pedido) recriaria um slot
+        // fantasma. Pedido ativo que o índice não conhece fica sem posição até o próximo resequence/reload
+        order.setPositionInQueue(ACTIVE_STATUSES.contains(order.getStatus()) ? index.positionOf(order.getOrderId()) : null);
+        return order;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            loadLock.lock();
+            try {
+                if (!loaded) {
+                    reload();
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.CustomerNotification;
+import com.bytes.service.production.domain.ports.outbound.NotificationOutboxPort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class JpaNotificationOutboxAdapter implements NotificationOutboxPort {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final NotificationOutboxRepository repository;
+    private final TransactionTemplate transaction;
+
+    public JpaNotificationOutboxAdapter(NotificationOutboxRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void append(List<CustomerNotification> notifications) {
+        repository.saveAll(notifications.stream()
+                .map(notification -> NotificationOutboxEntity.builder()
+                        .orderId(notification.getOrderId())
+                        .status(notification.getStatus())
+                        .occurredAt(notification.getOccurredAt())
+                        .attempts(notification.getAttempts())
+                        .nextAttemptAt(notification.getOccurredAt())
+                        .build())
+                .toList());
+    }
+
+    @Override
+    public List<CustomerNotification> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        return transaction.execute(status -> {
+            List<Long> orderIds = repository.findDueHeads(now, Pageable.ofSize(limit)).stream()
+                    .filter(head -> repository.claim(head.getId(), now, leaseUntil) == 1)
+                    .map(NotificationOutboxEntity::getOrderId)
+                    .toList();
+            if (orderIds.isEmpty()) {
+                return List.of();
+            }
+            // Com o primeiro aviso do pedido reservado, nenhuma outra instância chega aos seguintes; vão todos juntos
+            List<NotificationOutboxEntity> claimed = repository.findByOrderIdIn(orderIds);
+            repository.lease(claimed.stream().map(NotificationOutboxEntity::getId).toList(), leaseUntil);
+            return claimed.stream()
+                    .map(entity -> new CustomerNotification(entity.getId(), entity.getOrderId(), entity.getStatus(),
+                            entity.getOccurredAt(), entity.getAttempts()))
+                    .toList();
+        });
+    }
+
+    @Override
+    public void markDelivered(Long id) {
+        repository.deleteById(id);
+    }
+
+    @Override
+    public void reschedule(Long id, int attempts, LocalDateTime nextAttemptAt, String lastError) {
+        String error = lastError != null && lastError.length() > MAX_ERROR_LENGTH ? lastError.substring(0, MAX_ERROR_LENGTH) : lastError;
+        repository.reschedule(id, attempts, nextAttemptAt, error);
+    }
+}
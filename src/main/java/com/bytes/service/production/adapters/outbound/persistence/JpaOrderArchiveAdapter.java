@@ -0,0 +1,95 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderCursor;
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cada lote copia e apaga na mesma transação curta, então um pedido nunca some
+ * das duas tabelas nem aparece nas duas ao mesmo tempo.
+ */
+public class JpaOrderArchiveAdapter implements OrderArchivePort {
+
+    static final Set<ProductionStatus> TERMINAL_STATUSES = EnumSet.of(ProductionStatus.FINISHED, ProductionStatus.CANCELLED);
+
+    private final OrderProductionRepository orders;
+    private final OrderProductionHistoryRepository history;
+    private final StationTaskRepository stationTasks;
+    private final TransactionTemplate transaction;
+
+    public JpaOrderArchiveAdapter(OrderProductionRepository orders, OrderProductionHistoryRepository history,
+                                  StationTaskRepository stationTasks, PlatformTransactionManager transactionManager) {
+        this.orders = orders;
+        this.history = history;
+        this.stationTasks = stationTasks;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public int archiveTerminalOrders(LocalDateTime terminatedBefore, LocalDateTime archivedAt, int limit) {
+        Integer archived = transaction.execute(status -> {
+            List<Long> ids = orders.findIdsByStatusInAndUpdatedAtBefore(TERMINAL_STATUSES, terminatedBefore, Pageable.ofSize(limit));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            history.copyFromOrderProduction(ids, archivedAt);
+            // As partes por estação só servem enquanto o pedido está na fila
+            stationTasks.deleteByOrderProductionIdIn(ids);
+            return orders.deleteByIdIn(ids);
+        });
+        return archived == null ? 0 : archived;
+    }
+
+    @Override
+    public Optional<OrderProduction> findByOrderId(Long orderId) {
+        return history.findByOrderId(orderId).map(this::toDomain);
+    }
+
+    @Override
+    public Set<Long> existingOrderIds(Collection<Long> orderIds) {
+        return orderIds.isEmpty() ? Set.of() : new HashSet<>(history.findOrderIdsIn(orderIds));
+    }
+
+    @Override
+    public List<OrderProduction> findPage(OrderPageQuery query) {
+        OrderCursor after = KeysetBounds.after(query);
+        return history.findPage(query.getStatuses(), after.getStartedAt(), after.getId(), KeysetBounds.before(query),
+                        Pageable.ofSize(query.getLimit())).stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    public int purgeArchivedBefore(LocalDateTime archivedBefore, int limit) {
+        Integer purged = transaction.execute(status -> {
+            List<Long> ids = history.findIdsArchivedBefore(archivedBefore, Pageable.ofSize(limit));
+            return ids.isEmpty() ? 0 : history.deleteByIdIn(ids);
+        });
+        return purged == null ? 0 : purged;
+    }
+
+    private OrderProduction toDomain(OrderProductionHistoryEntity entity) {
+        OrderProduction production = new OrderProduction(entity.getOrderId(), entity.getStatus(), entity.getStartedAt(),
+                null, entity.getCustomerName());
+        production.setId(entity.getId());
+        production.setUpdatedAt(entity.getUpdatedAt());
+        production.setFinishedAt(entity.getFinishedAt());
+        production.setDeliveredAt(entity.getDeliveredAt());
+        production.setChannel(entity.getChannel());
+        production.setEstimatedMinutes(entity.getEstimatedMinutes());
+        return production;
+    }
+}
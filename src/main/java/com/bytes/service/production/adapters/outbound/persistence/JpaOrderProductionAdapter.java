@@ -0,0 +1,189 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderCursor;
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StatusTransition;
+import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Liga a porta ao Spring Data. Escritas passam pela entidade ou por UPDATE/INSERT condicionais;
+ * leituras usam {@link OrderProductionView}, então nenhuma consulta da fila hidrata entidades.
+ */
+public class JpaOrderProductionAdapter implements OrderProductionRepositoryPort {
+
+    static final String ORDER_ID_CONSTRAINT = "uk_order_production_order_id";
+
+    private final OrderProductionRepository repository;
+    private final TransactionTemplate transaction;
+
+    public JpaOrderProductionAdapter(OrderProductionRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Integer countByStatusIn(List<ProductionStatus> statuses) {
+        return repository.countByStatusIn(statuses);
+    }
+
+    @Override
+    public boolean existsByOrderId(Long orderId) {
+        return repository.existsByOrderId(orderId);
+    }
+
+    @Override
+    public void save(OrderProduction production) {
+        OrderProductionEntity entity = production.getId() == null
+                ? new OrderProductionEntity()
+                : repository.findById(production.getId()).orElseGet(OrderProductionEntity::new);
+        copy(production, entity);
+        production.setId(repository.save(entity).getId());
+    }
+
+    @Override
+    public void saveAll(List<OrderProduction> productions) {
+        List<OrderProductionEntity> entities = new ArrayList<>(productions.size());
+        for (OrderProduction production : productions) {
+            OrderProductionEntity entity = new OrderProductionEntity();
+            copy(production, entity);
+            entities.add(entity);
+        }
+        List<OrderProductionEntity> saved = repository.saveAll(entities);
+        for (int i = 0; i < productions.size(); i++) {
+            productions.get(i).setId(saved.get(i).getId());
+        }
+    }
+
+    @Override
+    public boolean insertIfAbsent(OrderProduction production) {
+        try {
+            return repository.insertIfAbsent(production.getOrderId(), production.getStatus().name(), production.getStartedAt(),
+                    production.getPositionInQueue(), production.getCustomerName(),
+                    production.getChannel() == null ? null : production.getChannel().name(), production.getEstimatedMinutes()) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // Duas entregas simultâneas passam juntas pelo NOT EXISTS; quem perde na constraint é só mais uma reentrega
+            if (violates(e, ORDER_ID_CONSTRAINT)) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<ProductionStatus> updateStatus(StatusTransition transition) {
+        List<String> expectedStatuses = transition.getExpectedStatuses().stream().map(ProductionStatus::name).toList();
+        return repository.updateStatus(transition.getOrderId(), expectedStatuses, transition.getNewStatus().name(),
+                        transition.getChangedAt(), transition.getStartedAt(), transition.getFinishedAt(), transition.getDeliveredAt())
+                .map(ProductionStatus::valueOf);
+    }
+
+    // Um SELECT ... FOR UPDATE e um UPDATE por par de status, em vez de um UPDATE por pedido
+    @Override
+    public Set<Long> updateStatuses(List<StatusTransition> transitions) {
+        Map<List<Object>, List<StatusTransition>> groups = new LinkedHashMap<>();
+        for (StatusTransition transition : transitions) {
+            groups.computeIfAbsent(List.of(transition.getExpectedStatus(), transition.getNewStatus(), transition.getChangedAt()),
+                    key -> new ArrayList<>()).add(transition);
+        }
+
+        Set<Long> applied = new HashSet<>();
+        transaction.executeWithoutResult(status -> groups.values().forEach(group -> {
+            StatusTransition sample = group.get(0);
+            List<Long> orderIds = group.stream().map(StatusTransition::getOrderId).toList();
+            List<Long> locked = repository.lockOrderIdsInStatus(orderIds, sample.getExpectedStatus());
+            if (locked.isEmpty()) {
+                return;
+            }
+            repository.updateStatuses(locked, sample.getExpectedStatus(), sample.getNewStatus(), sample.getChangedAt(),
+                    sample.getStartedAt(), sample.getFinishedAt(), sample.getDeliveredAt());
+            applied.addAll(locked);
+        }));
+        return applied;
+    }
+
+    @Override
+    public List<OrderProduction> findByStatusIn(List<Object> objects) {
+        List<ProductionStatus> statuses = objects.stream().map(ProductionStatus.class::cast).toList();
+        return toDomain(repository.findByStatusIn(statuses));
+    }
+
+    @Override
+    public Optional<OrderProduction> findByOrderId(Long orderId) {
+        return repository.findViewByOrderId(orderId).map(JpaOrderProductionAdapter::toDomain);
+    }
+
+    @Override
+    public List<OrderProduction> findByOrderIdIn(Collection<Long> orderIds) {
+        return toDomain(repository.findByOrderIdIn(orderIds));
+    }
+
+    @Override
+    public List<OrderProduction> findByStatusOrderByStartedAtAsc(ProductionStatus productionStatus) {
+        return toDomain(repository.findByStatusOrderByStartedAtAsc(productionStatus));
+    }
+
+    @Override
+    public List<OrderProduction> findPage(OrderPageQuery query) {
+        OrderCursor after = KeysetBounds.after(query);
+        return toDomain(repository.findPage(query.getStatuses(), after.getStartedAt(), after.getId(), KeysetBounds.before(query),
+                Pageable.ofSize(query.getLimit())));
+    }
+
+    private void copy(OrderProduction production, OrderProductionEntity entity) {
+        entity.setOrderId(production.getOrderId());
+        entity.setStatus(production.getStatus());
+        entity.setStartedAt(production.getStartedAt());
+        entity.setUpdatedAt(production.getUpdatedAt() != null ? production.getUpdatedAt() : production.getStartedAt());
+        entity.setFinishedAt(production.getFinishedAt());
+        entity.setDeliveredAt(production.getDeliveredAt());
+        entity.setPositionInQueue(production.getPositionInQueue());
+        entity.setCustomerName(production.getCustomerName());
+        entity.setChannel(production.getChannel());
+        entity.setEstimatedMinutes(production.getEstimatedMinutes());
+    }
+
+    private List<OrderProduction> toDomain(List<OrderProductionView> views) {
+        List<OrderProduction> orders = new ArrayList<>(views.size());
+        views.forEach(view -> orders.add(toDomain(view)));
+        return orders;
+    }
+
+    static OrderProduction toDomain(OrderProductionView view) {
+        OrderProduction production = new OrderProduction(view.getOrderId(), view.getStatus(), view.getStartedAt(),
+                view.getPositionInQueue(), view.getCustomerName());
+        production.setId(view.getId());
+        production.setUpdatedAt(view.getUpdatedAt());
+        production.setFinishedAt(view.getFinishedAt());
+        production.setDeliveredAt(view.getDeliveredAt());
+        production.setChannel(view.getChannel());
+        production.setEstimatedMinutes(view.getEstimatedMinutes());
+        return production;
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
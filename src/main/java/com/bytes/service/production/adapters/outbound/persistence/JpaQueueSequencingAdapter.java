@@ -0,0 +1,77 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.QueueSequencingPort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+public class JpaQueueSequencingAdapter implements QueueSequencingPort {
+
+    static final String LEASE_NAME = "queue-sequencer";
+    private static final List<ProductionStatus> ACTIVE = List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION);
+
+    private final OrderProductionRepository orders;
+    private final ProductionLeaseRepository leases;
+    private final TransactionTemplate transaction;
+
+    public JpaQueueSequencingAdapter(OrderProductionRepository orders, ProductionLeaseRepository leases,
+                                     PlatformTransactionManager transactionManager) {
+        this.orders = orders;
+        this.leases = leases;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public OptionalLong tryAcquireLease(String holder, Duration ttl) {
+        return transaction.execute(status -> {
+            if (leases.acquire(LEASE_NAME, holder, ttl.toMillis() / 1000.0) == 0) {
+                return OptionalLong.empty();
+            }
+            return leases.findById(LEASE_NAME)
+                    .map(lease -> OptionalLong.of(lease.getEpoch()))
+                    .orElse(OptionalLong.empty());
+        });
+    }
+
+    @Override
+    public void releaseLease(String holder) {
+        transaction.executeWithoutResult(status -> leases.release(LEASE_NAME, holder));
+    }
+
+    @Override
+    public OptionalInt assignSequences(String holder, long epoch) {
+        return transaction.execute(status -> {
+            // A linha do lease travada é o fencing token: um líder antigo que acordou tarde não numera nada
+            ProductionLeaseEntity lease = leases.lockIfHeld(LEASE_NAME, holder, epoch).orElse(null);
+            if (lease == null) {
+                return OptionalInt.empty();
+            }
+            List<Long> unsequenced = orders.findUnsequencedActiveIds();
+            long next = lease.getLastSequence();
+            for (Long id : unsequenced) {
+                orders.assignQueueSequence(id, ++next);
+            }
+            lease.setLastSequence(next);
+            return OptionalInt.of(unsequenced.size());
+        });
+    }
+
+    @Override
+    public List<OrderProduction> activeOrdersInQueueOrder() {
+        List<OrderProductionView> views = orders.findByStatusInQueueOrder(ACTIVE);
+        List<OrderProduction> active = new ArrayList<>(views.size());
+        for (OrderProductionView view : views) {
+            OrderProduction order = JpaOrderProductionAdapter.toDomain(view);
+            order.setPositionInQueue(active.size() + 1);
+            active.add(order);
+        }
+        return active;
+    }
+}
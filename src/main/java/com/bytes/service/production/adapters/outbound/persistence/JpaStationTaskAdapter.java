@@ -0,0 +1,91 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.ProductionItem;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
+import com.bytes.service.production.domain.ports.outbound.StationTaskPort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public class JpaStationTaskAdapter implements StationTaskPort {
+
+    static final Set<StationTaskStatus> OPEN_STATUSES = EnumSet.of(StationTaskStatus.QUEUED, StationTaskStatus.IN_PROGRESS);
+
+    private final StationTaskRepository repository;
+
+    public JpaStationTaskAdapter(StationTaskRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void saveAll(List<StationTask> tasks) {
+        List<StationTaskEntity> saved = repository.saveAll(tasks.stream().map(this::toEntity).toList());
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setId(saved.get(i).getId());
+        }
+    }
+
+    @Override
+    public List<StationTask> findOpenByStation(String station) {
+        return repository.findByStationAndStatusIn(station, OPEN_STATUSES).stream()
+                .map(entity -> toDomain(entity, entity.getItems().stream()
+                        .map(item -> new ProductionItem(item.getProductName(), item.getQuantity(), item.getCategory(), item.getObservations()))
+                        .toList()))
+                .toList();
+    }
+
+    @Override
+    public List<StationTask> lockByOrderId(Long orderId) {
+        return repository.lockByOrderId(orderId).stream()
+                .map(entity -> toDomain(entity, List.of()))
+                .toList();
+    }
+
+    @Override
+    public boolean updateStatus(Long orderId, String station, StationTaskStatus expectedStatus, StationTaskStatus newStatus,
+                                LocalDateTime changedAt) {
+        LocalDateTime startedAt = newStatus == StationTaskStatus.IN_PROGRESS ? changedAt : null;
+        LocalDateTime finishedAt = newStatus == StationTaskStatus.DONE ? changedAt : null;
+        return repository.updateStatus(orderId, station, expectedStatus, newStatus, startedAt, finishedAt) > 0;
+    }
+
+    @Override
+    public void closeOpenByOrderId(Long orderId, LocalDateTime closedAt) {
+        repository.closeByOrderIdAndStatusIn(orderId, OPEN_STATUSES, StationTaskStatus.DONE, closedAt);
+    }
+
+    @Override
+    public void deleteByOrderId(Long orderId) {
+        repository.deleteByOrderId(orderId);
+    }
+
+    private StationTaskEntity toEntity(StationTask task) {
+        List<StationTaskItemEmbeddable> items = new ArrayList<>(task.getItems().size());
+        for (ProductionItem item : task.getItems()) {
+            items.add(new StationTaskItemEmbeddable(item.getProductName(), item.getQuantity(), item.getCategory(), item.getObservations()));
+        }
+        return StationTaskEntity.builder()
+                .id(task.getId())
+                .orderId(task.getOrderId())
+                .station(task.getStation())
+                .status(task.getStatus())
+                .queuedAt(task.getQueuedAt())
+                .startedAt(task.getStartedAt())
+                .finishedAt(task.getFinishedAt())
+                .items(items)
+                .build();
+    }
+
+    private StationTask toDomain(StationTaskEntity entity, List<ProductionItem> items) {
+        StationTask task = new StationTask(entity.getOrderId(), entity.getStation(), entity.getStatus(), entity.getQueuedAt(),
+                new ArrayList<>(items));
+        task.setId(entity.getId());
+        task.setStartedAt(entity.getStartedAt());
+        task.setFinishedAt(entity.getFinishedAt());
+        return task;
+    }
+}
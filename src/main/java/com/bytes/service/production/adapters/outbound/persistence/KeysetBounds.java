@@ -0,0 +1,28 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderCursor;
+import com.bytes.service.production.domain.models.OrderPageQuery;
+
+import java.time.LocalDateTime;
+
+/**
+ * Traduz o filtro da listagem para a condição de keyset das consultas, que não aceitam parâmetros nulos:
+ * o início do intervalo vira um cursor antes do primeiro pedido e a falta de fim vira uma data distante.
+ */
+final class KeysetBounds {
+
+    static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+    static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private KeysetBounds() {
+    }
+
+    static OrderCursor after(OrderPageQuery query) {
+        OrderCursor start = new OrderCursor(query.getStartedFrom() != null ? query.getStartedFrom() : EARLIEST, Long.MIN_VALUE);
+        return query.getAfter() != null && start.isBefore(query.getAfter()) ? query.getAfter() : start;
+    }
+
+    static LocalDateTime before(OrderPageQuery query) {
+        return query.getStartedBefore() != null ? query.getStartedBefore() : LATEST;
+    }
+}
@@ -0,0 +1,42 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntity, Long> {
+
+    // Só o aviso mais antigo de cada pedido entra na disputa; os seguintes andam junto com ele
+    @Query("SELECT n FROM NotificationOutboxEntity n WHERE n.nextAttemptAt <= :now AND NOT EXISTS (" +
+            "SELECT p.id FROM NotificationOutboxEntity p WHERE p.orderId = n.orderId AND p.id < n.id) " +
+            "ORDER BY n.id")
+    List<NotificationOutboxEntity> findDueHeads(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Um único UPDATE condicional: se duas instâncias disputam o mesmo aviso, só uma o encontra ainda vencido
+    @Modifying
+    @Query("UPDATE NotificationOutboxEntity n SET n.nextAttemptAt = :leaseUntil WHERE n.id = :id AND n.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT n FROM NotificationOutboxEntity n WHERE n.orderId IN :orderIds ORDER BY n.id")
+    List<NotificationOutboxEntity> findByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("UPDATE NotificationOutboxEntity n SET n.nextAttemptAt = :leaseUntil WHERE n.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutboxEntity n SET n.attempts = :attempts, n.nextAttemptAt = :nextAttemptAt, n.lastError = :lastError " +
+            "WHERE n.id = :id")
+    int reschedule(@Param("id") Long id,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+}
@@ -1,9 +1,12 @@
 package com.bytes.service.production.adapters.outbound.persistence;
 
+import com.bytes.service.production.domain.models.OrderChannel;
 import com.bytes.service.production.domain.models.ProductionStatus;
 import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
@@ -11,6 +14,8 @@ import java.time.LocalDateTime;
 @Table(name = "order_production")
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class OrderProductionEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,6 +36,9 @@ public class OrderProductionEntity {
     
     @Column(name = "finished_at")
     private LocalDateTime finishedAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
     
     @Column(name = "position_in_queue")
     private Integer positionInQueue;
@@ -41,4 +49,17 @@ public class OrderProductionEntity {
     
     @Column(name = "customer_name")
     private String customerName; // Para chamar quando pronto
+
+    @Enumerated(EnumType.STRING)
+    private OrderChannel channel;
+
+    @Column(name = "estimated_minutes")
+    private Integer estimatedMinutes;
+
+    // Só o sequenciador da fila grava esta coluna; a entidade apenas lê
+    @Column(name = "queue_sequence", insertable = false, updatable = false)
+    private Long queueSequence;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
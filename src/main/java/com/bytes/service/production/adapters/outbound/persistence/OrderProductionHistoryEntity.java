@@ -0,0 +1,57 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderChannel;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "order_production_history")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderProductionHistoryEntity {
+    // Mesmo id da linha em order_production, copiado no arquivamento
+    @Id
+    private Long id;
+
+    @Column(name = "order_id", unique = true, nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProductionStatus status;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    @Column(name = "order_display_number")
+    private String orderDisplayNumber;
+
+    @Column(name = "customer_name")
+    private String customerName;
+
+    @Enumerated(EnumType.STRING)
+    private OrderChannel channel;
+
+    @Column(name = "estimated_minutes")
+    private Integer estimatedMinutes;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
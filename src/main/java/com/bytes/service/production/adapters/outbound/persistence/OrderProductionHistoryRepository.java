@@ -0,0 +1,46 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderProductionHistoryRepository extends JpaRepository<OrderProductionHistoryEntity, Long> {
+
+    Optional<OrderProductionHistoryEntity> findByOrderId(Long orderId);
+
+    @Query("SELECT h.orderId FROM OrderProductionHistoryEntity h WHERE h.orderId IN :orderIds")
+    List<Long> findOrderIdsIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT h FROM OrderProductionHistoryEntity h WHERE h.status IN :statuses AND h.startedAt < :startedBefore " +
+            "AND (h.startedAt > :afterStartedAt OR (h.startedAt = :afterStartedAt AND h.id > :afterId)) " +
+            "ORDER BY h.startedAt, h.id")
+    List<OrderProductionHistoryEntity> findPage(@Param("statuses") Collection<ProductionStatus> statuses,
+                                                @Param("afterStartedAt") LocalDateTime afterStartedAt,
+                                                @Param("afterId") Long afterId,
+                                                @Param("startedBefore") LocalDateTime startedBefore,
+                                                Pageable pageable);
+
+    // Copia as linhas direto no banco, sem trazer os pedidos para a aplicação
+    @Modifying
+    @Query(value = "INSERT INTO order_production_history (id, order_id, status, started_at, updated_at, finished_at, delivered_at, " +
+            "order_display_number, customer_name, channel, estimated_minutes, archived_at) " +
+            "SELECT id, order_id, status, started_at, updated_at, finished_at, delivered_at, order_display_number, customer_name, " +
+            "channel, estimated_minutes, :archivedAt " +
+            "FROM order_production WHERE id IN :ids", nativeQuery = true)
+    int copyFromOrderProduction(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Query("SELECT h.id FROM OrderProductionHistoryEntity h WHERE h.archivedAt < :archivedBefore ORDER BY h.archivedAt")
+    List<Long> findIdsArchivedBefore(@Param("archivedBefore") LocalDateTime archivedBefore, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OrderProductionHistoryEntity h WHERE h.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
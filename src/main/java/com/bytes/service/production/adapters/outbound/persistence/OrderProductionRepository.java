@@ -1,12 +1,129 @@
 package com.bytes.service.production.adapters.outbound.persistence;
 
 import com.bytes.service.production.domain.models.ProductionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderProductionRepository extends JpaRepository<OrderProductionEntity, Long> {
+
+    // Leituras montam a projeção direto no SELECT, sem entidades gerenciadas
+    String VIEW = "SELECT new com.bytes.service.production.adapters.outbound.persistence.OrderProductionView(" +
+            "o.id, o.orderId, o.status, o.startedAt, o.updatedAt, o.finishedAt, o.deliveredAt, o.positionInQueue, o.customerName, " +
+            "o.channel, o.estimatedMinutes) " +
+            "FROM OrderProductionEntity o ";
+
     Integer countByStatusIn(List<ProductionStatus> received);
 
     boolean existsByOrderId(Long orderId);
+
+    @Query(VIEW + "WHERE o.status IN :statuses")
+    List<OrderProductionView> findByStatusIn(@Param("statuses") Collection<ProductionStatus> statuses);
+
+    @Query(VIEW + "WHERE o.status = :status ORDER BY o.startedAt")
+    List<OrderProductionView> findByStatusOrderByStartedAtAsc(@Param("status") ProductionStatus status);
+
+    @Query(VIEW + "WHERE o.orderId IN :orderIds")
+    List<OrderProductionView> findByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query(VIEW + "WHERE o.orderId = :orderId")
+    Optional<OrderProductionView> findViewByOrderId(@Param("orderId") Long orderId);
+
+    // Insert-if-absent em um único statement; duas inserções simultâneas esbarram na constraint única,
+    // e o adaptador trata essa violação como reentrega.
+    // Pedido já arquivado também conta como existente, senão uma reentrega recriaria o pedido na fila
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO order_production (order_id, status, started_at, updated_at, position_in_queue, customer_name, " +
+            "channel, estimated_minutes, version) " +
+            "SELECT :orderId, :status, :startedAt, :startedAt, :positionInQueue, :customerName, :channel, :estimatedMinutes, 0 " +
+            "WHERE NOT EXISTS (SELECT 1 FROM order_production WHERE order_id = :orderId) " +
+            "AND NOT EXISTS (SELECT 1 FROM order_production_history WHERE order_id = :orderId)", nativeQuery = true)
+    int insertIfAbsent(@Param("orderId") Long orderId,
+                       @Param("status") String status,
+                       @Param("startedAt") LocalDateTime startedAt,
+                       @Param("positionInQueue") Integer positionInQueue,
+                       @Param("customerName") String customerName,
+                       @Param("channel") String channel,
+                       @Param("estimatedMinutes") Integer estimatedMinutes);
+
+    // Transição em um único UPDATE condicional sobre todos os status de origem aceitos; a delta table OLD TABLE do H2
+    // devolve no mesmo statement o status de onde o pedido saiu. Vazio: pedido inexistente ou status já alterado
+    @Transactional
+    @Query(value = "SELECT status FROM OLD TABLE (UPDATE order_production SET status = :newStatus, updated_at = :changedAt, " +
+            "started_at = COALESCE(:startedAt, started_at), " +
+            "finished_at = COALESCE(:finishedAt, finished_at), " +
+            "delivered_at = COALESCE(:deliveredAt, delivered_at), " +
+            "version = version + 1 " +
+            "WHERE order_id = :orderId AND status IN (:expectedStatuses))", nativeQuery = true)
+    Optional<String> updateStatus(@Param("orderId") Long orderId,
+                                  @Param("expectedStatuses") Collection<String> expectedStatuses,
+                                  @Param("newStatus") String newStatus,
+                                  @Param("changedAt") LocalDateTime changedAt,
+                                  @Param("startedAt") LocalDateTime startedAt,
+                                  @Param("finishedAt") LocalDateTime finishedAt,
+                                  @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    // Keyset em (started_at, id): o custo de cada página não depende de quantas páginas vieram antes
+    @Query(VIEW + "WHERE o.status IN :statuses AND o.startedAt < :startedBefore " +
+            "AND (o.startedAt > :afterStartedAt OR (o.startedAt = :afterStartedAt AND o.id > :afterId)) " +
+            "ORDER BY o.startedAt, o.id")
+    List<OrderProductionView> findPage(@Param("statuses") Collection<ProductionStatus> statuses,
+                                         @Param("afterStartedAt") LocalDateTime afterStartedAt,
+                                         @Param("afterId") Long afterId,
+                                         @Param("startedBefore") LocalDateTime startedBefore,
+                                         Pageable pageable);
+
+    // Trava as linhas que ainda estão no status esperado; o UPDATE em lote logo depois afeta exatamente essas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.orderId FROM OrderProductionEntity o WHERE o.orderId IN :orderIds AND o.status = :expectedStatus")
+    List<Long> lockOrderIdsInStatus(@Param("orderIds") Collection<Long> orderIds,
+                                    @Param("expectedStatus") ProductionStatus expectedStatus);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderProductionEntity o SET o.status = :newStatus, o.updatedAt = :changedAt, " +
+            "o.startedAt = COALESCE(:startedAt, o.startedAt), " +
+            "o.finishedAt = COALESCE(:finishedAt, o.finishedAt), " +
+            "o.deliveredAt = COALESCE(:deliveredAt, o.deliveredAt), " +
+            "o.version = o.version + 1 " +
+            "WHERE o.orderId IN :orderIds AND o.status = :expectedStatus")
+    int updateStatuses(@Param("orderIds") Collection<Long> orderIds,
+                       @Param("expectedStatus") ProductionStatus expectedStatus,
+                       @Param("newStatus") ProductionStatus newStatus,
+                       @Param("changedAt") LocalDateTime changedAt,
+                       @Param("startedAt") LocalDateTime startedAt,
+                       @Param("finishedAt") LocalDateTime finishedAt,
+                       @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    @Query("SELECT o.id FROM OrderProductionEntity o WHERE o.status IN :statuses AND o.updatedAt < :updatedBefore ORDER BY o.updatedAt")
+    List<Long> findIdsByStatusInAndUpdatedAtBefore(@Param("statuses") Collection<ProductionStatus> statuses,
+                                                   @Param("updatedBefore") LocalDateTime updatedBefore,
+                                                   Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OrderProductionEntity o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT id FROM order_production WHERE status IN ('RECEIVED', 'IN_PREPARATION') " +
+            "AND queue_sequence IS NULL ORDER BY id", nativeQuery = true)
+    List<Long> findUnsequencedActiveIds();
+
+    @Modifying
+    @Query(value = "UPDATE order_production SET queue_sequence = :sequence WHERE id = :id AND queue_sequence IS NULL",
+            nativeQuery = true)
+    int assignQueueSequence(@Param("id") Long id, @Param("sequence") long sequence);
+
+    @Query(VIEW + "WHERE o.status IN :statuses " +
+            "ORDER BY CASE WHEN o.queueSequence IS NULL THEN 1 ELSE 0 END, o.queueSequence, o.id")
+    List<OrderProductionView> findByStatusInQueueOrder(@Param("statuses") Collection<ProductionStatus> statuses);
 }
@@ -0,0 +1,84 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderChannel;
+import com.bytes.service.production.domain.models.ProductionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção das leituras da fila: montada direto do ResultSet por expressão de construtor,
+ * então o Hibernate não gerencia a linha nem guarda snapshot para dirty checking.
+ */
+public class OrderProductionView {
+    private final Long id;
+    private final Long orderId;
+    private final ProductionStatus status;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime finishedAt;
+    private final LocalDateTime deliveredAt;
+    private final Integer positionInQueue;
+    private final String customerName;
+    private final OrderChannel channel;
+    private final Integer estimatedMinutes;
+
+    public OrderProductionView(Long id, Long orderId, ProductionStatus status, LocalDateTime startedAt, LocalDateTime updatedAt,
+                               LocalDateTime finishedAt, LocalDateTime deliveredAt, Integer positionInQueue, String customerName,
+                               OrderChannel channel, Integer estimatedMinutes) {
+        this.id = id;
+        this.orderId = orderId;
+        this.status = status;
+        this.startedAt = startedAt;
+        this.updatedAt = updatedAt;
+        this.finishedAt = finishedAt;
+        this.deliveredAt = deliveredAt;
+        this.positionInQueue = positionInQueue;
+        this.customerName = customerName;
+        this.channel = channel;
+        this.estimatedMinutes = estimatedMinutes;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public ProductionStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public LocalDateTime getDeliveredAt() {
+        return deliveredAt;
+    }
+
+    public Integer getPositionInQueue() {
+        return positionInQueue;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public OrderChannel getChannel() {
+        return channel;
+    }
+
+    public Integer getEstimatedMinutes() {
+        return estimatedMinutes;
+    }
+}
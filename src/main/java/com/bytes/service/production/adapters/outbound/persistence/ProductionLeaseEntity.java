@@ -0,0 +1,33 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "production_lease")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductionLeaseEntity {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(length = 128)
+    private String holder;
+
+    @Column(nullable = false)
+    private long epoch;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
@@ -0,0 +1,38 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ProductionLeaseRepository extends JpaRepository<ProductionLeaseEntity, String> {
+
+    // Um único UPDATE condicional: só um holder vence a disputa por um lease vencido.
+    // Vencimento sempre pelo relógio do banco, senão duas instâncias com relógios diferentes viram líderes ao mesmo tempo
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductionLeaseEntity l SET " +
+            "l.epoch = CASE WHEN l.holder = :holder THEN l.epoch ELSE l.epoch + 1 END, " +
+            "l.holder = :holder, l.expiresAt = local datetime + :ttlSeconds second " +
+            "WHERE l.name = :name AND (l.holder = :holder OR l.holder IS NULL OR l.expiresAt IS NULL OR l.expiresAt < local datetime)")
+    int acquire(@Param("name") String name,
+                @Param("holder") String holder,
+                @Param("ttlSeconds") double ttlSeconds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductionLeaseEntity l SET l.holder = NULL, l.expiresAt = NULL WHERE l.name = :name AND l.holder = :holder")
+    int release(@Param("name") String name, @Param("holder") String holder);
+
+    // Trava o lease só se ainda for deste holder, nesta época e não vencido pelo relógio do banco
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ProductionLeaseEntity l WHERE l.name = :name AND l.holder = :holder AND l.epoch = :epoch " +
+            "AND l.expiresAt > local datetime")
+    Optional<ProductionLeaseEntity> lockIfHeld(@Param("name") String name,
+                                               @Param("holder") String holder,
+                                               @Param("epoch") long epoch);
+}
@@ -0,0 +1,78 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Manda transações read-only para a réplica e todo o resto para o primário.
+ * Depois de uma escrita, as leituras ficam no primário durante a janela de read-your-writes, que deve cobrir
+ * o atraso da replicação. O prazo é em horário de parede para poder viajar com o cliente: numa requisição HTTP
+ * o ReadYourWritesFilter troca o pino da thread pelo que o cliente trouxe e o limpa no fim.
+ * Precisa ficar atrás de um LazyConnectionDataSourceProxy: o gerenciador de transação pede a conexão
+ * antes de marcar a transação como read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ThreadLocal<Long> primaryPinnedUntil = new ThreadLocal<>();
+
+    private final long readYourWritesWindowMillis;
+    private final LongSupplier clock;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this(primary, replica, readYourWritesWindow, System::currentTimeMillis);
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow, LongSupplier clock) {
+        this.readYourWritesWindowMillis = readYourWritesWindow.toMillis();
+        this.clock = clock;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    // Prazo que uma escrita feita agora deixa para o cliente, em epoch millis
+    public long readYourWritesDeadline() {
+        return clock.getAsLong() + readYourWritesWindowMillis;
+    }
+
+    // O prazo vindo de fora nunca passa da janela: o cliente não prende as próprias leituras no primário para sempre
+    public void pinPrimaryUntil(long epochMillis) {
+        primaryPinnedUntil.set(Math.min(epochMillis, readYourWritesDeadline()));
+    }
+
+    public void unpin() {
+        primaryPinnedUntil.remove();
+    }
+
+    Route currentRoute() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                primaryPinnedUntil.set(readYourWritesDeadline());
+            }
+            return Route.PRIMARY;
+        }
+        Long pinnedUntil = primaryPinnedUntil.get();
+        if (pinnedUntil != null) {
+            if (clock.getAsLong() < pinnedUntil) {
+                return Route.PRIMARY;
+            }
+            primaryPinnedUntil.remove();
+        }
+        return Route.REPLICA;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.StationTaskStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "station_task")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationTaskEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false, length = 64)
+    private String station;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StationTaskStatus status;
+
+    @Column(name = "queued_at", nullable = false)
+    private LocalDateTime queuedAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "station_task_item", joinColumns = @JoinColumn(name = "task_id"))
+    @OrderColumn(name = "item_order")
+    @Builder.Default
+    private List<StationTaskItemEmbeddable> items = new ArrayList<>();
+}
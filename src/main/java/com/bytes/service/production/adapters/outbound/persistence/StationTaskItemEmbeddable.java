@@ -0,0 +1,22 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationTaskItemEmbeddable {
+    @Column(name = "product_name")
+    private String productName;
+
+    private Integer quantity;
+
+    private String category;
+
+    private String observations;
+}
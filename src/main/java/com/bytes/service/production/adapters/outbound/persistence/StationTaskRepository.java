@@ -0,0 +1,55 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.StationTaskStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface StationTaskRepository extends JpaRepository<StationTaskEntity, Long> {
+
+    // Itens vêm no mesmo SELECT para a tela da estação não disparar uma consulta por parte
+    @Query("SELECT DISTINCT t FROM StationTaskEntity t LEFT JOIN FETCH t.items " +
+            "WHERE t.station = :station AND t.status IN :statuses ORDER BY t.queuedAt, t.id")
+    List<StationTaskEntity> findByStationAndStatusIn(@Param("station") String station,
+                                                     @Param("statuses") Collection<StationTaskStatus> statuses);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM StationTaskEntity t WHERE t.orderId = :orderId ORDER BY t.id")
+    List<StationTaskEntity> lockByOrderId(@Param("orderId") Long orderId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StationTaskEntity t SET t.status = :newStatus, " +
+            "t.startedAt = COALESCE(:startedAt, t.startedAt), t.finishedAt = COALESCE(:finishedAt, t.finishedAt) " +
+            "WHERE t.orderId = :orderId AND t.station = :station AND t.status = :expectedStatus")
+    int updateStatus(@Param("orderId") Long orderId,
+                     @Param("station") String station,
+                     @Param("expectedStatus") StationTaskStatus expectedStatus,
+                     @Param("newStatus") StationTaskStatus newStatus,
+                     @Param("startedAt") LocalDateTime startedAt,
+                     @Param("finishedAt") LocalDateTime finishedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StationTaskEntity t SET t.status = :closedStatus, t.finishedAt = :finishedAt " +
+            "WHERE t.orderId = :orderId AND t.status IN :openStatuses")
+    int closeByOrderIdAndStatusIn(@Param("orderId") Long orderId,
+                                  @Param("openStatuses") Collection<StationTaskStatus> openStatuses,
+                                  @Param("closedStatus") StationTaskStatus closedStatus,
+                                  @Param("finishedAt") LocalDateTime finishedAt);
+
+    // Nativo para o ON DELETE CASCADE levar os itens junto, sem carregar as partes
+    @Modifying
+    @Query(value = "DELETE FROM station_task WHERE order_id = :orderId", nativeQuery = true)
+    int deleteByOrderId(@Param("orderId") Long orderId);
+
+    @Modifying
+    @Query(value = "DELETE FROM station_task WHERE order_id IN (SELECT order_id FROM order_production WHERE id IN :ids)",
+            nativeQuery = true)
+    int deleteByOrderProductionIdIn(@Param("ids") Collection<Long> ids);
+}
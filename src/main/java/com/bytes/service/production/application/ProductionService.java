@@ -1,61 +1,160 @@
 package com.bytes.service.production.application;
 
+import com.bytes.service.production.adapters.inbound.dtos.OrderPageDTO;
 import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateRequestDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateResultDTO;
+import com.bytes.service.production.application.cache.OrderStatusCache;
+import com.bytes.service.production.application.cache.SingleFlight;
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.application.queue.QueueStanding;
 import com.bytes.service.production.domain.models.ProductionQueue;
 import com.bytes.service.production.application.useCases.GetActiveOrdersUseCase;
 import com.bytes.service.production.application.useCases.GetOrderByIdUseCase;
+import com.bytes.service.production.application.useCases.GetStationQueueUseCase;
+import com.bytes.service.production.application.useCases.ListOrdersUseCase;
 import com.bytes.service.production.application.useCases.StartOrderUseCase;
 import com.bytes.service.production.application.useCases.UpdateOrderStatusUseCase;
+import com.bytes.service.production.application.useCases.UpdateStationTaskUseCase;
+import com.bytes.service.production.domain.models.IntakeResult;
+import com.bytes.service.production.domain.models.OrderIntake;
+import com.bytes.service.production.domain.models.OrderPageQuery;
 import com.bytes.service.production.domain.models.OrderProduction;
 import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
 import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class ProductionService implements ProductionServicePort {
 
+    private static final String ACTIVE_ORDERS_KEY = "active";
+
     private final StartOrderUseCase startOrderUseCase;
     private final GetOrderByIdUseCase getOrderByIdUseCase;
     private final GetActiveOrdersUseCase getActiveOrdersUseCase;
+    private final ListOrdersUseCase listOrdersUseCase;
 
     private final UpdateOrderStatusUseCase updateOrderStatusUseCase;
 
-    public ProductionService(StartOrderUseCase startOrderUseCase, GetOrderByIdUseCase getOrderByIdUseCase, GetActiveOrdersUseCase getActiveOrdersUseCase, UpdateOrderStatusUseCase updateOrderStatusUseCase) {
+    private final GetStationQueueUseCase getStationQueueUseCase;
+    private final UpdateStationTaskUseCase updateStationTaskUseCase;
+
+    private final OrderStatusCache orderStatusCache;
+    private final PreparationTimeEstimator estimator;
+    private final QueueStanding queueStanding;
+
+    private final SingleFlight<Long, OrderStatusDTO> orderStatusReads;
+    private final SingleFlight<String, List<ProductionQueue>> activeOrdersReads;
+
+    public ProductionService(StartOrderUseCase startOrderUseCase, GetOrderByIdUseCase getOrderByIdUseCase, GetActiveOrdersUseCase getActiveOrdersUseCase, ListOrdersUseCase listOrdersUseCase, UpdateOrderStatusUseCase updateOrderStatusUseCase, GetStationQueueUseCase getStationQueueUseCase, UpdateStationTaskUseCase updateStationTaskUseCase, OrderStatusCache orderStatusCache, PreparationTimeEstimator estimator,
+                             QueueStanding queueStanding, SingleFlight<Long, OrderStatusDTO> orderStatusReads, SingleFlight<String, List<ProductionQueue>> activeOrdersReads) {
         this.startOrderUseCase = startOrderUseCase;
         this.getOrderByIdUseCase = getOrderByIdUseCase;
         this.getActiveOrdersUseCase = getActiveOrdersUseCase;
+        this.listOrdersUseCase = listOrdersUseCase;
         this.updateOrderStatusUseCase = updateOrderStatusUseCase;
+        this.getStationQueueUseCase = getStationQueueUseCase;
+        this.updateStationTaskUseCase = updateStationTaskUseCase;
+        this.orderStatusCache = orderStatusCache;
+        this.estimator = estimator;
+        this.queueStanding = queueStanding;
+        this.orderStatusReads = orderStatusReads;
+        this.activeOrdersReads = activeOrdersReads;
     }
 
+    // Sem transação read-only de propósito: o /queue vale pela tag de versão desta instância, lida antes da consulta,
+    // e uma réplica atrasada devolveria uma fila mais velha que a tag, que o cliente guardaria até a próxima escrita
     @Override
     public List<ProductionQueue> getActiveOrders() {
-      return getActiveOrdersUseCase.execute();
+        return activeOrdersReads.execute(ACTIVE_ORDERS_KEY, getActiveOrdersUseCase::execute);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDTO listOrders(OrderPageQuery query) {
+        return listOrdersUseCase.execute(query);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StationTask> getStationQueue(String station) {
+        return getStationQueueUseCase.execute(station);
     }
 
     @Override
     public OrderStatusDTO getOrderStatus(Long orderId) {
+        // Só a falta no cache vai ao banco, e uma vez por pedido mesmo com várias telas perguntando juntas.
+        // Sem transação read-only de propósito: a carga lê do primário, senão uma linha atrasada da réplica
+        // ficaria no cache até expirar
+        OrderStatusDTO status = orderStatusCache.get(orderId, id -> orderStatusReads.execute(id, () -> loadOrderStatus(id)));
+        return withStanding(status);
+    }
+
+    private OrderStatusDTO loadOrderStatus(Long orderId) {
         OrderProduction orderProduction = getOrderByIdUseCase.execute(orderId);
+        queueStanding.admit(orderProduction);
 
         return OrderStatusDTO.builder()
                 .orderId(orderProduction.getOrderId())
                 .currentStatus(orderProduction.getStatus())
                 .statusDescription(getStatusDescription(orderProduction.getStatus()))
-                .queuePosition(orderProduction.getPositionInQueue())
                 .lastUpdate(orderProduction.getUpdatedAt() != null ? orderProduction.getUpdatedAt() : orderProduction.getStartedAt())
                 .build();
     }
 
+    // Posição e previsão saem da fila atual a cada leitura, na mesma ordem do /queue, em O(log n) e sem ir ao banco
+    private OrderStatusDTO withStanding(OrderStatusDTO status) {
+        Integer position = queueStanding.position(status.getOrderId(), status.getCurrentStatus());
+        LocalDateTime now = LocalDateTime.now();
+        Long remainingMinutes = estimator.remainingMinutes(status.getCurrentStatus(), position == null ? 0 : position - 1,
+                status.getLastUpdate(), now);
+        // Horário absoluto em vez de minutos restantes, como o cliente sempre recebeu
+        return OrderStatusDTO.builder()
+                .orderId(status.getOrderId())
+                .currentStatus(status.getCurrentStatus())
+                .statusDescription(status.getStatusDescription())
+                .queuePosition(position)
+                .lastUpdate(status.getLastUpdate())
+                .estimatedReadyAt(remainingMinutes == null ? null : now.plusMinutes(remainingMinutes))
+                .build();
+    }
+
+    // Pedido e partes das estações confirmam juntos; como no lote, uma entrega simultânea que perde na constraint
+    // volta com rollback e a reentrega seguinte já sai como DUPLICATE
     @Override
-    public void startProduction(Long orderId, String customerName) {
-        startOrderUseCase.execute(orderId, customerName);
+    @Transactional
+    public IntakeResult startProduction(OrderIntake intake) {
+        return startOrderUseCase.execute(intake);
     }
 
     @Override
-    public void updateStatus(Long orderId, ProductionStatus newStatus) {
+    @Transactional
+    public int startProductions(List<OrderIntake> intakes) {
+        return startOrderUseCase.executeAll(intakes);
+    }
 
+    @Override
+    @Transactional
+    public void updateStatus(Long orderId, ProductionStatus newStatus) {
         updateOrderStatusUseCase.execute(orderId, newStatus);
     }
 
+    @Override
+    @Transactional
+    public List<StatusUpdateResultDTO> updateStatuses(List<StatusUpdateRequestDTO> updates) {
+        return updateOrderStatusUseCase.executeAll(updates);
+    }
+
+    @Override
+    @Transactional
+    public void updateStationStatus(Long orderId, String station, StationTaskStatus newStatus) {
+        updateStationTaskUseCase.execute(orderId, station, newStatus);
+    }
+
     private String getStatusDescription(ProductionStatus status) {
         return status.getDescription();
     }
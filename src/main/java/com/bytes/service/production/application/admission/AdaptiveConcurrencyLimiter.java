@@ -0,0 +1,153 @@
+package com.bytes.service.production.application.admission;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de requisições simultâneas ajustado por AIMD: cada resposta rápida soma 1/limite (cerca de +1 por janela cheia),
+ * cada resposta lenta ou com falha multiplica o limite por {@code backoffRatio}, no máximo uma vez por janela:
+ * só conta a resposta de uma requisição admitida depois da última redução, senão uma rajada lenta derruba o limite
+ * uma vez por requisição em vez de uma vez só.
+ * Leituras só usam a fração {@code readShare} do limite, então são recusadas antes das escritas quando a fila aperta.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        READ,
+        WRITE
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final double readShare;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Priority, AtomicLong> rejected = new EnumMap<>(Priority.class);
+
+    private double limit;
+    private int inFlight;
+    private long admitted;
+    private long admittedAtLastDecrease;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio,
+                                      double readShare) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be in (0, 1): " + backoffRatio);
+        }
+        if (readShare <= 0 || readShare > 1) {
+            throw new IllegalArgumentException("Read share must be in (0, 1]: " + readShare);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.readShare = readShare;
+        this.limit = initialLimit;
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, new AtomicLong());
+        }
+    }
+
+    // Devolve null quando a requisição deve ser recusada
+    public Permit tryAcquire(Priority priority) {
+        lock.lock();
+        try {
+            int capacity = priority == Priority.WRITE ? (int) limit : Math.max(1, (int) (limit * readShare));
+            if (inFlight >= capacity) {
+                rejected.get(priority).incrementAndGet();
+                return null;
+            }
+            inFlight++;
+            return new Permit(++admitted, inFlight, System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long rejectedCount(Priority priority) {
+        return rejected.get(priority).get();
+    }
+
+    private void release(long admission, int inFlightAtStart, long startedAt, boolean dropped, boolean measured) {
+        long latency = System.nanoTime() - startedAt;
+        lock.lock();
+        try {
+            inFlight--;
+            if (!measured) {
+                return;
+            }
+            if (dropped || latency > latencyThresholdNanos) {
+                // Admitida antes da última redução: a janela dela já foi penalizada
+                if (admission > admittedAtLastDecrease) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    admittedAtLastDecrease = admitted;
+                }
+            } else if (inFlightAtStart * 2 >= limit) {
+                // Só cresce quando o limite está sendo usado; com pouco tráfego ele não diz nada sobre a capacidade
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public final class Permit {
+        private final long admission;
+        private final int inFlightAtStart;
+        private final long startedAt;
+        private boolean released;
+
+        private Permit(long admission, int inFlightAtStart, long startedAt) {
+            this.admission = admission;
+            this.inFlightAtStart = inFlightAtStart;
+            this.startedAt = startedAt;
+        }
+
+        public void success() {
+            release(false, true);
+        }
+
+        // Falha ou timeout: sinal de sobrecarga, reduz o limite
+        public void dropped() {
+            release(true, true);
+        }
+
+        // Falha que não diz nada sobre a carga (bug, erro do cliente): só devolve a vaga, sem mexer no limite
+        public void ignored() {
+            release(false, false);
+        }
+
+        private void release(boolean dropped, boolean measured) {
+            if (released) {
+                return;
+            }
+            released = true;
+            AdaptiveConcurrencyLimiter.this.release(admission, inFlightAtStart, startedAt, dropped, measured);
+        }
+    }
+}
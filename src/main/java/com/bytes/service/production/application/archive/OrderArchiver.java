@@ -0,0 +1,126 @@
+package com.bytes.service.production.application.archive;
+
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Tira da tabela quente os pedidos encerrados há mais de gracePeriod e apaga o histórico
+ * mais velho que retention. Trabalha em lotes pequenos com pausa entre eles e um teto
+ * de lotes por ciclo, para não disputar o banco com a cozinha no horário de pico.
+ */
+public class OrderArchiver implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private final OrderArchivePort archive;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Duration pauseBetweenChunks;
+    private final Duration gracePeriod;
+    private final Duration retention;
+    private final Clock clock;
+    private final ThreadFactory threadFactory;
+    private ScheduledExecutorService scheduler;
+
+    public OrderArchiver(OrderArchivePort archive, ThreadFactory threadFactory, int chunkSize, int maxChunksPerRun,
+                         Duration pauseBetweenChunks, Duration gracePeriod, Duration retention) {
+        this(archive, threadFactory, chunkSize, maxChunksPerRun, pauseBetweenChunks, gracePeriod, retention, Clock.systemDefaultZone());
+    }
+
+    OrderArchiver(OrderArchivePort archive, ThreadFactory threadFactory, int chunkSize, int maxChunksPerRun,
+                  Duration pauseBetweenChunks, Duration gracePeriod, Duration retention, Clock clock) {
+        this.archive = archive;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.pauseBetweenChunks = pauseBetweenChunks;
+        this.gracePeriod = gracePeriod;
+        this.retention = retention;
+        this.clock = clock;
+        this.threadFactory = threadFactory;
+    }
+
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduler.scheduleWithFixedDelay(this::run, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Cada lote é uma transação própria, então interromper no meio de uma passada não deixa pedido pela metade
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    // Uma passada de arquivamento; devolve quantos pedidos saíram da tabela quente
+    public int archiveOnce() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return inChunks(now.minus(gracePeriod), (cutoff, limit) -> archive.archiveTerminalOrders(cutoff, now, limit));
+    }
+
+    // Uma passada de limpeza; devolve quantos pedidos saíram do histórico
+    public int purgeOnce() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return inChunks(now.minus(retention), archive::purgeArchivedBefore);
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private void run() {
+        try {
+            int archived = archiveOnce();
+            int purged = purgeOnce();
+            if (archived > 0 || purged > 0) {
+                log.info("Archived {} finished orders and purged {} from history", archived, purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not archive finished orders", e);
+        }
+    }
+
+    private int inChunks(LocalDateTime cutoff, BiFunction<LocalDateTime, Integer, Integer> step) {
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int moved = step.apply(cutoff, chunkSize);
+            total += moved;
+            // Lote incompleto indica que não sobrou nada antes do corte; o restante fica para o próximo ciclo
+            if (moved < chunkSize || chunk == maxChunksPerRun - 1 || !pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        if (pauseBetweenChunks.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseBetweenChunks);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.bytes.service.production.application.cache;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache LRU com TTL do status exibido ao cliente.
+ * Guarda só o que é do próprio pedido; posição e previsão dependem da fila inteira e são calculadas a cada leitura,
+ * então a chegada ou saída de outro pedido não derruba nenhuma entrada.
+ * Os eventos de escrita atualizam ou invalidam as entradas logo depois do commit, antes de a requisição de escrita responder.
+ */
+public class OrderStatusCache implements ProductionEventPort {
+
+    private static final Set<ProductionStatus> ACTIVE_STATUSES = Set.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION);
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Incrementado a cada escrita; uma carga iniciada antes dela não é guardada
+    private long writeGeneration;
+
+    public OrderStatusCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    OrderStatusCache(int maxSize, Duration ttl, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    public OrderStatusDTO get(Long orderId, Function<Long, OrderStatusDTO> loader) {
+        long generation;
+        lock.lock();
+        try {
+            Entry entry = entries.get(orderId);
+            if (entry != null) {
+                if (clock.getAsLong() - entry.loadedAt < ttlNanos) {
+                    hits.incrementAndGet();
+                    return entry.status;
+                }
+                entries.remove(orderId);
+                evictions.incrementAndGet();
+            }
+            generation = writeGeneration;
+        } finally {
+            lock.unlock();
+        }
+
+        misses.incrementAndGet();
+        OrderStatusDTO status = loader.apply(orderId);
+
+        if (maxSize > 0) {
+            lock.lock();
+            try {
+                if (generation == writeGeneration) {
+                    entries.put(orderId, new Entry(status, clock.getAsLong()));
+                    evictOverflow();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return status;
+    }
+
+    public void invalidate(Long orderId) {
+        lock.lock();
+        try {
+            writeGeneration++;
+            entries.remove(orderId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A fila relida do primário traz as transições feitas em outras instâncias; só cai quem mudou de status
+    public void queueReplayed(List<OrderProduction> activeQueue) {
+        Map<Long, ProductionStatus> statuses = new HashMap<>();
+        for (OrderProduction order : activeQueue) {
+            statuses.put(order.getOrderId(), order.getStatus());
+        }
+        lock.lock();
+        try {
+            writeGeneration++;
+            entries.entrySet().removeIf(cached -> ACTIVE_STATUSES.contains(cached.getValue().status.getCurrentStatus())
+                    && cached.getValue().status.getCurrentStatus() != statuses.get(cached.getKey()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void orderQueued(OrderProduction production) {
+        invalidate(production.getOrderId());
+    }
+
+    @Override
+    public void statusChanged(Long orderId, ProductionStatus previousStatus, ProductionStatus newStatus, LocalDateTime changedAt) {
+        lock.lock();
+        try {
+            writeGeneration++;
+            if (entries.containsKey(orderId)) {
+                entries.put(orderId, new Entry(OrderStatusDTO.builder()
+                        .orderId(orderId)
+                        .currentStatus(newStatus)
+                        .statusDescription(newStatus.getDescription())
+                        .lastUpdate(changedAt)
+                        .build(), clock.getAsLong()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private record Entry(OrderStatusDTO status, long loadedAt) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.bytes.service.production.application.cache;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Junta leituras idênticas que chegam ao mesmo tempo: a primeira chamada executa a carga e as que chegam
+ * enquanto ela está em andamento recebem o mesmo resultado (ou a mesma exceção). Nada fica guardado depois
+ * que a carga termina, então o resultado nunca é mais velho que a própria leitura em andamento.
+ * O resultado é compartilhado entre as chamadas e não deve ser alterado por quem o recebe.
+ * Como listener, esquece as cargas em andamento a cada escrita confirmada; precisa vir antes do cache na lista
+ * do dispatcher, senão um leitor pega a geração nova do cache e uma carga começada antes do commit.
+ */
+public class SingleFlight<K, V> implements ProductionEventPort {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            return await(running);
+        }
+
+        executions.incrementAndGet();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    // Quem chegar depois dispara uma carga nova em vez de pegar carona numa que começou antes
+    public void forget() {
+        inFlight.clear();
+    }
+
+    @Override
+    public void orderQueued(OrderProduction production) {
+        forget();
+    }
+
+    @Override
+    public void statusChanged(Long orderId, ProductionStatus previousStatus, ProductionStatus newStatus, LocalDateTime changedAt) {
+        forget();
+    }
+
+    public long executionCount() {
+        return executions.get();
+    }
+
+    public long coalescedCount() {
+        return coalesced.get();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
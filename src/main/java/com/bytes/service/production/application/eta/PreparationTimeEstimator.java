@@ -0,0 +1,253 @@
+package com.bytes.service.production.application.eta;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estima quanto falta para um pedido ficar pronto a partir das transições observadas.
+ * Mantém médias móveis exponenciais por categoria e hora do dia do tempo de preparo (IN_PREPARATION → READY)
+ * e do intervalo entre pedidos que ficam prontos; cada transição custa O(1) e nada do histórico é relido.
+ * Pedidos acompanhados cuja saída acontece em outra instância expiram depois de trackingTtl sem transição.
+ */
+public class PreparationTimeEstimator implements ProductionEventPort {
+
+    public static final String ALL_CATEGORIES = "*";
+
+    static final int MIN_SAMPLES_PER_HOUR = 3;
+
+    private static final int HOURS = 24;
+    private static final int ANY_HOUR = HOURS;
+    private static final Duration DEFAULT_TRACKING_TTL = Duration.ofHours(4);
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    private final double alpha;
+    private final Duration defaultPreparation;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Ewma[]> preparation = new HashMap<>();
+    private final Ewma[] departureInterval = newCells();
+    private final Duration trackingTtl;
+    private final Map<Long, TrackedOrder> tracked = new ConcurrentHashMap<>();
+    private final AtomicReference<LocalDateTime> nextSweep = new AtomicReference<>(LocalDateTime.MIN);
+    private LocalDateTime lastDeparture;
+
+    public PreparationTimeEstimator(double alpha, Duration defaultPreparation) {
+        this(alpha, defaultPreparation, DEFAULT_TRACKING_TTL);
+    }
+
+    public PreparationTimeEstimator(double alpha, Duration defaultPreparation, Duration trackingTtl) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("EWMA alpha must be in (0, 1]: " + alpha);
+        }
+        if (trackingTtl.isNegative() || trackingTtl.isZero()) {
+            throw new IllegalArgumentException("Tracking TTL must be positive: " + trackingTtl);
+        }
+        this.alpha = alpha;
+        this.defaultPreparation = defaultPreparation;
+        this.trackingTtl = trackingTtl;
+    }
+
+    // Guarda as estações do pedido para repartir o tempo de preparo por categoria quando ele ficar pronto
+    @Override
+    public void orderQueued(OrderProduction production) {
+        if (!production.getStations().isEmpty()) {
+            tracked.put(production.getOrderId(), new TrackedOrder(production.getStartedAt(), null, stationSet(production.getStations())));
+        }
+        expireStale(production.getStartedAt());
+    }
+
+    @Override
+    public void statusChanged(Long orderId, ProductionStatus previousStatus, ProductionStatus newStatus, LocalDateTime changedAt) {
+        if (newStatus == ProductionStatus.IN_PREPARATION) {
+            // Sem entrada conhecida (outra instância, restart) acompanha só o total
+            tracked.compute(orderId, (id, order) ->
+                    new TrackedOrder(changedAt, changedAt, order == null ? stationSet(Set.of()) : order.pendingStations()));
+        } else {
+            TrackedOrder order = tracked.remove(orderId);
+            if (newStatus == ProductionStatus.READY) {
+                recordDeparture(changedAt);
+                // Pedido que entrou em preparo antes do restart não tem início conhecido; conta só a saída
+                if (order != null && order.preparingSince() != null) {
+                    recordPreparation(ALL_CATEGORIES, order.preparingSince(), changedAt);
+                    // Estação já medida pela própria parte não ganha uma segunda amostra com o tempo do pedido todo
+                    for (String station : order.pendingStations()) {
+                        recordPreparation(station, order.preparingSince(), changedAt);
+                    }
+                }
+            }
+        }
+        expireStale(changedAt);
+    }
+
+    // Amostra de uma parte concluída na estação; o pedido deixa de contar essa estação quando ficar pronto
+    public void recordStationPreparation(Long orderId, String station, LocalDateTime startedAt, LocalDateTime finishedAt) {
+        recordPreparation(station, startedAt, finishedAt);
+        TrackedOrder order = tracked.get(orderId);
+        if (order != null) {
+            order.pendingStations().remove(station);
+        }
+    }
+
+    public void recordPreparation(String category, LocalDateTime startedAt, LocalDateTime finishedAt) {
+        double minutes = minutesBetween(startedAt, finishedAt);
+        if (minutes < 0) {
+            return;
+        }
+        int hour = startedAt.getHour();
+        lock.lock();
+        try {
+            Ewma[] cells = preparation.computeIfAbsent(category, key -> newCells());
+            cells[hour].add(minutes, alpha);
+            cells[ANY_HOUR].add(minutes, alpha);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Duration preparationTime(String category, LocalDateTime at) {
+        lock.lock();
+        try {
+            Double minutes = preparationMinutes(category, at.getHour());
+            if (minutes == null && !ALL_CATEGORIES.equals(category)) {
+                minutes = preparationMinutes(ALL_CATEGORIES, at.getHour());
+            }
+            return minutes == null ? defaultPreparation : ofMinutes(minutes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Sem histórico de saídas, assume cozinha serial: sai um pedido a cada tempo de preparo
+    public Duration departureInterval(LocalDateTime at) {
+        lock.lock();
+        try {
+            Double minutes = select(departureInterval, at.getHour());
+            return minutes == null ? preparationTime(ALL_CATEGORIES, at) : ofMinutes(minutes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tempo até o pedido ficar pronto. Na fila espera sair quem está à frente e depois o próprio preparo;
+     * em preparo só resta o que falta da média. Fora da fila ativa não há estimativa.
+     */
+    public Duration remaining(ProductionStatus status, int ordersAhead, LocalDateTime inStatusSince, LocalDateTime now) {
+        Duration preparationTime = preparationTime(ALL_CATEGORIES, now);
+        return switch (status) {
+            case RECEIVED -> departureInterval(now).multipliedBy(Math.max(ordersAhead, 0)).plus(preparationTime);
+            case IN_PREPARATION -> {
+                Duration elapsed = inStatusSince == null ? Duration.ZERO : Duration.between(inStatusSince, now);
+                Duration left = preparationTime.minus(elapsed);
+                yield left.isNegative() ? Duration.ZERO : left;
+            }
+            default -> null;
+        };
+    }
+
+    public Long remainingMinutes(OrderProduction order, LocalDateTime now) {
+        Integer position = order.getPositionInQueue();
+        return remainingMinutes(order, position == null ? 0 : position - 1, now);
+    }
+
+    public Long remainingMinutes(OrderProduction order, int ordersAhead, LocalDateTime now) {
+        LocalDateTime since = order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getStartedAt();
+        return remainingMinutes(order.getStatus(), ordersAhead, since, now);
+    }
+
+    public Long remainingMinutes(ProductionStatus status, int ordersAhead, LocalDateTime inStatusSince, LocalDateTime now) {
+        Duration remaining = remaining(status, ordersAhead, inStatusSince, now);
+        // Arredonda para cima: "0 minutos" só quando já devia estar pronto
+        return remaining == null ? null : (remaining.toSeconds() + 59) / 60;
+    }
+
+    private void recordDeparture(LocalDateTime readyAt) {
+        lock.lock();
+        try {
+            if (lastDeparture != null && !readyAt.isBefore(lastDeparture)) {
+                // Um intervalo maior que o preparo indica cozinha ociosa, não vazão; limita para não inflar a fila
+                double cap = durationMinutes(preparationTime(ALL_CATEGORIES, readyAt));
+                double minutes = Math.min(minutesBetween(lastDeparture, readyAt), cap);
+                departureInterval[readyAt.getHour()].add(minutes, alpha);
+                departureInterval[ANY_HOUR].add(minutes, alpha);
+            }
+            if (lastDeparture == null || readyAt.isAfter(lastDeparture)) {
+                lastDeparture = readyAt;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Varre no máximo uma vez por SWEEP_INTERVAL; só a thread que ganha o CAS percorre o mapa
+    private void expireStale(LocalDateTime now) {
+        LocalDateTime due = nextSweep.get();
+        if (now == null || now.isBefore(due) || !nextSweep.compareAndSet(due, now.plus(SWEEP_INTERVAL))) {
+            return;
+        }
+        LocalDateTime cutoff = now.minus(trackingTtl);
+        tracked.values().removeIf(order -> order.touchedAt().isBefore(cutoff));
+    }
+
+    private Double preparationMinutes(String category, int hour) {
+        Ewma[] cells = preparation.get(category);
+        return cells == null ? null : select(cells, hour);
+    }
+
+    // A hora do dia só vale com amostras suficientes; antes disso usa a média de todas as horas
+    private Double select(Ewma[] cells, int hour) {
+        if (cells[hour].samples >= MIN_SAMPLES_PER_HOUR) {
+            return cells[hour].mean;
+        }
+        return cells[ANY_HOUR].samples > 0 ? cells[ANY_HOUR].mean : null;
+    }
+
+    private static Set<String> stationSet(Collection<String> stations) {
+        Set<String> set = ConcurrentHashMap.newKeySet();
+        set.addAll(stations);
+        return set;
+    }
+
+    private static Ewma[] newCells() {
+        Ewma[] cells = new Ewma[HOURS + 1];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new Ewma();
+        }
+        return cells;
+    }
+
+    private static double minutesBetween(LocalDateTime from, LocalDateTime to) {
+        return durationMinutes(Duration.between(from, to));
+    }
+
+    private static double durationMinutes(Duration duration) {
+        return duration.toMillis() / 60_000.0;
+    }
+
+    private static Duration ofMinutes(double minutes) {
+        return Duration.ofMillis(Math.round(minutes * 60_000));
+    }
+
+    private record TrackedOrder(LocalDateTime touchedAt, LocalDateTime preparingSince, Set<String> pendingStations) {
+    }
+
+    private static final class Ewma {
+        private double mean;
+        private long samples;
+
+        private void add(double value, double alpha) {
+            mean = samples == 0 ? value : mean + alpha * (value - mean);
+            samples++;
+        }
+    }
+}
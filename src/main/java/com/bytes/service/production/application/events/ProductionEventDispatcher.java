@@ -0,0 +1,71 @@
+package com.bytes.service.production.application.events;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Repassa os eventos dos casos de uso para cada listener, na ordem de registro.
+ * Os listeners transacionais rodam na hora, dentro da transação da escrita; os demais (cache, versões, feed,
+ * métricas) só depois do commit, então um rollback não deixa rastro e nenhuma leitura posterior ao evento
+ * enxerga o banco de antes da escrita. Sem transação ativa, todos rodam na hora.
+ * Falha de um listener não interrompe os demais nem a transição que já foi gravada.
+ */
+public class ProductionEventDispatcher implements ProductionEventPort {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductionEventDispatcher.class);
+
+    private final List<ProductionEventPort> transactionalListeners;
+    private final List<ProductionEventPort> listeners;
+
+    public ProductionEventDispatcher(List<ProductionEventPort> listeners) {
+        this(List.of(), listeners);
+    }
+
+    public ProductionEventDispatcher(List<ProductionEventPort> transactionalListeners, List<ProductionEventPort> listeners) {
+        this.transactionalListeners = List.copyOf(transactionalListeners);
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public void orderQueued(OrderProduction production) {
+        dispatch(listener -> listener.orderQueued(production));
+    }
+
+    @Override
+    public void statusChanged(Long orderId, ProductionStatus previousStatus, ProductionStatus newStatus, LocalDateTime changedAt) {
+        dispatch(listener -> listener.statusChanged(orderId, previousStatus, newStatus, changedAt));
+    }
+
+    private void dispatch(Consumer<ProductionEventPort> event) {
+        deliver(transactionalListeners, event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(listeners, event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deliver(listeners, event);
+            }
+        });
+    }
+
+    private void deliver(List<ProductionEventPort> targets, Consumer<ProductionEventPort> event) {
+        for (ProductionEventPort listener : targets) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                log.warn("Production event listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
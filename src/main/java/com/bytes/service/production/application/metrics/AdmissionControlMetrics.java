@@ -0,0 +1,38 @@
+package com.bytes.service.production.application.metrics;
+
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter;
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Locale;
+
+/**
+ * Limite atual, requisições em andamento e recusas por prioridade do controle de admissão.
+ */
+public class AdmissionControlMetrics implements MeterBinder {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public AdmissionControlMetrics(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("production.admission.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Limite atual de requisições simultâneas")
+                .register(registry);
+        Gauge.builder("production.admission.in.flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Requisições admitidas em andamento")
+                .register(registry);
+        for (Priority priority : Priority.values()) {
+            FunctionCounter.builder("production.admission.rejected", limiter, l -> l.rejectedCount(priority))
+                    .description("Requisições recusadas com 429")
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+    }
+}
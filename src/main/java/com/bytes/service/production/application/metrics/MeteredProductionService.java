@@ -0,0 +1,105 @@
+package com.bytes.service.production.application.metrics;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderPageDTO;
+import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateRequestDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateResultDTO;
+import com.bytes.service.production.domain.models.IntakeResult;
+import com.bytes.service.production.domain.models.OrderIntake;
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Mede cada operação de {@link ProductionServicePort} com um timer com histograma de percentis,
+ * separando as chamadas que terminaram em exceção.
+ */
+public class MeteredProductionService implements ProductionServicePort {
+
+    static final String TIMER_NAME = "production.service";
+
+    private final ProductionServicePort delegate;
+    private final MeterRegistry registry;
+
+    public MeteredProductionService(ProductionServicePort delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public IntakeResult startProduction(OrderIntake intake) {
+        return record("startProduction", () -> delegate.startProduction(intake));
+    }
+
+    @Override
+    public int startProductions(List<OrderIntake> intakes) {
+        return record("startProductions", () -> delegate.startProductions(intakes));
+    }
+
+    @Override
+    public void updateStatus(Long orderId, ProductionStatus newStatus) {
+        record("updateStatus", () -> {
+            delegate.updateStatus(orderId, newStatus);
+            return null;
+        });
+    }
+
+    @Override
+    public List<StatusUpdateResultDTO> updateStatuses(List<StatusUpdateRequestDTO> updates) {
+        return record("updateStatuses", () -> delegate.updateStatuses(updates));
+    }
+
+    @Override
+    public OrderStatusDTO getOrderStatus(Long orderId) {
+        return record("getOrderStatus", () -> delegate.getOrderStatus(orderId));
+    }
+
+    @Override
+    public List<ProductionQueue> getActiveOrders() {
+        return record("getActiveOrders", delegate::getActiveOrders);
+    }
+
+    @Override
+    public OrderPageDTO listOrders(OrderPageQuery query) {
+        return record("listOrders", () -> delegate.listOrders(query));
+    }
+
+    @Override
+    public List<StationTask> getStationQueue(String station) {
+        return record("getStationQueue", () -> delegate.getStationQueue(station));
+    }
+
+    @Override
+    public void updateStationStatus(Long orderId, String station, StationTaskStatus newStatus) {
+        record("updateStationStatus", () -> {
+            delegate.updateStationStatus(orderId, station, newStatus);
+            return null;
+        });
+    }
+
+    private <T> T record(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("Tempo de cada operação do serviço de produção")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+}
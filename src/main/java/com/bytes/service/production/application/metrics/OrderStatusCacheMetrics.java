@@ -0,0 +1,39 @@
+package com.bytes.service.production.application.metrics;
+
+import com.bytes.service.production.application.cache.OrderStatusCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publica as estatísticas do cache de status com os nomes padrão do Micrometer para caches.
+ */
+public class OrderStatusCacheMetrics implements MeterBinder {
+
+    static final String CACHE_NAME = "order-status";
+
+    private final OrderStatusCache cache;
+
+    public OrderStatusCacheMetrics(OrderStatusCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", cache, OrderStatusCache::hitCount)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, OrderStatusCache::missCount)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, OrderStatusCache::evictionCount)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        Gauge.builder("cache.size", cache, OrderStatusCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+}
@@ -0,0 +1,100 @@
+package com.bytes.service.production.application.metrics;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de transição (from → to), gauge de pedidos por status e tempo gasto em cada status.
+ * Os gauges partem da contagem do banco no registro e depois seguem os eventos desta instância.
+ */
+public class ProductionMetrics implements ProductionEventPort, MeterBinder {
+
+    private final OrderProductionRepositoryPort repository;
+    private final Map<ProductionStatus, AtomicLong> ordersByStatus = new EnumMap<>(ProductionStatus.class);
+    private final Map<Long, LocalDateTime> enteredStatusAt = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+
+    public ProductionMetrics(OrderProductionRepositoryPort repository) {
+        this.repository = repository;
+        for (ProductionStatus status : ProductionStatus.values()) {
+            ordersByStatus.put(status, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ProductionStatus status : ProductionStatus.values()) {
+            AtomicLong count = ordersByStatus.get(status);
+            count.set(repository.countByStatusIn(List.of(status)));
+            Gauge.builder("production.orders", count, AtomicLong::get)
+                    .description("Pedidos em cada status de produção")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+        this.registry = registry;
+    }
+
+    @Override
+    public void orderQueued(OrderProduction production) {
+        ordersByStatus.get(production.getStatus()).incrementAndGet();
+        enteredStatusAt.put(production.getOrderId(), production.getStartedAt() != null ? production.getStartedAt() : LocalDateTime.now());
+        count(null, production.getStatus());
+    }
+
+    @Override
+    public void statusChanged(Long orderId, ProductionStatus previousStatus, ProductionStatus newStatus, LocalDateTime changedAt) {
+        ordersByStatus.get(previousStatus).updateAndGet(count -> Math.max(0, count - 1));
+        ordersByStatus.get(newStatus).incrementAndGet();
+        count(previousStatus, newStatus);
+
+        LocalDateTime enteredAt = isTerminal(newStatus)
+                ? enteredStatusAt.remove(orderId)
+                : enteredStatusAt.put(orderId, changedAt);
+        MeterRegistry current = registry;
+        if (enteredAt != null && current != null) {
+            Timer.builder("production.status.duration")
+                    .description("Tempo que o pedido passou em cada status")
+                    .tag("status", previousStatus.name())
+                    .publishPercentileHistogram()
+                    .register(current)
+                    .record(Duration.between(enteredAt, changedAt));
+        }
+    }
+
+    public long ordersIn(ProductionStatus status) {
+        return ordersByStatus.get(status).get();
+    }
+
+    private void count(ProductionStatus from, ProductionStatus to) {
+        MeterRegistry current = registry;
+        if (current == null) {
+            return;
+        }
+        Counter.builder("production.status.transitions")
+                .description("Transições de status processadas")
+                .tag("from", from == null ? "NEW" : from.name())
+                .tag("to", to.name())
+                .register(current)
+                .increment();
+    }
+
+    private boolean isTerminal(ProductionStatus status) {
+        return status == ProductionStatus.FINISHED || status == ProductionStatus.CANCELLED;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bytes.service.production.application.metrics;
+
+import com.bytes.service.production.application.cache.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+
+/**
+ * Publica, por tipo de leitura, quantas consultas rodaram de fato e quantas pegaram carona numa já em andamento.
+ */
+public class SingleFlightMetrics implements MeterBinder {
+
+    private final Map<String, SingleFlight<?, ?>> flights;
+
+    public SingleFlightMetrics(Map<String, SingleFlight<?, ?>> flights) {
+        this.flights = flights;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        flights.forEach((read, flight) -> {
+            FunctionCounter.builder("production.reads", flight, SingleFlight::executionCount)
+                    .tag("read", read)
+                    .tag("result", "executed")
+                    .register(registry);
+            FunctionCounter.builder("production.reads", flight, SingleFlight::coalescedCount)
+                    .tag("read", read)
+                    .tag("result", "coalesced")
+                    .register(registry);
+            Gauge.builder("production.reads.in.flight", flight, SingleFlight::inFlightCount)
+                    .tag("read", read)
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package com.bytes.service.production.application.notifications;
+
+import com.bytes.service.production.domain.models.CustomerNotification;
+import com.bytes.service.production.domain.ports.outbound.CustomerNotificationPort;
+import com.bytes.service.production.domain.ports.outbound.NotificationOutboxPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Esvazia a outbox de avisos ao cliente fora do fluxo da requisição.
+ * Pedidos diferentes são entregues em paralelo; os avisos de um mesmo pedido saem em ordem
+ * e uma falha segura os seguintes até a nova tentativa, com backoff exponencial. Cada lote é reservado na outbox
+ * por claimTimeout, então várias instâncias podem drenar a mesma outbox sem repetir avisos.
+ */
+public class NotificationDispatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationOutboxPort outbox;
+    private final CustomerNotificationPort delivery;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+    private final Clock clock;
+    private final ThreadFactory threadFactory;
+    private final ExecutorService workers;
+    private ScheduledExecutorService poller;
+
+    public NotificationDispatcher(NotificationOutboxPort outbox, CustomerNotificationPort delivery, ThreadFactory threadFactory,
+                                  int batchSize, int maxAttempts, Duration initialBackoff, Duration maxBackoff, Duration claimTimeout) {
+        this(outbox, delivery, threadFactory, batchSize, maxAttempts, initialBackoff, maxBackoff, claimTimeout, Clock.systemDefaultZone());
+    }
+
+    NotificationDispatcher(NotificationOutboxPort outbox, CustomerNotificationPort delivery, ThreadFactory threadFactory,
+                           int batchSize, int maxAttempts, Duration initialBackoff, Duration maxBackoff, Duration claimTimeout,
+                           Clock clock) {
+        this.outbox = outbox;
+        this.delivery = delivery;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+        this.clock = clock;
+        this.threadFactory = threadFactory;
+        this.workers = Executors.newThreadPerTaskExecutor(threadFactory);
+    }
+
+    public synchronized void start(Duration pollInterval) {
+        if (poller != null) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        poller.scheduleWithFixedDelay(this::drain, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Para só a varredura; o que ficou reservado volta a vencer depois do claimTimeout
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return poller != null;
+    }
+
+    // Uma passada pela outbox; devolve quantos avisos foram entregues
+    public int dispatchDue() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<CustomerNotification> due = outbox.claimDue(now, now.plus(claimTimeout), batchSize);
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<CustomerNotification>> byOrder = new LinkedHashMap<>();
+        for (CustomerNotification notification : due) {
+            byOrder.computeIfAbsent(notification.getOrderId(), orderId -> new ArrayList<>()).add(notification);
+        }
+
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        byOrder.values().forEach(notifications -> tasks.add(() -> deliverInOrder(notifications)));
+
+        int delivered = 0;
+        try {
+            for (Future<Integer> result : workers.invokeAll(tasks)) {
+                delivered += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Notification delivery task failed", e.getCause());
+        }
+        return delivered;
+    }
+
+    @Override
+    public void close() {
+        stop();
+        workers.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            // Lote cheio indica que ainda há fila; segue sem esperar o próximo ciclo
+            while (dispatchDue() >= batchSize && !Thread.currentThread().isInterrupted()) {
+                log.debug("Notification outbox still has due entries, draining next batch");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not drain notification outbox", e);
+        }
+    }
+
+    private int deliverInOrder(List<CustomerNotification> notifications) {
+        int delivered = 0;
+        for (CustomerNotification notification : notifications) {
+            try {
+                delivery.send(notification);
+            } catch (RuntimeException e) {
+                retryLater(notification, e);
+                return delivered;
+            }
+            outbox.markDelivered(notification.getId());
+            delivered++;
+        }
+        return delivered;
+    }
+
+    private void retryLater(CustomerNotification notification, RuntimeException cause) {
+        int attempts = notification.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Giving up notifying order {} about {} after {} attempts", notification.getOrderId(), notification.getStatus(), attempts, cause);
+            outbox.markDelivered(notification.getId());
+            return;
+        }
+        outbox.reschedule(notification.getId(), attempts, LocalDateTime.now(clock).plus(backoff(attempts)), cause.getMessage());
+    }
+
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,12 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+
+// Ordem de chegada, o comportamento histórico da fila
+public class FifoOrderingPolicy extends TaggedOrderingPolicy {
+
+    @Override
+    protected double tag(OrderProduction order) {
+        return arrivalMinutes(order);
+    }
+}
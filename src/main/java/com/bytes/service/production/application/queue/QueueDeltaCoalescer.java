@@ -0,0 +1,71 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.QueueDelta;
+import com.bytes.service.production.domain.models.QueueDeltaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Junta os deltas de um mesmo pedido entre dois envios, deixando só o estado final de cada um.
+ * O delta resultante leva a sequência do último delta juntado, então quem já tem um snapshot
+ * posterior a ele continua podendo descartá-lo.
+ */
+public class QueueDeltaCoalescer {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<Long, QueueDelta> pending = new HashMap<>();
+
+    public void add(QueueDelta delta) {
+        lock.lock();
+        try {
+            pending.merge(delta.getOrderId(), delta, QueueDeltaCoalescer::merge);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Devolve o lote em ordem de sequência e começa um novo
+    public List<QueueDelta> drain() {
+        Map<Long, QueueDelta> drained;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return List.of();
+            }
+            drained = pending;
+            pending = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        List<QueueDelta> batch = new ArrayList<>(drained.values());
+        batch.sort(Comparator.comparingLong(QueueDelta::getSequence));
+        return batch;
+    }
+
+    static QueueDelta merge(QueueDelta previous, QueueDelta next) {
+        // Inserção seguida de movimento continua sendo inserção, agora com o status novo
+        if (next.getType() == QueueDeltaType.MOVE && previous.getType() == QueueDeltaType.INSERT) {
+            return new QueueDelta(next.getSequence(), QueueDeltaType.INSERT, next.getOrderId(), next.getStatus(), next.getChangedAt(),
+                    withStatus(previous.getEntry(), next));
+        }
+        // Remoção vence mesmo sobre uma inserção do mesmo lote: quem recebeu o pedido pelo snapshot precisa tirá-lo
+        return next;
+    }
+
+    private static ProductionQueue withStatus(ProductionQueue entry, QueueDelta move) {
+        if (entry == null) {
+            return null;
+        }
+        ProductionQueue copy = new ProductionQueue(entry.getOrderId(), entry.getCustomerName(), move.getStatus(),
+                entry.getQueuePosition(), entry.getReceivedAt());
+        copy.setWaitingTimeMinutes(entry.getWaitingTimeMinutes());
+        copy.setItems(entry.getItems());
+        return copy;
+    }
+}
@@ -0,0 +1,179 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.QueueDelta;
+import com.bytes.service.production.domain.models.QueueDeltaType;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Transforma os eventos de produção em deltas numerados da fila ativa.
+ * Guarda os últimos deltas para que um cliente reconectado retome a partir do último número recebido.
+ * Mudanças gravadas por outras instâncias chegam pelo {@link #reconcile}, com a fila relida do banco.
+ */
+public class QueueDeltaFeed implements ProductionEventPort {
+
+    private static final Set<ProductionStatus> ACTIVE_STATUSES = Set.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION);
+
+    private final ProductionOrderMapper orderMapper;
+    private final int replayCapacity;
+    private final ArrayDeque<QueueDelta> replayBuffer;
+    private final List<Consumer<QueueDelta>> subscribers = new CopyOnWriteArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // O que este feed já anunciou de cada pedido ativo, e quando; os removidos ficam só pelo tamanho do buffer
+    private final Map<Long, Announced> activeOrders = new HashMap<>();
+    private final Map<Long, Long> removedOrders;
+
+    // Começa no relógio para que números de um processo anterior nunca sejam confundidos com os atuais
+    private long sequence = System.currentTimeMillis() * 1000;
+
+    public QueueDeltaFeed(ProductionOrderMapper orderMapper, int replayCapacity) {
+        this.orderMapper = orderMapper;
+        this.replayCapacity = replayCapacity;
+        this.replayBuffer = new ArrayDeque<>(replayCapacity);
+        this.removedOrders = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > replayCapacity;
+            }
+        };
+    }
+
+    @Override
+    public void orderQueued(OrderProduction production) {
+        publish(QueueDeltaType.INSERT, production.getOrderId(), production.getStatus(), production.getStartedAt(),
+                orderMapper.toProductionQueueDTO(production));
+    }
+
+    @Override
+    public void statusChanged(Long orderId, ProductionStatus previousStatus, ProductionStatus newStatus, LocalDateTime changedAt) {
+        if (!ACTIVE_STATUSES.contains(previousStatus)) {
+            return;
+        }
+        QueueDeltaType type = ACTIVE_STATUSES.contains(newStatus) ? QueueDeltaType.MOVE : QueueDeltaType.REMOVE;
+        publish(type, orderId, newStatus, changedAt, null);
+    }
+
+    /**
+     * Publica a diferença entre a fila relida do banco e o que este feed já anunciou.
+     * {@code mark} é o {@link #currentSequence()} de antes da leitura: pedidos anunciados depois dele
+     * já estão mais novos aqui do que na leitura e ficam de fora.
+     */
+    public int reconcile(List<OrderProduction> queue, long mark) {
+        lock.lock();
+        try {
+            int published = 0;
+            Set<Long> present = new HashSet<>();
+            for (OrderProduction order : queue) {
+                Long orderId = order.getOrderId();
+                present.add(orderId);
+                Announced announced = activeOrders.get(orderId);
+                Long removedAt = removedOrders.get(orderId);
+                if ((announced != null && announced.sequence() > mark) || (removedAt != null && removedAt > mark)) {
+                    continue;
+                }
+                LocalDateTime changedAt = order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getStartedAt();
+                if (announced == null) {
+                    publish(QueueDeltaType.INSERT, orderId, order.getStatus(), changedAt, orderMapper.toProductionQueueDTO(order));
+                    published++;
+                } else if (announced.status() != order.getStatus()) {
+                    publish(QueueDeltaType.MOVE, orderId, order.getStatus(), changedAt, null);
+                    published++;
+                }
+            }
+            for (Map.Entry<Long, Announced> entry : List.copyOf(activeOrders.entrySet())) {
+                if (!present.contains(entry.getKey()) && entry.getValue().sequence() <= mark) {
+                    publish(QueueDeltaType.REMOVE, entry.getKey(), null, null, null);
+                    published++;
+                }
+            }
+            return published;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Runnable subscribe(Consumer<QueueDelta> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    public long currentSequence() {
+        lock.lock();
+        try {
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deltas publicados depois de {@code lastSequence}, ou vazio quando eles já saíram do buffer
+     * e o cliente precisa de um snapshot novo.
+     */
+    public Optional<List<QueueDelta>> since(long lastSequence) {
+        lock.lock();
+        try {
+            if (lastSequence > sequence) {
+                return Optional.empty();
+            }
+            if (lastSequence == sequence) {
+                return Optional.of(List.of());
+            }
+            QueueDelta oldest = replayBuffer.peekFirst();
+            if (oldest == null || oldest.getSequence() > lastSequence + 1) {
+                return Optional.empty();
+            }
+            List<QueueDelta> missed = new ArrayList<>();
+            for (QueueDelta delta : replayBuffer) {
+                if (delta.getSequence() > lastSequence) {
+                    missed.add(delta);
+                }
+            }
+            return Optional.of(missed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Assinantes são notificados dentro do lock para receberem os deltas em ordem; eles não devem bloquear
+    private void publish(QueueDeltaType type, Long orderId, ProductionStatus status, LocalDateTime changedAt, ProductionQueue entry) {
+        lock.lock();
+        try {
+            QueueDelta delta = new QueueDelta(++sequence, type, orderId, status, changedAt, entry);
+            if (replayBuffer.size() == replayCapacity) {
+                replayBuffer.pollFirst();
+            }
+            replayBuffer.addLast(delta);
+            if (type == QueueDeltaType.REMOVE) {
+                activeOrders.remove(orderId);
+                removedOrders.put(orderId, delta.getSequence());
+            } else {
+                activeOrders.put(orderId, new Announced(status, delta.getSequence()));
+                removedOrders.remove(orderId);
+            }
+            subscribers.forEach(subscriber -> subscriber.accept(delta));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Announced(ProductionStatus status, long sequence) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+
+import java.util.List;
+
+/**
+ * Decide em que ordem os pedidos RECEIVED são atendidos. A política acompanha os eventos da fila
+ * e mantém sua ordem de forma incremental; a leitura só percorre a ordem já pronta.
+ * Pedidos que saem de RECEIVED em outra instância só deixam a política quando a fila relida do primário confirma.
+ */
+public interface QueueOrderingPolicy extends ProductionEventPort, QueueReplayListener {
+
+    // Devolve os pedidos informados na ordem de atendimento; pedidos que a política ainda não conhece entram agora.
+    // Um pedido que falta no snapshot só fica de fora da resposta, sem perder a etiqueta
+    List<OrderProduction> order(List<OrderProduction> waiting);
+
+    // Posição do pedido entre os que esperam, a partir de 1, sem montar a fila; null se a política não o tem.
+    // Conta também quem saiu em outra instância e ainda não foi largado pelo replay
+    Integer rank(Long orderId);
+}
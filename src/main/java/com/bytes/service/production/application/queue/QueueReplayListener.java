@@ -0,0 +1,14 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+
+import java.util.List;
+
+// Recebe a fila relida do banco quando ela mudou desde a rodada anterior do sequenciador
+public interface QueueReplayListener {
+
+    // Chamado antes da leitura; o valor volta no replay para separar o que mudou aqui durante a leitura
+    long mark();
+
+    void replay(List<OrderProduction> queue, long mark);
+}
@@ -0,0 +1,41 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.queue.QueuePositionIndex;
+
+import java.util.List;
+
+/**
+ * Posição de um pedido na mesma ordem do /queue sem montar a fila: quem está em preparo vem na frente pela ordem
+ * de chegada (o índice), e quem espera segue o rank da política. Cada consulta custa O(log n) e não vai ao banco.
+ */
+public class QueueStanding {
+
+    private final QueuePositionIndex index;
+    private final QueueOrderingPolicy orderingPolicy;
+
+    public QueueStanding(QueuePositionIndex index, QueueOrderingPolicy orderingPolicy) {
+        this.index = index;
+        this.orderingPolicy = orderingPolicy;
+    }
+
+    // Pedido gravado por outra instância ou antes do restart ganha a etiqueta agora, como aconteceria no /queue
+    public void admit(OrderProduction order) {
+        if (order.getStatus() == ProductionStatus.RECEIVED) {
+            orderingPolicy.order(List.of(order));
+        }
+    }
+
+    // null quando índice ou política ainda não conhecem o pedido
+    public Integer position(Long orderId, ProductionStatus status) {
+        return switch (status) {
+            case IN_PREPARATION -> index.positionOf(orderId);
+            case RECEIVED -> {
+                Integer rank = orderingPolicy.rank(orderId);
+                yield rank == null ? null : index.preparingCount() + rank;
+            }
+            default -> null;
+        };
+    }
+}
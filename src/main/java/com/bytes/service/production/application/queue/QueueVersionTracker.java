@@ -0,0 +1,115 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Versões monotônicas da fila e de cada pedido, incrementadas pelos casos de uso de escrita.
+ * As tags levam a época do processo, então uma tag emitida antes de um restart nunca é aceita.
+ * A tag de um pedido que ainda pode estar na fila também leva a versão da fila, porque a posição e a previsão
+ * dele mudam quando outro pedido anda; só pedidos que já saíram da fila têm tag estável.
+ * A tag da fila também leva o minuto corrente: a espera em minutos de cada pedido muda com o relógio, sem escrita.
+ * Guarda no máximo {@code maxSettledOrders} pedidos que saíram da fila, descartando os que saíram há mais tempo;
+ * pedido descartado volta à tag que depende da versão da fila, o que só custa uma resposta completa a mais.
+ */
+public class QueueVersionTracker implements ProductionEventPort {
+
+    private static final Set<ProductionStatus> ACTIVE_STATUSES = Set.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION);
+
+    private static final long MINUTE_MILLIS = 60_000;
+
+    private final LongSupplier clock;
+    private final String epoch;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong queueVersion = new AtomicLong();
+    private final Map<Long, Long> orderVersions = new ConcurrentHashMap<>();
+    // Pedido fora da fila -> versão em que saiu; a fila de saídas guarda a ordem para o descarte
+    private final Map<Long, Long> settledOrders = new ConcurrentHashMap<>();
+    private final Queue<Settlement> settlements = new ConcurrentLinkedQueue<>();
+    private final int maxSettledOrders;
+
+    public QueueVersionTracker(int maxSettledOrders) {
+        this(System::currentTimeMillis, maxSettledOrders);
+    }
+
+    QueueVersionTracker(LongSupplier clock, int maxSettledOrders) {
+        this.clock = clock;
+        this.epoch = Long.toString(clock.getAsLong(), Character.MAX_RADIX);
+        this.maxSettledOrders = maxSettledOrders;
+    }
+
+    @Override
+    public void orderQueued(OrderProduction production) {
+        long stamp = version.incrementAndGet();
+        orderVersions.put(production.getOrderId(), stamp);
+        settledOrders.remove(production.getOrderId());
+        queueVersion.accumulateAndGet(stamp, Math::max);
+    }
+
+    @Override
+    public void statusChanged(Long orderId, ProductionStatus previousStatus, ProductionStatus newStatus, LocalDateTime changedAt) {
+        long stamp = version.incrementAndGet();
+        orderVersions.put(orderId, stamp);
+        if (ACTIVE_STATUSES.contains(newStatus)) {
+            settledOrders.remove(orderId);
+        } else {
+            settledOrders.put(orderId, stamp);
+            settlements.add(new Settlement(orderId, stamp));
+            evictSettled();
+        }
+        if (ACTIVE_STATUSES.contains(previousStatus) || ACTIVE_STATUSES.contains(newStatus)) {
+            queueVersion.accumulateAndGet(stamp, Math::max);
+        }
+    }
+
+    // A fila relida do banco mudou por escritas de outra instância, que não passaram pelos eventos daqui
+    public void queueReplayed() {
+        long stamp = version.incrementAndGet();
+        queueVersion.accumulateAndGet(stamp, Math::max);
+    }
+
+    public long queueVersion() {
+        return queueVersion.get();
+    }
+
+    public long orderVersion(Long orderId) {
+        return orderVersions.getOrDefault(orderId, 0L);
+    }
+
+    public String queueTag() {
+        return "\"q-" + epoch + "-" + queueVersion() + "-m" + clock.getAsLong() / MINUTE_MILLIS + "\"";
+    }
+
+    public String orderTag(Long orderId) {
+        if (settledOrders.containsKey(orderId)) {
+            return "\"o-" + epoch + "-" + orderId + "-" + orderVersion(orderId) + "\"";
+        }
+        return "\"o-" + epoch + "-q" + queueVersion() + "-" + orderId + "-" + orderVersion(orderId) + "\"";
+    }
+
+    // Entradas velhas da fila de saídas (pedido que saiu de novo ou voltou) não casam com a versão e só são puladas
+    private void evictSettled() {
+        while (settledOrders.size() > maxSettledOrders) {
+            Settlement oldest = settlements.poll();
+            if (oldest == null) {
+                return;
+            }
+            if (settledOrders.remove(oldest.orderId(), oldest.stamp())) {
+                orderVersions.remove(oldest.orderId(), oldest.stamp());
+            }
+        }
+    }
+
+    private record Settlement(Long orderId, long stamp) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.bytes.service.production.application.queue;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Conjunto ordenado que também responde o rank de um elemento. É uma treap com o tamanho de cada subárvore,
+ * então inserir, remover e perguntar "quantos estão à frente" custam O(log n) esperado.
+ * Não é thread-safe: quem usa guarda com a própria trava.
+ */
+final class RankedSet<E> implements Iterable<E> {
+
+    private final Comparator<? super E> comparator;
+    private final SplittableRandom priorities = new SplittableRandom(0x5EEDL);
+    private Node<E> root;
+
+    RankedSet(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    boolean add(E element) {
+        if (rank(element) > 0) {
+            return false;
+        }
+        root = insert(root, new Node<>(element, priorities.nextInt()));
+        return true;
+    }
+
+    boolean remove(E element) {
+        if (rank(element) == 0) {
+            return false;
+        }
+        root = delete(root, element);
+        return true;
+    }
+
+    // Posição a partir de 1; 0 quando o elemento não está no conjunto
+    int rank(E element) {
+        int ahead = 0;
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(element, node.element);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                ahead += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return ahead + size(node.left) + 1;
+            }
+        }
+        return 0;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private final Deque<Node<E>> path = new ArrayDeque<>();
+
+            {
+                descendLeft(root);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> node = path.pop();
+                descendLeft(node.right);
+                return node.element;
+            }
+
+            private void descendLeft(Node<E> node) {
+                for (Node<E> current = node; current != null; current = current.left) {
+                    path.push(current);
+                }
+            }
+        };
+    }
+
+    private Node<E> insert(Node<E> node, Node<E> created) {
+        if (node == null) {
+            return created;
+        }
+        if (comparator.compare(created.element, node.element) < 0) {
+            node.left = insert(node.left, created);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, created);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return resize(node);
+    }
+
+    private Node<E> delete(Node<E> node, E element) {
+        int cmp = comparator.compare(element, node.element);
+        if (cmp < 0) {
+            node.left = delete(node.left, element);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, element);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else if (node.left.priority > node.right.priority) {
+            node = rotateRight(node);
+            node.right = delete(node.right, element);
+        } else {
+            node = rotateLeft(node);
+            node.left = delete(node.left, element);
+        }
+        return resize(node);
+    }
+
+    private Node<E> rotateRight(Node<E> node) {
+        Node<E> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = resize(node);
+        return resize(pivot);
+    }
+
+    private Node<E> rotateLeft(Node<E> node) {
+        Node<E> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = resize(node);
+        return resize(pivot);
+    }
+
+    private static <E> Node<E> resize(Node<E> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<E> {
+        private final E element;
+        private final int priority;
+        private int size = 1;
+        private Node<E> left;
+        private Node<E> right;
+
+        private Node(E element, int priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+}
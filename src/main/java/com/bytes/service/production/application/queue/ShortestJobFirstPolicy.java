@@ -0,0 +1,29 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.domain.models.OrderProduction;
+
+/**
+ * Pedido mais curto primeiro, com envelhecimento: cada minuto de espera desconta {@code agingRate} minutos do tamanho.
+ * A prioridade em t é {@code tamanho - agingRate * (t - chegada)}; o termo em t é igual para todos,
+ * então a etiqueta {@code tamanho + agingRate * chegada} ordena a fila em qualquer instante sem recalcular.
+ * Um pedido grande espera no máximo cerca de {@code (tamanho - menor tamanho) / agingRate} atrás de pedidos novos.
+ */
+public class ShortestJobFirstPolicy extends TaggedOrderingPolicy {
+
+    private final PreparationTimeEstimator estimator;
+    private final double agingRate;
+
+    public ShortestJobFirstPolicy(PreparationTimeEstimator estimator, double agingRate) {
+        if (agingRate < 0) {
+            throw new IllegalArgumentException("Aging rate must not be negative: " + agingRate);
+        }
+        this.estimator = estimator;
+        this.agingRate = agingRate;
+    }
+
+    @Override
+    protected double tag(OrderProduction order) {
+        return sizeMinutes(order, estimator) + agingRate * arrivalMinutes(order);
+    }
+}
@@ -0,0 +1,195 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Base das políticas em que cada pedido recebe uma etiqueta fixa na chegada e a fila é a ordem das etiquetas.
+ * Como a etiqueta não muda depois de calculada, inserir, remover e achar o rank de um pedido custam O(log n)
+ * e ler a fila é só percorrer o conjunto.
+ */
+public abstract class TaggedOrderingPolicy implements QueueOrderingPolicy {
+
+    private static final int DEPARTED_CAPACITY = 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final RankedSet<Entry> queue = new RankedSet<>(Comparator.comparingDouble(Entry::tag).thenComparingLong(Entry::sequence));
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // Quem já saiu de RECEIVED; um snapshot atrasado que ainda traga o pedido não o etiqueta de novo
+    private final Map<Long, Boolean> departed = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > DEPARTED_CAPACITY;
+        }
+    };
+    private long sequence;
+
+    @Override
+    public void orderQueued(OrderProduction production) {
+        if (production.getStatus() != ProductionStatus.RECEIVED) {
+            return;
+        }
+        lock.lock();
+        try {
+            departed.remove(production.getOrderId());
+            enqueue(production);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void statusChanged(Long orderId, ProductionStatus previousStatus, ProductionStatus newStatus, LocalDateTime changedAt) {
+        if (previousStatus != ProductionStatus.RECEIVED || newStatus == ProductionStatus.RECEIVED) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.remove(orderId);
+            departed.put(orderId, Boolean.TRUE);
+            if (entry != null) {
+                queue.remove(entry);
+                if (newStatus == ProductionStatus.IN_PREPARATION) {
+                    started(entry.tag());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<OrderProduction> order(List<OrderProduction> waiting) {
+        Map<Long, OrderProduction> byOrderId = new HashMap<>();
+        List<OrderProduction> unknown = new ArrayList<>();
+        for (OrderProduction order : waiting) {
+            byOrderId.put(order.getOrderId(), order);
+        }
+
+        List<OrderProduction> ordered = new ArrayList<>(waiting.size());
+        lock.lock();
+        try {
+            for (OrderProduction order : waiting) {
+                if (!entries.containsKey(order.getOrderId()) && !departed.containsKey(order.getOrderId())) {
+                    unknown.add(order);
+                }
+            }
+            // Pedidos gravados por outra instância ou antes do restart entram pela ordem de chegada
+            unknown.sort(Comparator.comparing(OrderProduction::getStartedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(OrderProduction::getPositionInQueue, Comparator.nullsLast(Comparator.naturalOrder())));
+            unknown.forEach(this::enqueue);
+
+            for (Entry entry : queue) {
+                OrderProduction order = byOrderId.get(entry.orderId());
+                if (order != null) {
+                    ordered.add(order);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return ordered;
+    }
+
+    @Override
+    public Integer rank(Long orderId) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(orderId);
+            return entry == null ? null : queue.rank(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long mark() {
+        lock.lock();
+        try {
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Só sai quem o primário confirma fora de RECEIVED; entradas criadas depois da marca ainda não estavam na leitura
+    @Override
+    public void replay(List<OrderProduction> activeQueue, long mark) {
+        Map<Long, ProductionStatus> statuses = new HashMap<>();
+        for (OrderProduction order : activeQueue) {
+            statuses.put(order.getOrderId(), order.getStatus());
+        }
+        lock.lock();
+        try {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                ProductionStatus status = statuses.get(entry.orderId());
+                if (entry.sequence() >= mark || status == ProductionStatus.RECEIVED) {
+                    continue;
+                }
+                iterator.remove();
+                queue.remove(entry);
+                departed.put(entry.orderId(), Boolean.TRUE);
+                if (status == ProductionStatus.IN_PREPARATION) {
+                    started(entry.tag());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Chamado com a trava tomada, então a política pode manter estado entre etiquetas
+    protected abstract double tag(OrderProduction order);
+
+    protected void started(double tag) {
+    }
+
+    protected static double arrivalMinutes(OrderProduction order) {
+        LocalDateTime arrival = order.getStartedAt() != null ? order.getStartedAt() : LocalDateTime.now();
+        return arrival.toEpochSecond(ZoneOffset.UTC) / 60.0;
+    }
+
+    // Tamanho gravado na entrada; sem ele, a média atual de preparo
+    protected static double sizeMinutes(OrderProduction order, PreparationTimeEstimator estimator) {
+        if (order.getEstimatedMinutes() != null) {
+            return order.getEstimatedMinutes();
+        }
+        LocalDateTime at = order.getStartedAt() != null ? order.getStartedAt() : LocalDateTime.now();
+        return estimator.preparationTime(PreparationTimeEstimator.ALL_CATEGORIES, at).toMillis() / 60_000.0;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(OrderProduction order) {
+        if (entries.containsKey(order.getOrderId())) {
+            return;
+        }
+        Entry entry = new Entry(order.getOrderId(), tag(order), sequence++);
+        entries.put(order.getOrderId(), entry);
+        queue.add(entry);
+    }
+
+    private record Entry(Long orderId, double tag, long sequence) {
+    }
+}
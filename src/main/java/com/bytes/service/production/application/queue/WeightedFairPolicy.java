@@ -0,0 +1,47 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.domain.models.OrderChannel;
+import com.bytes.service.production.domain.models.OrderProduction;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Weighted fair queuing entre canais (self-clocked): cada pedido recebe como etiqueta o tempo virtual de término
+ * {@code max(V, último término do canal) + tamanho / peso}, e V avança para a etiqueta do pedido que entra em preparo.
+ * Um canal com muito volume não atrasa os outros além da sua fatia de peso.
+ */
+public class WeightedFairPolicy extends TaggedOrderingPolicy {
+
+    private final PreparationTimeEstimator estimator;
+    private final Map<OrderChannel, Double> weights;
+    private final Map<OrderChannel, Double> lastFinish = new EnumMap<>(OrderChannel.class);
+    private double virtualTime;
+
+    public WeightedFairPolicy(PreparationTimeEstimator estimator, Map<OrderChannel, Double> weights) {
+        this.estimator = estimator;
+        this.weights = new EnumMap<>(OrderChannel.class);
+        for (OrderChannel channel : OrderChannel.values()) {
+            double weight = weights.getOrDefault(channel, 1.0);
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Channel weight must be positive: " + channel + "=" + weight);
+            }
+            this.weights.put(channel, weight);
+        }
+    }
+
+    @Override
+    protected double tag(OrderProduction order) {
+        OrderChannel channel = order.getChannel() != null ? order.getChannel() : OrderChannel.KIOSK;
+        double start = Math.max(virtualTime, lastFinish.getOrDefault(channel, 0.0));
+        double finish = start + sizeMinutes(order, estimator) / weights.get(channel);
+        lastFinish.put(channel, finish);
+        return finish;
+    }
+
+    @Override
+    protected void started(double tag) {
+        virtualTime = Math.max(virtualTime, tag);
+    }
+}
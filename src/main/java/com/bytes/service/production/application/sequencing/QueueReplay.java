@@ -0,0 +1,38 @@
+package com.bytes.service.production.application.sequencing;
+
+import com.bytes.service.production.application.queue.QueueDeltaFeed;
+import com.bytes.service.production.application.queue.QueueReplayListener;
+import com.bytes.service.production.application.queue.QueueVersionTracker;
+import com.bytes.service.production.domain.models.OrderProduction;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Aplica a fila global nesta instância: primeiro as posições locais, depois os deltas e por último a versão da fila,
+ * para que um cliente que veja a tag nova também leia as posições novas.
+ */
+public class QueueReplay implements QueueReplayListener {
+
+    private final Consumer<List<OrderProduction>> resequence;
+    private final QueueDeltaFeed feed;
+    private final QueueVersionTracker versions;
+
+    public QueueReplay(Consumer<List<OrderProduction>> resequence, QueueDeltaFeed feed, QueueVersionTracker versions) {
+        this.resequence = resequence;
+        this.feed = feed;
+        this.versions = versions;
+    }
+
+    @Override
+    public long mark() {
+        return feed.currentSequence();
+    }
+
+    @Override
+    public void replay(List<OrderProduction> queue, long mark) {
+        resequence.accept(queue);
+        feed.reconcile(queue, mark);
+        versions.queueReplayed();
+    }
+}
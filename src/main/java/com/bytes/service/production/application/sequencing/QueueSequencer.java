@@ -0,0 +1,136 @@
+package com.bytes.service.production.application.sequencing;
+
+import com.bytes.service.production.application.queue.QueueReplayListener;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.QueueSequencingPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequenciador da fila com várias instâncias sobre o mesmo banco. Só o dono do lease numera os pedidos novos;
+ * todas as instâncias, líder ou não, releem a ordem numerada a cada rodada e renumeram as posições locais,
+ * então todas mostram as mesmas posições. Um pedido já numerado nunca é ultrapassado por outro que chegue depois.
+ * O vencimento do lease é decidido pelo relógio do banco, nunca pelo desta instância.
+ */
+public class QueueSequencer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(QueueSequencer.class);
+
+    private final QueueSequencingPort sequencing;
+    private final String holder;
+    private final Duration leaseTtl;
+    private final List<QueueReplayListener> replayListeners;
+    private final ThreadFactory threadFactory;
+    private ScheduledExecutorService poller;
+
+    private volatile boolean leader;
+    private List<Slot> lastQueue;
+
+    public QueueSequencer(QueueSequencingPort sequencing, String holder, Duration leaseTtl, List<QueueReplayListener> replayListeners,
+                          ThreadFactory threadFactory) {
+        this.sequencing = sequencing;
+        this.holder = holder;
+        this.leaseTtl = leaseTtl;
+        this.replayListeners = List.copyOf(replayListeners);
+        this.threadFactory = threadFactory;
+    }
+
+    // O intervalo precisa ser bem menor que o TTL do lease para o líder renovar antes de vencer
+    public synchronized void start(Duration interval) {
+        if (interval.compareTo(leaseTtl) >= 0) {
+            throw new IllegalArgumentException("Sequencer interval must be shorter than the lease TTL");
+        }
+        if (poller != null) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        poller.scheduleWithFixedDelay(this::run, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            try {
+                // Uma rodada ainda em curso poderia renovar o lease logo depois de ele ser entregue
+                poller.awaitTermination(leaseTtl.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            poller = null;
+        }
+        if (leader) {
+            try {
+                // Entrega o lease na hora em vez de deixar as outras instâncias esperarem o TTL vencer
+                sequencing.releaseLease(holder);
+            } catch (RuntimeException e) {
+                log.warn("Could not release queue sequencer lease", e);
+            }
+            leader = false;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return poller != null;
+    }
+
+    // Uma rodada: renova ou disputa o lease, numera se for líder e replica a ordem global nas posições locais
+    public void tick() {
+        OptionalLong epoch = sequencing.tryAcquireLease(holder, leaseTtl);
+        boolean wasLeader = leader;
+        boolean leading = epoch.isPresent();
+        if (leading) {
+            OptionalInt assigned = sequencing.assignSequences(holder, epoch.getAsLong());
+            leading = assigned.isPresent();
+        }
+        leader = leading;
+        if (leading && !wasLeader) {
+            log.info("Acquired queue sequencer lease as {} (epoch {})", holder, epoch.getAsLong());
+        } else if (!leading && wasLeader) {
+            log.warn("Lost queue sequencer lease as {}", holder);
+        }
+
+        // Uma troca de status feita por outra instância também conta como mudança, mesmo sem mexer na ordem
+        long[] marks = new long[replayListeners.size()];
+        for (int i = 0; i < marks.length; i++) {
+            marks[i] = replayListeners.get(i).mark();
+        }
+        List<OrderProduction> queue = sequencing.activeOrdersInQueueOrder();
+        List<Slot> slots = queue.stream().map(order -> new Slot(order.getOrderId(), order.getStatus())).toList();
+        if (!slots.equals(lastQueue)) {
+            for (int i = 0; i < marks.length; i++) {
+                replayListeners.get(i).replay(queue, marks[i]);
+            }
+            lastQueue = slots;
+        }
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private void run() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            log.warn("Queue sequencer round failed", e);
+        }
+    }
+
+    private record Slot(Long orderId, ProductionStatus status) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.bytes.service.production.application.stations;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+import com.bytes.service.production.domain.ports.outbound.StationTaskPort;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fecha as partes que ficaram abertas quando o pedido sai da produção: cancelado some das filas das estações,
+ * pronto ou finalizado por fora das estações marca o que restava como DONE.
+ * Roda dentro da transação da mudança de status, então as duas mudanças confirmam juntas.
+ */
+public class StationTaskCleanup implements ProductionEventPort {
+
+    private final StationTaskPort stationTasks;
+
+    public StationTaskCleanup(StationTaskPort stationTasks) {
+        this.stationTasks = stationTasks;
+    }
+
+    @Override
+    public void orderQueued(OrderProduction production) {
+    }
+
+    @Override
+    public void statusChanged(Long orderId, ProductionStatus previousStatus, ProductionStatus newStatus, LocalDateTime changedAt) {
+        switch (newStatus) {
+            case CANCELLED -> stationTasks.deleteByOrderId(orderId);
+            case READY, FINISHED -> stationTasks.closeOpenByOrderId(orderId, changedAt);
+            default -> {
+            }
+        }
+    }
+}
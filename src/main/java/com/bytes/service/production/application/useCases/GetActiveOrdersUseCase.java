@@ -1,14 +1,17 @@
 package com.bytes.service.production.application.useCases;
 
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.application.queue.QueueOrderingPolicy;
 import com.bytes.service.production.domain.models.ProductionQueue;
 import com.bytes.service.production.domain.models.OrderProduction;
 import com.bytes.service.production.domain.models.ProductionStatus;
 import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
 import com.bytes.service.production.mappers.ProductionOrderMapper;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class GetActiveOrdersUseCase {
 
@@ -16,9 +19,16 @@ public class GetActiveOrdersUseCase {
 
     private final OrderProductionRepositoryPort repository;
 
-    public GetActiveOrdersUseCase(ProductionOrderMapper orderMappper, OrderProductionRepositoryPort repository) {
+    private final PreparationTimeEstimator estimator;
+
+    private final QueueOrderingPolicy orderingPolicy;
+
+    public GetActiveOrdersUseCase(ProductionOrderMapper orderMappper, OrderProductionRepositoryPort repository,
+                                  PreparationTimeEstimator estimator, QueueOrderingPolicy orderingPolicy) {
         this.orderMappper = orderMappper;
         this.repository = repository;
+        this.estimator = estimator;
+        this.orderingPolicy = orderingPolicy;
     }
 
     public List<ProductionQueue> execute() {
@@ -26,9 +36,27 @@ public class GetActiveOrdersUseCase {
                 List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION)
         );
 
-        return activeOrders.stream()
-                .map(orderMappper::toProductionQueueDTO)
-                .sorted(Comparator.comparing(ProductionQueue::getQueuePosition))
-                .collect(Collectors.toList());
+        // Quem já está em preparo vem primeiro; os pedidos em espera seguem a ordem da política
+        List<OrderProduction> ordered = new ArrayList<>(activeOrders.size());
+        activeOrders.stream()
+                .filter(order -> order.getStatus() == ProductionStatus.IN_PREPARATION)
+                .sorted(Comparator.comparing(OrderProduction::getPositionInQueue, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(ordered::add);
+        ordered.addAll(orderingPolicy.order(activeOrders.stream()
+                .filter(order -> order.getStatus() == ProductionStatus.RECEIVED)
+                .toList()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductionQueue> queue = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            OrderProduction order = ordered.get(i);
+            ProductionQueue entry = orderMappper.toProductionQueueDTO(order);
+            // Mesma posição que o QueueStanding dá ao status: em preparo é a do índice, em espera soma o rank da política.
+            // O índice da lista só difere enquanto outra instância escreveu algo que o sequenciador ainda não trouxe
+            entry.setQueuePosition(i + 1);
+            entry.setWaitingTimeMinutes(estimator.remainingMinutes(order, i, now));
+            queue.add(entry);
+        }
+        return queue;
     }
 }
@@ -1,19 +1,24 @@
 package com.bytes.service.production.application.useCases;
 
 import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
 import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
 import com.bytes.service.production.exceptions.ResourceNotFoundException;
 
 public class GetOrderByIdUseCase {
 
     private final OrderProductionRepositoryPort repository;
+    private final OrderArchivePort archive;
 
-    public GetOrderByIdUseCase(OrderProductionRepositoryPort repository) {
+    public GetOrderByIdUseCase(OrderProductionRepositoryPort repository, OrderArchivePort archive) {
         this.repository = repository;
+        this.archive = archive;
     }
 
     public OrderProduction execute(Long orderId) {
+        // Pedido encerrado pode já ter saído da tabela quente
         return repository.findByOrderId(orderId)
+                .or(() -> archive.findByOrderId(orderId))
                 .orElseThrow(() -> new ResourceNotFoundException("Order with ID " + orderId + " not found"));
     }
 }
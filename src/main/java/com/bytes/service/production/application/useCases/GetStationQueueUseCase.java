@@ -0,0 +1,24 @@
+package com.bytes.service.production.application.useCases;
+
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.ports.outbound.StationTaskPort;
+
+import java.util.List;
+
+public class GetStationQueueUseCase {
+
+    private final StationTaskPort stationTasks;
+
+    public GetStationQueueUseCase(StationTaskPort stationTasks) {
+        this.stationTasks = stationTasks;
+    }
+
+    // A fila de uma estação é curta, então a posição é só o rank por ordem de chegada
+    public List<StationTask> execute(String station) {
+        List<StationTask> queue = stationTasks.findOpenByStation(StationTask.stationOf(station));
+        for (int i = 0; i < queue.size(); i++) {
+            queue.get(i).setPositionInQueue(i + 1);
+        }
+        return queue;
+    }
+}
@@ -0,0 +1,63 @@
+package com.bytes.service.production.application.useCases;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderPageDTO;
+import com.bytes.service.production.domain.models.OrderCursor;
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
+import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lista pedidos da tabela quente e, quando o filtro pede status encerrados, também do histórico,
+ * intercalando as duas fontes pela mesma chave (started_at, id).
+ */
+public class ListOrdersUseCase {
+
+    private static final Set<ProductionStatus> ARCHIVED_STATUSES = EnumSet.of(ProductionStatus.FINISHED, ProductionStatus.CANCELLED);
+
+    private static final Comparator<OrderProduction> KEYSET_ORDER = Comparator
+            .comparing(OrderProduction::getStartedAt)
+            .thenComparing(OrderProduction::getId);
+
+    private final ProductionOrderMapper orderMapper;
+    private final OrderProductionRepositoryPort repository;
+    private final OrderArchivePort archive;
+
+    public ListOrdersUseCase(ProductionOrderMapper orderMapper, OrderProductionRepositoryPort repository, OrderArchivePort archive) {
+        this.orderMapper = orderMapper;
+        this.repository = repository;
+        this.archive = archive;
+    }
+
+    public OrderPageDTO execute(OrderPageQuery query) {
+        // Um pedido a mais só para saber se existe próxima página
+        OrderPageQuery probe = query.withLimit(query.getLimit() + 1);
+
+        // Tabela quente antes do histórico: um pedido arquivado entre as duas leituras aparece duas vezes, nunca some
+        List<OrderProduction> found = new ArrayList<>(repository.findPage(probe));
+        if (query.getStatuses().stream().anyMatch(ARCHIVED_STATUSES::contains)) {
+            Set<Long> seen = new HashSet<>(found.stream().map(OrderProduction::getOrderId).toList());
+            archive.findPage(probe).stream()
+                    .filter(order -> seen.add(order.getOrderId()))
+                    .forEach(found::add);
+        }
+        found.sort(KEYSET_ORDER);
+
+        boolean hasMore = found.size() > query.getLimit();
+        List<OrderProduction> page = hasMore ? found.subList(0, query.getLimit()) : found;
+
+        return OrderPageDTO.builder()
+                .items(page.stream().map(orderMapper::toProductionQueueDTO).toList())
+                .nextCursor(hasMore ? OrderCursor.after(page.get(page.size() - 1)).toToken() : null)
+                .build();
+    }
+}
@@ -1,37 +1,119 @@
 package com.bytes.service.production.application.useCases;
 
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.domain.models.IntakeResult;
+import com.bytes.service.production.domain.models.OrderIntake;
 import com.bytes.service.production.domain.models.OrderProduction;
 import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
 import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+import com.bytes.service.production.domain.ports.outbound.StationTaskPort;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class StartOrderUseCase {
 
     private final OrderProductionRepositoryPort repository;
+    private final ProductionEventPort events;
+    private final StationTaskPort stationTasks;
+    private final PreparationTimeEstimator estimator;
+    private final OrderArchivePort archive;
 
-    public StartOrderUseCase(OrderProductionRepositoryPort repository) {
+    public StartOrderUseCase(OrderProductionRepositoryPort repository, ProductionEventPort events, StationTaskPort stationTasks,
+                             PreparationTimeEstimator estimator, OrderArchivePort archive) {
         this.repository = repository;
+        this.events = events;
+        this.stationTasks = stationTasks;
+        this.estimator = estimator;
+        this.archive = archive;
     }
 
-    public void execute(Long orderId, String customerName) {
-        if (repository.existsByOrderId(orderId)) {
-            return;
+    public IntakeResult execute(OrderIntake intake) {
+        // A posição é alocada pelo adaptador de persistência, sem COUNT sobre a tabela
+        LocalDateTime now = LocalDateTime.now();
+        List<StationTask> tasks = new ArrayList<>();
+        OrderProduction production = newProduction(intake, now, tasks);
+
+        // Sem consulta prévia: a unicidade de order_id decide entre pedido novo e reentrega
+        if (!repository.insertIfAbsent(production)) {
+            return IntakeResult.DUPLICATE;
+        }
+        if (!tasks.isEmpty()) {
+            stationTasks.saveAll(tasks);
+        }
+
+        events.orderQueued(production);
+        return IntakeResult.CREATED;
+    }
+
+    // Versão em lote para o consumo do broker: uma leitura na tabela quente, outra no histórico só para o que sobrou
+    // e uma gravação para o lote todo
+    public int executeAll(List<OrderIntake> intakes) {
+        Map<Long, OrderIntake> distinct = new LinkedHashMap<>();
+        for (OrderIntake intake : intakes) {
+            distinct.putIfAbsent(intake.getOrderId(), intake);
+        }
+        if (distinct.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> existing = new HashSet<>();
+        repository.findByOrderIdIn(distinct.keySet()).forEach(order -> existing.add(order.getOrderId()));
+        // Reentrega de um pedido já arquivado não pode voltar para a fila
+        List<Long> unseen = distinct.keySet().stream().filter(orderId -> !existing.contains(orderId)).toList();
+        if (!unseen.isEmpty()) {
+            existing.addAll(archive.existingOrderIds(unseen));
         }
 
-        Integer position = repository.countByStatusIn(
-                List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION)
-        ) + 1;
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderProduction> productions = new ArrayList<>();
+        List<StationTask> tasks = new ArrayList<>();
+        for (OrderIntake intake : distinct.values()) {
+            if (!existing.contains(intake.getOrderId())) {
+                productions.add(newProduction(intake, now, tasks));
+            }
+        }
+        if (productions.isEmpty()) {
+            return 0;
+        }
 
-        OrderProduction production = new OrderProduction(
-                orderId,
-                ProductionStatus.RECEIVED,
-                LocalDateTime.now(),
-                position,
-                customerName
-        );
+        repository.saveAll(productions);
+        if (!tasks.isEmpty()) {
+            stationTasks.saveAll(tasks);
+        }
+
+        productions.forEach(events::orderQueued);
+        return productions.size();
+    }
 
-        repository.save(production);
+    // Cada categoria de item vira uma parte na fila da sua estação, acrescentada em tasks
+    private OrderProduction newProduction(OrderIntake intake, LocalDateTime now, List<StationTask> tasks) {
+        OrderProduction production = new OrderProduction(intake.getOrderId(), ProductionStatus.RECEIVED, now, null, intake.getCustomerName());
+        List<StationTask> orderTasks = StationTask.splitByStation(intake.getOrderId(), intake.getItems(), now);
+        production.setChannel(intake.getChannel());
+        production.setEstimatedMinutes(estimateMinutes(orderTasks, now));
+        production.setStations(orderTasks.stream().map(StationTask::getStation).toList());
+        tasks.addAll(orderTasks);
+        return production;
+    }
+
+    // As estações trabalham em paralelo, então o pedido leva o tempo da estação mais lenta
+    private Integer estimateMinutes(List<StationTask> tasks, LocalDateTime now) {
+        if (tasks.isEmpty()) {
+            return null;
+        }
+        long slowest = 0;
+        for (StationTask task : tasks) {
+            slowest = Math.max(slowest, estimator.preparationTime(task.getStation(), now).toSeconds());
+        }
+        return (int) ((slowest + 59) / 60);
     }
 }
@@ -1,77 +1,144 @@
 package com.bytes.service.production.application.useCases;
 
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateRequestDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateResultDTO;
+import com.bytes.service.production.domain.models.CustomerNotification;
 import com.bytes.service.production.domain.models.OrderProduction;
 import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StatusTransition;
+import com.bytes.service.production.domain.ports.outbound.NotificationOutboxPort;
 import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+import com.bytes.service.production.exceptions.BusinessException;
 import com.bytes.service.production.exceptions.ResourceNotFoundException;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 public class UpdateOrderStatusUseCase {
 
+    private static final Map<ProductionStatus, Set<ProductionStatus>> ALLOWED_TRANSITIONS = new EnumMap<>(Map.of(
+            ProductionStatus.RECEIVED, EnumSet.of(ProductionStatus.IN_PREPARATION, ProductionStatus.CANCELLED),
+            ProductionStatus.IN_PREPARATION, EnumSet.of(ProductionStatus.READY, ProductionStatus.CANCELLED),
+            ProductionStatus.READY, EnumSet.of(ProductionStatus.FINISHED),
+            ProductionStatus.FINISHED, EnumSet.noneOf(ProductionStatus.class),
+            ProductionStatus.CANCELLED, EnumSet.noneOf(ProductionStatus.class)
+    ));
+
+    private static final Map<ProductionStatus, Set<ProductionStatus>> PREDECESSORS = predecessors();
+
     private final OrderProductionRepositoryPort repository;
+    private final ProductionEventPort events;
+    private final NotificationOutboxPort outbox;
 
 
-    public UpdateOrderStatusUseCase(OrderProductionRepositoryPort repository) {
+    public UpdateOrderStatusUseCase(OrderProductionRepositoryPort repository, ProductionEventPort events, NotificationOutboxPort outbox) {
         this.repository = repository;
+        this.events = events;
+        this.outbox = outbox;
     }
 
 
     public void execute(Long orderId, ProductionStatus newStatus){
+        LocalDateTime now = LocalDateTime.now();
+
+        // Sem leitura prévia: um só UPDATE, que só pega se o pedido ainda estiver num status que permite a transição
+        Set<ProductionStatus> predecessors = PREDECESSORS.get(newStatus);
+        if (predecessors != null) {
+            Optional<ProductionStatus> previousStatus = repository.updateStatus(new StatusTransition(orderId, predecessors, newStatus, now));
+            if (previousStatus.isPresent()) {
+                // O aviso ao cliente entra na outbox na mesma transação; o NotificationDispatcher entrega depois
+                outbox.append(List.of(new CustomerNotification(orderId, newStatus, now)));
+                events.statusChanged(orderId, previousStatus.get(), newStatus, now);
+                return;
+            }
+        }
+
+        // Nenhuma linha alterada: lê só agora para diferenciar pedido inexistente de transição inválida
         OrderProduction production = repository.findByOrderId(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderId));
+        throw new BusinessException(
+                String.format("Cannot transition from %s to %s", production.getStatus(), newStatus)
+        );
+    }
 
-        validateStatusTransition(production.getStatus(), newStatus);
-
-        production.setStatus(newStatus);
-        production.setUpdatedAt(LocalDateTime.now());
-
-        switch (newStatus) {
-            case IN_PREPARATION:
-                production.setStartedAt(LocalDateTime.now());
-                recalculateQueuePositions();
-                break;
-            case READY:
-                production.setFinishedAt(LocalDateTime.now());
-                production.setPositionInQueue(null);
-                break;
-            case FINISHED:
-                production.setDeliveredAt(LocalDateTime.now());
-                break;
+    // Uma leitura e uma escrita para o lote inteiro; cada entrada recebe seu próprio resultado
+    public List<StatusUpdateResultDTO> executeAll(List<StatusUpdateRequestDTO> updates) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Set<Long> orderIds = new HashSet<>();
+        Set<Long> duplicated = new HashSet<>();
+        for (StatusUpdateRequestDTO update : updates) {
+            if (update.getOrderId() != null && !orderIds.add(update.getOrderId())) {
+                duplicated.add(update.getOrderId());
+            }
         }
 
-        repository.save(production);
+        Map<Long, OrderProduction> current = new HashMap<>();
+        if (!orderIds.isEmpty()) {
+            repository.findByOrderIdIn(orderIds).forEach(order -> current.put(order.getOrderId(), order));
+        }
 
-        // TODO: Implementar lógica de notificação para o cliente
-    }
+        StatusUpdateResultDTO[] results = new StatusUpdateResultDTO[updates.size()];
+        Map<Integer, StatusTransition> transitions = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            Long orderId = updates.get(i).getOrderId();
+            ProductionStatus newStatus = updates.get(i).getStatus();
+            OrderProduction production = orderId == null ? null : current.get(orderId);
+
+            if (orderId == null || newStatus == null) {
+                results[i] = StatusUpdateResultDTO.rejected(orderId, newStatus, "Order id and status are required");
+            } else if (duplicated.contains(orderId)) {
+                results[i] = StatusUpdateResultDTO.rejected(orderId, newStatus, "Order appears more than once in the batch: " + orderId);
+            } else if (production == null) {
+                results[i] = StatusUpdateResultDTO.rejected(orderId, newStatus, "Order not found: " + orderId);
+            } else if (!ALLOWED_TRANSITIONS.getOrDefault(production.getStatus(), Set.of()).contains(newStatus)) {
+                results[i] = StatusUpdateResultDTO.rejected(orderId, newStatus,
+                        String.format("Cannot transition from %s to %s", production.getStatus(), newStatus));
+            } else {
+                transitions.put(i, new StatusTransition(orderId, production.getStatus(), newStatus, now));
+            }
+        }
 
-    private void recalculateQueuePositions() {
-        List<OrderProduction> queuedOrders = repository.findByStatusOrderByStartedAtAsc(
-                ProductionStatus.RECEIVED
-        );
+        Set<Long> applied = transitions.isEmpty() ? Set.of() : repository.updateStatuses(List.copyOf(transitions.values()));
 
-        int position = 1;
-        for (OrderProduction order : queuedOrders) {
-            order.setPositionInQueue(position++);
-            repository.save(order);
+        List<CustomerNotification> notifications = transitions.values().stream()
+                .filter(transition -> applied.contains(transition.getOrderId()))
+                .map(transition -> new CustomerNotification(transition.getOrderId(), transition.getNewStatus(), now))
+                .toList();
+        if (!notifications.isEmpty()) {
+            outbox.append(notifications);
         }
-    }
 
-    private void validateStatusTransition(ProductionStatus current, ProductionStatus newStatus) {
-        Map<ProductionStatus, List<ProductionStatus>> allowedTransitions = Map.of(
-                ProductionStatus.RECEIVED, List.of(ProductionStatus.IN_PREPARATION, ProductionStatus.CANCELLED),
-                ProductionStatus.IN_PREPARATION, List.of(ProductionStatus.READY, ProductionStatus.CANCELLED),
-                ProductionStatus.READY, List.of(ProductionStatus.FINISHED),
-                ProductionStatus.FINISHED, List.of(),
-                ProductionStatus.CANCELLED, List.of()
-        );
+        for (Map.Entry<Integer, StatusTransition> entry : transitions.entrySet()) {
+            StatusTransition transition = entry.getValue();
+            if (applied.contains(transition.getOrderId())) {
+                results[entry.getKey()] = StatusUpdateResultDTO.applied(transition.getOrderId(), transition.getNewStatus());
+                events.statusChanged(transition.getOrderId(), transition.getExpectedStatus(), transition.getNewStatus(), now);
+            } else {
+                // O status mudou entre a leitura do lote e o UPDATE condicional
+                results[entry.getKey()] = StatusUpdateResultDTO.rejected(transition.getOrderId(), transition.getNewStatus(),
+                        String.format("Order %d is no longer %s", transition.getOrderId(), transition.getExpectedStatus()));
+            }
+        }
+        return List.of(results);
+    }
 
-        if (!allowedTransitions.get(current).contains(newStatus)) {
-            throw new RuntimeException(
-                    String.format("Cannot transition from %s to %s", current, newStatus)
-            );
+    private static Map<ProductionStatus, Set<ProductionStatus>> predecessors() {
+        Map<ProductionStatus, Set<ProductionStatus>> predecessors = new EnumMap<>(ProductionStatus.class);
+        for (ProductionStatus current : ProductionStatus.values()) {
+            for (ProductionStatus next : ALLOWED_TRANSITIONS.getOrDefault(current, Set.of())) {
+                predecessors.computeIfAbsent(next, status -> EnumSet.noneOf(ProductionStatus.class)).add(current);
+            }
         }
+        return predecessors;
     }
 }
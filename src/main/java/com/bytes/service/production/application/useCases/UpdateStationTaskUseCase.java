@@ -0,0 +1,72 @@
+package com.bytes.service.production.application.useCases;
+
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
+import com.bytes.service.production.domain.ports.outbound.StationTaskPort;
+import com.bytes.service.production.exceptions.BusinessException;
+import com.bytes.service.production.exceptions.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Avança a parte de um pedido numa estação e deriva o status do pedido a partir das partes:
+ * a primeira estação que começa leva o pedido a IN_PREPARATION e a última que termina leva a READY.
+ */
+public class UpdateStationTaskUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(UpdateStationTaskUseCase.class);
+
+    private final StationTaskPort stationTasks;
+    private final UpdateOrderStatusUseCase updateOrderStatusUseCase;
+    private final PreparationTimeEstimator estimator;
+
+    public UpdateStationTaskUseCase(StationTaskPort stationTasks, UpdateOrderStatusUseCase updateOrderStatusUseCase,
+                                    PreparationTimeEstimator estimator) {
+        this.stationTasks = stationTasks;
+        this.updateOrderStatusUseCase = updateOrderStatusUseCase;
+        this.estimator = estimator;
+    }
+
+    public void execute(Long orderId, String station, StationTaskStatus newStatus) {
+        String normalized = StationTask.stationOf(station);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Trava todas as partes do pedido: duas estações terminando juntas não podem ambas achar que ainda falta a outra
+        List<StationTask> tasks = stationTasks.lockByOrderId(orderId);
+        StationTask task = tasks.stream()
+                .filter(candidate -> candidate.getStation().equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Station task not found: order " + orderId + " at " + normalized));
+        if (newStatus.predecessor() == null || newStatus.predecessor() != task.getStatus()) {
+            throw new BusinessException(String.format("Cannot transition from %s to %s", task.getStatus(), newStatus));
+        }
+        stationTasks.updateStatus(orderId, normalized, task.getStatus(), newStatus, now);
+        // Cada estação alimenta a média da sua própria categoria
+        if (newStatus == StationTaskStatus.DONE && task.getStartedAt() != null) {
+            estimator.recordStationPreparation(orderId, normalized, task.getStartedAt(), now);
+        }
+
+        List<StationTask> others = tasks.stream().filter(other -> other != task).toList();
+        if (newStatus == StationTaskStatus.IN_PROGRESS
+                && others.stream().allMatch(other -> other.getStatus() == StationTaskStatus.QUEUED)) {
+            advanceOrder(orderId, ProductionStatus.IN_PREPARATION);
+        } else if (newStatus == StationTaskStatus.DONE
+                && others.stream().allMatch(other -> other.getStatus() == StationTaskStatus.DONE)) {
+            advanceOrder(orderId, ProductionStatus.READY);
+        }
+    }
+
+    // O pedido pode ter sido avançado à mão pela rota geral; a parte da estação vale mesmo assim
+    private void advanceOrder(Long orderId, ProductionStatus status) {
+        try {
+            updateOrderStatusUseCase.execute(orderId, status);
+        } catch (BusinessException e) {
+            log.debug("Order {} not advanced to {} from station tasks: {}", orderId, status, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.bytes.service.production.config;
+
+import com.bytes.service.production.adapters.inbound.rest.AdmissionControlFilter;
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter;
+import com.bytes.service.production.application.metrics.AdmissionControlMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "production.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfiguration {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(@Value("${production.admission.initial-limit:20}") int initialLimit,
+                                                                 @Value("${production.admission.min-limit:4}") int minLimit,
+                                                                 @Value("${production.admission.max-limit:200}") int maxLimit,
+                                                                 @Value("${production.admission.latency-threshold:500ms}") Duration latencyThreshold,
+                                                                 @Value("${production.admission.backoff-ratio:0.9}") double backoffRatio,
+                                                                 @Value("${production.admission.read-share:0.8}") double readShare) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio, readShare);
+    }
+
+    @Bean
+    public AdmissionControlMetrics admissionControlMetrics(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter) {
+        return new AdmissionControlMetrics(adaptiveConcurrencyLimiter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+                                                                                  ObjectMapper objectMapper,
+                                                                                  @Value("${production.admission.retry-after:1s}") Duration retryAfter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(adaptiveConcurrencyLimiter, objectMapper, retryAfter));
+        registration.addUrlPatterns("/api/v1/production/*");
+        return registration;
+    }
+}
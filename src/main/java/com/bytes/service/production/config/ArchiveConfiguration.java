@@ -0,0 +1,45 @@
+package com.bytes.service.production.config;
+
+import com.bytes.service.production.adapters.outbound.persistence.JpaOrderArchiveAdapter;
+import com.bytes.service.production.adapters.outbound.persistence.OrderProductionHistoryRepository;
+import com.bytes.service.production.adapters.outbound.persistence.OrderProductionRepository;
+import com.bytes.service.production.adapters.outbound.persistence.StationTaskRepository;
+import com.bytes.service.production.application.archive.OrderArchiver;
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+@Configuration
+public class ArchiveConfiguration {
+
+    @Bean
+    public OrderArchivePort orderArchive(OrderProductionRepository orderProductionRepository,
+                                         OrderProductionHistoryRepository orderProductionHistoryRepository,
+                                         StationTaskRepository stationTaskRepository,
+                                         PlatformTransactionManager transactionManager) {
+        return new JpaOrderArchiveAdapter(orderProductionRepository, orderProductionHistoryRepository, stationTaskRepository,
+                transactionManager);
+    }
+
+    @Bean
+    public OrderArchiver orderArchiver(OrderArchivePort orderArchive,
+                                       @Value("${production.archive.chunk-size:500}") int chunkSize,
+                                       @Value("${production.archive.max-chunks-per-run:20}") int maxChunksPerRun,
+                                       @Value("${production.archive.pause-between-chunks:200ms}") Duration pauseBetweenChunks,
+                                       @Value("${production.archive.grace-period:10m}") Duration gracePeriod,
+                                       @Value("${production.archive.retention:90d}") Duration retention) {
+        return new OrderArchiver(orderArchive, Thread.ofPlatform().name("order-archiver").daemon().factory(),
+                chunkSize, maxChunksPerRun, pauseBetweenChunks, gracePeriod, retention);
+    }
+
+    @Bean
+    public SmartLifecycle orderArchiverLifecycle(OrderArchiver orderArchiver,
+                                                 @Value("${production.archive.interval:1m}") Duration interval) {
+        return new ScheduledTaskLifecycle(() -> orderArchiver.start(interval), orderArchiver::stop, orderArchiver::isRunning);
+    }
+}
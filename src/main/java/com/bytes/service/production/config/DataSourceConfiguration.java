@@ -0,0 +1,76 @@
+package com.bytes.service.production.config;
+
+import com.bytes.service.production.adapters.inbound.rest.ReadYourWritesFilter;
+import com.bytes.service.production.adapters.outbound.persistence.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Só entra quando há réplica configurada; sem ela o Spring Boot monta o DataSource único de sempre.
+ * Flyway, JPA e o resto do serviço usam o DataSource roteado, que fora de transação read-only cai no primário.
+ * O filtro de read-your-writes só existe aqui: sem réplica não há atraso de replicação para cobrir.
+ */
+@Configuration
+@ConditionalOnProperty(name = "production.datasource.replica.url")
+public class DataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${production.datasource.replica.url}") String url,
+                                              @Value("${production.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${production.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                              @Value("${production.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                       @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                       @Value("${production.datasource.replica.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesWindow);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadWriteRoutingDataSource routingDataSource,
+                                                                              @Value("${production.datasource.replica.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(routingDataSource, readYourWritesWindow));
+        registration.addUrlPatterns("/api/v1/production/*");
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bytes.service.production.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Threads usadas pelo trabalho assíncrono do serviço (stream da fila, jobs em background).
+ * Com spring.threads.virtual.enabled=true o Tomcat, o executor de tarefas do Spring e estas threads passam a ser virtuais.
+ */
+@Configuration
+public class ExecutionConfiguration {
+
+    static final String THREAD_PREFIX = "production-";
+    static final String PRODUCTION_THREAD_FACTORY = "productionThreadFactory";
+
+    // Os dois modos registram o mesmo nome: executores do Spring também são ThreadFactory e o tipo sozinho é ambíguo
+    @Bean(PRODUCTION_THREAD_FACTORY)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ThreadFactory productionThreadFactory() {
+        return Thread.ofVirtual().name(THREAD_PREFIX, 0).factory();
+    }
+
+    @Bean(PRODUCTION_THREAD_FACTORY)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadFactory platformProductionThreadFactory() {
+        return Thread.ofPlatform().name(THREAD_PREFIX, 0).daemon(true).factory();
+    }
+}
@@ -0,0 +1,20 @@
+package com.bytes.service.production.config;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderPaidEventDTO;
+import com.bytes.service.production.adapters.inbound.messaging.OrderPaidConsumer;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@Configuration
+public class MessagingConfiguration {
+
+    // O nome do bean define o binding orderPaid-in-0
+    @Bean
+    public Consumer<List<OrderPaidEventDTO>> orderPaid(ProductionServicePort productionService) {
+        return new OrderPaidConsumer(productionService);
+    }
+}
@@ -0,0 +1,51 @@
+package com.bytes.service.production.config;
+
+import com.bytes.service.production.adapters.outbound.notification.LoggingCustomerNotificationAdapter;
+import com.bytes.service.production.adapters.outbound.persistence.JpaNotificationOutboxAdapter;
+import com.bytes.service.production.adapters.outbound.persistence.NotificationOutboxRepository;
+import com.bytes.service.production.application.notifications.NotificationDispatcher;
+import com.bytes.service.production.domain.ports.outbound.CustomerNotificationPort;
+import com.bytes.service.production.domain.ports.outbound.NotificationOutboxPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+@Configuration
+public class NotificationConfiguration {
+
+    @Bean
+    public NotificationOutboxPort notificationOutbox(NotificationOutboxRepository notificationOutboxRepository,
+                                                     PlatformTransactionManager transactionManager) {
+        return new JpaNotificationOutboxAdapter(notificationOutboxRepository, transactionManager);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CustomerNotificationPort customerNotificationPort() {
+        return new LoggingCustomerNotificationAdapter();
+    }
+
+    // A entrega espera IO externo, então roda sempre em virtual threads, independente do modo do Tomcat
+    @Bean
+    public NotificationDispatcher notificationDispatcher(NotificationOutboxPort notificationOutbox, CustomerNotificationPort customerNotificationPort,
+                                                         @Value("${production.notifications.batch-size:100}") int batchSize,
+                                                         @Value("${production.notifications.max-attempts:10}") int maxAttempts,
+                                                         @Value("${production.notifications.initial-backoff:1s}") Duration initialBackoff,
+                                                         @Value("${production.notifications.max-backoff:5m}") Duration maxBackoff,
+                                                         @Value("${production.notifications.claim-timeout:1m}") Duration claimTimeout) {
+        return new NotificationDispatcher(notificationOutbox, customerNotificationPort,
+                Thread.ofVirtual().name("notification-", 0).factory(), batchSize, maxAttempts, initialBackoff, maxBackoff, claimTimeout);
+    }
+
+    @Bean
+    public SmartLifecycle notificationDispatcherLifecycle(NotificationDispatcher notificationDispatcher,
+                                                          @Value("${production.notifications.poll-interval:1s}") Duration pollInterval) {
+        return new ScheduledTaskLifecycle(() -> notificationDispatcher.start(pollInterval), notificationDispatcher::stop,
+                notificationDispatcher::isRunning);
+    }
+}
@@ -0,0 +1,242 @@
+package com.bytes.service.production.config;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.adapters.inbound.rest.QueueStreamPublisher;
+import com.bytes.service.production.adapters.inbound.websocket.KitchenDisplaySocketHandler;
+import com.bytes.service.production.adapters.outbound.persistence.IndexedOrderProductionRepository;
+import com.bytes.service.production.adapters.outbound.persistence.JpaOrderProductionAdapter;
+import com.bytes.service.production.adapters.outbound.persistence.JpaStationTaskAdapter;
+import com.bytes.service.production.adapters.outbound.persistence.OrderProductionRepository;
+import com.bytes.service.production.adapters.outbound.persistence.StationTaskRepository;
+import com.bytes.service.production.application.ProductionService;
+import com.bytes.service.production.application.cache.OrderStatusCache;
+import com.bytes.service.production.application.cache.SingleFlight;
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.application.events.ProductionEventDispatcher;
+import com.bytes.service.production.application.metrics.MeteredProductionService;
+import com.bytes.service.production.application.metrics.OrderStatusCacheMetrics;
+import com.bytes.service.production.application.metrics.ProductionMetrics;
+import com.bytes.service.production.application.metrics.SingleFlightMetrics;
+import com.bytes.service.production.application.queue.FifoOrderingPolicy;
+import com.bytes.service.production.application.queue.QueueDeltaFeed;
+import com.bytes.service.production.application.queue.QueueOrderingPolicy;
+import com.bytes.service.production.application.queue.QueueStanding;
+import com.bytes.service.production.application.queue.ShortestJobFirstPolicy;
+import com.bytes.service.production.application.queue.QueueVersionTracker;
+import com.bytes.service.production.application.queue.WeightedFairPolicy;
+import com.bytes.service.production.application.stations.StationTaskCleanup;
+import com.bytes.service.production.application.useCases.GetActiveOrdersUseCase;
+import com.bytes.service.production.application.useCases.GetOrderByIdUseCase;
+import com.bytes.service.production.application.useCases.GetStationQueueUseCase;
+import com.bytes.service.production.application.useCases.ListOrdersUseCase;
+import com.bytes.service.production.application.useCases.StartOrderUseCase;
+import com.bytes.service.production.application.useCases.UpdateOrderStatusUseCase;
+import com.bytes.service.production.application.useCases.UpdateStationTaskUseCase;
+import com.bytes.service.production.domain.models.OrderChannel;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import com.bytes.service.production.domain.ports.outbound.NotificationOutboxPort;
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
+import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+import com.bytes.service.production.domain.ports.outbound.StationTaskPort;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+public class ProductionConfiguration {
+
+    @Bean
+    public ProductionOrderMapper productionOrderMapper() {
+        return new ProductionOrderMapper();
+    }
+
+    // O índice de posições fica na frente do adapter JPA
+    @Bean
+    public IndexedOrderProductionRepository indexedOrderProductionRepository(OrderProductionRepository orderProductionRepository,
+                                                                             PlatformTransactionManager transactionManager) {
+        return new IndexedOrderProductionRepository(new JpaOrderProductionAdapter(orderProductionRepository, transactionManager));
+    }
+
+    @Bean
+    public StationTaskPort stationTaskPort(StationTaskRepository stationTaskRepository) {
+        return new JpaStationTaskAdapter(stationTaskRepository);
+    }
+
+    @Bean
+    public QueueDeltaFeed queueDeltaFeed(ProductionOrderMapper productionOrderMapper,
+                                         @Value("${production.queue.stream.replay-buffer-size:1024}") int replayBufferSize) {
+        return new QueueDeltaFeed(productionOrderMapper, replayBufferSize);
+    }
+
+    @Bean
+    public QueueVersionTracker queueVersionTracker(@Value("${production.queue.versions.max-settled-orders:10000}") int maxSettledOrders) {
+        return new QueueVersionTracker(maxSettledOrders);
+    }
+
+    @Bean
+    public OrderStatusCache orderStatusCache(@Value("${production.cache.order-status.max-size:10000}") int maxSize,
+                                             @Value("${production.cache.order-status.ttl:30s}") Duration ttl) {
+        return new OrderStatusCache(maxSize, ttl);
+    }
+
+    @Bean
+    public OrderStatusCacheMetrics orderStatusCacheMetrics(OrderStatusCache orderStatusCache) {
+        return new OrderStatusCacheMetrics(orderStatusCache);
+    }
+
+    @Bean
+    public ProductionMetrics productionMetrics(OrderProductionRepositoryPort repository) {
+        return new ProductionMetrics(repository);
+    }
+
+    @Bean
+    public PreparationTimeEstimator preparationTimeEstimator(@Value("${production.eta.alpha:0.2}") double alpha,
+                                                             @Value("${production.eta.default-preparation:10m}") Duration defaultPreparation,
+                                                             @Value("${production.eta.tracking-ttl:4h}") Duration trackingTtl) {
+        return new PreparationTimeEstimator(alpha, defaultPreparation, trackingTtl);
+    }
+
+    @Bean
+    public QueueOrderingPolicy queueOrderingPolicy(@Value("${production.queue.ordering.policy:fifo}") String policy,
+                                                   @Value("${production.queue.ordering.aging-rate:0.5}") double agingRate,
+                                                   @Value("${production.queue.ordering.weight.kiosk:1}") double kioskWeight,
+                                                   @Value("${production.queue.ordering.weight.app:1}") double appWeight,
+                                                   @Value("${production.queue.ordering.weight.delivery:1}") double deliveryWeight,
+                                                   PreparationTimeEstimator preparationTimeEstimator) {
+        return switch (policy.trim().toLowerCase()) {
+            case "fifo" -> new FifoOrderingPolicy();
+            case "sjf" -> new ShortestJobFirstPolicy(preparationTimeEstimator, agingRate);
+            case "wfq" -> new WeightedFairPolicy(preparationTimeEstimator, Map.of(
+                    OrderChannel.KIOSK, kioskWeight, OrderChannel.APP, appWeight, OrderChannel.DELIVERY, deliveryWeight));
+            default -> throw new IllegalArgumentException("Unknown queue ordering policy: " + policy);
+        };
+    }
+
+    @Bean
+    public ProductionEventDispatcher productionEventDispatcher(OrderStatusCache orderStatusCache, QueueVersionTracker queueVersionTracker,
+                                                               QueueDeltaFeed queueDeltaFeed, ProductionMetrics productionMetrics,
+                                                               StationTaskPort stationTaskPort, PreparationTimeEstimator preparationTimeEstimator,
+                                                               QueueOrderingPolicy queueOrderingPolicy,
+                                                               SingleFlight<Long, OrderStatusDTO> orderStatusReads,
+                                                               SingleFlight<String, List<ProductionQueue>> activeOrdersReads) {
+        // Só a limpeza das estações precisa confirmar junto com a escrita; o resto reage ao que foi confirmado.
+        // As leituras em andamento são esquecidas antes de o cache trocar de geração
+        return new ProductionEventDispatcher(List.of(new StationTaskCleanup(stationTaskPort)),
+                List.of(orderStatusReads, activeOrdersReads, orderStatusCache, queueVersionTracker, queueDeltaFeed, productionMetrics,
+                        preparationTimeEstimator, queueOrderingPolicy));
+    }
+
+    @Bean
+    public StartOrderUseCase startOrderUseCase(OrderProductionRepositoryPort repository, ProductionEventDispatcher events,
+                                               StationTaskPort stationTaskPort, PreparationTimeEstimator preparationTimeEstimator,
+                                               OrderArchivePort orderArchive) {
+        return new StartOrderUseCase(repository, events, stationTaskPort, preparationTimeEstimator, orderArchive);
+    }
+
+    @Bean
+    public UpdateOrderStatusUseCase updateOrderStatusUseCase(OrderProductionRepositoryPort repository, ProductionEventDispatcher events,
+                                                             NotificationOutboxPort notificationOutbox) {
+        return new UpdateOrderStatusUseCase(repository, events, notificationOutbox);
+    }
+
+    @Bean
+    public GetStationQueueUseCase getStationQueueUseCase(StationTaskPort stationTaskPort) {
+        return new GetStationQueueUseCase(stationTaskPort);
+    }
+
+    @Bean
+    public UpdateStationTaskUseCase updateStationTaskUseCase(StationTaskPort stationTaskPort, UpdateOrderStatusUseCase updateOrderStatusUseCase,
+                                                             PreparationTimeEstimator preparationTimeEstimator) {
+        return new UpdateStationTaskUseCase(stationTaskPort, updateOrderStatusUseCase, preparationTimeEstimator);
+    }
+
+    @Bean
+    public GetOrderByIdUseCase getOrderByIdUseCase(OrderProductionRepositoryPort repository, OrderArchivePort orderArchive) {
+        return new GetOrderByIdUseCase(repository, orderArchive);
+    }
+
+    @Bean
+    public GetActiveOrdersUseCase getActiveOrdersUseCase(ProductionOrderMapper productionOrderMapper, OrderProductionRepositoryPort repository,
+                                                         PreparationTimeEstimator preparationTimeEstimator,
+                                                         QueueOrderingPolicy queueOrderingPolicy) {
+        return new GetActiveOrdersUseCase(productionOrderMapper, repository, preparationTimeEstimator, queueOrderingPolicy);
+    }
+
+    @Bean
+    public ListOrdersUseCase listOrdersUseCase(ProductionOrderMapper productionOrderMapper, OrderProductionRepositoryPort repository,
+                                               OrderArchivePort orderArchive) {
+        return new ListOrdersUseCase(productionOrderMapper, repository, orderArchive);
+    }
+
+    @Bean
+    public ProductionService productionService(StartOrderUseCase startOrderUseCase, GetOrderByIdUseCase getOrderByIdUseCase,
+                                               GetActiveOrdersUseCase getActiveOrdersUseCase, ListOrdersUseCase listOrdersUseCase,
+                                               UpdateOrderStatusUseCase updateOrderStatusUseCase,
+                                               GetStationQueueUseCase getStationQueueUseCase,
+                                               UpdateStationTaskUseCase updateStationTaskUseCase, OrderStatusCache orderStatusCache,
+                                               PreparationTimeEstimator preparationTimeEstimator, QueueStanding queueStanding,
+                                               SingleFlight<Long, OrderStatusDTO> orderStatusReads,
+                                               SingleFlight<String, List<ProductionQueue>> activeOrdersReads) {
+        return new ProductionService(startOrderUseCase, getOrderByIdUseCase, getActiveOrdersUseCase, listOrdersUseCase,
+                updateOrderStatusUseCase, getStationQueueUseCase, updateStationTaskUseCase, orderStatusCache, preparationTimeEstimator,
+                queueStanding, orderStatusReads, activeOrdersReads);
+    }
+
+    @Bean
+    public QueueStanding queueStanding(IndexedOrderProductionRepository orderProductionRepository, QueueOrderingPolicy queueOrderingPolicy) {
+        return new QueueStanding(orderProductionRepository.index(), queueOrderingPolicy);
+    }
+
+    @Bean
+    public SingleFlight<Long, OrderStatusDTO> orderStatusReads() {
+        return new SingleFlight<>();
+    }
+
+    @Bean
+    public SingleFlight<String, List<ProductionQueue>> activeOrdersReads() {
+        return new SingleFlight<>();
+    }
+
+    @Bean
+    public SingleFlightMetrics singleFlightMetrics(SingleFlight<Long, OrderStatusDTO> orderStatusReads,
+                                                   SingleFlight<String, List<ProductionQueue>> activeOrdersReads) {
+        return new SingleFlightMetrics(Map.of("order-status", orderStatusReads, "active-orders", activeOrdersReads));
+    }
+
+    @Bean
+    @Primary
+    public ProductionServicePort meteredProductionService(ProductionService productionService, MeterRegistry meterRegistry) {
+        return new MeteredProductionService(productionService, meterRegistry);
+    }
+
+    @Bean
+    public QueueStreamPublisher queueStreamPublisher(QueueDeltaFeed queueDeltaFeed, ProductionServicePort productionService,
+                                                     @Value("${production.queue.stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                                     @Value("${production.queue.stream.timeout:30m}") Duration timeout,
+                                                     @Qualifier(ExecutionConfiguration.PRODUCTION_THREAD_FACTORY) ThreadFactory productionThreadFactory) {
+        return new QueueStreamPublisher(queueDeltaFeed, productionService, heartbeatInterval, timeout, productionThreadFactory);
+    }
+
+    @Bean
+    public KitchenDisplaySocketHandler kitchenDisplaySocketHandler(QueueDeltaFeed queueDeltaFeed, ProductionServicePort productionService,
+                                                                   ObjectMapper objectMapper,
+                                                                   @Value("${production.queue.ws.tick:100ms}") Duration tick,
+                                                                   @Value("${production.queue.ws.send-time-limit:10s}") Duration sendTimeLimit,
+                                                                   @Value("${production.queue.ws.buffer-size-limit:524288}") int bufferSizeLimit,
+                                                                   @Qualifier(ExecutionConfiguration.PRODUCTION_THREAD_FACTORY) ThreadFactory productionThreadFactory) {
+        return new KitchenDisplaySocketHandler(queueDeltaFeed, productionService, objectMapper, tick, sendTimeLimit, bufferSizeLimit,
+                productionThreadFactory);
+    }
+}
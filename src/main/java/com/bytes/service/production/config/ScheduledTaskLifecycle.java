@@ -0,0 +1,37 @@
+package com.bytes.service.production.config;
+
+import org.springframework.context.SmartLifecycle;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Liga uma tarefa de fundo ao ciclo de vida do contexto: ela só começa depois que todos os beans estão prontos
+ * e para antes de o contexto fechar o pool de conexões que ela usa.
+ */
+class ScheduledTaskLifecycle implements SmartLifecycle {
+
+    private final Runnable start;
+    private final Runnable stop;
+    private final BooleanSupplier running;
+
+    ScheduledTaskLifecycle(Runnable start, Runnable stop, BooleanSupplier running) {
+        this.start = start;
+        this.stop = stop;
+        this.running = running;
+    }
+
+    @Override
+    public void start() {
+        start.run();
+    }
+
+    @Override
+    public void stop() {
+        stop.run();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.getAsBoolean();
+    }
+}
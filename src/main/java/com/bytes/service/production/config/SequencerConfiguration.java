@@ -0,0 +1,75 @@
+package com.bytes.service.production.config;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.adapters.outbound.persistence.IndexedOrderProductionRepository;
+import com.bytes.service.production.adapters.outbound.persistence.JpaQueueSequencingAdapter;
+import com.bytes.service.production.adapters.outbound.persistence.OrderProductionRepository;
+import com.bytes.service.production.adapters.outbound.persistence.ProductionLeaseRepository;
+import com.bytes.service.production.application.cache.OrderStatusCache;
+import com.bytes.service.production.application.cache.SingleFlight;
+import com.bytes.service.production.application.queue.QueueDeltaFeed;
+import com.bytes.service.production.application.queue.QueueOrderingPolicy;
+import com.bytes.service.production.application.queue.QueueVersionTracker;
+import com.bytes.service.production.application.sequencing.QueueReplay;
+import com.bytes.service.production.application.sequencing.QueueSequencer;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.ports.outbound.QueueSequencingPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@Configuration
+@ConditionalOnProperty(name = "production.queue.sequencer.enabled", havingValue = "true", matchIfMissing = true)
+public class SequencerConfiguration {
+
+    @Bean
+    public QueueSequencingPort queueSequencingPort(OrderProductionRepository orderProductionRepository,
+                                                   ProductionLeaseRepository productionLeaseRepository,
+                                                   PlatformTransactionManager transactionManager) {
+        return new JpaQueueSequencingAdapter(orderProductionRepository, productionLeaseRepository, transactionManager);
+    }
+
+    @Bean
+    public QueueSequencer queueSequencer(QueueSequencingPort queueSequencingPort, IndexedOrderProductionRepository orderProductionRepository,
+                                         OrderStatusCache orderStatusCache, QueueDeltaFeed queueDeltaFeed,
+                                         QueueVersionTracker queueVersionTracker, QueueOrderingPolicy queueOrderingPolicy,
+                                         SingleFlight<Long, OrderStatusDTO> orderStatusReads,
+                                         SingleFlight<String, List<ProductionQueue>> activeOrdersReads,
+                                         @Value("${production.queue.sequencer.lease-ttl:10s}") Duration leaseTtl) {
+        QueueReplay replay = new QueueReplay(orders -> {
+            orderProductionRepository.resequence(orders);
+            orderStatusReads.forget();
+            activeOrdersReads.forget();
+            orderStatusCache.queueReplayed(orders);
+        }, queueDeltaFeed, queueVersionTracker);
+        // A política larga quem saiu da fila antes de a versão nova ser publicada
+        return new QueueSequencer(queueSequencingPort, holderName(), leaseTtl, List.of(queueOrderingPolicy, replay),
+                Thread.ofPlatform().name("queue-sequencer").daemon().factory());
+    }
+
+    @Bean
+    public SmartLifecycle queueSequencerLifecycle(QueueSequencer queueSequencer,
+                                                  @Value("${production.queue.sequencer.interval:1s}") Duration interval) {
+        return new ScheduledTaskLifecycle(() -> queueSequencer.start(interval), queueSequencer::stop, queueSequencer::isRunning);
+    }
+
+    // Hostname ajuda a achar o líder nos logs; o sufixo separa duas instâncias no mesmo host
+    private static String holderName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,36 @@
+package com.bytes.service.production.config;
+
+import com.bytes.service.production.adapters.inbound.websocket.KitchenDisplaySocketHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistration;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Endpoint WebSocket dos terminais da cozinha. Sem origens configuradas vale a regra padrão do Spring (mesma origem).
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfiguration implements WebSocketConfigurer {
+
+    static final String KITCHEN_PATH = "/api/v1/production/queue/ws";
+
+    private final KitchenDisplaySocketHandler kitchenDisplaySocketHandler;
+    private final String[] allowedOrigins;
+
+    public WebSocketConfiguration(KitchenDisplaySocketHandler kitchenDisplaySocketHandler,
+                                  @Value("${production.queue.ws.allowed-origins:}") String[] allowedOrigins) {
+        this.kitchenDisplaySocketHandler = kitchenDisplaySocketHandler;
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        WebSocketHandlerRegistration registration = registry.addHandler(kitchenDisplaySocketHandler, KITCHEN_PATH);
+        if (allowedOrigins.length > 0) {
+            registration.setAllowedOriginPatterns(allowedOrigins);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bytes.service.production.domain.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aviso ao cliente de que o pedido mudou de status, guardado na outbox até ser entregue.
+ */
+public class CustomerNotification {
+    private final Long id;
+    private final Long orderId;
+    private final ProductionStatus status;
+    private final LocalDateTime occurredAt;
+    private final int attempts;
+
+    public CustomerNotification(Long orderId, ProductionStatus status, LocalDateTime occurredAt) {
+        this(null, orderId, status, occurredAt, 0);
+    }
+
+    public CustomerNotification(Long id, Long orderId, ProductionStatus status, LocalDateTime occurredAt, int attempts) {
+        this.id = id;
+        this.orderId = orderId;
+        this.status = status;
+        this.occurredAt = occurredAt;
+        this.attempts = attempts;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public ProductionStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,6 @@
+package com.bytes.service.production.domain.models;
+
+public enum IntakeResult {
+    CREATED,
+    DUPLICATE
+}
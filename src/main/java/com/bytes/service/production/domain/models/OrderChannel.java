@@ -0,0 +1,21 @@
+package com.bytes.service.production.domain.models;
+
+import java.util.Locale;
+
+public enum OrderChannel {
+    KIOSK,
+    APP,
+    DELIVERY;
+
+    // Eventos antigos não trazem o canal; o totem é o canal original da loja
+    public static OrderChannel fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return KIOSK;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return KIOSK;
+        }
+    }
+}
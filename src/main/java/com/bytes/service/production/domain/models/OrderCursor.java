@@ -0,0 +1,58 @@
+package com.bytes.service.production.domain.models;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de leitura na listagem, pela chave (started_at, id) do último pedido devolvido.
+ * Vai para o cliente como um token opaco.
+ */
+public class OrderCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime startedAt;
+    private final Long id;
+
+    public OrderCursor(LocalDateTime startedAt, Long id) {
+        this.startedAt = startedAt;
+        this.id = id;
+    }
+
+    public static OrderCursor after(OrderProduction production) {
+        return new OrderCursor(production.getStartedAt(), production.getId());
+    }
+
+    public static OrderCursor fromToken(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            return new OrderCursor(LocalDateTime.parse(decoded.substring(0, separator)), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    public String toToken() {
+        String raw = startedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    // Mesma ordem do ORDER BY started_at, id das consultas
+    public boolean isBefore(OrderCursor other) {
+        int byTime = startedAt.compareTo(other.startedAt);
+        return byTime < 0 || (byTime == 0 && id < other.id);
+    }
+}
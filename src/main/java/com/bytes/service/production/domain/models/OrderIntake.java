@@ -0,0 +1,41 @@
+package com.bytes.service.production.domain.models;
+
+import java.util.List;
+
+public class OrderIntake {
+    private final Long orderId;
+    private final String customerName;
+    private final List<ProductionItem> items;
+    private final OrderChannel channel;
+
+    public OrderIntake(Long orderId, String customerName) {
+        this(orderId, customerName, List.of());
+    }
+
+    public OrderIntake(Long orderId, String customerName, List<ProductionItem> items) {
+        this(orderId, customerName, items, OrderChannel.KIOSK);
+    }
+
+    public OrderIntake(Long orderId, String customerName, List<ProductionItem> items, OrderChannel channel) {
+        this.orderId = orderId;
+        this.customerName = customerName;
+        this.items = items == null ? List.of() : items;
+        this.channel = channel;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public List<ProductionItem> getItems() {
+        return items;
+    }
+
+    public OrderChannel getChannel() {
+        return channel;
+    }
+}
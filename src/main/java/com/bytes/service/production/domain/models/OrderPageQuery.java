@@ -0,0 +1,62 @@
+package com.bytes.service.production.domain.models;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Filtro da listagem paginada. Sem status informado, lista todos; o intervalo de started_at
+ * é fechado em startedFrom e aberto em startedBefore, e qualquer um dos dois pode faltar.
+ */
+public class OrderPageQuery {
+    private final Set<ProductionStatus> statuses;
+    private final LocalDateTime startedFrom;
+    private final LocalDateTime startedBefore;
+    private final OrderCursor after;
+    private final int limit;
+
+    public OrderPageQuery(Collection<ProductionStatus> statuses, LocalDateTime startedFrom, LocalDateTime startedBefore,
+                          OrderCursor after, int limit) {
+        this.statuses = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(ProductionStatus.class)
+                : EnumSet.copyOf(statuses);
+        this.startedFrom = startedFrom;
+        this.startedBefore = startedBefore;
+        this.after = after;
+        this.limit = limit;
+    }
+
+    public OrderPageQuery withLimit(int limit) {
+        return new OrderPageQuery(statuses, startedFrom, startedBefore, after, limit);
+    }
+
+    public Set<ProductionStatus> getStatuses() {
+        return statuses;
+    }
+
+    public LocalDateTime getStartedFrom() {
+        return startedFrom;
+    }
+
+    public LocalDateTime getStartedBefore() {
+        return startedBefore;
+    }
+
+    public OrderCursor getAfter() {
+        return after;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean matches(OrderProduction production) {
+        LocalDateTime startedAt = production.getStartedAt();
+        return startedAt != null
+                && statuses.contains(production.getStatus())
+                && (startedFrom == null || !startedAt.isBefore(startedFrom))
+                && (startedBefore == null || startedAt.isBefore(startedBefore))
+                && (after == null || after.isBefore(OrderCursor.after(production)));
+    }
+}
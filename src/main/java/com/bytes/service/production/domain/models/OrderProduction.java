@@ -1,40 +1,22 @@
 package com.bytes.service.production.domain.models;
 
-import jakarta.persistence.*;
-import lombok.Builder;
-import lombok.Data;
-import org.hibernate.annotations.UpdateTimestamp;
-
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class OrderProduction {
     private Long id;
-    
-    @Column(name = "order_id", unique = true, nullable = false)
     private Long orderId;
-    
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
     private ProductionStatus status;
-    
-    @Column(name = "started_at")
     private LocalDateTime startedAt;
-
-    @UpdateTimestamp
     private LocalDateTime updatedAt;
-    
-    @Column(name = "finished_at")
     private LocalDateTime finishedAt;
-
-    @Column(name = "finished_at")
-    private LocalDateTime DeliveredAt;
-    
-    @Column(name = "position_in_queue")
+    private LocalDateTime deliveredAt;
     private Integer positionInQueue;
-    
-    @Column(name = "customer_name")
     private String customerName;
-
+    private OrderChannel channel;
+    private Integer estimatedMinutes;
+    // Estações das partes do pedido; só vem preenchido na entrada e não é gravado
+    private List<String> stations = List.of();
 
     public OrderProduction(Long orderId, ProductionStatus status, LocalDateTime startedAt, Integer positionInQueue, String customerName) {
         this.orderId = orderId;
@@ -109,10 +91,34 @@ public class OrderProduction {
     }
 
     public LocalDateTime getDeliveredAt() {
-        return DeliveredAt;
+        return deliveredAt;
     }
 
     public void setDeliveredAt(LocalDateTime deliveredAt) {
-        DeliveredAt = deliveredAt;
+        this.deliveredAt = deliveredAt;
+    }
+
+    public OrderChannel getChannel() {
+        return channel;
+    }
+
+    public void setChannel(OrderChannel channel) {
+        this.channel = channel;
+    }
+
+    public Integer getEstimatedMinutes() {
+        return estimatedMinutes;
+    }
+
+    public void setEstimatedMinutes(Integer estimatedMinutes) {
+        this.estimatedMinutes = estimatedMinutes;
+    }
+
+    public List<String> getStations() {
+        return stations;
+    }
+
+    public void setStations(List<String> stations) {
+        this.stations = stations;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.bytes.service.production.domain.models;
+
+import java.time.LocalDateTime;
+
+public class QueueDelta {
+    private final long sequence;
+    private final QueueDeltaType type;
+    private final Long orderId;
+    private final ProductionStatus status;
+    private final LocalDateTime changedAt;
+    private final ProductionQueue entry;
+
+    public QueueDelta(long sequence, QueueDeltaType type, Long orderId, ProductionStatus status, LocalDateTime changedAt, ProductionQueue entry) {
+        this.sequence = sequence;
+        this.type = type;
+        this.orderId = orderId;
+        this.status = status;
+        this.changedAt = changedAt;
+        this.entry = entry;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public QueueDeltaType getType() {
+        return type;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public ProductionStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public ProductionQueue getEntry() {
+        return entry;
+    }
+}
@@ -0,0 +1,7 @@
+package com.bytes.service.production.domain.models;
+
+public enum QueueDeltaType {
+    INSERT,
+    MOVE,
+    REMOVE
+}
@@ -0,0 +1,123 @@
+package com.bytes.service.production.domain.models;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parte de um pedido que cabe a uma estação da cozinha: os itens cuja categoria cai nela.
+ * A posição é numerada dentro da fila da estação, não na fila geral.
+ */
+public class StationTask {
+
+    public static final String DEFAULT_STATION = "GENERAL";
+
+    private Long id;
+    private Long orderId;
+    private String station;
+    private StationTaskStatus status;
+    private LocalDateTime queuedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Integer positionInQueue;
+    private List<ProductionItem> items;
+
+    public StationTask(Long orderId, String station, StationTaskStatus status, LocalDateTime queuedAt, List<ProductionItem> items) {
+        this.orderId = orderId;
+        this.station = station;
+        this.status = status;
+        this.queuedAt = queuedAt;
+        this.items = items;
+    }
+
+    // Uma parte por estação, na ordem em que as categorias aparecem no pedido
+    public static List<StationTask> splitByStation(Long orderId, List<ProductionItem> items, LocalDateTime queuedAt) {
+        Map<String, List<ProductionItem>> byStation = new LinkedHashMap<>();
+        for (ProductionItem item : items) {
+            byStation.computeIfAbsent(stationOf(item.getCategory()), station -> new ArrayList<>()).add(item);
+        }
+        List<StationTask> tasks = new ArrayList<>(byStation.size());
+        byStation.forEach((station, stationItems) ->
+                tasks.add(new StationTask(orderId, station, StationTaskStatus.QUEUED, queuedAt, stationItems)));
+        return tasks;
+    }
+
+    public static String stationOf(String category) {
+        return category == null || category.isBlank() ? DEFAULT_STATION : category.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getStation() {
+        return station;
+    }
+
+    public void setStation(String station) {
+        this.station = station;
+    }
+
+    public StationTaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(StationTaskStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    public void setQueuedAt(LocalDateTime queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Integer getPositionInQueue() {
+        return positionInQueue;
+    }
+
+    public void setPositionInQueue(Integer positionInQueue) {
+        this.positionInQueue = positionInQueue;
+    }
+
+    public List<ProductionItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductionItem> items) {
+        this.items = items;
+    }
+}
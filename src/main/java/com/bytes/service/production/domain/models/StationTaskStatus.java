@@ -0,0 +1,16 @@
+package com.bytes.service.production.domain.models;
+
+public enum StationTaskStatus {
+    QUEUED,
+    IN_PROGRESS,
+    DONE;
+
+    // Cada parte só anda para frente, um passo por vez
+    public StationTaskStatus predecessor() {
+        return switch (this) {
+            case QUEUED -> null;
+            case IN_PROGRESS -> QUEUED;
+            case DONE -> IN_PROGRESS;
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.bytes.service.production.domain.models;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Transição condicional: só é aplicada se o pedido ainda estiver em um dos {@code expectedStatuses}.
+ * Os carimbos de tempo que não mudam nesta transição ficam nulos.
+ */
+public class StatusTransition {
+    private final Long orderId;
+    private final Set<ProductionStatus> expectedStatuses;
+    private final ProductionStatus newStatus;
+    private final LocalDateTime changedAt;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+    private final LocalDateTime deliveredAt;
+
+    public StatusTransition(Long orderId, ProductionStatus expectedStatus, ProductionStatus newStatus, LocalDateTime changedAt) {
+        this(orderId, EnumSet.of(expectedStatus), newStatus, changedAt);
+    }
+
+    public StatusTransition(Long orderId, Set<ProductionStatus> expectedStatuses, ProductionStatus newStatus, LocalDateTime changedAt) {
+        this.orderId = orderId;
+        this.expectedStatuses = Collections.unmodifiableSet(EnumSet.copyOf(expectedStatuses));
+        this.newStatus = newStatus;
+        this.changedAt = changedAt;
+        this.startedAt = newStatus == ProductionStatus.IN_PREPARATION ? changedAt : null;
+        this.finishedAt = newStatus == ProductionStatus.READY ? changedAt : null;
+        this.deliveredAt = newStatus == ProductionStatus.FINISHED ? changedAt : null;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    // Só para transições com um único status de origem, como as do lote
+    public ProductionStatus getExpectedStatus() {
+        if (expectedStatuses.size() != 1) {
+            throw new IllegalStateException("Transition accepts more than one status: " + expectedStatuses);
+        }
+        return expectedStatuses.iterator().next();
+    }
+
+    public Set<ProductionStatus> getExpectedStatuses() {
+        return expectedStatuses;
+    }
+
+    public ProductionStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public LocalDateTime getDeliveredAt() {
+        return deliveredAt;
+    }
+
+    public void applyTo(OrderProduction production) {
+        production.setStatus(newStatus);
+        production.setUpdatedAt(changedAt);
+        if (startedAt != null) {
+            production.setStartedAt(startedAt);
+        }
+        if (finishedAt != null) {
+            production.setFinishedAt(finishedAt);
+            production.setPositionInQueue(null);
+        }
+        if (deliveredAt != null) {
+            production.setDeliveredAt(deliveredAt);
+        }
+    }
+}
@@ -1,16 +1,35 @@
 package com.bytes.service.production.domain.ports.inbound;
 
+import com.bytes.service.production.adapters.inbound.dtos.OrderPageDTO;
 import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateRequestDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateResultDTO;
+import com.bytes.service.production.domain.models.IntakeResult;
+import com.bytes.service.production.domain.models.OrderIntake;
+import com.bytes.service.production.domain.models.OrderPageQuery;
 import com.bytes.service.production.domain.models.ProductionQueue;
 import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
 
 import java.util.List;
 
 public interface ProductionServicePort {
-    void startProduction(Long orderId, String customerName);
+    IntakeResult startProduction(OrderIntake intake);
+
+    int startProductions(List<OrderIntake> intakes);
+
     void updateStatus(Long orderId, ProductionStatus newStatus);
 
+    List<StatusUpdateResultDTO> updateStatuses(List<StatusUpdateRequestDTO> updates);
+
     OrderStatusDTO getOrderStatus(Long orderId);
 
     List<ProductionQueue> getActiveOrders();
+
+    OrderPageDTO listOrders(OrderPageQuery query);
+
+    List<StationTask> getStationQueue(String station);
+
+    void updateStationStatus(Long orderId, String station, StationTaskStatus newStatus);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.bytes.service.production.domain.ports.outbound;
+
+import com.bytes.service.production.domain.models.CustomerNotification;
+
+public interface CustomerNotificationPort {
+    void send(CustomerNotification notification);
+}
@@ -0,0 +1,19 @@
+package com.bytes.service.production.domain.ports.outbound;
+
+import com.bytes.service.production.domain.models.CustomerNotification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationOutboxPort {
+    // Deve participar da transação de quem chama, junto com a mudança de status
+    void append(List<CustomerNotification> notifications);
+
+    // Em ordem de gravação, todos os avisos de até limit pedidos cujo aviso mais antigo já venceu. Os avisos devolvidos
+    // ficam reservados até leaseUntil, então outra instância não os entrega ao mesmo tempo; se esta cair, voltam a vencer depois disso
+    List<CustomerNotification> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit);
+
+    void markDelivered(Long id);
+
+    void reschedule(Long id, int attempts, LocalDateTime nextAttemptAt, String lastError);
+}
@@ -0,0 +1,26 @@
+package com.bytes.service.production.domain.ports.outbound;
+
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.OrderProduction;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface OrderArchivePort {
+    // Move até limit pedidos FINISHED/CANCELLED encerrados antes de terminatedBefore para o histórico; devolve quantos moveu
+    int archiveTerminalOrders(LocalDateTime terminatedBefore, LocalDateTime archivedAt, int limit);
+
+    Optional<OrderProduction> findByOrderId(Long orderId);
+
+    // Quais destes pedidos já estão no histórico; a entrada em lote usa para não recriar pedido arquivado
+    Set<Long> existingOrderIds(Collection<Long> orderIds);
+
+    // Mesma ordem (started_at, id) e mesmo contrato de OrderProductionRepositoryPort.findPage
+    List<OrderProduction> findPage(OrderPageQuery query);
+
+    // Apaga até limit pedidos arquivados antes de archivedBefore; devolve quantos apagou
+    int purgeArchivedBefore(LocalDateTime archivedBefore, int limit);
+}
@@ -1,21 +1,41 @@
 package com.bytes.service.production.domain.ports.outbound;
 
+import com.bytes.service.production.domain.models.OrderPageQuery;
 import com.bytes.service.production.domain.models.OrderProduction;
 import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StatusTransition;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface OrderProductionRepositoryPort {
     Integer countByStatusIn(List<ProductionStatus> statuses);
 
     boolean existsByOrderId(Long orderId);
 
+    // Pedidos ativos saem do save com a posição na fila já preenchida
     void save(OrderProduction production);
 
+    void saveAll(List<OrderProduction> productions);
+
+    // Um único INSERT condicionado à unicidade de order_id; false quando o pedido já existia
+    boolean insertIfAbsent(OrderProduction production);
+
+    // Um único UPDATE condicional; devolve o status de onde o pedido saiu, vazio quando nenhuma linha mudou
+    Optional<ProductionStatus> updateStatus(StatusTransition transition);
+
+    Set<Long> updateStatuses(List<StatusTransition> transitions);
+
     List<OrderProduction> findByStatusIn(List<Object> objects);
 
     Optional<OrderProduction> findByOrderId(Long orderId);
 
+    List<OrderProduction> findByOrderIdIn(Collection<Long> orderIds);
+
     List<OrderProduction> findByStatusOrderByStartedAtAsc(ProductionStatus productionStatus);
+
+    // Até query.limit pedidos depois do cursor, em ordem de (started_at, id); pedidos sem started_at não entram
+    List<OrderProduction> findPage(OrderPageQuery query);
 }
@@ -0,0 +1,12 @@
+package com.bytes.service.production.domain.ports.outbound;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+
+import java.time.LocalDateTime;
+
+public interface ProductionEventPort {
+    void orderQueued(OrderProduction production);
+
+    void statusChanged(Long orderId, ProductionStatus previousStatus, ProductionStatus newStatus, LocalDateTime changedAt);
+}
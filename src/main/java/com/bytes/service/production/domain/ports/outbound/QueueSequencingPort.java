@@ -0,0 +1,22 @@
+package com.bytes.service.production.domain.ports.outbound;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+public interface QueueSequencingPort {
+
+    // Assume ou renova o lease; devolve a época quando o holder é o líder. O vencimento segue o relógio do banco
+    OptionalLong tryAcquireLease(String holder, Duration ttl);
+
+    void releaseLease(String holder);
+
+    // Numera por ordem de chegada os pedidos ativos ainda sem sequência; vazio quando o lease já não é deste holder
+    OptionalInt assignSequences(String holder, long epoch);
+
+    // Pedidos ativos na ordem global da fila, já com a posição; os ainda sem sequência vêm no fim, por ordem de chegada
+    List<OrderProduction> activeOrdersInQueueOrder();
+}
@@ -0,0 +1,24 @@
+package com.bytes.service.production.domain.ports.outbound;
+
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StationTaskPort {
+    void saveAll(List<StationTask> tasks);
+
+    // QUEUED e IN_PROGRESS da estação, por ordem de chegada (queued_at, id)
+    List<StationTask> findOpenByStation(String station);
+
+    // Trava todas as partes do pedido em ordem de id, sem os itens; duas estações fechando juntas se enfileiram aqui
+    List<StationTask> lockByOrderId(Long orderId);
+
+    boolean updateStatus(Long orderId, String station, StationTaskStatus expectedStatus, StationTaskStatus newStatus, LocalDateTime changedAt);
+
+    // Partes ainda abertas viram DONE; as já concluídas mantêm o próprio horário
+    void closeOpenByOrderId(Long orderId, LocalDateTime closedAt);
+
+    void deleteByOrderId(Long orderId);
+}
@@ -0,0 +1,264 @@
+package com.bytes.service.production.domain.queue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de estatística de ordem da fila de produção.
+ * Cada pedido recebe um slot crescente na chegada e a posição é a soma de prefixo
+ * de uma Fenwick tree, então inserir, remover e consultar custam O(log n).
+ * Uma segunda Fenwick sobre os mesmos slots marca quem já está em preparo: esses vêm na frente da fila,
+ * cada grupo pela ordem de chegada.
+ */
+public class QueuePositionIndex {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsByOrderId = new HashMap<>();
+
+    private int[] tree;
+    private int[] preparingTree;
+    private Long[] owners;
+    private boolean[] preparing;
+    private int preparingCount;
+    private int nextSlot = 1;
+
+    public QueuePositionIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public QueuePositionIndex(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.tree = new int[capacity + 1];
+        this.preparingTree = new int[capacity + 1];
+        this.owners = new Long[capacity + 1];
+        this.preparing = new boolean[capacity + 1];
+    }
+
+    public int add(Long orderId) {
+        lock.writeLock().lock();
+        try {
+            return position(slotOf(orderId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int add(Long orderId, boolean inPreparation) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(orderId);
+            markPreparing(slot, inPreparation);
+            return position(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(Long orderId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByOrderId.remove(orderId);
+            if (slot == null) {
+                return false;
+            }
+            owners[slot] = null;
+            update(tree, slot, -1);
+            markPreparing(slot, false);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Integer positionOf(Long orderId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotsByOrderId.get(orderId);
+            return slot == null ? null : position(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void setPreparing(Long orderId, boolean inPreparation) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByOrderId.get(orderId);
+            if (slot != null) {
+                markPreparing(slot, inPreparation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int preparingCount() {
+        lock.readLock().lock();
+        try {
+            return preparingCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(Long orderId) {
+        lock.readLock().lock();
+        try {
+            return slotsByOrderId.containsKey(orderId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByOrderId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void replaceAll(List<Long> orderIds) {
+        replaceAll(orderIds, Set.of());
+    }
+
+    // Troca o conteúdo inteiro de uma vez: quem consulta nunca vê o índice pela metade
+    public void replaceAll(List<Long> orderIds, Set<Long> inPreparation) {
+        lock.writeLock().lock();
+        try {
+            slotsByOrderId.clear();
+            int capacity = Math.max(tree.length - 1, orderIds.size() * 2);
+            tree = new int[capacity + 1];
+            preparingTree = new int[capacity + 1];
+            owners = new Long[capacity + 1];
+            preparing = new boolean[capacity + 1];
+            preparingCount = 0;
+            nextSlot = 1;
+            for (Long orderId : orderIds) {
+                if (slotsByOrderId.containsKey(orderId)) {
+                    continue;
+                }
+                int slot = nextSlot++;
+                owners[slot] = orderId;
+                slotsByOrderId.put(orderId, slot);
+                tree[slot] = 1;
+                if (inPreparation.contains(orderId)) {
+                    preparing[slot] = true;
+                    preparingTree[slot] = 1;
+                    preparingCount++;
+                }
+            }
+            build(tree);
+            build(preparingTree);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slotsByOrderId.clear();
+            tree = new int[tree.length];
+            preparingTree = new int[preparingTree.length];
+            owners = new Long[owners.length];
+            preparing = new boolean[preparing.length];
+            preparingCount = 0;
+            nextSlot = 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Compacta os slots ocupados mantendo a ordem de chegada; só dobra a capacidade quando a fila está cheia de verdade
+    private void resize() {
+        int live = slotsByOrderId.size();
+        int capacity = tree.length - 1;
+        int newCapacity = live * 2 > capacity ? capacity * 2 : capacity;
+
+        int[] newTree = new int[newCapacity + 1];
+        int[] newPreparingTree = new int[newCapacity + 1];
+        Long[] newOwners = new Long[newCapacity + 1];
+        boolean[] newPreparing = new boolean[newCapacity + 1];
+        int slot = 1;
+        for (int i = 1; i < nextSlot; i++) {
+            Long owner = owners[i];
+            if (owner != null) {
+                newOwners[slot] = owner;
+                newTree[slot] = 1;
+                if (preparing[i]) {
+                    newPreparing[slot] = true;
+                    newPreparingTree[slot] = 1;
+                }
+                slotsByOrderId.put(owner, slot);
+                slot++;
+            }
+        }
+        build(newTree);
+        build(newPreparingTree);
+
+        tree = newTree;
+        preparingTree = newPreparingTree;
+        owners = newOwners;
+        preparing = newPreparing;
+        nextSlot = slot;
+    }
+
+    private int slotOf(Long orderId) {
+        Integer slot = slotsByOrderId.get(orderId);
+        if (slot == null) {
+            if (nextSlot >= tree.length) {
+                resize();
+            }
+            slot = nextSlot++;
+            owners[slot] = orderId;
+            slotsByOrderId.put(orderId, slot);
+            update(tree, slot, 1);
+        }
+        return slot;
+    }
+
+    // Em preparo: o rank entre quem está em preparo. Esperando: todos em preparo mais o rank entre quem espera
+    private int position(int slot) {
+        int preparingAhead = prefix(preparingTree, slot);
+        return preparing[slot] ? preparingAhead : preparingCount + prefix(tree, slot) - preparingAhead;
+    }
+
+    private void markPreparing(int slot, boolean inPreparation) {
+        if (preparing[slot] == inPreparation) {
+            return;
+        }
+        preparing[slot] = inPreparation;
+        update(preparingTree, slot, inPreparation ? 1 : -1);
+        preparingCount += inPreparation ? 1 : -1;
+    }
+
+    private static void build(int[] fenwick) {
+        for (int i = 1; i < fenwick.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < fenwick.length) {
+                fenwick[parent] += fenwick[i];
+            }
+        }
+    }
+
+    private static void update(int[] fenwick, int slot, int delta) {
+        for (int i = slot; i < fenwick.length; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+
+    private static int prefix(int[] fenwick, int slot) {
+        int sum = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            sum += fenwick[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,14 @@
+CREATE TABLE order_production (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id             BIGINT       NOT NULL,
+    status               VARCHAR(32)  NOT NULL,
+    started_at           TIMESTAMP,
+    updated_at           TIMESTAMP,
+    finished_at          TIMESTAMP,
+    delivered_at         TIMESTAMP,
+    position_in_queue    INTEGER,
+    order_display_number VARCHAR(255),
+    customer_name        VARCHAR(255),
+    version              BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT uk_order_production_order_id UNIQUE (order_id)
+);
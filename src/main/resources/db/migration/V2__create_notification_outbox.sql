@@ -0,0 +1,12 @@
+CREATE TABLE notification_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id        BIGINT       NOT NULL,
+    status          VARCHAR(32)  NOT NULL,
+    occurred_at     TIMESTAMP    NOT NULL,
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP    NOT NULL,
+    last_error      VARCHAR(255)
+);
+
+CREATE INDEX idx_notification_outbox_next_attempt ON notification_outbox (next_attempt_at);
+CREATE INDEX idx_notification_outbox_order ON notification_outbox (order_id, id);
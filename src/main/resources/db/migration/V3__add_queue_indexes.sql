@@ -0,0 +1,3 @@
+-- Fila ativa e contagens filtram por status; a ordenação vem da segunda coluna
+CREATE INDEX idx_order_production_status_started_at ON order_production (status, started_at);
+CREATE INDEX idx_order_production_status_position ON order_production (status, position_in_queue);
@@ -0,0 +1,18 @@
+-- Pedidos encerrados saem da tabela quente; o id original é mantido para rastreio
+CREATE TABLE order_production_history (
+    id                   BIGINT       PRIMARY KEY,
+    order_id             BIGINT       NOT NULL,
+    status               VARCHAR(32)  NOT NULL,
+    started_at           TIMESTAMP,
+    updated_at           TIMESTAMP,
+    finished_at          TIMESTAMP,
+    delivered_at         TIMESTAMP,
+    order_display_number VARCHAR(255),
+    customer_name        VARCHAR(255),
+    archived_at          TIMESTAMP    NOT NULL,
+    CONSTRAINT uk_order_production_history_order_id UNIQUE (order_id)
+);
+
+CREATE INDEX idx_order_production_history_archived_at ON order_production_history (archived_at);
+-- Varredura do arquivador: pedidos encerrados mais antigos primeiro
+CREATE INDEX idx_order_production_status_updated_at ON order_production (status, updated_at);
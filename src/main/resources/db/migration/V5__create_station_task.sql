@@ -0,0 +1,25 @@
+-- Cada pedido é dividido em uma parte por estação (categoria dos itens)
+CREATE TABLE station_task (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id    BIGINT       NOT NULL,
+    station     VARCHAR(64)  NOT NULL,
+    status      VARCHAR(32)  NOT NULL,
+    queued_at   TIMESTAMP    NOT NULL,
+    started_at  TIMESTAMP,
+    finished_at TIMESTAMP,
+    CONSTRAINT uk_station_task_order_station UNIQUE (order_id, station)
+);
+
+-- Fila de cada estação: partes abertas por ordem de chegada
+CREATE INDEX idx_station_task_station_status_queued ON station_task (station, status, queued_at);
+
+CREATE TABLE station_task_item (
+    task_id      BIGINT       NOT NULL,
+    item_order   INTEGER      NOT NULL,
+    product_name VARCHAR(255),
+    quantity     INTEGER,
+    category     VARCHAR(255),
+    observations VARCHAR(255),
+    PRIMARY KEY (task_id, item_order),
+    CONSTRAINT fk_station_task_item_task FOREIGN KEY (task_id) REFERENCES station_task (id) ON DELETE CASCADE
+);
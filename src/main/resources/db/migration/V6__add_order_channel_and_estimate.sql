@@ -0,0 +1,3 @@
+-- Canal de origem e tamanho estimado do pedido, usados pelas políticas de ordenação da fila
+ALTER TABLE order_production ADD COLUMN channel VARCHAR(32);
+ALTER TABLE order_production ADD COLUMN estimated_minutes INTEGER;
@@ -0,0 +1,15 @@
+-- Ordem global da fila, atribuída só pela instância que detém o lease do sequenciador
+ALTER TABLE order_production ADD COLUMN queue_sequence BIGINT;
+
+CREATE INDEX idx_order_production_status_sequence ON order_production (status, queue_sequence);
+
+-- Lease de liderança: quem atualiza a linha com o lease vencido assume e incrementa a época
+CREATE TABLE production_lease (
+    name          VARCHAR(64)  PRIMARY KEY,
+    holder        VARCHAR(128),
+    epoch         BIGINT       NOT NULL DEFAULT 0,
+    expires_at    TIMESTAMP,
+    last_sequence BIGINT       NOT NULL DEFAULT 0
+);
+
+INSERT INTO production_lease (name, epoch, last_sequence) VALUES ('queue-sequencer', 0, 0);
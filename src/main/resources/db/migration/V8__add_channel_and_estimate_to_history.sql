@@ -0,0 +1,3 @@
+-- O histórico guarda as mesmas colunas que V6 acrescentou à tabela quente
+ALTER TABLE order_production_history ADD COLUMN channel VARCHAR(32);
+ALTER TABLE order_production_history ADD COLUMN estimated_minutes INTEGER;
@@ -0,0 +1,119 @@
+package com.bytes.service.production.adapters.inbound.messaging;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderPaidEventDTO;
+import com.bytes.service.production.config.MessagingConfiguration;
+import com.bytes.service.production.domain.models.OrderChannel;
+import com.bytes.service.production.domain.models.OrderIntake;
+import com.bytes.service.production.domain.models.ProductionItem;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.EnableTestBinder;
+import org.springframework.cloud.stream.binder.test.InputDestination;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.cloud.function.definition=orderPaid",
+                "spring.cloud.stream.default-binder=integration",
+                "spring.cloud.stream.bindings.orderPaid-in-0.destination=order-paid",
+                "spring.cloud.stream.bindings.orderPaid-in-0.consumer.batch-mode=true"
+        })
+class OrderPaidConsumerTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+    @EnableTestBinder
+    @Import(MessagingConfiguration.class)
+    static class MessagingTestConfiguration {
+    }
+
+    @MockitoBean
+    private ProductionServicePort productionService;
+
+    @Autowired
+    private InputDestination input;
+
+    @Captor
+    private ArgumentCaptor<List<OrderIntake>> captor;
+
+    @Test
+    void shouldStartProductionForTheWholeBatchInOneCall() {
+        when(productionService.startProductions(any())).thenReturn(2);
+
+        input.send(MessageBuilder.withPayload(List.of(
+                "{\"orderId\":1,\"customerName\":\"John Doe\"}",
+                "{\"orderId\":2,\"customerName\":\"Jane Smith\"}"
+        )).build(), "order-paid");
+
+        verify(productionService, times(1)).startProductions(captor.capture());
+        assertEquals(List.of(1L, 2L), captor.getValue().stream().map(OrderIntake::getOrderId).toList());
+        assertEquals("Jane Smith", captor.getValue().get(1).getCustomerName());
+    }
+
+    @Test
+    void shouldCarryItemsThroughToTheIntake() {
+        when(productionService.startProductions(any())).thenReturn(1);
+
+        input.send(MessageBuilder.withPayload(List.of(
+                "{\"orderId\":5,\"customerName\":\"John Doe\",\"items\":[" +
+                        "{\"productName\":\"Burger\",\"quantity\":2,\"category\":\"grill\"}," +
+                        "{\"productName\":\"Soda\",\"quantity\":1,\"category\":\"drinks\",\"observations\":\"no ice\"}]}"
+        )).build(), "order-paid");
+
+        verify(productionService).startProductions(captor.capture());
+        List<ProductionItem> items = captor.getValue().get(0).getItems();
+        assertEquals(List.of("grill", "drinks"), items.stream().map(ProductionItem::getCategory).toList());
+        assertEquals("no ice", items.get(1).getObservations());
+    }
+
+    @Test
+    void shouldMapChannelAndDefaultUnknownToKiosk() {
+        when(productionService.startProductions(any())).thenReturn(3);
+
+        input.send(MessageBuilder.withPayload(List.of(
+                "{\"orderId\":1,\"customerName\":\"John Doe\",\"channel\":\"delivery\"}",
+                "{\"orderId\":2,\"customerName\":\"Jane Smith\",\"channel\":\"smart-fridge\"}",
+                "{\"orderId\":3,\"customerName\":\"Alice Johnson\"}"
+        )).build(), "order-paid");
+
+        verify(productionService).startProductions(captor.capture());
+        assertEquals(List.of(OrderChannel.DELIVERY, OrderChannel.KIOSK, OrderChannel.KIOSK),
+                captor.getValue().stream().map(OrderIntake::getChannel).toList());
+    }
+
+    @Test
+    void shouldPropagateFailureSoTheBatchIsNotAcknowledged() {
+        when(productionService.startProductions(any())).thenThrow(new IllegalStateException("database unavailable"));
+
+        OrderPaidConsumer consumer = new OrderPaidConsumer(productionService);
+
+        // A exceção precisa chegar ao binder para o offset do lote não ser confirmado
+        assertThrows(IllegalStateException.class, () -> consumer.accept(List.of(new OrderPaidEventDTO(3L, "Alice Johnson", null, null))));
+    }
+
+    @Test
+    void shouldIgnoreEventsWithoutOrderId() {
+        OrderPaidConsumer consumer = new OrderPaidConsumer(productionService);
+
+        consumer.accept(List.of(new OrderPaidEventDTO(null, "Nobody", null, null)));
+
+        verify(productionService, never()).startProductions(any());
+    }
+}
@@ -0,0 +1,142 @@
+package com.bytes.service.production.adapters.inbound.rest;
+
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter;
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter.Priority;
+import com.bytes.service.production.exceptions.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofSeconds(1), 0.5, 0.5);
+        filter = new AdmissionControlFilter(limiter, new ObjectMapper(), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldRejectPollingWith429AndRetryAfterWhileWritesStillPass() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        MockFilterChain holdingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) throws java.io.IOException, ServletException {
+                // Enquanto esta leitura ocupa a única vaga de leitura, chega outra leitura e uma escrita
+                MockHttpServletResponse read = new MockHttpServletResponse();
+                filter.doFilter(request("GET", "/api/v1/production/queue"), read, new MockFilterChain());
+                nested.set(read);
+
+                MockHttpServletResponse write = new MockHttpServletResponse();
+                filter.doFilter(request("PUT", "/api/v1/production/1/status"), write, new MockFilterChain());
+                assertEquals(200, write.getStatus());
+            }
+        };
+
+        filter.doFilter(request("GET", "/api/v1/production/queue"), new MockHttpServletResponse(), holdingChain);
+
+        MockHttpServletResponse rejected = nested.get();
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains(AdmissionControlFilter.REJECTION_MESSAGE));
+        assertEquals(1, limiter.rejectedCount(Priority.READ));
+        assertEquals(0, limiter.rejectedCount(Priority.WRITE));
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void shouldCountServerErrorsAsOverload() throws Exception {
+        MockFilterChain failingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                ((HttpServletResponse) response).setStatus(503);
+            }
+        };
+
+        filter.doFilter(request("PUT", "/api/v1/production/1/status"), new MockHttpServletResponse(), failingChain);
+
+        assertEquals(1, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void shouldCountTimeoutsAsOverload() {
+        MockFilterChain timingOutChain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) throws ServletException {
+                throw new ServletException(new QueryTimeoutException("statement timed out"));
+            }
+        };
+
+        assertThrows(ServletException.class, () ->
+                filter.doFilter(request("GET", "/api/v1/production/queue"), new MockHttpServletResponse(), timingOutChain));
+        assertEquals(1, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void shouldNotShrinkTheLimitOnFailuresUnrelatedToLoad() throws Exception {
+        MockFilterChain buggyChain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                throw new BusinessException("Invalid status transition from FINISHED to READY");
+            }
+        };
+        MockFilterChain internalErrorChain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                ((HttpServletResponse) response).setStatus(500);
+            }
+        };
+
+        assertThrows(BusinessException.class, () ->
+                filter.doFilter(request("PUT", "/api/v1/production/1/status"), new MockHttpServletResponse(), buggyChain));
+        filter.doFilter(request("GET", "/api/v1/production/queue"), new MockHttpServletResponse(), internalErrorChain);
+
+        assertEquals(2, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void shouldReleaseThePermitWhenTheHandlerThrows() {
+        MockFilterChain throwingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                throw new IllegalStateException("database unavailable");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () ->
+                filter.doFilter(request("GET", "/api/v1/production/queue"), new MockHttpServletResponse(), throwingChain));
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void shouldLeaveStreamsOutOfAdmission() throws Exception {
+        limiter.tryAcquire(Priority.WRITE);
+        limiter.tryAcquire(Priority.WRITE);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/v1/production/queue/stream"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limiter.rejectedCount(Priority.READ));
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
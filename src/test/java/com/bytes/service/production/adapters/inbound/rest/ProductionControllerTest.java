@@ -1,22 +1,38 @@
 package com.bytes.service.production.adapters.inbound.rest;
 
+import com.bytes.service.production.adapters.inbound.dtos.OrderPageDTO;
 import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateRequestDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateResultDTO;
 import com.bytes.service.production.application.ProductionService;
+import com.bytes.service.production.application.queue.QueueVersionTracker;
+import com.bytes.service.production.domain.models.OrderCursor;
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.OrderProduction;
 import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.ProductionItem;
 import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
+import com.bytes.service.production.exceptions.BusinessException;
+import com.bytes.service.production.exceptions.ResourceNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,14 +47,19 @@ class ProductionControllerTest {
     @Mock
     private ProductionService productionService;
 
+    @Mock
+    private QueueStreamPublisher queueStreamPublisher;
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
+    private QueueVersionTracker queueVersions;
     private ProductionController productionController;
 
     @BeforeEach
     void setUp() {
-        productionController = new ProductionController(productionService);
-        mockMvc = MockMvcBuilders.standaloneSetup(productionController).build();
+        queueVersions = new QueueVersionTracker(10000);
+        productionController = new ProductionController(productionService, queueStreamPublisher, queueVersions);
+        mockMvc = MockMvcBuilders.standaloneSetup(productionController).setControllerAdvice(new RestExceptionHandler()).build();
         objectMapper = new ObjectMapper();
     }
 
@@ -78,6 +99,78 @@ class ProductionControllerTest {
         verify(productionService).getActiveOrders();
     }
 
+    @Test
+    void shouldReturnNotModifiedWhenQueueVersionIsUnchanged() throws Exception {
+        mockMvc.perform(get("/api/v1/production/queue")
+                .header("If-None-Match", queueVersions.queueTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", queueVersions.queueTag()));
+
+        verifyNoInteractions(productionService);
+    }
+
+    @Test
+    void shouldReturnQueueWithNewTagAfterQueueChanges() throws Exception {
+        String staleTag = queueVersions.queueTag();
+        queueVersions.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, LocalDateTime.now());
+        when(productionService.getActiveOrders()).thenReturn(Arrays.asList());
+
+        mockMvc.perform(get("/api/v1/production/queue")
+                .header("If-None-Match", staleTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", queueVersions.queueTag()));
+
+        verify(productionService).getActiveOrders();
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenOrderVersionIsUnchanged() throws Exception {
+        Long orderId = 123L;
+        queueVersions.statusChanged(orderId, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, LocalDateTime.now());
+
+        mockMvc.perform(get("/api/v1/production/order/{orderId}/status", orderId)
+                .header("If-None-Match", "W/" + queueVersions.orderTag(orderId)))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(productionService);
+    }
+
+    @Test
+    void shouldReturnNewStatusWhenAnOrderAheadLeavesTheQueue() throws Exception {
+        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
+        queueVersions.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, testTime, 1, "John Doe"));
+        queueVersions.orderQueued(new OrderProduction(2L, ProductionStatus.RECEIVED, testTime, 2, "Jane Smith"));
+        String staleTag = queueVersions.orderTag(2L);
+
+        queueVersions.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, testTime);
+        queueVersions.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, testTime);
+        when(productionService.getOrderStatus(2L)).thenReturn(OrderStatusDTO.builder()
+                .orderId(2L)
+                .currentStatus(ProductionStatus.RECEIVED)
+                .queuePosition(1)
+                .build());
+
+        mockMvc.perform(get("/api/v1/production/order/{orderId}/status", 2L)
+                .header("If-None-Match", staleTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", queueVersions.orderTag(2L)))
+                .andExpect(jsonPath("$.queuePosition").value(1));
+
+        assertNotEquals(staleTag, queueVersions.orderTag(2L));
+    }
+
+    @Test
+    void shouldOpenQueueStreamWithLastEventId() throws Exception {
+        when(queueStreamPublisher.open(eq(42L))).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/production/queue/stream")
+                .header("Last-Event-ID", "42")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(queueStreamPublisher).open(eq(42L));
+    }
+
     @Test
     void shouldUpdateOrderStatus() throws Exception {
         Long orderId = 123L;
@@ -93,6 +186,133 @@ class ProductionControllerTest {
         verify(productionService).updateStatus(eq(orderId), eq(newStatus));
     }
 
+    @Test
+    void shouldMapDomainErrorsToClientErrors() throws Exception {
+        when(productionService.getOrderStatus(eq(9L))).thenThrow(new ResourceNotFoundException("Order with ID 9 not found"));
+        doThrow(new BusinessException("Invalid status transition from FINISHED to READY"))
+                .when(productionService).updateStatus(eq(1L), eq(ProductionStatus.READY));
+
+        mockMvc.perform(get("/api/v1/production/order/{orderId}/status", 9L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Order with ID 9 not found"));
+        mockMvc.perform(put("/api/v1/production/{orderId}/status", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"READY\""))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Invalid status transition from FINISHED to READY"));
+    }
+
+    @Test
+    void shouldGetStationQueueWithItsOwnPositions() throws Exception {
+        StationTask task = new StationTask(7L, "GRILL", StationTaskStatus.QUEUED, LocalDateTime.of(2024, 1, 1, 10, 0),
+                List.of(new ProductionItem("Burger", 2, "grill", null)));
+        task.setPositionInQueue(1);
+
+        when(productionService.getStationQueue(eq("grill"))).thenReturn(List.of(task));
+
+        mockMvc.perform(get("/api/v1/production/stations/{station}/queue", "grill"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orderId").value(7))
+                .andExpect(jsonPath("$[0].station").value("GRILL"))
+                .andExpect(jsonPath("$[0].positionInQueue").value(1))
+                .andExpect(jsonPath("$[0].items[0].productName").value("Burger"));
+    }
+
+    @Test
+    void shouldUpdateStationStatus() throws Exception {
+        mockMvc.perform(put("/api/v1/production/stations/{station}/orders/{orderId}/status", "fryer", 9L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"IN_PROGRESS\""))
+                .andExpect(status().isOk());
+
+        verify(productionService).updateStationStatus(eq(9L), eq("fryer"), eq(StationTaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void shouldUpdateStatusesInBatchWithResultPerEntry() throws Exception {
+        List<StatusUpdateRequestDTO> updates = List.of(
+                new StatusUpdateRequestDTO(1L, ProductionStatus.READY),
+                new StatusUpdateRequestDTO(2L, ProductionStatus.FINISHED)
+        );
+        when(productionService.updateStatuses(eq(updates))).thenReturn(List.of(
+                StatusUpdateResultDTO.applied(1L, ProductionStatus.READY),
+                StatusUpdateResultDTO.rejected(2L, ProductionStatus.FINISHED, "Cannot transition from RECEIVED to FINISHED")
+        ));
+
+        mockMvc.perform(put("/api/v1/production/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updates)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orderId").value(1))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].error").value("Cannot transition from RECEIVED to FINISHED"));
+    }
+
+    @Test
+    void shouldRejectBatchLargerThanLimit() throws Exception {
+        List<StatusUpdateRequestDTO> updates = new ArrayList<>();
+        for (long i = 0; i <= ProductionController.MAX_BATCH_SIZE; i++) {
+            updates.add(new StatusUpdateRequestDTO(i, ProductionStatus.READY));
+        }
+
+        mockMvc.perform(put("/api/v1/production/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updates)))
+                .andExpect(status().isBadRequest());
+
+        verify(productionService, never()).updateStatuses(any());
+    }
+
+    @Test
+    void shouldListOrdersWithFiltersAndCursor() throws Exception {
+        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
+        OrderCursor cursor = new OrderCursor(testTime, 7L);
+        OrderPageDTO page = OrderPageDTO.builder()
+                .items(List.of(new ProductionQueue(8L, "John Doe", ProductionStatus.READY, null, testTime.plusMinutes(1))))
+                .nextCursor(new OrderCursor(testTime.plusMinutes(1), 8L).toToken())
+                .build();
+
+        when(productionService.listOrders(any())).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/production/orders")
+                        .param("status", "READY", "FINISHED")
+                        .param("from", "2024-01-01T09:00:00")
+                        .param("to", "2024-01-01T12:00:00")
+                        .param("cursor", cursor.toToken())
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].orderId").value(8))
+                .andExpect(jsonPath("$.nextCursor").value(page.getNextCursor()));
+
+        ArgumentCaptor<OrderPageQuery> query = ArgumentCaptor.forClass(OrderPageQuery.class);
+        verify(productionService).listOrders(query.capture());
+        assertEquals(Set.of(ProductionStatus.READY, ProductionStatus.FINISHED), query.getValue().getStatuses());
+        assertEquals(testTime.minusHours(1), query.getValue().getStartedFrom());
+        assertEquals(testTime.plusHours(2), query.getValue().getStartedBefore());
+        assertEquals(testTime, query.getValue().getAfter().getStartedAt());
+        assertEquals(7L, query.getValue().getAfter().getId());
+        assertEquals(20, query.getValue().getLimit());
+    }
+
+    @Test
+    void shouldRejectPageLargerThanLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/production/orders")
+                        .param("limit", String.valueOf(ProductionController.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+
+        verify(productionService, never()).listOrders(any());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/production/orders").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(productionService, never()).listOrders(any());
+    }
+
     @Test
     void shouldGetOrderStatus() throws Exception {
         Long orderId = 123L;
@@ -156,7 +376,7 @@ class ProductionControllerTest {
 
     @Test
     void shouldConstructControllerWithService() {
-        ProductionController controller = new ProductionController(productionService);
+        ProductionController controller = new ProductionController(productionService, queueStreamPublisher, queueVersions);
         assertNotNull(controller);
     }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.bytes.service.production.adapters.inbound.rest;
+
+import com.bytes.service.production.application.queue.QueueDeltaFeed;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueueStreamPublisherTest {
+
+    @Mock
+    private ProductionServicePort productionService;
+
+    private QueueDeltaFeed feed;
+    private QueueStreamPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        feed = new QueueDeltaFeed(new ProductionOrderMapper(), 16);
+        publisher = new QueueStreamPublisher(feed, productionService, Duration.ofMinutes(1), Duration.ofMinutes(5),
+                Thread.ofPlatform().daemon(true).factory());
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+    }
+
+    @Test
+    void shouldSendSnapshotWhenClientHasNoLastEventId() throws Exception {
+        when(productionService.getActiveOrders()).thenReturn(List.of());
+
+        SseEmitter emitter = publisher.open(null);
+
+        assertNotNull(emitter);
+        verify(productionService, timeout(1000)).getActiveOrders();
+        waitForSubscribers(1);
+    }
+
+    @Test
+    void shouldResumeWithoutSnapshotWhenDeltasAreBuffered() throws Exception {
+        long lastSeen = feed.currentSequence();
+        feed.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, LocalDateTime.now());
+
+        publisher.open(lastSeen);
+
+        waitForSubscribers(1);
+        verifyNoInteractions(productionService);
+    }
+
+    @Test
+    void shouldFallBackToSnapshotWhenLastEventIdIsUnknown() throws Exception {
+        when(productionService.getActiveOrders()).thenReturn(List.of());
+
+        publisher.open(feed.currentSequence() + 100);
+
+        verify(productionService, timeout(1000)).getActiveOrders();
+    }
+
+    @Test
+    void shouldKeepServingOtherClientsWhileASnapshotLoads() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productionService.getActiveOrders()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        publisher.open(null);
+        assertTrue(loading.await(1, TimeUnit.SECONDS));
+        long lastSeen = feed.currentSequence();
+        feed.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, LocalDateTime.now());
+        publisher.open(lastSeen);
+
+        // A retomada passa pela thread de envio enquanto o snapshot da primeira tela ainda está sendo lido
+        waitForSubscribers(1);
+
+        release.countDown();
+        waitForSubscribers(2);
+    }
+
+    private void waitForSubscribers(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (publisher.connectedClients() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, publisher.connectedClients());
+    }
+}
@@ -0,0 +1,58 @@
+package com.bytes.service.production.adapters.inbound.rest;
+
+import com.bytes.service.production.adapters.outbound.persistence.ReadWriteRoutingDataSource;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadWriteRoutingDataSource routing = mock(ReadWriteRoutingDataSource.class);
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(routing, Duration.ofSeconds(5));
+
+    @Test
+    void shouldHandTheWriteDeadlineBackToTheClient() throws Exception {
+        when(routing.readYourWritesDeadline()).thenReturn(42_000L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/v1/production/1/status"), response, new MockFilterChain());
+
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertTrue(cookie.startsWith(ReadYourWritesFilter.COOKIE_NAME + "=42000"));
+        assertTrue(cookie.contains("Max-Age=5"));
+        assertTrue(cookie.contains("HttpOnly"));
+    }
+
+    @Test
+    void shouldPinReadsThatCarryTheCookieOnlyForTheRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/production/queue");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "42000"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        var order = inOrder(routing);
+        order.verify(routing).unpin();
+        order.verify(routing).pinPrimaryUntil(42_000L);
+        order.verify(routing).unpin();
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void shouldIgnoreAMalformedCookie() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/production/queue");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "soon"));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(routing, never()).pinPrimaryUntil(anyLong());
+    }
+}
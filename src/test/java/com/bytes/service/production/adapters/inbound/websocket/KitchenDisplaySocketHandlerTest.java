@@ -0,0 +1,232 @@
+package com.bytes.service.production.adapters.inbound.websocket;
+
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateRequestDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateResultDTO;
+import com.bytes.service.production.application.queue.QueueDeltaFeed;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KitchenDisplaySocketHandlerTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private ProductionServicePort productionService;
+
+    @Mock
+    private WebSocketSession session;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<JsonNode> sent = new CopyOnWriteArrayList<>();
+
+    private QueueDeltaFeed feed;
+    private KitchenDisplaySocketHandler handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        feed = new QueueDeltaFeed(new ProductionOrderMapper(), 16);
+        // Tick longo: os testes disparam o envio chamando flush()
+        handler = new KitchenDisplaySocketHandler(feed, productionService, objectMapper, Duration.ofHours(1), Duration.ofSeconds(5),
+                64 * 1024, Thread.ofPlatform().daemon(true).factory());
+
+        lenient().when(session.getId()).thenReturn("terminal-1");
+        lenient().when(session.isOpen()).thenReturn(true);
+        lenient().doAnswer(invocation -> {
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            sent.add(objectMapper.readTree((String) message.getPayload()));
+            return null;
+        }).when(session).sendMessage(any());
+        handler.afterConnectionEstablished(session);
+    }
+
+    @AfterEach
+    void tearDown() {
+        handler.close();
+    }
+
+    @Test
+    void shouldSendSnapshotWhenTerminalSubscribes() throws Exception {
+        when(productionService.getActiveOrders()).thenReturn(List.of(
+                new ProductionQueue(1L, "John Doe", ProductionStatus.RECEIVED, 1, TEST_TIME)));
+
+        handler.handleMessage(session, new TextMessage("{\"type\":\"subscribe\"}"));
+
+        JsonNode snapshot = awaitMessage(0);
+        assertEquals("snapshot", snapshot.get("type").asText());
+        assertEquals(feed.currentSequence(), snapshot.get("sequence").asLong());
+        assertEquals(1L, snapshot.get("orders").get(0).get("orderId").asLong());
+    }
+
+    @Test
+    void shouldSendOneCoalescedBatchPerTick() throws Exception {
+        subscribeWithEmptySnapshot();
+
+        feed.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"));
+        feed.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME.plusMinutes(1));
+        feed.statusChanged(2L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME.plusMinutes(1));
+        handler.flush();
+
+        assertEquals(2, sent.size());
+        JsonNode batch = sent.get(1);
+        assertEquals("deltas", batch.get("type").asText());
+        assertEquals(feed.currentSequence(), batch.get("sequence").asLong());
+        JsonNode deltas = batch.get("deltas");
+        assertEquals(2, deltas.size());
+        assertEquals("INSERT", deltas.get(0).get("type").asText());
+        assertEquals("IN_PREPARATION", deltas.get(0).get("entry").get("status").asText());
+        assertEquals("REMOVE", deltas.get(1).get("type").asText());
+    }
+
+    @Test
+    void shouldNotSendEmptyBatches() throws Exception {
+        subscribeWithEmptySnapshot();
+
+        handler.flush();
+
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    void shouldNotSendDeltasBeforeTheTerminalSubscribes() {
+        feed.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+        handler.flush();
+
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void shouldResumeFromBufferedDeltasWithoutSnapshot() throws Exception {
+        long lastSeen = feed.currentSequence();
+        feed.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+
+        handler.handleMessage(session, new TextMessage("{\"type\":\"subscribe\",\"lastSequence\":" + lastSeen + "}"));
+
+        JsonNode batch = awaitMessage(0);
+        assertEquals("deltas", batch.get("type").asText());
+        assertEquals(1, batch.get("deltas").size());
+        verifyNoInteractions(productionService);
+    }
+
+    @Test
+    void shouldKeepServingTerminalsWhileASnapshotLoads() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productionService.getActiveOrders()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        WebSocketSession other = mock(WebSocketSession.class);
+        List<String> sentToOther = new CopyOnWriteArrayList<>();
+        when(other.getId()).thenReturn("terminal-2");
+        doAnswer(invocation -> sentToOther.add(((TextMessage) invocation.getArgument(0)).getPayload())).when(other).sendMessage(any());
+        handler.afterConnectionEstablished(other);
+
+        handler.handleMessage(session, new TextMessage("{\"type\":\"subscribe\"}"));
+        assertTrue(loading.await(1, TimeUnit.SECONDS));
+        long lastSeen = feed.currentSequence();
+        feed.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+        handler.handleMessage(other, new TextMessage("{\"type\":\"subscribe\",\"lastSequence\":" + lastSeen + "}"));
+
+        // A retomada do outro terminal passa pela thread de envio enquanto o snapshot ainda está sendo lido
+        long deadline = System.currentTimeMillis() + 1000;
+        while (sentToOther.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, sentToOther.size());
+        assertTrue(sent.isEmpty());
+
+        release.countDown();
+        assertEquals("snapshot", awaitMessage(0).get("type").asText());
+        JsonNode missed = awaitMessage(1);
+        assertEquals("deltas", missed.get("type").asText());
+        assertEquals(feed.currentSequence(), missed.get("sequence").asLong());
+    }
+
+    @Test
+    void shouldApplyStatusCommandsThroughTheServiceAndAnswerWithTheRequestId() throws Exception {
+        when(productionService.updateStatuses(any())).thenReturn(List.of(
+                StatusUpdateResultDTO.applied(1L, ProductionStatus.IN_PREPARATION),
+                StatusUpdateResultDTO.rejected(2L, ProductionStatus.READY, "Invalid status transition")));
+
+        handler.handleMessage(session, new TextMessage("{\"type\":\"updateStatus\",\"requestId\":\"r-1\",\"updates\":["
+                + "{\"orderId\":1,\"status\":\"IN_PREPARATION\"},{\"orderId\":2,\"status\":\"READY\"}]}"));
+
+        verify(productionService).updateStatuses(List.of(new StatusUpdateRequestDTO(1L, ProductionStatus.IN_PREPARATION),
+                new StatusUpdateRequestDTO(2L, ProductionStatus.READY)));
+        JsonNode result = sent.get(0);
+        assertEquals("result", result.get("type").asText());
+        assertEquals("r-1", result.get("requestId").asText());
+        assertTrue(result.get("results").get(0).get("success").asBoolean());
+        assertFalse(result.get("results").get(1).get("success").asBoolean());
+    }
+
+    @Test
+    void shouldRejectCommandsWithoutUpdates() throws Exception {
+        handler.handleMessage(session, new TextMessage("{\"type\":\"updateStatus\",\"requestId\":\"r-2\",\"updates\":[]}"));
+
+        assertEquals("error", sent.get(0).get("type").asText());
+        assertEquals("r-2", sent.get(0).get("requestId").asText());
+        verifyNoInteractions(productionService);
+    }
+
+    @Test
+    void shouldAnswerMalformedAndUnknownCommandsWithError() throws Exception {
+        handler.handleMessage(session, new TextMessage("not json"));
+        handler.handleMessage(session, new TextMessage("{\"type\":\"reboot\"}"));
+
+        assertEquals(List.of("error", "error"), sent.stream().map(message -> message.get("type").asText()).toList());
+        verifyNoInteractions(productionService);
+    }
+
+    @Test
+    void shouldForgetClosedTerminals() {
+        assertEquals(1, handler.connectedTerminals());
+
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        assertEquals(0, handler.connectedTerminals());
+    }
+
+    private void subscribeWithEmptySnapshot() throws Exception {
+        when(productionService.getActiveOrders()).thenReturn(List.of());
+        handler.handleMessage(session, new TextMessage("{\"type\":\"subscribe\"}"));
+        awaitMessage(0);
+    }
+
+    private JsonNode awaitMessage(int index) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (sent.size() <= index && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(sent.size() > index, "expected message " + index);
+        return sent.get(index);
+    }
+}
@@ -0,0 +1,71 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.CustomerNotification;
+import com.bytes.service.production.domain.ports.outbound.NotificationOutboxPort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox em memória para testes; segue a mesma regra de ordem por pedido do adaptador JPA.
+ */
+public class InMemoryNotificationOutbox implements NotificationOutboxPort {
+
+    private final Map<Long, Entry> entries = new ConcurrentSkipListMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @Override
+    public void append(List<CustomerNotification> notifications) {
+        for (CustomerNotification notification : notifications) {
+            long id = ids.incrementAndGet();
+            entries.put(id, new Entry(new CustomerNotification(id, notification.getOrderId(), notification.getStatus(),
+                    notification.getOccurredAt(), notification.getAttempts()), notification.getOccurredAt()));
+        }
+    }
+
+    @Override
+    public synchronized List<CustomerNotification> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        Set<Long> seenOrders = new HashSet<>();
+        Set<Long> dueOrders = new HashSet<>();
+        for (Entry entry : entries.values()) {
+            Long orderId = entry.notification.getOrderId();
+            if (seenOrders.add(orderId) && !entry.nextAttemptAt.isAfter(now) && dueOrders.size() < limit) {
+                dueOrders.add(orderId);
+            }
+        }
+
+        List<CustomerNotification> claimed = new ArrayList<>();
+        for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+            CustomerNotification notification = entry.getValue().notification;
+            if (dueOrders.contains(notification.getOrderId())) {
+                claimed.add(notification);
+                entries.put(entry.getKey(), new Entry(notification, leaseUntil));
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public void markDelivered(Long id) {
+        entries.remove(id);
+    }
+
+    @Override
+    public synchronized void reschedule(Long id, int attempts, LocalDateTime nextAttemptAt, String lastError) {
+        entries.computeIfPresent(id, (key, entry) -> new Entry(new CustomerNotification(id, entry.notification.getOrderId(),
+                entry.notification.getStatus(), entry.notification.getOccurredAt(), attempts), nextAttemptAt));
+    }
+
+    public List<CustomerNotification> pending() {
+        return entries.values().stream().map(entry -> entry.notification).toList();
+    }
+
+    private record Entry(CustomerNotification notification, LocalDateTime nextAttemptAt) {
+    }
+}
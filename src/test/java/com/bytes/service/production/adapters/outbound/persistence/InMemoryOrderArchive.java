@@ -0,0 +1,56 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Histórico em memória para testes e benchmarks; os pedidos entram só por {@link #archive(OrderProduction)}.
+ */
+public class InMemoryOrderArchive implements OrderArchivePort {
+
+    private final Map<Long, OrderProduction> archived = new ConcurrentHashMap<>();
+
+    public void archive(OrderProduction production) {
+        archived.put(production.getOrderId(), production);
+    }
+
+    @Override
+    public int archiveTerminalOrders(LocalDateTime terminatedBefore, LocalDateTime archivedAt, int limit) {
+        return 0;
+    }
+
+    @Override
+    public Optional<OrderProduction> findByOrderId(Long orderId) {
+        return Optional.ofNullable(archived.get(orderId));
+    }
+
+    @Override
+    public Set<Long> existingOrderIds(Collection<Long> orderIds) {
+        return orderIds.stream().filter(archived::containsKey).collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<OrderProduction> findPage(OrderPageQuery query) {
+        return archived.values().stream()
+                .filter(order -> query.getStatuses() == null || query.getStatuses().contains(order.getStatus()))
+                .sorted(Comparator.comparing(OrderProduction::getStartedAt).thenComparing(OrderProduction::getOrderId))
+                .limit(query.getLimit())
+                .toList();
+    }
+
+    @Override
+    public int purgeArchivedBefore(LocalDateTime archivedBefore, int limit) {
+        return 0;
+    }
+}
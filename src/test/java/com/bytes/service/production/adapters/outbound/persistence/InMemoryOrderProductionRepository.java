@@ -0,0 +1,174 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StatusTransition;
+import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Repositório em memória para testes de carga e benchmarks.
+ * Opcionalmente simula um pool de conexões JDBC: cada chamada ocupa uma das {@code poolSize} conexões por {@code latency}.
+ */
+public class InMemoryOrderProductionRepository implements OrderProductionRepositoryPort {
+
+    private final Map<Long, OrderProduction> orders = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final Semaphore connections;
+    private final Duration latency;
+
+    public InMemoryOrderProductionRepository() {
+        this(Integer.MAX_VALUE, Duration.ZERO);
+    }
+
+    public InMemoryOrderProductionRepository(int poolSize, Duration latency) {
+        this.connections = new Semaphore(poolSize, true);
+        this.latency = latency;
+    }
+
+    @Override
+    public Integer countByStatusIn(List<ProductionStatus> statuses) {
+        roundTrip();
+        return (int) orders.values().stream().filter(order -> statuses.contains(order.getStatus())).count();
+    }
+
+    @Override
+    public boolean existsByOrderId(Long orderId) {
+        roundTrip();
+        return orders.containsKey(orderId);
+    }
+
+    @Override
+    public void save(OrderProduction production) {
+        roundTrip();
+        if (production.getId() == null) {
+            production.setId(ids.incrementAndGet());
+        }
+        orders.put(production.getOrderId(), production);
+    }
+
+    @Override
+    public void saveAll(List<OrderProduction> productions) {
+        roundTrip();
+        for (OrderProduction production : productions) {
+            if (production.getId() == null) {
+                production.setId(ids.incrementAndGet());
+            }
+            orders.put(production.getOrderId(), production);
+        }
+    }
+
+    @Override
+    public boolean insertIfAbsent(OrderProduction production) {
+        roundTrip();
+        if (orders.putIfAbsent(production.getOrderId(), production) != null) {
+            return false;
+        }
+        production.setId(ids.incrementAndGet());
+        return true;
+    }
+
+    @Override
+    public Optional<ProductionStatus> updateStatus(StatusTransition transition) {
+        roundTrip();
+        return Optional.ofNullable(apply(transition));
+    }
+
+    @Override
+    public Set<Long> updateStatuses(List<StatusTransition> transitions) {
+        roundTrip();
+        Set<Long> applied = new HashSet<>();
+        for (StatusTransition transition : transitions) {
+            if (apply(transition) != null) {
+                applied.add(transition.getOrderId());
+            }
+        }
+        return applied;
+    }
+
+    @Override
+    public List<OrderProduction> findByStatusIn(List<Object> objects) {
+        roundTrip();
+        return new ArrayList<>(orders.values().stream().filter(order -> objects.contains(order.getStatus())).toList());
+    }
+
+    @Override
+    public Optional<OrderProduction> findByOrderId(Long orderId) {
+        roundTrip();
+        return Optional.ofNullable(orders.get(orderId));
+    }
+
+    @Override
+    public List<OrderProduction> findByOrderIdIn(Collection<Long> orderIds) {
+        roundTrip();
+        return new ArrayList<>(orderIds.stream().map(orders::get).filter(Objects::nonNull).toList());
+    }
+
+    @Override
+    public List<OrderProduction> findByStatusOrderByStartedAtAsc(ProductionStatus productionStatus) {
+        roundTrip();
+        return new ArrayList<>(orders.values().stream()
+                .filter(order -> order.getStatus() == productionStatus)
+                .sorted(Comparator.comparing(OrderProduction::getStartedAt))
+                .toList());
+    }
+
+    @Override
+    public List<OrderProduction> findPage(OrderPageQuery query) {
+        roundTrip();
+        return new ArrayList<>(orders.values().stream()
+                .filter(query::matches)
+                .sorted(Comparator.comparing(OrderProduction::getStartedAt).thenComparing(OrderProduction::getId))
+                .limit(query.getLimit())
+                .toList());
+    }
+
+    // Status de onde o pedido saiu, ou null quando a transição não pegou
+    private ProductionStatus apply(StatusTransition transition) {
+        ProductionStatus[] previousStatus = new ProductionStatus[1];
+        orders.computeIfPresent(transition.getOrderId(), (orderId, order) -> {
+            if (transition.getExpectedStatuses().contains(order.getStatus())) {
+                previousStatus[0] = order.getStatus();
+                transition.applyTo(order);
+            }
+            return order;
+        });
+        return previousStatus[0];
+    }
+
+    public void delete(Long orderId) {
+        orders.remove(orderId);
+    }
+
+    public int size() {
+        return orders.size();
+    }
+
+    private void roundTrip() {
+        if (latency.isZero()) {
+            return;
+        }
+        connections.acquireUninterruptibly();
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.release();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
+import com.bytes.service.production.domain.ports.outbound.StationTaskPort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Partes por estação em memória para testes de carga e benchmarks. Não trava nada: {@code lockByOrderId} só lê.
+ */
+public class InMemoryStationTaskRepository implements StationTaskPort {
+
+    private final Map<Long, StationTask> tasks = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @Override
+    public void saveAll(List<StationTask> newTasks) {
+        for (StationTask task : newTasks) {
+            task.setId(ids.incrementAndGet());
+            tasks.put(task.getId(), copy(task));
+        }
+    }
+
+    @Override
+    public List<StationTask> findOpenByStation(String station) {
+        return tasks.values().stream()
+                .filter(task -> task.getStation().equals(station) && task.getStatus() != StationTaskStatus.DONE)
+                .sorted(Comparator.comparing(StationTask::getQueuedAt).thenComparing(StationTask::getId))
+                .map(this::copy)
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    }
+
+    @Override
+    public List<StationTask> lockByOrderId(Long orderId) {
+        return tasks.values().stream()
+                .filter(task -> task.getOrderId().equals(orderId))
+                .sorted(Comparator.comparing(StationTask::getId))
+                .map(this::copy)
+                .toList();
+    }
+
+    @Override
+    public boolean updateStatus(Long orderId, String station, StationTaskStatus expectedStatus, StationTaskStatus newStatus,
+                                LocalDateTime changedAt) {
+        for (StationTask task : tasks.values()) {
+            if (task.getOrderId().equals(orderId) && task.getStation().equals(station) && task.getStatus() == expectedStatus) {
+                task.setStatus(newStatus);
+                if (newStatus == StationTaskStatus.IN_PROGRESS) {
+                    task.setStartedAt(changedAt);
+                } else if (newStatus == StationTaskStatus.DONE) {
+                    task.setFinishedAt(changedAt);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void closeOpenByOrderId(Long orderId, LocalDateTime closedAt) {
+        for (StationTask task : tasks.values()) {
+            if (task.getOrderId().equals(orderId) && task.getStatus() != StationTaskStatus.DONE) {
+                task.setStatus(StationTaskStatus.DONE);
+                task.setFinishedAt(closedAt);
+            }
+        }
+    }
+
+    @Override
+    public void deleteByOrderId(Long orderId) {
+        tasks.values().removeIf(task -> task.getOrderId().equals(orderId));
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    private StationTask copy(StationTask task) {
+        StationTask copy = new StationTask(task.getOrderId(), task.getStation(), task.getStatus(), task.getQueuedAt(),
+                new ArrayList<>(task.getItems()));
+        copy.setId(task.getId());
+        copy.setStartedAt(task.getStartedAt());
+        copy.setFinishedAt(task.getFinishedAt());
+        return copy;
+    }
+}
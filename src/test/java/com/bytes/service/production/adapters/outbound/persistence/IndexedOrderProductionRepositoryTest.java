@@ -0,0 +1,319 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StatusTransition;
+import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexedOrderProductionRepositoryTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private OrderProductionRepositoryPort delegate;
+
+    private IndexedOrderProductionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new IndexedOrderProductionRepository(delegate);
+    }
+
+    @Test
+    void shouldLoadActiveOrdersOrderedById() {
+        OrderProduction first = order(1L, 100L, ProductionStatus.IN_PREPARATION);
+        OrderProduction second = order(2L, 200L, ProductionStatus.RECEIVED);
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>(List.of(second, first)));
+
+        repository.reload();
+
+        when(delegate.findByOrderId(eq(200L))).thenReturn(Optional.of(order(2L, 200L, ProductionStatus.RECEIVED)));
+        assertEquals(2, repository.findByOrderId(200L).orElseThrow().getPositionInQueue());
+    }
+
+    @Test
+    void shouldAssignPositionOnSaveWithSingleWrite() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>());
+
+        OrderProduction first = order(null, 100L, ProductionStatus.RECEIVED);
+        OrderProduction second = order(null, 200L, ProductionStatus.RECEIVED);
+        repository.save(first);
+        repository.save(second);
+
+        assertEquals(1, first.getPositionInQueue());
+        assertEquals(2, second.getPositionInQueue());
+        verify(delegate).save(first);
+        verify(delegate).save(second);
+    }
+
+    @Test
+    void shouldShiftQueueWhenOrderLeavesActiveStatuses() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>());
+        OrderProduction first = order(null, 100L, ProductionStatus.RECEIVED);
+        OrderProduction second = order(null, 200L, ProductionStatus.RECEIVED);
+        repository.save(first);
+        repository.save(second);
+
+        first.setStatus(ProductionStatus.READY);
+        repository.save(first);
+
+        assertNull(first.getPositionInQueue());
+        when(delegate.findByOrderId(eq(200L))).thenReturn(Optional.of(order(2L, 200L, ProductionStatus.RECEIVED)));
+        assertEquals(1, repository.findByOrderId(200L).orElseThrow().getPositionInQueue());
+        verify(delegate, times(3)).save(any());
+    }
+
+    @Test
+    void shouldMoveOrderAheadOfWaitingOnesWhenItEntersPreparation() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>());
+        OrderProduction first = order(null, 100L, ProductionStatus.RECEIVED);
+        OrderProduction second = order(null, 200L, ProductionStatus.RECEIVED);
+        repository.save(first);
+        repository.save(second);
+
+        second.setStatus(ProductionStatus.IN_PREPARATION);
+        repository.save(second);
+
+        assertEquals(1, second.getPositionInQueue());
+        assertEquals(2, repository.index().positionOf(100L));
+    }
+
+    @Test
+    void shouldFillPositionsOnListReads() {
+        OrderProduction first = order(1L, 100L, ProductionStatus.RECEIVED);
+        OrderProduction second = order(2L, 200L, ProductionStatus.IN_PREPARATION);
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>(List.of(first, second)));
+
+        List<OrderProduction> result = repository.findByStatusIn(
+                List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION)
+        );
+
+        // Quem está em preparo vem na frente de quem chegou antes e ainda espera
+        assertEquals(2, result.get(0).getPositionInQueue());
+        assertEquals(1, result.get(1).getPositionInQueue());
+    }
+
+    @Test
+    void shouldAdoptSequencerOrderWithoutReloading() {
+        OrderProduction first = order(1L, 100L, ProductionStatus.RECEIVED);
+        OrderProduction second = order(2L, 200L, ProductionStatus.RECEIVED);
+        repository.resequence(List.of(second, first));
+        OrderProduction late = order(3L, 300L, ProductionStatus.RECEIVED);
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>(List.of(first, second, late)));
+
+        repository.findByStatusIn(List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION));
+
+        assertEquals(2, first.getPositionInQueue());
+        assertEquals(1, second.getPositionInQueue());
+        assertNull(late.getPositionInQueue());
+        verify(delegate, times(1)).findByStatusIn(any());
+    }
+
+    @Test
+    void shouldNotRequeueOrderWhenAStaleReadRacesItsDeparture() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>(List.of(
+                order(1L, 100L, ProductionStatus.RECEIVED), order(2L, 200L, ProductionStatus.RECEIVED))));
+        when(delegate.updateStatus(any())).thenReturn(Optional.of(ProductionStatus.RECEIVED));
+        repository.updateStatus(new StatusTransition(100L, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, TEST_TIME));
+        when(delegate.findByOrderId(100L)).thenReturn(Optional.of(order(1L, 100L, ProductionStatus.RECEIVED)));
+
+        OrderProduction stale = repository.findByOrderId(100L).orElseThrow();
+
+        assertNull(stale.getPositionInQueue());
+        when(delegate.findByOrderId(200L)).thenReturn(Optional.of(order(2L, 200L, ProductionStatus.RECEIVED)));
+        assertEquals(1, repository.findByOrderId(200L).orElseThrow().getPositionInQueue());
+    }
+
+    @Test
+    void shouldClearPositionForInactiveOrders() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>());
+        OrderProduction finished = order(3L, 300L, ProductionStatus.FINISHED);
+        finished.setPositionInQueue(7);
+        when(delegate.findByOrderId(eq(300L))).thenReturn(Optional.of(finished));
+
+        assertNull(repository.findByOrderId(300L).orElseThrow().getPositionInQueue());
+    }
+
+    @Test
+    void shouldDropOrderFromQueueWhenConditionalUpdateMovesItOut() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>());
+        repository.save(order(null, 100L, ProductionStatus.IN_PREPARATION));
+        repository.save(order(null, 200L, ProductionStatus.RECEIVED));
+        when(delegate.updateStatus(any())).thenReturn(Optional.of(ProductionStatus.IN_PREPARATION));
+
+        assertTrue(repository.updateStatus(new StatusTransition(100L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME)).isPresent());
+
+        when(delegate.findByOrderId(eq(200L))).thenReturn(Optional.of(order(2L, 200L, ProductionStatus.RECEIVED)));
+        assertEquals(1, repository.findByOrderId(200L).orElseThrow().getPositionInQueue());
+    }
+
+    @Test
+    void shouldKeepQueueWhenConditionalUpdateMissesTheRow() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>());
+        repository.save(order(null, 100L, ProductionStatus.IN_PREPARATION));
+        repository.save(order(null, 200L, ProductionStatus.RECEIVED));
+        when(delegate.updateStatus(any())).thenReturn(Optional.empty());
+
+        assertTrue(repository.updateStatus(new StatusTransition(100L, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, TEST_TIME)).isEmpty());
+
+        when(delegate.findByOrderId(eq(200L))).thenReturn(Optional.of(order(2L, 200L, ProductionStatus.RECEIVED)));
+        assertEquals(2, repository.findByOrderId(200L).orElseThrow().getPositionInQueue());
+    }
+
+    @Test
+    void shouldOnlyMoveAppliedTransitionsOfABatch() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>());
+        repository.save(order(null, 100L, ProductionStatus.IN_PREPARATION));
+        repository.save(order(null, 200L, ProductionStatus.IN_PREPARATION));
+        repository.save(order(null, 300L, ProductionStatus.RECEIVED));
+        List<StatusTransition> transitions = List.of(
+                new StatusTransition(100L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME),
+                new StatusTransition(200L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME)
+        );
+        when(delegate.updateStatuses(eq(transitions))).thenReturn(Set.of(100L));
+
+        assertEquals(Set.of(100L), repository.updateStatuses(transitions));
+
+        when(delegate.findByOrderIdIn(any())).thenReturn(new ArrayList<>(List.of(
+                order(2L, 200L, ProductionStatus.IN_PREPARATION),
+                order(3L, 300L, ProductionStatus.RECEIVED)
+        )));
+        List<OrderProduction> remaining = repository.findByOrderIdIn(List.of(200L, 300L));
+        assertEquals(1, remaining.get(0).getPositionInQueue());
+        assertEquals(2, remaining.get(1).getPositionInQueue());
+    }
+
+    @Test
+    void shouldAssignPositionsToABatchWithSingleWrite() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>());
+        repository.save(order(null, 100L, ProductionStatus.RECEIVED));
+        List<OrderProduction> batch = List.of(order(null, 200L, ProductionStatus.RECEIVED), order(null, 300L, ProductionStatus.RECEIVED));
+
+        repository.saveAll(batch);
+
+        assertEquals(2, batch.get(0).getPositionInQueue());
+        assertEquals(3, batch.get(1).getPositionInQueue());
+        verify(delegate).saveAll(batch);
+    }
+
+    @Test
+    void shouldReleasePositionsWhenBatchWriteFails() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>());
+        List<OrderProduction> batch = List.of(order(null, 200L, ProductionStatus.RECEIVED));
+        doThrow(new IllegalStateException("duplicate key")).when(delegate).saveAll(batch);
+
+        assertThrows(IllegalStateException.class, () -> repository.saveAll(batch));
+
+        OrderProduction next = order(null, 300L, ProductionStatus.RECEIVED);
+        repository.save(next);
+        assertEquals(1, next.getPositionInQueue());
+    }
+
+    @Test
+    void shouldAllocatePositionOnInsertIfAbsent() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>());
+        OrderProduction order = order(null, 100L, ProductionStatus.RECEIVED);
+        when(delegate.insertIfAbsent(order)).thenReturn(true);
+
+        assertTrue(repository.insertIfAbsent(order));
+
+        assertEquals(1, order.getPositionInQueue());
+        verify(delegate, never()).findByOrderId(any());
+    }
+
+    @Test
+    void shouldReleasePositionWhenDuplicateIsNoLongerActive() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>());
+        OrderProduction redelivered = order(null, 100L, ProductionStatus.RECEIVED);
+        when(delegate.insertIfAbsent(redelivered)).thenReturn(false);
+        when(delegate.findByOrderId(eq(100L))).thenReturn(Optional.of(order(1L, 100L, ProductionStatus.FINISHED)));
+
+        assertFalse(repository.insertIfAbsent(redelivered));
+
+        assertNull(redelivered.getPositionInQueue());
+        OrderProduction next = order(null, 200L, ProductionStatus.RECEIVED);
+        repository.save(next);
+        assertEquals(1, next.getPositionInQueue());
+    }
+
+    @Test
+    void shouldLeaveIndexUntouchedWhenTheTransactionRollsBack() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>(List.of(order(1L, 100L, ProductionStatus.RECEIVED))));
+        OrderProduction arriving = order(null, 200L, ProductionStatus.RECEIVED);
+        when(delegate.insertIfAbsent(arriving)).thenReturn(true);
+        when(delegate.updateStatus(any())).thenReturn(Optional.of(ProductionStatus.RECEIVED));
+
+        inTransaction(false, () -> {
+            repository.insertIfAbsent(arriving);
+            repository.updateStatus(new StatusTransition(100L, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, TEST_TIME));
+        });
+
+        assertEquals(1, repository.index().positionOf(100L));
+        assertFalse(repository.index().contains(200L));
+    }
+
+    @Test
+    void shouldApplyIndexChangesOnlyAfterCommit() {
+        when(delegate.findByStatusIn(any())).thenReturn(new ArrayList<>(List.of(order(1L, 100L, ProductionStatus.RECEIVED))));
+        List<OrderProduction> batch = List.of(order(null, 200L, ProductionStatus.RECEIVED), order(null, 300L, ProductionStatus.RECEIVED));
+
+        inTransaction(true, () -> {
+            repository.saveAll(batch);
+            assertFalse(repository.index().contains(200L));
+        });
+
+        assertEquals(2, repository.index().positionOf(200L));
+        assertEquals(3, batch.get(1).getPositionInQueue());
+    }
+
+    @Test
+    void shouldDelegateExistenceAndCountQueries() {
+        when(delegate.existsByOrderId(eq(100L))).thenReturn(true);
+        when(delegate.countByStatusIn(any())).thenReturn(4);
+
+        assertTrue(repository.existsByOrderId(100L));
+        assertEquals(4, repository.countByStatusIn(List.of(ProductionStatus.RECEIVED)));
+    }
+
+    // Simula o ciclo de uma transação do Spring sem gerenciador: o commit dispara o afterCommit, o rollback não
+    private void inTransaction(boolean commit, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            }
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                    commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private OrderProduction order(Long id, Long orderId, ProductionStatus status) {
+        OrderProduction order = new OrderProduction(orderId, status, TEST_TIME, null, "Customer " + orderId);
+        order.setId(id);
+        return order;
+    }
+}
@@ -0,0 +1,122 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.CustomerNotification;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaNotificationOutboxAdapterTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final LocalDateTime LEASE_UNTIL = TEST_TIME.plusSeconds(10);
+
+    @Autowired
+    private NotificationOutboxRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JpaNotificationOutboxAdapter outbox;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        outbox = new JpaNotificationOutboxAdapter(repository, transactionManager);
+    }
+
+    @Test
+    void shouldClaimDueNotificationsInWriteOrder() {
+        outbox.append(List.of(
+                new CustomerNotification(1L, ProductionStatus.IN_PREPARATION, TEST_TIME),
+                new CustomerNotification(2L, ProductionStatus.READY, TEST_TIME),
+                new CustomerNotification(3L, ProductionStatus.READY, TEST_TIME.plusMinutes(5))
+        ));
+
+        assertEquals(1, outbox.claimDue(TEST_TIME, LEASE_UNTIL, 1).size());
+        List<CustomerNotification> due = outbox.claimDue(TEST_TIME, LEASE_UNTIL, 10);
+
+        assertEquals(List.of(2L), due.stream().map(CustomerNotification::getOrderId).toList());
+    }
+
+    @Test
+    void shouldNotHandOutClaimedNotificationsAgainUntilTheLeaseExpires() {
+        outbox.append(List.of(new CustomerNotification(1L, ProductionStatus.READY, TEST_TIME)));
+
+        assertEquals(1, outbox.claimDue(TEST_TIME, LEASE_UNTIL, 10).size());
+
+        assertTrue(outbox.claimDue(TEST_TIME.plusSeconds(5), LEASE_UNTIL.plusSeconds(5), 10).isEmpty());
+        assertEquals(1, outbox.claimDue(LEASE_UNTIL, LEASE_UNTIL.plusSeconds(10), 10).size());
+    }
+
+    @Test
+    void shouldHoldLaterNotificationsBehindARescheduledOne() {
+        outbox.append(List.of(
+                new CustomerNotification(1L, ProductionStatus.READY, TEST_TIME),
+                new CustomerNotification(1L, ProductionStatus.FINISHED, TEST_TIME),
+                new CustomerNotification(2L, ProductionStatus.READY, TEST_TIME)
+        ));
+        Long first = outbox.claimDue(TEST_TIME, LEASE_UNTIL, 10).get(0).getId();
+
+        outbox.reschedule(first, 1, TEST_TIME.plusSeconds(30), "push gateway unavailable");
+
+        List<CustomerNotification> due = outbox.claimDue(LEASE_UNTIL, TEST_TIME.plusMinutes(1), 10);
+        assertEquals(List.of(2L), due.stream().map(CustomerNotification::getOrderId).toList());
+
+        List<CustomerNotification> retried = outbox.claimDue(TEST_TIME.plusSeconds(30), TEST_TIME.plusSeconds(40), 10);
+        assertEquals(List.of(ProductionStatus.READY, ProductionStatus.FINISHED), retried.stream().map(CustomerNotification::getStatus).toList());
+        assertEquals(1, retried.get(0).getAttempts());
+    }
+
+    @Test
+    void shouldNeverHandTheSameNotificationToTwoInstances() throws Exception {
+        List<CustomerNotification> notifications = new ArrayList<>();
+        for (long orderId = 1; orderId <= 40; orderId++) {
+            notifications.add(new CustomerNotification(orderId, ProductionStatus.READY, TEST_TIME));
+            notifications.add(new CustomerNotification(orderId, ProductionStatus.FINISHED, TEST_TIME));
+        }
+        outbox.append(notifications);
+        JpaNotificationOutboxAdapter other = new JpaNotificationOutboxAdapter(repository, transactionManager);
+
+        CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() -> claimAll(outbox));
+        CompletableFuture<List<Long>> second = CompletableFuture.supplyAsync(() -> claimAll(other));
+
+        List<Long> claimed = new ArrayList<>(first.get(10, TimeUnit.SECONDS));
+        claimed.addAll(second.get(10, TimeUnit.SECONDS));
+        assertEquals(80, claimed.size());
+        assertEquals(80, Set.copyOf(claimed).size());
+    }
+
+    @Test
+    void shouldRemoveDeliveredNotifications() {
+        outbox.append(List.of(new CustomerNotification(1L, ProductionStatus.READY, TEST_TIME)));
+
+        outbox.markDelivered(outbox.claimDue(TEST_TIME, LEASE_UNTIL, 10).get(0).getId());
+
+        assertTrue(outbox.claimDue(LEASE_UNTIL, LEASE_UNTIL.plusSeconds(10), 10).isEmpty());
+    }
+
+    private static List<Long> claimAll(JpaNotificationOutboxAdapter outbox) {
+        // Uma rodada pode voltar vazia enquanto a outra instância ainda segura os pedidos que viu
+        List<Long> claimed = new ArrayList<>();
+        for (int round = 0; round < 20; round++) {
+            outbox.claimDue(TEST_TIME, LEASE_UNTIL, 3).forEach(notification -> claimed.add(notification.getId()));
+        }
+        return claimed;
+    }
+}
@@ -0,0 +1,193 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.application.events.ProductionEventDispatcher;
+import com.bytes.service.production.application.useCases.StartOrderUseCase;
+import com.bytes.service.production.domain.models.OrderChannel;
+import com.bytes.service.production.domain.models.OrderCursor;
+import com.bytes.service.production.domain.models.OrderIntake;
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StationTaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaOrderArchiveAdapterTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Autowired
+    private OrderProductionRepository orders;
+
+    @Autowired
+    private OrderProductionHistoryRepository history;
+
+    @Autowired
+    private StationTaskRepository stationTasks;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JpaOrderArchiveAdapter archive;
+
+    @BeforeEach
+    void setUp() {
+        orders.deleteAll();
+        history.deleteAll();
+        stationTasks.deleteAll();
+        archive = new JpaOrderArchiveAdapter(orders, history, stationTasks, transactionManager);
+    }
+
+    @Test
+    void shouldMoveOnlyTerminalOrdersPastTheCutoff() {
+        orders.saveAll(List.of(
+                entity(1L, ProductionStatus.FINISHED, TEST_TIME),
+                entity(2L, ProductionStatus.CANCELLED, TEST_TIME),
+                entity(3L, ProductionStatus.READY, TEST_TIME),
+                entity(4L, ProductionStatus.FINISHED, TEST_TIME.plusHours(1))
+        ));
+
+        int archived = archive.archiveTerminalOrders(TEST_TIME.plusMinutes(30), TEST_TIME.plusHours(2), 100);
+
+        assertEquals(2, archived);
+        assertEquals(List.of(3L, 4L), orders.findAll().stream().map(OrderProductionEntity::getOrderId).sorted().toList());
+        assertEquals(List.of(1L, 2L), history.findAll().stream().map(OrderProductionHistoryEntity::getOrderId).sorted().toList());
+    }
+
+    @Test
+    void shouldDropStationTasksOfArchivedOrders() {
+        orders.saveAll(List.of(
+                entity(1L, ProductionStatus.FINISHED, TEST_TIME),
+                entity(2L, ProductionStatus.IN_PREPARATION, TEST_TIME)
+        ));
+        stationTasks.saveAll(List.of(
+                StationTaskEntity.builder().orderId(1L).station("GRILL").status(StationTaskStatus.DONE).queuedAt(TEST_TIME).build(),
+                StationTaskEntity.builder().orderId(2L).station("GRILL").status(StationTaskStatus.QUEUED).queuedAt(TEST_TIME).build()
+        ));
+
+        archive.archiveTerminalOrders(TEST_TIME.plusMinutes(30), TEST_TIME.plusHours(1), 100);
+
+        assertEquals(List.of(2L), stationTasks.findAll().stream().map(StationTaskEntity::getOrderId).toList());
+    }
+
+    @Test
+    void shouldArchiveAtMostLimitOrdersPerCall() {
+        orders.saveAll(List.of(
+                entity(1L, ProductionStatus.FINISHED, TEST_TIME),
+                entity(2L, ProductionStatus.FINISHED, TEST_TIME.plusMinutes(1)),
+                entity(3L, ProductionStatus.FINISHED, TEST_TIME.plusMinutes(2))
+        ));
+
+        assertEquals(2, archive.archiveTerminalOrders(TEST_TIME.plusHours(1), TEST_TIME.plusHours(1), 2));
+        assertEquals(1, archive.archiveTerminalOrders(TEST_TIME.plusHours(1), TEST_TIME.plusHours(1), 2));
+        assertEquals(0, archive.archiveTerminalOrders(TEST_TIME.plusHours(1), TEST_TIME.plusHours(1), 2));
+        assertEquals(0, orders.count());
+    }
+
+    @Test
+    void shouldFindArchivedOrderWithItsTimestamps() {
+        OrderProductionEntity saved = orders.save(entity(10L, ProductionStatus.FINISHED, TEST_TIME));
+        archive.archiveTerminalOrders(TEST_TIME.plusMinutes(1), TEST_TIME.plusMinutes(1), 100);
+
+        OrderProduction found = archive.findByOrderId(10L).orElseThrow();
+
+        assertEquals(saved.getId(), found.getId());
+        assertEquals(ProductionStatus.FINISHED, found.getStatus());
+        assertEquals(TEST_TIME, found.getDeliveredAt());
+        assertEquals("Customer 10", found.getCustomerName());
+        assertEquals(OrderChannel.APP, found.getChannel());
+        assertEquals(12, found.getEstimatedMinutes());
+        assertNull(found.getPositionInQueue());
+        assertTrue(archive.findByOrderId(11L).isEmpty());
+    }
+
+    @Test
+    void shouldPurgeHistoryOlderThanCutoff() {
+        orders.saveAll(List.of(entity(1L, ProductionStatus.FINISHED, TEST_TIME), entity(2L, ProductionStatus.FINISHED, TEST_TIME)));
+        archive.archiveTerminalOrders(TEST_TIME.plusMinutes(1), TEST_TIME.plusMinutes(1), 1);
+        archive.archiveTerminalOrders(TEST_TIME.plusMinutes(1), TEST_TIME.plusDays(1), 1);
+
+        assertEquals(1, archive.purgeArchivedBefore(TEST_TIME.plusHours(1), 100));
+
+        assertEquals(1, history.count());
+        assertEquals(TEST_TIME.plusDays(1), history.findAll().get(0).getArchivedAt());
+    }
+
+    @Test
+    void shouldNotRecreateArchivedOrderOnRedelivery() {
+        orders.save(entity(20L, ProductionStatus.FINISHED, TEST_TIME));
+        archive.archiveTerminalOrders(TEST_TIME.plusMinutes(1), TEST_TIME.plusMinutes(1), 100);
+
+        assertEquals(0, orders.insertIfAbsent(20L, ProductionStatus.RECEIVED.name(), TEST_TIME.plusHours(1), 1, "Redelivery", null, null));
+        assertEquals(0, orders.count());
+    }
+
+    @Test
+    void shouldReportWhichOrdersAreArchived() {
+        orders.saveAll(List.of(entity(20L, ProductionStatus.FINISHED, TEST_TIME), entity(21L, ProductionStatus.READY, TEST_TIME)));
+        archive.archiveTerminalOrders(TEST_TIME.plusMinutes(1), TEST_TIME.plusMinutes(1), 100);
+
+        assertEquals(Set.of(20L), archive.existingOrderIds(List.of(20L, 21L, 22L)));
+        assertEquals(Set.of(), archive.existingOrderIds(List.of()));
+    }
+
+    @Test
+    void shouldNotRecreateArchivedOrderRedeliveredInABatch() {
+        orders.save(entity(20L, ProductionStatus.FINISHED, TEST_TIME));
+        archive.archiveTerminalOrders(TEST_TIME.plusMinutes(1), TEST_TIME.plusMinutes(1), 100);
+        StartOrderUseCase intake = new StartOrderUseCase(new JpaOrderProductionAdapter(orders, transactionManager),
+                new ProductionEventDispatcher(List.of()), new JpaStationTaskAdapter(stationTasks),
+                new PreparationTimeEstimator(0.2, Duration.ofMinutes(10)), archive);
+
+        int started = intake.executeAll(List.of(new OrderIntake(20L, "Redelivery"), new OrderIntake(30L, "New")));
+
+        assertEquals(1, started);
+        assertEquals(List.of(30L), orders.findAll().stream().map(OrderProductionEntity::getOrderId).toList());
+    }
+
+    @Test
+    void shouldPageThroughHistoryByStartTime() {
+        orders.saveAll(List.of(
+                entity(1L, ProductionStatus.FINISHED, TEST_TIME),
+                entity(2L, ProductionStatus.CANCELLED, TEST_TIME),
+                entity(3L, ProductionStatus.FINISHED, TEST_TIME)
+        ));
+        archive.archiveTerminalOrders(TEST_TIME.plusMinutes(1), TEST_TIME.plusMinutes(1), 100);
+
+        List<OrderProduction> first = archive.findPage(new OrderPageQuery(List.of(ProductionStatus.FINISHED), null, null, null, 1));
+        List<OrderProduction> second = archive.findPage(new OrderPageQuery(List.of(ProductionStatus.FINISHED), null, null,
+                OrderCursor.after(first.get(0)), 1));
+
+        assertEquals(List.of(1L), first.stream().map(OrderProduction::getOrderId).toList());
+        assertEquals(List.of(3L), second.stream().map(OrderProduction::getOrderId).toList());
+    }
+
+    private OrderProductionEntity entity(Long orderId, ProductionStatus status, LocalDateTime updatedAt) {
+        return OrderProductionEntity.builder()
+                .orderId(orderId)
+                .status(status)
+                .startedAt(TEST_TIME.minusMinutes(20))
+                .updatedAt(updatedAt)
+                .finishedAt(TEST_TIME.minusMinutes(5))
+                .deliveredAt(status == ProductionStatus.FINISHED ? TEST_TIME : null)
+                .customerName("Customer " + orderId)
+                .channel(OrderChannel.APP)
+                .estimatedMinutes(12)
+                .build();
+    }
+}
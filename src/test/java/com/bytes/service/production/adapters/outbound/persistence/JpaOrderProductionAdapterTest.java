@@ -0,0 +1,216 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderChannel;
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StatusTransition;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaOrderProductionAdapterTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Autowired
+    private OrderProductionRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private JpaOrderProductionAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        adapter = new JpaOrderProductionAdapter(repository, transactionManager);
+    }
+
+    @Test
+    void shouldSaveAndReadBackOrder() {
+        OrderProduction production = order(1L, ProductionStatus.RECEIVED, 1);
+
+        adapter.save(production);
+
+        assertNotNull(production.getId());
+        OrderProduction stored = adapter.findByOrderId(1L).orElseThrow();
+        assertEquals(production.getId(), stored.getId());
+        assertEquals(ProductionStatus.RECEIVED, stored.getStatus());
+        assertEquals(TEST_TIME.plusSeconds(1), stored.getStartedAt());
+        assertEquals(TEST_TIME.plusSeconds(1), stored.getUpdatedAt());
+        assertEquals(1, stored.getPositionInQueue());
+        assertEquals("Customer 1", stored.getCustomerName());
+    }
+
+    @Test
+    void shouldUpdateExistingOrderOnSave() {
+        OrderProduction production = order(1L, ProductionStatus.RECEIVED, 1);
+        adapter.save(production);
+
+        production.setPositionInQueue(3);
+        production.setUpdatedAt(TEST_TIME.plusMinutes(1));
+        adapter.save(production);
+
+        assertEquals(1, repository.count());
+        OrderProduction stored = adapter.findByOrderId(1L).orElseThrow();
+        assertEquals(3, stored.getPositionInQueue());
+        assertEquals(TEST_TIME.plusMinutes(1), stored.getUpdatedAt());
+    }
+
+    @Test
+    void shouldAssignIdsOnSaveAll() {
+        List<OrderProduction> productions = List.of(order(1L, ProductionStatus.RECEIVED, 1), order(2L, ProductionStatus.RECEIVED, 2));
+
+        adapter.saveAll(productions);
+
+        assertTrue(productions.stream().allMatch(production -> production.getId() != null));
+        assertEquals(2, adapter.findByOrderIdIn(List.of(1L, 2L, 3L)).size());
+    }
+
+    @Test
+    void shouldInsertOnlyWhenAbsent() {
+        assertTrue(adapter.insertIfAbsent(order(1L, ProductionStatus.RECEIVED, 1)));
+        assertFalse(adapter.insertIfAbsent(order(1L, ProductionStatus.RECEIVED, 2)));
+
+        assertEquals(1, adapter.findByOrderId(1L).orElseThrow().getPositionInQueue());
+    }
+
+    @Test
+    void shouldReportDuplicateWhenAConcurrentInsertWinsTheConstraint() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // O primeiro insert segura a transação aberta: o NOT EXISTS do segundo não enxerga a linha
+            Future<Boolean> first = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                boolean result = adapter.insertIfAbsent(order(1L, ProductionStatus.RECEIVED, 1));
+                inserted.countDown();
+                awaitQuietly(release);
+                return result;
+            }));
+            assertTrue(inserted.await(5, TimeUnit.SECONDS));
+            Future<Boolean> second = executor.submit(() -> adapter.insertIfAbsent(order(1L, ProductionStatus.RECEIVED, 2)));
+            Thread.sleep(200);
+            release.countDown();
+
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertFalse(second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void shouldKeepChannelAndEstimateOnEveryWritePath() {
+        OrderProduction saved = order(1L, ProductionStatus.RECEIVED, 1);
+        saved.setChannel(OrderChannel.DELIVERY);
+        saved.setEstimatedMinutes(12);
+        OrderProduction inserted = order(2L, ProductionStatus.RECEIVED, 2);
+        inserted.setChannel(OrderChannel.APP);
+        inserted.setEstimatedMinutes(4);
+
+        adapter.saveAll(List.of(saved));
+        adapter.insertIfAbsent(inserted);
+
+        OrderProduction first = adapter.findByOrderId(1L).orElseThrow();
+        OrderProduction second = adapter.findByOrderId(2L).orElseThrow();
+        assertEquals(OrderChannel.DELIVERY, first.getChannel());
+        assertEquals(12, first.getEstimatedMinutes());
+        assertEquals(OrderChannel.APP, second.getChannel());
+        assertEquals(4, second.getEstimatedMinutes());
+    }
+
+    @Test
+    void shouldApplyTransitionOnlyFromExpectedStatus() {
+        adapter.save(order(1L, ProductionStatus.RECEIVED, 1));
+
+        assertEquals(Optional.of(ProductionStatus.RECEIVED),
+                adapter.updateStatus(new StatusTransition(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME.plusMinutes(1))));
+        assertTrue(adapter.updateStatus(new StatusTransition(1L, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, TEST_TIME.plusMinutes(2))).isEmpty());
+
+        OrderProduction stored = adapter.findByOrderId(1L).orElseThrow();
+        assertEquals(ProductionStatus.IN_PREPARATION, stored.getStatus());
+        assertEquals(TEST_TIME.plusMinutes(1), stored.getStartedAt());
+    }
+
+    @Test
+    void shouldReportOnlyAppliedTransitionsInBatch() {
+        adapter.saveAll(List.of(
+                order(1L, ProductionStatus.RECEIVED, 1),
+                order(2L, ProductionStatus.RECEIVED, 2),
+                order(3L, ProductionStatus.IN_PREPARATION, 3),
+                order(4L, ProductionStatus.CANCELLED, null)
+        ));
+        LocalDateTime now = TEST_TIME.plusMinutes(5);
+
+        Set<Long> applied = adapter.updateStatuses(List.of(
+                new StatusTransition(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, now),
+                new StatusTransition(2L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, now),
+                new StatusTransition(3L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, now),
+                new StatusTransition(4L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, now),
+                new StatusTransition(5L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, now)
+        ));
+
+        assertEquals(Set.of(1L, 2L, 3L), applied);
+        assertEquals(ProductionStatus.READY, adapter.findByOrderId(3L).orElseThrow().getStatus());
+        assertEquals(now, adapter.findByOrderId(3L).orElseThrow().getFinishedAt());
+        assertEquals(ProductionStatus.CANCELLED, adapter.findByOrderId(4L).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldListQueueWithoutManagingEntities() {
+        adapter.saveAll(List.of(
+                order(1L, ProductionStatus.RECEIVED, 1),
+                order(2L, ProductionStatus.IN_PREPARATION, 2),
+                order(3L, ProductionStatus.READY, null)
+        ));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<OrderProduction> active = adapter.findByStatusIn(new ArrayList<>(List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION)));
+            List<OrderProduction> page = adapter.findPage(new OrderPageQuery(List.of(), null, null, null, 10));
+
+            assertEquals(2, active.size());
+            assertEquals(List.of(1L, 2L, 3L), page.stream().map(OrderProduction::getOrderId).toList());
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        });
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OrderProduction order(Long orderId, ProductionStatus status, Integer position) {
+        return new OrderProduction(orderId, status, TEST_TIME.plusSeconds(orderId), position, "Customer " + orderId);
+    }
+}
@@ -0,0 +1,154 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaQueueSequencingAdapterTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final Duration TTL = Duration.ofSeconds(10);
+
+    @Autowired
+    private OrderProductionRepository orderRepository;
+
+    @Autowired
+    private ProductionLeaseRepository leaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JpaOrderProductionAdapter orders;
+    private JpaQueueSequencingAdapter sequencing;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ProductionLeaseEntity lease = leaseRepository.findById(JpaQueueSequencingAdapter.LEASE_NAME).orElseThrow();
+            lease.setHolder(null);
+            lease.setExpiresAt(null);
+            lease.setEpoch(0L);
+            lease.setLastSequence(0L);
+        });
+        orders = new JpaOrderProductionAdapter(orderRepository, transactionManager);
+        sequencing = new JpaQueueSequencingAdapter(orderRepository, leaseRepository, transactionManager);
+    }
+
+    @Test
+    void shouldGrantLeaseToOneHolderUntilItExpires() {
+        OptionalLong first = sequencing.tryAcquireLease("a", TTL);
+
+        assertEquals(OptionalLong.of(1), first);
+        assertTrue(sequencing.tryAcquireLease("b", TTL).isEmpty());
+        assertEquals(OptionalLong.of(1), sequencing.tryAcquireLease("a", TTL));
+
+        expireLease();
+        assertEquals(OptionalLong.of(2), sequencing.tryAcquireLease("b", TTL));
+    }
+
+    @Test
+    void shouldSetLeaseExpiryFromDatabaseClock() {
+        LocalDateTime before = LocalDateTime.now().withNano(0);
+        sequencing.tryAcquireLease("a", TTL);
+        LocalDateTime after = LocalDateTime.now();
+
+        LocalDateTime expiresAt = leaseRepository.findById(JpaQueueSequencingAdapter.LEASE_NAME).orElseThrow().getExpiresAt();
+        assertFalse(expiresAt.isBefore(before.plus(TTL)));
+        assertFalse(expiresAt.isAfter(after.plus(TTL).plusSeconds(1)));
+    }
+
+    @Test
+    void shouldLetAnotherHolderTakeOverAfterRelease() {
+        sequencing.tryAcquireLease("a", TTL);
+
+        sequencing.releaseLease("b");
+        assertTrue(sequencing.tryAcquireLease("b", TTL).isEmpty());
+
+        sequencing.releaseLease("a");
+        assertEquals(OptionalLong.of(2), sequencing.tryAcquireLease("b", TTL));
+    }
+
+    @Test
+    void shouldSequenceActiveOrdersInArrivalOrderOnlyOnce() {
+        orders.save(order(1L, ProductionStatus.RECEIVED));
+        orders.save(order(2L, ProductionStatus.IN_PREPARATION));
+        orders.save(order(3L, ProductionStatus.FINISHED));
+        long epoch = sequencing.tryAcquireLease("a", TTL).orElseThrow();
+
+        assertEquals(OptionalInt.of(2), sequencing.assignSequences("a", epoch));
+        assertEquals(OptionalInt.of(0), sequencing.assignSequences("a", epoch));
+
+        orders.save(order(4L, ProductionStatus.RECEIVED));
+        assertEquals(OptionalInt.of(1), sequencing.assignSequences("a", epoch));
+        assertEquals(3L, leaseRepository.findById(JpaQueueSequencingAdapter.LEASE_NAME).orElseThrow().getLastSequence());
+        assertEquals(List.of(1L, 2L, 4L), orderIds(sequencing.activeOrdersInQueueOrder()));
+    }
+
+    @Test
+    void shouldListUnsequencedOrdersAfterSequencedOnesWithTheirPositions() {
+        orders.save(order(1L, ProductionStatus.RECEIVED));
+        long epoch = sequencing.tryAcquireLease("a", TTL).orElseThrow();
+        sequencing.assignSequences("a", epoch);
+        orders.save(order(2L, ProductionStatus.IN_PREPARATION));
+
+        List<OrderProduction> queue = sequencing.activeOrdersInQueueOrder();
+
+        assertEquals(List.of(1L, 2L), orderIds(queue));
+        assertEquals(List.of(1, 2), queue.stream().map(OrderProduction::getPositionInQueue).toList());
+        assertEquals(ProductionStatus.IN_PREPARATION, queue.get(1).getStatus());
+        assertEquals("Customer 2", queue.get(1).getCustomerName());
+    }
+
+    @Test
+    void shouldRefuseToSequenceWithAStaleEpoch() {
+        orders.save(order(1L, ProductionStatus.RECEIVED));
+        long staleEpoch = sequencing.tryAcquireLease("a", TTL).orElseThrow();
+        expireLease();
+        sequencing.tryAcquireLease("b", TTL);
+
+        assertTrue(sequencing.assignSequences("a", staleEpoch).isEmpty());
+        assertEquals(0L, leaseRepository.findById(JpaQueueSequencingAdapter.LEASE_NAME).orElseThrow().getLastSequence());
+    }
+
+    @Test
+    void shouldRefuseToSequenceWithAnExpiredLease() {
+        orders.save(order(1L, ProductionStatus.RECEIVED));
+        long epoch = sequencing.tryAcquireLease("a", TTL).orElseThrow();
+        expireLease();
+
+        assertTrue(sequencing.assignSequences("a", epoch).isEmpty());
+    }
+
+    // Vence o lease no próprio banco, que é o único relógio que o adaptador consulta
+    private void expireLease() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                leaseRepository.findById(JpaQueueSequencingAdapter.LEASE_NAME).orElseThrow()
+                        .setExpiresAt(LocalDateTime.now().minusSeconds(1)));
+    }
+
+    private static List<Long> orderIds(List<OrderProduction> queue) {
+        return queue.stream().map(OrderProduction::getOrderId).toList();
+    }
+
+    private OrderProduction order(Long orderId, ProductionStatus status) {
+        return new OrderProduction(orderId, status, TEST_TIME.plusSeconds(orderId), null, "Customer " + orderId);
+    }
+}
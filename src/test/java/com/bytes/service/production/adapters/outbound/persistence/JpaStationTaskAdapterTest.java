@@ -0,0 +1,135 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.ProductionItem;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaStationTaskAdapterTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Autowired
+    private StationTaskRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JpaStationTaskAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        adapter = new JpaStationTaskAdapter(repository);
+    }
+
+    @Test
+    void shouldSaveTasksWithTheirItemsInOrder() {
+        List<StationTask> tasks = StationTask.splitByStation(1L, List.of(
+                new ProductionItem("Burger", 2, "grill", null),
+                new ProductionItem("Cheeseburger", 1, "grill", "no onion"),
+                new ProductionItem("Fries", 1, "fryer", null)
+        ), TEST_TIME);
+
+        adapter.saveAll(tasks);
+
+        assertTrue(tasks.stream().allMatch(task -> task.getId() != null));
+        List<StationTask> grill = adapter.findOpenByStation("GRILL");
+        assertEquals(1, grill.size());
+        assertEquals(List.of("Burger", "Cheeseburger"), grill.get(0).getItems().stream().map(ProductionItem::getProductName).toList());
+        assertEquals("no onion", grill.get(0).getItems().get(1).getObservations());
+    }
+
+    @Test
+    void shouldListOnlyOpenTasksOfTheStationByArrival() {
+        adapter.saveAll(new ArrayList<>(List.of(
+                task(2L, "GRILL", TEST_TIME.plusMinutes(1)),
+                task(1L, "GRILL", TEST_TIME),
+                task(3L, "GRILL", TEST_TIME.plusMinutes(2)),
+                task(4L, "FRYER", TEST_TIME)
+        )));
+        inTransaction(() -> adapter.updateStatus(3L, "GRILL", StationTaskStatus.QUEUED, StationTaskStatus.IN_PROGRESS, TEST_TIME.plusMinutes(3)));
+        inTransaction(() -> adapter.updateStatus(1L, "GRILL", StationTaskStatus.QUEUED, StationTaskStatus.IN_PROGRESS, TEST_TIME.plusMinutes(3)));
+        inTransaction(() -> adapter.updateStatus(1L, "GRILL", StationTaskStatus.IN_PROGRESS, StationTaskStatus.DONE, TEST_TIME.plusMinutes(4)));
+
+        assertEquals(List.of(2L, 3L), adapter.findOpenByStation("GRILL").stream().map(StationTask::getOrderId).toList());
+    }
+
+    @Test
+    void shouldApplyTransitionOnlyFromTheExpectedStatus() {
+        adapter.saveAll(new ArrayList<>(List.of(task(1L, "GRILL", TEST_TIME))));
+
+        assertFalse(inTransaction(() -> adapter.updateStatus(1L, "GRILL", StationTaskStatus.IN_PROGRESS, StationTaskStatus.DONE, TEST_TIME)));
+        assertTrue(inTransaction(() -> adapter.updateStatus(1L, "GRILL", StationTaskStatus.QUEUED, StationTaskStatus.IN_PROGRESS,
+                TEST_TIME.plusMinutes(1))));
+
+        StationTask stored = inTransaction(() -> adapter.lockByOrderId(1L)).get(0);
+        assertEquals(StationTaskStatus.IN_PROGRESS, stored.getStatus());
+        assertEquals(TEST_TIME.plusMinutes(1), stored.getStartedAt());
+        assertNull(stored.getFinishedAt());
+    }
+
+    @Test
+    void shouldLockAllTasksOfTheOrderInsideTheCallerTransaction() {
+        adapter.saveAll(new ArrayList<>(List.of(task(1L, "GRILL", TEST_TIME), task(1L, "FRYER", TEST_TIME), task(2L, "GRILL", TEST_TIME))));
+
+        List<StationTask> locked = inTransaction(() -> adapter.lockByOrderId(1L));
+
+        assertEquals(List.of("GRILL", "FRYER"), locked.stream().map(StationTask::getStation).toList());
+    }
+
+    @Test
+    void shouldCloseOnlyTheOpenTasksOfTheOrder() {
+        adapter.saveAll(new ArrayList<>(List.of(task(1L, "GRILL", TEST_TIME), task(1L, "FRYER", TEST_TIME), task(2L, "GRILL", TEST_TIME))));
+        inTransaction(() -> adapter.updateStatus(1L, "GRILL", StationTaskStatus.QUEUED, StationTaskStatus.IN_PROGRESS, TEST_TIME));
+        inTransaction(() -> adapter.updateStatus(1L, "GRILL", StationTaskStatus.IN_PROGRESS, StationTaskStatus.DONE, TEST_TIME.plusMinutes(1)));
+
+        inTransaction(() -> {
+            adapter.closeOpenByOrderId(1L, TEST_TIME.plusMinutes(5));
+            return null;
+        });
+
+        List<StationTask> closed = inTransaction(() -> adapter.lockByOrderId(1L));
+        assertTrue(closed.stream().allMatch(task -> task.getStatus() == StationTaskStatus.DONE));
+        assertEquals(List.of(TEST_TIME.plusMinutes(1), TEST_TIME.plusMinutes(5)), closed.stream().map(StationTask::getFinishedAt).toList());
+        assertEquals(List.of(2L), adapter.findOpenByStation("GRILL").stream().map(StationTask::getOrderId).toList());
+    }
+
+    @Test
+    void shouldDeleteTasksAndItemsOfTheOrder() {
+        adapter.saveAll(StationTask.splitByStation(1L, List.of(new ProductionItem("Burger", 1, "grill", null)), TEST_TIME));
+        adapter.saveAll(new ArrayList<>(List.of(task(2L, "GRILL", TEST_TIME))));
+
+        inTransaction(() -> {
+            adapter.deleteByOrderId(1L);
+            return null;
+        });
+
+        assertEquals(List.of(2L), repository.findAll().stream().map(StationTaskEntity::getOrderId).toList());
+    }
+
+    // Em produção as escritas rodam dentro da transação do ProductionService
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private StationTask task(Long orderId, String station, LocalDateTime queuedAt) {
+        return new StationTask(orderId, station, StationTaskStatus.QUEUED, queuedAt, List.of());
+    }
+}
@@ -0,0 +1,133 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roda as consultas da fila pelo repositório, captura o SQL que o Hibernate gerou
+ * e confere no EXPLAIN do H2 que elas usam os índices criados pelas migrations.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.bytes.service.production.adapters.outbound.persistence.OrderProductionQueryPlanTest$RecordingStatementInspector")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderProductionQueryPlanTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Autowired
+    private OrderProductionRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        ProductionStatus[] statuses = ProductionStatus.values();
+        for (long orderId = 1; orderId <= 500; orderId++) {
+            repository.save(OrderProductionEntity.builder()
+                    .orderId(orderId)
+                    .status(statuses[(int) (orderId % statuses.length)])
+                    .startedAt(TEST_TIME.plusSeconds(orderId))
+                    .positionInQueue((int) orderId)
+                    .customerName("Customer " + orderId)
+                    .build());
+        }
+        RecordingStatementInspector.statements.clear();
+    }
+
+    @Test
+    void shouldCountActiveOrdersThroughStatusIndex() throws SQLException {
+        repository.countByStatusIn(List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION));
+
+        assertUsesIndex(lastSelect(), "IDX_ORDER_PRODUCTION_STATUS_");
+    }
+
+    @Test
+    void shouldListActiveOrdersThroughStatusIndex() throws SQLException {
+        repository.findByStatusIn(List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION));
+
+        assertUsesIndex(lastSelect(), "IDX_ORDER_PRODUCTION_STATUS_");
+    }
+
+    @Test
+    void shouldReadStatusOrderedByStartTimeFromCompositeIndex() throws SQLException {
+        repository.findByStatusOrderByStartedAtAsc(ProductionStatus.IN_PREPARATION);
+
+        assertUsesIndex(lastSelect(), "IDX_ORDER_PRODUCTION_STATUS_STARTED_AT");
+    }
+
+    @Test
+    void shouldPageThroughStatusAndStartTimeIndex() throws SQLException {
+        LocalDateTime after = TEST_TIME.plusSeconds(100);
+        LocalDateTime before = TEST_TIME.plusHours(1);
+        repository.findPage(List.of(ProductionStatus.READY), after, 100L, before, Pageable.ofSize(50));
+
+        assertUsesIndex(lastSelect(), "IDX_ORDER_PRODUCTION_STATUS_STARTED_AT",
+                ProductionStatus.READY.name(), before, after, after, 100L, 50);
+    }
+
+    @Test
+    void shouldLookUpOrdersThroughUniqueOrderIdConstraint() throws SQLException {
+        repository.existsByOrderId(42L);
+
+        assertUsesIndex(lastSelect(), "UK_ORDER_PRODUCTION_ORDER_ID");
+    }
+
+    private String lastSelect() {
+        return RecordingStatementInspector.statements.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No query was executed"));
+    }
+
+    // Sem valores explícitos, os parâmetros são status ou order_id; qualquer valor válido serve para o plano
+    private void assertUsesIndex(String sql, String indexPrefix, Object... values) throws SQLException {
+        String plan;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = explain.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                if (values.length > 0) {
+                    explain.setObject(i, values[i - 1]);
+                } else {
+                    explain.setString(i, sql.toLowerCase().contains("order_id=?") ? "42" : ProductionStatus.RECEIVED.name());
+                }
+            }
+            try (ResultSet result = explain.executeQuery()) {
+                assertTrue(result.next());
+                plan = result.getString(1);
+            }
+        }
+        assertTrue(plan.toUpperCase().contains(indexPrefix), () -> "Expected " + indexPrefix + " in plan:\n" + plan);
+        assertFalse(plan.toUpperCase().contains("TABLESCAN"), () -> "Unexpected table scan:\n" + plan);
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
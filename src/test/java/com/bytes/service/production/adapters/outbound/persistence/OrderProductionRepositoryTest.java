@@ -0,0 +1,123 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderProductionRepositoryTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Autowired
+    private OrderProductionRepository repository;
+
+    @Test
+    void shouldApplyTransitionWhenStatusMatches() {
+        OrderProductionEntity saved = repository.save(entity(100L, ProductionStatus.RECEIVED));
+        LocalDateTime changedAt = TEST_TIME.plusMinutes(5);
+
+        Optional<String> previousStatus = repository.updateStatus(100L, List.of("RECEIVED"), "IN_PREPARATION",
+                changedAt, changedAt, null, null);
+
+        assertEquals(Optional.of("RECEIVED"), previousStatus);
+        OrderProductionEntity reloaded = repository.findById(saved.getId()).orElseThrow();
+        assertEquals(ProductionStatus.IN_PREPARATION, reloaded.getStatus());
+        assertEquals(changedAt, reloaded.getStartedAt());
+        assertEquals(changedAt, reloaded.getUpdatedAt());
+        assertNull(reloaded.getFinishedAt());
+        assertEquals(saved.getVersion() + 1, reloaded.getVersion());
+    }
+
+    @Test
+    void shouldNotTouchRowWhenStatusAlreadyChanged() {
+        OrderProductionEntity saved = repository.save(entity(200L, ProductionStatus.READY));
+
+        Optional<String> previousStatus = repository.updateStatus(200L, List.of("IN_PREPARATION"), "READY",
+                TEST_TIME.plusMinutes(5), null, TEST_TIME.plusMinutes(5), null);
+
+        assertTrue(previousStatus.isEmpty());
+        OrderProductionEntity reloaded = repository.findById(saved.getId()).orElseThrow();
+        assertEquals(saved.getVersion(), reloaded.getVersion());
+        assertEquals(TEST_TIME, reloaded.getUpdatedAt());
+    }
+
+    @Test
+    void shouldKeepExistingTimestampsNotPartOfTheTransition() {
+        OrderProductionEntity saved = repository.save(entity(300L, ProductionStatus.IN_PREPARATION));
+        LocalDateTime changedAt = TEST_TIME.plusMinutes(10);
+
+        repository.updateStatus(300L, List.of("IN_PREPARATION"), "READY", changedAt, null, changedAt, null);
+
+        OrderProductionEntity reloaded = repository.findById(saved.getId()).orElseThrow();
+        assertEquals(TEST_TIME, reloaded.getStartedAt());
+        assertEquals(changedAt, reloaded.getFinishedAt());
+    }
+
+    @Test
+    void shouldInsertOnlyWhenOrderIdIsAbsent() {
+        assertEquals(1, repository.insertIfAbsent(400L, ProductionStatus.RECEIVED.name(), TEST_TIME, 1, "First delivery", "APP", 7));
+        assertEquals(0, repository.insertIfAbsent(400L, ProductionStatus.RECEIVED.name(), TEST_TIME, 2, "Redelivery", "APP", 7));
+
+        List<OrderProductionEntity> stored = repository.findAll().stream().filter(entity -> entity.getOrderId() == 400L).toList();
+        assertEquals(1, stored.size());
+        assertEquals("First delivery", stored.get(0).getCustomerName());
+        assertEquals(0L, stored.get(0).getVersion());
+    }
+
+    @Test
+    void shouldReturnZeroForUnknownOrder() {
+        assertTrue(repository.updateStatus(999L, List.of("RECEIVED"), "IN_PREPARATION", TEST_TIME, TEST_TIME, null, null).isEmpty());
+    }
+
+    @Test
+    void shouldReportWhichOfTheExpectedStatusesTheOrderLeft() {
+        repository.save(entity(310L, ProductionStatus.IN_PREPARATION));
+
+        assertEquals(Optional.of("IN_PREPARATION"), repository.updateStatus(310L, List.of("RECEIVED", "IN_PREPARATION"),
+                "CANCELLED", TEST_TIME.plusMinutes(5), null, null, null));
+    }
+
+    @Test
+    void shouldReadPageAfterKeysetInStartOrder() {
+        repository.saveAll(List.of(
+                entity(500L, ProductionStatus.READY),
+                entity(501L, ProductionStatus.READY),
+                entity(502L, ProductionStatus.RECEIVED),
+                entity(503L, ProductionStatus.READY)
+        ));
+        List<Long> ready = repository.findPage(List.of(ProductionStatus.READY), TEST_TIME, Long.MIN_VALUE,
+                        TEST_TIME.plusSeconds(1), Pageable.unpaged()).stream()
+                .filter(view -> view.getOrderId() >= 500L)
+                .map(OrderProductionView::getId)
+                .toList();
+
+        List<OrderProductionView> page = repository.findPage(List.of(ProductionStatus.READY), TEST_TIME, ready.get(0),
+                TEST_TIME.plusSeconds(1), Pageable.ofSize(1));
+
+        assertEquals(1, page.size());
+        assertEquals(ready.get(1), page.get(0).getId());
+        assertEquals(501L, page.get(0).getOrderId());
+    }
+
+    private OrderProductionEntity entity(Long orderId, ProductionStatus status) {
+        return OrderProductionEntity.builder()
+                .orderId(orderId)
+                .status(status)
+                .startedAt(TEST_TIME)
+                .updatedAt(TEST_TIME)
+                .customerName("Customer " + orderId)
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.bytes.service.production.adapters.outbound.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        // Duas instâncias H2 separadas fazem o papel de primário e réplica; cada uma responde o próprio nome
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.destroy();
+        }
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToTheReplica() {
+        Routed routed = routed(Duration.ZERO);
+
+        assertEquals("replica", routed.readOnly.execute(status -> whoAmI(routed.jdbc)));
+    }
+
+    @Test
+    void shouldSendWriteTransactionsAndNonTransactionalWorkToThePrimary() {
+        Routed routed = routed(Duration.ZERO);
+
+        assertEquals("primary", routed.readWrite.execute(status -> whoAmI(routed.jdbc)));
+        assertEquals("primary", whoAmI(routed.jdbc));
+    }
+
+    @Test
+    void shouldReadOwnWritesFromThePrimaryOnTheSameThread() throws Exception {
+        Routed routed = routed(Duration.ofMinutes(1));
+
+        routed.readWrite.executeWithoutResult(status -> routed.jdbc.update("UPDATE server SET name = name"));
+
+        assertEquals("primary", routed.readOnly.execute(status -> whoAmI(routed.jdbc)));
+        // Outra thread não escreveu nada e continua lendo da réplica
+        assertEquals("replica", CompletableFuture.supplyAsync(() -> routed.readOnly.execute(status -> whoAmI(routed.jdbc))).get());
+    }
+
+    @Test
+    void shouldReadFromThePrimaryOnAnyThreadThatCarriesTheClientPin() throws Exception {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, Duration.ofMinutes(1));
+        Routed routed = routed(routing);
+
+        routed.readWrite.executeWithoutResult(status -> routed.jdbc.update("UPDATE server SET name = name"));
+        long deadline = routing.readYourWritesDeadline();
+        routing.unpin();
+
+        // A próxima requisição do mesmo cliente cai em outra thread, mas traz o prazo da escrita
+        assertEquals("primary", CompletableFuture.supplyAsync(() -> {
+            routing.pinPrimaryUntil(deadline);
+            try {
+                return routed.readOnly.execute(status -> whoAmI(routed.jdbc));
+            } finally {
+                routing.unpin();
+            }
+        }).get());
+        assertEquals("replica", routed.readOnly.execute(status -> whoAmI(routed.jdbc)));
+    }
+
+    @Test
+    void shouldCapAClientPinAtTheReadYourWritesWindow() {
+        AtomicLong clock = new AtomicLong(1_000);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, Duration.ofSeconds(5), clock::get);
+        Routed routed = routed(routing);
+
+        routing.pinPrimaryUntil(Long.MAX_VALUE);
+        assertEquals("primary", routed.readOnly.execute(status -> whoAmI(routed.jdbc)));
+
+        clock.addAndGet(Duration.ofSeconds(5).toMillis());
+        assertEquals("replica", routed.readOnly.execute(status -> whoAmI(routed.jdbc)));
+    }
+
+    @Test
+    void shouldReturnToTheReplicaWhenTheWindowExpires() {
+        Routed routed = routed(Duration.ZERO);
+
+        routed.readWrite.executeWithoutResult(status -> routed.jdbc.update("UPDATE server SET name = name"));
+
+        assertEquals("replica", routed.readOnly.execute(status -> whoAmI(routed.jdbc)));
+    }
+
+    @Test
+    void shouldRouteJpaTransactionsThroughTheLazyProxy() {
+        RoutedJpa routed = routedJpa(Duration.ZERO);
+
+        assertEquals("replica", routed.readOnly.execute(status -> whoAmI(routed.entityManager)));
+        assertEquals("primary", routed.readWrite.execute(status -> whoAmI(routed.entityManager)));
+    }
+
+    @Test
+    void shouldKeepNonTransactionalJpaReadsOnThePrimary() {
+        RoutedJpa routed = routedJpa(Duration.ZERO);
+
+        // É o caminho da carga de status que vai para o cache: sem transação read-only, nunca lê da réplica
+        assertEquals("primary", whoAmI(routed.entityManager));
+    }
+
+    @Test
+    void shouldReadOwnJpaWritesFromThePrimary() {
+        RoutedJpa routed = routedJpa(Duration.ofMinutes(1));
+
+        routed.readWrite.executeWithoutResult(status ->
+                routed.entityManager.createNativeQuery("UPDATE server SET name = name").executeUpdate());
+
+        assertEquals("primary", routed.readOnly.execute(status -> whoAmI(routed.entityManager)));
+    }
+
+    private Routed routed(Duration readYourWritesWindow) {
+        return routed(new ReadWriteRoutingDataSource(primary, replica, readYourWritesWindow));
+    }
+
+    private Routed routed(ReadWriteRoutingDataSource routing) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return new Routed(new JdbcTemplate(dataSource), readOnly, new TransactionTemplate(transactionManager));
+    }
+
+    private RoutedJpa routedJpa(Duration readYourWritesWindow) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, readYourWritesWindow));
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setPackagesToScan(ReadWriteRoutingDataSourceTest.class.getPackageName());
+        entityManagerFactory.afterPropertiesSet();
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory.getObject());
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return new RoutedJpa(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject()),
+                readOnly, new TransactionTemplate(transactionManager));
+    }
+
+    private static String whoAmI(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("SELECT name FROM server").getSingleResult();
+    }
+
+    private static String whoAmI(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT name FROM server", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE server (name VARCHAR(16))");
+        jdbc.update("INSERT INTO server (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private record Routed(JdbcTemplate jdbc, TransactionTemplate readOnly, TransactionTemplate readWrite) {
+    }
+
+    private record RoutedJpa(EntityManager entityManager, TransactionTemplate readOnly, TransactionTemplate readWrite) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.bytes.service.production.application;
+
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryNotificationOutbox;
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryStationTaskRepository;
+import com.bytes.service.production.adapters.outbound.persistence.IndexedOrderProductionRepository;
+import com.bytes.service.production.application.cache.OrderStatusCache;
+import com.bytes.service.production.application.cache.SingleFlight;
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.application.events.ProductionEventDispatcher;
+import com.bytes.service.production.application.queue.FifoOrderingPolicy;
+import com.bytes.service.production.application.queue.QueueOrderingPolicy;
+import com.bytes.service.production.application.queue.QueueStanding;
+import com.bytes.service.production.application.useCases.GetActiveOrdersUseCase;
+import com.bytes.service.production.application.useCases.GetOrderByIdUseCase;
+import com.bytes.service.production.application.useCases.GetStationQueueUseCase;
+import com.bytes.service.production.application.useCases.ListOrdersUseCase;
+import com.bytes.service.production.application.useCases.StartOrderUseCase;
+import com.bytes.service.production.application.useCases.UpdateOrderStatusUseCase;
+import com.bytes.service.production.application.useCases.UpdateStationTaskUseCase;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Monta o ProductionService dos testes num só lugar; cada teste troca só as peças que importam para ele.
+ * Sem ajuste, o cache de status fica desligado e cada leitura vai aos casos de uso.
+ */
+public final class ProductionServiceFixture {
+
+    private StartOrderUseCase startOrder;
+    private GetOrderByIdUseCase getOrderById;
+    private GetActiveOrdersUseCase getActiveOrders;
+    private ListOrdersUseCase listOrders;
+    private UpdateOrderStatusUseCase updateOrderStatus;
+    private GetStationQueueUseCase getStationQueue;
+    private UpdateStationTaskUseCase updateStationTask;
+    private IndexedOrderProductionRepository repository;
+    private ProductionEventDispatcher events;
+    private OrderStatusCache statusCache = new OrderStatusCache(0, Duration.ZERO);
+    private PreparationTimeEstimator estimator = new PreparationTimeEstimator(0.2, Duration.ofMinutes(10));
+    private SingleFlight<String, List<ProductionQueue>> activeOrdersReads = new SingleFlight<>();
+    private QueueStanding queueStanding;
+
+    private ProductionServiceFixture() {
+    }
+
+    // Casos de uso vindos do teste, em geral mocks
+    public static ProductionServiceFixture withUseCases(StartOrderUseCase startOrder, GetOrderByIdUseCase getOrderById,
+                                                        GetActiveOrdersUseCase getActiveOrders, ListOrdersUseCase listOrders,
+                                                        UpdateOrderStatusUseCase updateOrderStatus, GetStationQueueUseCase getStationQueue,
+                                                        UpdateStationTaskUseCase updateStationTask) {
+        ProductionServiceFixture fixture = new ProductionServiceFixture();
+        fixture.startOrder = startOrder;
+        fixture.getOrderById = getOrderById;
+        fixture.getActiveOrders = getActiveOrders;
+        fixture.listOrders = listOrders;
+        fixture.updateOrderStatus = updateOrderStatus;
+        fixture.getStationQueue = getStationQueue;
+        fixture.updateStationTask = updateStationTask;
+        fixture.queueStanding = mock(QueueStanding.class);
+        return fixture;
+    }
+
+    // Casos de uso reais sobre o repositório em memória; outbox e estações também em memória, arquivo sempre vazio
+    public static ProductionServiceFixture inMemory(IndexedOrderProductionRepository repository, ProductionEventDispatcher events) {
+        ProductionServiceFixture fixture = new ProductionServiceFixture();
+        fixture.repository = repository;
+        fixture.events = events;
+        return fixture;
+    }
+
+    public ProductionServiceFixture statusCache(OrderStatusCache statusCache) {
+        this.statusCache = statusCache;
+        return this;
+    }
+
+    public ProductionServiceFixture estimator(PreparationTimeEstimator estimator) {
+        this.estimator = estimator;
+        return this;
+    }
+
+    public ProductionServiceFixture queueStanding(QueueStanding queueStanding) {
+        this.queueStanding = queueStanding;
+        return this;
+    }
+
+    public ProductionServiceFixture activeOrdersReads(SingleFlight<String, List<ProductionQueue>> activeOrdersReads) {
+        this.activeOrdersReads = activeOrdersReads;
+        return this;
+    }
+
+    public ProductionService build() {
+        if (repository != null) {
+            ProductionOrderMapper mapper = new ProductionOrderMapper();
+            OrderArchivePort archive = mock(OrderArchivePort.class);
+            InMemoryStationTaskRepository stationTasks = new InMemoryStationTaskRepository();
+            updateOrderStatus = new UpdateOrderStatusUseCase(repository, events, new InMemoryNotificationOutbox());
+            startOrder = new StartOrderUseCase(repository, events, stationTasks, estimator, archive);
+            getOrderById = new GetOrderByIdUseCase(repository, archive);
+            QueueOrderingPolicy orderingPolicy = new FifoOrderingPolicy();
+            getActiveOrders = new GetActiveOrdersUseCase(mapper, repository, estimator, orderingPolicy);
+            queueStanding = new QueueStanding(repository.index(), orderingPolicy);
+            listOrders = new ListOrdersUseCase(mapper, repository, archive);
+            getStationQueue = new GetStationQueueUseCase(stationTasks);
+            updateStationTask = new UpdateStationTaskUseCase(stationTasks, updateOrderStatus, estimator);
+        }
+        return new ProductionService(startOrder, getOrderById, getActiveOrders, listOrders, updateOrderStatus, getStationQueue,
+                updateStationTask, statusCache, estimator, queueStanding, new SingleFlight<>(), activeOrdersReads);
+    }
+}
@@ -1,22 +1,42 @@
 package com.bytes.service.production.application;
 
+import com.bytes.service.production.adapters.inbound.dtos.OrderPageDTO;
 import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateRequestDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateResultDTO;
+import com.bytes.service.production.application.cache.OrderStatusCache;
+import com.bytes.service.production.application.cache.SingleFlight;
+import com.bytes.service.production.application.queue.QueueStanding;
 import com.bytes.service.production.application.useCases.GetActiveOrdersUseCase;
 import com.bytes.service.production.application.useCases.GetOrderByIdUseCase;
+import com.bytes.service.production.application.useCases.GetStationQueueUseCase;
+import com.bytes.service.production.application.useCases.ListOrdersUseCase;
 import com.bytes.service.production.application.useCases.StartOrderUseCase;
 import com.bytes.service.production.application.useCases.UpdateOrderStatusUseCase;
+import com.bytes.service.production.application.useCases.UpdateStationTaskUseCase;
+import com.bytes.service.production.domain.models.IntakeResult;
+import com.bytes.service.production.domain.models.OrderIntake;
+import com.bytes.service.production.domain.models.OrderPageQuery;
 import com.bytes.service.production.domain.models.OrderProduction;
 import com.bytes.service.production.domain.models.ProductionQueue;
 import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.eq;
@@ -34,19 +54,30 @@ class ProductionServiceTest {
     @Mock
     private GetActiveOrdersUseCase getActiveOrdersUseCase;
 
+    @Mock
+    private ListOrdersUseCase listOrdersUseCase;
+
     @Mock
     private UpdateOrderStatusUseCase updateOrderStatusUseCase;
 
+    @Mock
+    private GetStationQueueUseCase getStationQueueUseCase;
+
+    @Mock
+    private UpdateStationTaskUseCase updateStationTaskUseCase;
+
+    @Mock
+    private QueueStanding queueStanding;
+
+    private ProductionServiceFixture fixture;
+
     private ProductionService productionService;
 
     @BeforeEach
     void setUp() {
-        productionService = new ProductionService(
-                startOrderUseCase, 
-                getOrderByIdUseCase, 
-                getActiveOrdersUseCase, 
-                updateOrderStatusUseCase
-        );
+        fixture = ProductionServiceFixture.withUseCases(startOrderUseCase, getOrderByIdUseCase, getActiveOrdersUseCase, listOrdersUseCase,
+                updateOrderStatusUseCase, getStationQueueUseCase, updateStationTaskUseCase).queueStanding(queueStanding);
+        productionService = fixture.build();
     }
 
     @Test
@@ -91,6 +122,7 @@ class ProductionServiceTest {
         orderProduction.setUpdatedAt(updatedAt);
 
         when(getOrderByIdUseCase.execute(eq(orderId))).thenReturn(orderProduction);
+        when(queueStanding.position(orderId, ProductionStatus.IN_PREPARATION)).thenReturn(2);
 
         OrderStatusDTO result = productionService.getOrderStatus(orderId);
 
@@ -104,6 +136,69 @@ class ProductionServiceTest {
         verify(getOrderByIdUseCase).execute(eq(orderId));
     }
 
+    @Test
+    void shouldEstimateReadyTimeForQueuedOrder() {
+        Long orderId = 555L;
+        LocalDateTime now = LocalDateTime.now();
+        OrderProduction orderProduction = new OrderProduction(orderId, ProductionStatus.RECEIVED, now, 3, "Queued Customer");
+
+        when(getOrderByIdUseCase.execute(eq(orderId))).thenReturn(orderProduction);
+        when(queueStanding.position(orderId, ProductionStatus.RECEIVED)).thenReturn(3);
+
+        OrderStatusDTO result = productionService.getOrderStatus(orderId);
+
+        // Sem histórico: dois pedidos à frente mais o próprio preparo, 10 minutos cada
+        LocalDateTime expected = now.plusMinutes(30);
+        assertFalse(result.getEstimatedReadyAt().isBefore(expected));
+        assertTrue(result.getEstimatedReadyAt().isBefore(expected.plusSeconds(5)));
+    }
+
+    @Test
+    void shouldReportStatusPositionWithoutLoadingTheQueue() {
+        Long orderId = 557L;
+        LocalDateTime now = LocalDateTime.now();
+        // Chegou primeiro, mas a política pôs um pedido mais curto na frente
+        OrderProduction orderProduction = new OrderProduction(orderId, ProductionStatus.RECEIVED, now, 1, "Long Order");
+
+        when(getOrderByIdUseCase.execute(eq(orderId))).thenReturn(orderProduction);
+        when(queueStanding.position(orderId, ProductionStatus.RECEIVED)).thenReturn(2);
+
+        OrderStatusDTO result = productionService.getOrderStatus(orderId);
+
+        assertEquals(2, result.getQueuePosition());
+        LocalDateTime expected = now.plusMinutes(20);
+        assertFalse(result.getEstimatedReadyAt().isBefore(expected));
+        assertTrue(result.getEstimatedReadyAt().isBefore(expected.plusSeconds(5)));
+        verify(queueStanding).admit(orderProduction);
+        verifyNoInteractions(getActiveOrdersUseCase);
+    }
+
+    @Test
+    void shouldRecomputePositionOnCachedStatusReads() {
+        Long orderId = 559L;
+        OrderProduction orderProduction = new OrderProduction(orderId, ProductionStatus.RECEIVED, LocalDateTime.now(), 1, "Waiting");
+        ProductionService cachedService = fixture.statusCache(new OrderStatusCache(100, Duration.ofMinutes(1))).build();
+
+        when(getOrderByIdUseCase.execute(eq(orderId))).thenReturn(orderProduction);
+        when(queueStanding.position(orderId, ProductionStatus.RECEIVED)).thenReturn(3, 2);
+
+        assertEquals(3, cachedService.getOrderStatus(orderId).getQueuePosition());
+        // Um pedido à frente saiu: a entrada continua no cache e só a posição muda
+        assertEquals(2, cachedService.getOrderStatus(orderId).getQueuePosition());
+        verify(getOrderByIdUseCase, times(1)).execute(eq(orderId));
+    }
+
+    @Test
+    void shouldNotEstimateReadyTimeForFinishedOrder() {
+        Long orderId = 556L;
+        OrderProduction orderProduction = new OrderProduction(orderId, ProductionStatus.FINISHED,
+                LocalDateTime.of(2024, 1, 1, 10, 0), null, "Done Customer");
+
+        when(getOrderByIdUseCase.execute(eq(orderId))).thenReturn(orderProduction);
+
+        assertNull(productionService.getOrderStatus(orderId).getEstimatedReadyAt());
+    }
+
     @Test
     void shouldGetOrderStatusWithStartedAtWhenUpdatedAtIsNull() {
         Long orderId = 123L;
@@ -115,6 +210,7 @@ class ProductionServiceTest {
         orderProduction.setId(1L);
 
         when(getOrderByIdUseCase.execute(eq(orderId))).thenReturn(orderProduction);
+        when(queueStanding.position(orderId, ProductionStatus.RECEIVED)).thenReturn(1);
 
         OrderStatusDTO result = productionService.getOrderStatus(orderId);
 
@@ -128,16 +224,110 @@ class ProductionServiceTest {
         verify(getOrderByIdUseCase).execute(eq(orderId));
     }
 
+    @Test
+    void shouldServeRepeatedStatusReadsFromCache() {
+        Long orderId = 321L;
+        OrderProduction orderProduction = new OrderProduction(
+                orderId, ProductionStatus.RECEIVED, LocalDateTime.of(2024, 1, 1, 10, 0), 1, "Cached Customer"
+        );
+        OrderStatusCache cache = new OrderStatusCache(100, Duration.ofMinutes(1));
+        ProductionService cachedService = fixture.statusCache(cache).build();
+
+        when(getOrderByIdUseCase.execute(eq(orderId))).thenReturn(orderProduction);
+
+        OrderStatusDTO first = cachedService.getOrderStatus(orderId);
+        OrderStatusDTO second = cachedService.getOrderStatus(orderId);
+
+        // A previsão é recalculada a cada leitura; o resto vem da entrada guardada
+        assertEquals(first.getCurrentStatus(), second.getCurrentStatus());
+        assertEquals(first.getQueuePosition(), second.getQueuePosition());
+        assertEquals(first.getLastUpdate(), second.getLastUpdate());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        verify(getOrderByIdUseCase, times(1)).execute(eq(orderId));
+    }
+
+    @Test
+    void shouldShareInFlightActiveOrdersReadWithConcurrentCallers() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<ProductionQueue> expectedOrders = List.of(
+                new ProductionQueue(1L, "John Doe", ProductionStatus.RECEIVED, 1, LocalDateTime.of(2024, 1, 1, 10, 0))
+        );
+        when(getActiveOrdersUseCase.execute()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return expectedOrders;
+        });
+        SingleFlight<String, List<ProductionQueue>> activeOrdersReads = new SingleFlight<>();
+        ProductionService service = fixture.activeOrdersReads(activeOrdersReads).build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<ProductionQueue>> first = executor.submit(service::getActiveOrders);
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<List<ProductionQueue>> second = executor.submit(service::getActiveOrders);
+            while (activeOrdersReads.coalescedCount() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals(expectedOrders, first.get(5, TimeUnit.SECONDS));
+            assertEquals(expectedOrders, second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(getActiveOrdersUseCase, times(1)).execute();
+    }
+
     @Test
     void shouldStartProduction() {
         Long orderId = 456L;
         String customerName = "Alice Johnson";
 
-        doNothing().when(startOrderUseCase).execute(eq(orderId), eq(customerName));
+        OrderIntake intake = new OrderIntake(orderId, customerName);
+        when(startOrderUseCase.execute(intake)).thenReturn(IntakeResult.CREATED);
+
+        assertEquals(IntakeResult.CREATED, productionService.startProduction(intake));
+
+        verify(startOrderUseCase).execute(intake);
+    }
+
+    @Test
+    void shouldStartProductionsInBatch() {
+        List<OrderIntake> intakes = List.of(new OrderIntake(1L, "First"), new OrderIntake(2L, "Second"));
 
-        productionService.startProduction(orderId, customerName);
+        when(startOrderUseCase.executeAll(eq(intakes))).thenReturn(2);
 
-        verify(startOrderUseCase).execute(eq(orderId), eq(customerName));
+        assertEquals(2, productionService.startProductions(intakes));
+    }
+
+    @Test
+    void shouldListOrdersPage() {
+        OrderPageQuery query = new OrderPageQuery(List.of(ProductionStatus.READY), null, null, null, 20);
+        OrderPageDTO page = OrderPageDTO.builder().items(List.of()).build();
+
+        when(listOrdersUseCase.execute(eq(query))).thenReturn(page);
+
+        assertSame(page, productionService.listOrders(query));
+    }
+
+    @Test
+    void shouldGetStationQueue() {
+        List<StationTask> queue = List.of(new StationTask(1L, "GRILL", StationTaskStatus.QUEUED,
+                LocalDateTime.of(2024, 1, 1, 10, 0), List.of()));
+
+        when(getStationQueueUseCase.execute(eq("grill"))).thenReturn(queue);
+
+        assertSame(queue, productionService.getStationQueue("grill"));
+    }
+
+    @Test
+    void shouldUpdateStationStatus() {
+        productionService.updateStationStatus(10L, "GRILL", StationTaskStatus.DONE);
+
+        verify(updateStationTaskUseCase).execute(eq(10L), eq("GRILL"), eq(StationTaskStatus.DONE));
+        verifyNoInteractions(updateOrderStatusUseCase);
     }
 
     @Test
@@ -152,6 +342,16 @@ class ProductionServiceTest {
         verify(updateOrderStatusUseCase).execute(eq(orderId), eq(newStatus));
     }
 
+    @Test
+    void shouldUpdateStatusesInBatch() {
+        List<StatusUpdateRequestDTO> updates = List.of(new StatusUpdateRequestDTO(1L, ProductionStatus.READY));
+        List<StatusUpdateResultDTO> results = List.of(StatusUpdateResultDTO.applied(1L, ProductionStatus.READY));
+
+        when(updateOrderStatusUseCase.executeAll(eq(updates))).thenReturn(results);
+
+        assertEquals(results, productionService.updateStatuses(updates));
+    }
+
     @Test
     void shouldReturnCorrectStatusDescriptions() {
         assertEquals("Aguardando Pagamento", ProductionStatus.WAITING_PAYMENT.getDescription());
@@ -187,13 +387,8 @@ class ProductionServiceTest {
 
     @Test
     void shouldConstructServiceWithAllDependencies() {
-        ProductionService service = new ProductionService(
-                startOrderUseCase, 
-                getOrderByIdUseCase, 
-                getActiveOrdersUseCase, 
-                updateOrderStatusUseCase
-        );
-        
+        ProductionService service = fixture.build();
+
         assertNotNull(service);
     }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.bytes.service.production.application.admission;
+
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter.Permit;
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void shouldShedReadsBeforeWrites() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, Duration.ofSeconds(1), 0.5, 0.8);
+
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            permits.add(limiter.tryAcquire(Priority.READ));
+        }
+
+        assertNull(limiter.tryAcquire(Priority.READ));
+        assertNotNull(limiter.tryAcquire(Priority.WRITE));
+        assertNotNull(limiter.tryAcquire(Priority.WRITE));
+        assertNull(limiter.tryAcquire(Priority.WRITE));
+        assertEquals(1, limiter.rejectedCount(Priority.READ));
+        assertEquals(1, limiter.rejectedCount(Priority.WRITE));
+        assertEquals(10, limiter.inFlight());
+    }
+
+    @Test
+    void shouldBackOffMultiplicativelyOnFailures() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, Duration.ofSeconds(1), 0.5, 1.0);
+
+        limiter.tryAcquire(Priority.WRITE).dropped();
+        assertEquals(10, limiter.limit());
+
+        limiter.tryAcquire(Priority.WRITE).dropped();
+        limiter.tryAcquire(Priority.WRITE).dropped();
+        assertEquals(4, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void shouldReleaseIgnoredPermitsWithoutTouchingTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, Duration.ofMillis(1), 0.5, 1.0);
+        Permit permit = limiter.tryAcquire(Priority.WRITE);
+        Thread.sleep(5);
+
+        permit.ignored();
+
+        assertEquals(20, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void shouldBackOffOnlyOnceForASingleSlowBurst() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, Duration.ofMillis(1), 0.5, 1.0);
+        List<Permit> burst = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            burst.add(limiter.tryAcquire(Priority.WRITE));
+        }
+        Thread.sleep(5);
+
+        burst.forEach(Permit::success);
+        assertEquals(10, limiter.limit());
+
+        // Uma requisição admitida depois da redução volta a contar
+        limiter.tryAcquire(Priority.WRITE).dropped();
+        assertEquals(5, limiter.limit());
+    }
+
+    @Test
+    void shouldBackOffWhenLatencyExceedsTheThreshold() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, Duration.ofMillis(1), 0.5, 1.0);
+
+        Permit permit = limiter.tryAcquire(Priority.WRITE);
+        Thread.sleep(5);
+        permit.success();
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void shouldGrowAdditivelyOnlyWhileTheLimitIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 100, Duration.ofSeconds(1), 0.5, 1.0);
+
+        // Uma requisição por vez não prova nada sobre a capacidade
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(Priority.READ).success();
+        }
+        assertEquals(4, limiter.limit());
+
+        // Com o limite cheio, cada janela de respostas rápidas soma menos de 1: cresce devagar, sem saltos
+        for (int round = 0; round < 3; round++) {
+            List<Permit> permits = new ArrayList<>();
+            for (int i = 0; i < limiter.limit(); i++) {
+                permits.add(limiter.tryAcquire(Priority.WRITE));
+            }
+            permits.forEach(Permit::success);
+        }
+        assertTrue(limiter.limit() > 4 && limiter.limit() <= 7, "limit " + limiter.limit());
+    }
+
+    @Test
+    void shouldReleaseEachPermitOnlyOnce() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, Duration.ofSeconds(1), 0.5, 1.0);
+
+        Permit permit = limiter.tryAcquire(Priority.WRITE);
+        permit.dropped();
+        permit.dropped();
+
+        assertEquals(0, limiter.inFlight());
+        assertEquals(5, limiter.limit());
+    }
+
+    @Test
+    void shouldRejectInconsistentSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(2, 4, 100, Duration.ofSeconds(1), 0.5, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 4, 100, Duration.ofSeconds(1), 1.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 4, 100, Duration.ofSeconds(1), 0.5, 0));
+    }
+}
@@ -0,0 +1,92 @@
+package com.bytes.service.production.application.archive;
+
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiverTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private OrderArchivePort archive;
+
+    private OrderArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TEST_TIME.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        archiver = new OrderArchiver(archive, Thread.ofVirtual().factory(), 10, 3, Duration.ZERO,
+                Duration.ofMinutes(10), Duration.ofDays(90), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archiver.close();
+    }
+
+    @Test
+    void shouldArchiveOrdersTerminatedBeforeGracePeriod() {
+        when(archive.archiveTerminalOrders(any(), any(), anyInt())).thenReturn(4);
+
+        assertEquals(4, archiver.archiveOnce());
+
+        verify(archive).archiveTerminalOrders(TEST_TIME.minusMinutes(10), TEST_TIME, 10);
+    }
+
+    @Test
+    void shouldKeepArchivingWhileChunksComeBackFull() {
+        when(archive.archiveTerminalOrders(any(), any(), anyInt())).thenReturn(10, 10, 2);
+
+        assertEquals(22, archiver.archiveOnce());
+
+        verify(archive, times(3)).archiveTerminalOrders(any(), any(), eq(10));
+    }
+
+    @Test
+    void shouldStopAtMaxChunksPerRun() {
+        when(archive.archiveTerminalOrders(any(), any(), anyInt())).thenReturn(10);
+
+        assertEquals(30, archiver.archiveOnce());
+
+        verify(archive, times(3)).archiveTerminalOrders(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldPurgeHistoryOlderThanRetention() {
+        when(archive.purgeArchivedBefore(any(), anyInt())).thenReturn(10, 0);
+
+        assertEquals(10, archiver.purgeOnce());
+
+        verify(archive, times(2)).purgeArchivedBefore(TEST_TIME.minusDays(90), 10);
+    }
+
+    @Test
+    void shouldWaitBetweenChunks() {
+        archiver.close();
+        archiver = new OrderArchiver(archive, Thread.ofVirtual().factory(), 10, 3, Duration.ofMillis(50),
+                Duration.ofMinutes(10), Duration.ofDays(90));
+        when(archive.archiveTerminalOrders(any(), any(), anyInt())).thenReturn(10);
+
+        long started = System.nanoTime();
+        archiver.archiveOnce();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofMillis(100)) >= 0);
+    }
+}
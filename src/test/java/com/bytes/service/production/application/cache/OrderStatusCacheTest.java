@@ -0,0 +1,171 @@
+package com.bytes.service.production.application.cache;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusCacheTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private AtomicLong clock;
+    private AtomicInteger loads;
+    private OrderStatusCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        loads = new AtomicInteger();
+        cache = new OrderStatusCache(2, Duration.ofSeconds(10), clock::get);
+    }
+
+    @Test
+    void shouldLoadOnceAndServeFromMemory() {
+        cache.get(1L, this::load);
+        OrderStatusDTO result = cache.get(1L, this::load);
+
+        assertEquals(1L, result.getOrderId());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void shouldReloadAfterTtlExpires() {
+        cache.get(1L, this::load);
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedWhenFull() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        cache.get(1L, this::load);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void shouldRefreshEntryOnStatusChange() {
+        cache.get(1L, this::load);
+        LocalDateTime changedAt = TEST_TIME.plusMinutes(5);
+
+        cache.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, changedAt);
+        OrderStatusDTO result = cache.get(1L, this::load);
+
+        assertEquals(ProductionStatus.READY, result.getCurrentStatus());
+        assertEquals("Pronto", result.getStatusDescription());
+        assertNull(result.getQueuePosition());
+        assertEquals(changedAt, result.getLastUpdate());
+        assertNull(result.getEstimatedReadyAt());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldKeepOtherEntriesWhenAnOrderMovesWithinTheQueue() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        // A posição não fica no cache, então só a entrada do próprio pedido muda
+        cache.statusChanged(2L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+
+        assertEquals(ProductionStatus.RECEIVED, cache.get(1L, this::load).getCurrentStatus());
+        assertEquals(ProductionStatus.IN_PREPARATION, cache.get(2L, this::load).getCurrentStatus());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldKeepQueuedEntriesWhenAnotherOrderLeavesTheQueue() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        cache.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME);
+
+        OrderStatusDTO ready = cache.get(1L, this::load);
+        assertEquals(ProductionStatus.READY, ready.getCurrentStatus());
+        assertNull(ready.getQueuePosition());
+        assertNull(ready.getEstimatedReadyAt());
+        cache.get(2L, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldInvalidateWhenOrderIsQueued() {
+        cache.get(1L, this::load);
+
+        cache.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"));
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldKeepEntriesWhenAnotherOrderArrives() {
+        cache.get(1L, this::load);
+
+        cache.orderQueued(new OrderProduction(2L, ProductionStatus.RECEIVED, TEST_TIME, 2, "Jane Smith"));
+        cache.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldDropOnlyEntriesWhoseStatusChangedElsewhereOnReplay() {
+        cache = new OrderStatusCache(10, Duration.ofSeconds(10), clock::get);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(3L, this::load);
+        cache.statusChanged(3L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME);
+
+        cache.queueReplayed(List.of(
+                new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"),
+                new OrderProduction(2L, ProductionStatus.IN_PREPARATION, TEST_TIME, 2, "Jane Smith")));
+
+        assertEquals(2, cache.size());
+        cache.get(1L, this::load);
+        assertEquals(ProductionStatus.READY, cache.get(3L, this::load).getCurrentStatus());
+        cache.get(2L, this::load);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void shouldNotStoreLoadThatRacedWithAWrite() {
+        cache.get(1L, orderId -> {
+            cache.statusChanged(orderId, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+            return load(orderId);
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    private OrderStatusDTO load(Long orderId) {
+        loads.incrementAndGet();
+        return OrderStatusDTO.builder()
+                .orderId(orderId)
+                .currentStatus(ProductionStatus.RECEIVED)
+                .statusDescription(ProductionStatus.RECEIVED.getDescription())
+                .queuePosition(orderId.intValue())
+                .lastUpdate(TEST_TIME)
+                .estimatedReadyAt(TEST_TIME.plusMinutes(15))
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.bytes.service.production.application.cache;
+
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> flight = new SingleFlight<>();
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = executor.submit(() -> flight.execute(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "status-1";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(executor.submit(() -> flight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            while (flight.coalescedCount() < 3) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals("status-1", leader.get(5, TimeUnit.SECONDS));
+            for (Future<String> follower : followers) {
+                assertEquals("status-1", follower.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.executionCount());
+        assertEquals(3, flight.coalescedCount());
+        assertEquals(0, flight.inFlightCount());
+    }
+
+    @Test
+    void shouldNotKeepResultAfterLoadCompletes() {
+        assertEquals("first", flight.execute(1L, () -> "first"));
+        assertEquals("second", flight.execute(1L, () -> "second"));
+
+        assertEquals(2, flight.executionCount());
+        assertEquals(0, flight.coalescedCount());
+    }
+
+    @Test
+    void shouldKeepDifferentKeysApart() {
+        String result = flight.execute(1L, () -> "order-1:" + flight.execute(2L, () -> "order-2"));
+
+        assertEquals("order-1:order-2", result);
+        assertEquals(2, flight.executionCount());
+        assertEquals(0, flight.coalescedCount());
+    }
+
+    @Test
+    void shouldPropagateFailureToCallersAndAllowRetry() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> flight.execute(1L, () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalStateException("database unavailable");
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> flight.execute(1L, () -> "unused"));
+            while (flight.coalescedCount() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+            assertInstanceOf(IllegalStateException.class, followerError.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("recovered", flight.execute(1L, () -> "recovered"));
+    }
+
+    @Test
+    void shouldStartFreshLoadAfterForget() {
+        String result = flight.execute(1L, () -> {
+            flight.forget();
+            return flight.execute(1L, () -> "fresh");
+        });
+
+        assertEquals("fresh", result);
+        assertEquals(2, flight.executionCount());
+        assertEquals(0, flight.coalescedCount());
+    }
+
+    @Test
+    void shouldStartFreshLoadAfterACommittedWriteEvent() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> beforeWrite = executor.submit(() -> flight.execute(1L, () -> {
+                loading.countDown();
+                await(release);
+                return "RECEIVED";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            flight.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, LocalDateTime.now());
+
+            assertEquals("IN_PREPARATION", flight.execute(1L, () -> "IN_PREPARATION"));
+            release.countDown();
+            assertEquals("RECEIVED", beforeWrite.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, flight.executionCount());
+        assertEquals(0, flight.coalescedCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.bytes.service.production.application.eta;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreparationTimeEstimatorTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final String ALL = PreparationTimeEstimator.ALL_CATEGORIES;
+
+    private PreparationTimeEstimator estimator;
+
+    @BeforeEach
+    void setUp() {
+        estimator = new PreparationTimeEstimator(0.5, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void shouldUseDefaultUntilSomethingIsObserved() {
+        assertEquals(Duration.ofMinutes(10), estimator.preparationTime(ALL, NOON));
+        assertEquals(Duration.ofMinutes(10), estimator.departureInterval(NOON));
+    }
+
+    @Test
+    void shouldLearnPreparationFromPreparationToReadyTransitions() {
+        estimator.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, NOON);
+        estimator.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, NOON.plusMinutes(6));
+
+        assertEquals(Duration.ofMinutes(6), estimator.preparationTime(ALL, NOON));
+    }
+
+    @Test
+    void shouldWeightRecentSamplesExponentially() {
+        estimator.recordPreparation(ALL, NOON, NOON.plusMinutes(4));
+        estimator.recordPreparation(ALL, NOON, NOON.plusMinutes(8));
+        estimator.recordPreparation(ALL, NOON, NOON.plusMinutes(8));
+
+        // 4 → 4 + 0.5 * (8 - 4) = 6 → 6 + 0.5 * (8 - 6) = 7
+        assertEquals(Duration.ofMinutes(7), estimator.preparationTime(ALL, NOON));
+    }
+
+    @Test
+    void shouldPreferTheHourOfDayOnceItHasEnoughSamples() {
+        LocalDateTime morning = NOON.withHour(9);
+        estimator.recordPreparation(ALL, morning, morning.plusMinutes(2));
+        for (int i = 0; i < PreparationTimeEstimator.MIN_SAMPLES_PER_HOUR; i++) {
+            estimator.recordPreparation(ALL, NOON, NOON.plusMinutes(12));
+        }
+
+        assertEquals(Duration.ofMinutes(12), estimator.preparationTime(ALL, NOON));
+        // A hora das 9 ainda tem uma amostra só: vale a média de todas as horas
+        Duration morningEstimate = estimator.preparationTime(ALL, morning);
+        assertTrue(morningEstimate.compareTo(Duration.ofMinutes(2)) > 0 && morningEstimate.compareTo(Duration.ofMinutes(12)) < 0);
+    }
+
+    @Test
+    void shouldFallBackToAllCategoriesForUnseenCategory() {
+        estimator.recordPreparation("GRILL", NOON, NOON.plusMinutes(9));
+        estimator.recordPreparation(ALL, NOON, NOON.plusMinutes(5));
+
+        assertEquals(Duration.ofMinutes(9), estimator.preparationTime("GRILL", NOON));
+        assertEquals(Duration.ofMinutes(5), estimator.preparationTime("DRINKS", NOON));
+    }
+
+    @Test
+    void shouldCapIdleGapsBetweenDeparturesAtThePreparationTime() {
+        estimator.recordPreparation(ALL, NOON, NOON.plusMinutes(4));
+        estimator.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, NOON);
+        estimator.statusChanged(2L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, NOON.plusHours(2));
+
+        assertEquals(Duration.ofMinutes(4), estimator.departureInterval(NOON));
+    }
+
+    @Test
+    void shouldEstimateQueuedOrderFromOrdersAheadPlusItsOwnPreparation() {
+        estimator.recordPreparation(ALL, NOON, NOON.plusMinutes(8));
+        estimator.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, NOON);
+        estimator.statusChanged(2L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, NOON.plusMinutes(2));
+
+        assertEquals(Duration.ofMinutes(3 * 2 + 8), estimator.remaining(ProductionStatus.RECEIVED, 3, NOON, NOON));
+    }
+
+    @Test
+    void shouldSubtractElapsedTimeForOrderInPreparation() {
+        estimator.recordPreparation(ALL, NOON, NOON.plusMinutes(8));
+
+        assertEquals(Duration.ofMinutes(5), estimator.remaining(ProductionStatus.IN_PREPARATION, 0, NOON, NOON.plusMinutes(3)));
+        assertEquals(Duration.ZERO, estimator.remaining(ProductionStatus.IN_PREPARATION, 0, NOON, NOON.plusMinutes(20)));
+        assertNull(estimator.remaining(ProductionStatus.READY, 0, NOON, NOON));
+    }
+
+    @Test
+    void shouldForgetOrdersThatLeaveWithoutBecomingReady() {
+        estimator.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, NOON);
+        estimator.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.CANCELLED, NOON.plusMinutes(30));
+
+        assertEquals(Duration.ofMinutes(10), estimator.preparationTime(ALL, NOON));
+    }
+
+    @Test
+    void shouldRecordOrderLevelPreparationUnderEachOfItsStations() {
+        estimator.orderQueued(queued(1L, NOON, "GRILL", "DRINKS"));
+        estimator.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, NOON);
+        estimator.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, NOON.plusMinutes(7));
+
+        assertEquals(Duration.ofMinutes(7), estimator.preparationTime("GRILL", NOON));
+        assertEquals(Duration.ofMinutes(7), estimator.preparationTime("DRINKS", NOON));
+        assertEquals(Duration.ofMinutes(7), estimator.preparationTime(ALL, NOON));
+    }
+
+    @Test
+    void shouldNotRepeatStationsAlreadyTimedByTheirOwnTask() {
+        estimator.orderQueued(queued(1L, NOON, "GRILL", "DRINKS"));
+        estimator.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, NOON);
+        estimator.recordStationPreparation(1L, "DRINKS", NOON, NOON.plusMinutes(2));
+        estimator.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, NOON.plusMinutes(9));
+
+        assertEquals(Duration.ofMinutes(2), estimator.preparationTime("DRINKS", NOON));
+        assertEquals(Duration.ofMinutes(9), estimator.preparationTime("GRILL", NOON));
+    }
+
+    @Test
+    void shouldExpireOrdersWhoseFinishingTransitionHappensElsewhere() {
+        estimator = new PreparationTimeEstimator(0.5, Duration.ofMinutes(10), Duration.ofHours(1));
+        estimator.orderQueued(queued(1L, NOON, "GRILL"));
+        estimator.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, NOON);
+        // Outro pedido passa pelo estimador bem depois do TTL e dispara a varredura
+        estimator.statusChanged(2L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, NOON.plusHours(2));
+        estimator.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, NOON.plusHours(2).plusMinutes(1));
+
+        assertEquals(Duration.ofMinutes(10), estimator.preparationTime("GRILL", NOON));
+        assertEquals(Duration.ofMinutes(10), estimator.preparationTime(ALL, NOON));
+    }
+
+    @Test
+    void shouldRejectInvalidSmoothingFactor() {
+        assertThrows(IllegalArgumentException.class, () -> new PreparationTimeEstimator(0, Duration.ofMinutes(10)));
+        assertThrows(IllegalArgumentException.class, () -> new PreparationTimeEstimator(1.5, Duration.ofMinutes(10)));
+        assertThrows(IllegalArgumentException.class, () -> new PreparationTimeEstimator(0.5, Duration.ofMinutes(10), Duration.ZERO));
+    }
+
+    private static OrderProduction queued(Long orderId, LocalDateTime at, String... stations) {
+        OrderProduction order = new OrderProduction(orderId, ProductionStatus.RECEIVED, at, null, "Ana");
+        order.setStations(List.of(stations));
+        return order;
+    }
+}
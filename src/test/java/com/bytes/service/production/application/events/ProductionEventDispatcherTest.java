@@ -0,0 +1,105 @@
+package com.bytes.service.production.application.events;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.application.cache.OrderStatusCache;
+import com.bytes.service.production.application.queue.QueueVersionTracker;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductionEventDispatcherTest {
+
+    @Mock
+    private ProductionEventPort first;
+
+    @Mock
+    private ProductionEventPort second;
+
+    private ProductionEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new ProductionEventDispatcher(List.of(first, second));
+    }
+
+    @Test
+    void shouldForwardQueuedEventToEveryListener() {
+        OrderProduction order = new OrderProduction(1L, ProductionStatus.RECEIVED, LocalDateTime.now(), 1, "John Doe");
+
+        dispatcher.orderQueued(order);
+
+        verify(first).orderQueued(order);
+        verify(second).orderQueued(order);
+    }
+
+    @Test
+    void shouldKeepDispatchingWhenListenerFails() {
+        LocalDateTime changedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        doThrow(new IllegalStateException("boom")).when(first).statusChanged(any(), any(), any(), any());
+
+        dispatcher.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, changedAt);
+
+        verify(second).statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, changedAt);
+    }
+
+    @Test
+    void shouldHoldListenersUntilCommitButRunTransactionalOnesInline() {
+        ProductionEventDispatcher transactional = new ProductionEventDispatcher(List.of(first), List.of(second));
+        LocalDateTime changedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+        transaction().executeWithoutResult(status -> {
+            transactional.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, changedAt);
+            verify(first).statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, changedAt);
+            verifyNoInteractions(second);
+        });
+
+        verify(second).statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, changedAt);
+    }
+
+    @Test
+    void shouldLeaveCacheAndVersionUntouchedWhenWriteRollsBack() {
+        OrderStatusCache cache = new OrderStatusCache(10, Duration.ofMinutes(1));
+        QueueVersionTracker versions = new QueueVersionTracker(10000);
+        ProductionEventDispatcher transactional = new ProductionEventDispatcher(List.of(), List.of(cache, versions));
+        cache.get(1L, orderId -> OrderStatusDTO.builder()
+                .orderId(orderId)
+                .currentStatus(ProductionStatus.RECEIVED)
+                .queuePosition(1)
+                .build());
+        String orderTag = versions.orderTag(1L);
+        String queueTag = versions.queueTag();
+
+        transaction().executeWithoutResult(status -> {
+            transactional.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, LocalDateTime.now());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(ProductionStatus.RECEIVED, cache.get(1L, orderId -> fail("cached entry was dropped")).getCurrentStatus());
+        assertEquals(orderTag, versions.orderTag(1L));
+        assertEquals(queueTag, versions.queueTag());
+    }
+
+    private TransactionTemplate transaction() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:events-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+}
@@ -0,0 +1,28 @@
+package com.bytes.service.production.application.metrics;
+
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter;
+import com.bytes.service.production.application.admission.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlMetricsTest {
+
+    @Test
+    void shouldExposeLimitInFlightAndRejectionsByPriority() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofSeconds(1), 0.5, 0.5);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new AdmissionControlMetrics(limiter).bindTo(registry);
+
+        limiter.tryAcquire(Priority.READ);
+        limiter.tryAcquire(Priority.READ);
+
+        assertEquals(2.0, registry.get("production.admission.limit").gauge().value());
+        assertEquals(1.0, registry.get("production.admission.in.flight").gauge().value());
+        assertEquals(1.0, registry.get("production.admission.rejected").tag("priority", "read").functionCounter().count());
+        assertEquals(0.0, registry.get("production.admission.rejected").tag("priority", "write").functionCounter().count());
+    }
+}
@@ -0,0 +1,68 @@
+package com.bytes.service.production.application.metrics;
+
+import com.bytes.service.production.domain.models.OrderIntake;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import com.bytes.service.production.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MeteredProductionServiceTest {
+
+    @Mock
+    private ProductionServicePort delegate;
+
+    private SimpleMeterRegistry registry;
+    private MeteredProductionService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        service = new MeteredProductionService(delegate, registry);
+    }
+
+    @Test
+    void shouldTimeEachOperation() {
+        when(delegate.getActiveOrders()).thenReturn(List.of());
+
+        service.getActiveOrders();
+        service.getActiveOrders();
+        service.updateStatus(1L, ProductionStatus.READY);
+        OrderIntake intake = new OrderIntake(2L, "John Doe");
+        service.startProduction(intake);
+
+        assertEquals(2, timer("getActiveOrders", "success").count());
+        assertEquals(1, timer("updateStatus", "success").count());
+        assertEquals(1, timer("startProduction", "success").count());
+        verify(delegate).updateStatus(eq(1L), eq(ProductionStatus.READY));
+        verify(delegate).startProduction(intake);
+    }
+
+    @Test
+    void shouldTagFailuresWithExceptionName() {
+        when(delegate.getOrderStatus(eq(9L))).thenThrow(new ResourceNotFoundException("Order with ID 9 not found"));
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getOrderStatus(9L));
+
+        assertEquals(1, timer("getOrderStatus", "ResourceNotFoundException").count());
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return registry.get(MeteredProductionService.TIMER_NAME)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
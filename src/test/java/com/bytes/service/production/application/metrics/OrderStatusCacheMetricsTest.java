@@ -0,0 +1,29 @@
+package com.bytes.service.production.application.metrics;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderStatusDTO;
+import com.bytes.service.production.application.cache.OrderStatusCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusCacheMetricsTest {
+
+    @Test
+    void shouldExposeHitMissEvictionAndSize() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OrderStatusCache cache = new OrderStatusCache(1, Duration.ofMinutes(1));
+        new OrderStatusCacheMetrics(cache).bindTo(registry);
+
+        cache.get(1L, orderId -> OrderStatusDTO.builder().orderId(orderId).build());
+        cache.get(1L, orderId -> OrderStatusDTO.builder().orderId(orderId).build());
+        cache.get(2L, orderId -> OrderStatusDTO.builder().orderId(orderId).build());
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "order-status").tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "order-status").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.evictions").tag("cache", "order-status").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.size").tag("cache", "order-status").gauge().value());
+    }
+}
@@ -0,0 +1,79 @@
+package com.bytes.service.production.application.metrics;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductionMetricsTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private OrderProductionRepositoryPort repository;
+
+    private SimpleMeterRegistry registry;
+    private ProductionMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new ProductionMetrics(repository);
+        when(repository.countByStatusIn(any())).thenReturn(0);
+        when(repository.countByStatusIn(eq(List.of(ProductionStatus.RECEIVED)))).thenReturn(3);
+        metrics.bindTo(registry);
+    }
+
+    @Test
+    void shouldSeedGaugesFromRepository() {
+        assertEquals(3.0, registry.get("production.orders").tag("status", "RECEIVED").gauge().value());
+        assertEquals(0.0, registry.get("production.orders").tag("status", "READY").gauge().value());
+    }
+
+    @Test
+    void shouldFollowTransitionsInGaugesAndCounters() {
+        metrics.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 4, "John Doe"));
+        metrics.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME.plusMinutes(2));
+
+        assertEquals(3, metrics.ordersIn(ProductionStatus.RECEIVED));
+        assertEquals(1, metrics.ordersIn(ProductionStatus.IN_PREPARATION));
+        assertEquals(1.0, registry.get("production.status.transitions")
+                .tag("from", "RECEIVED").tag("to", "IN_PREPARATION").counter().count());
+        assertEquals(1.0, registry.get("production.status.transitions")
+                .tag("from", "NEW").tag("to", "RECEIVED").counter().count());
+    }
+
+    @Test
+    void shouldRecordTimeSpentInPreviousStatus() {
+        metrics.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"));
+        metrics.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME.plusMinutes(2));
+        metrics.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME.plusMinutes(10));
+
+        assertEquals(120, registry.get("production.status.duration").tag("status", "RECEIVED").timer().totalTime(TimeUnit.SECONDS));
+        assertEquals(480, registry.get("production.status.duration").tag("status", "IN_PREPARATION").timer().totalTime(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldSkipDurationWhenEntryTimeIsUnknown() {
+        metrics.statusChanged(7L, ProductionStatus.READY, ProductionStatus.FINISHED, TEST_TIME);
+
+        assertNull(registry.find("production.status.duration").tag("status", "READY").timer());
+        assertEquals(0, metrics.ordersIn(ProductionStatus.READY));
+        assertEquals(1, metrics.ordersIn(ProductionStatus.FINISHED));
+    }
+}
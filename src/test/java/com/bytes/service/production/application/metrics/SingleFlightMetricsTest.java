@@ -0,0 +1,29 @@
+package com.bytes.service.production.application.metrics;
+
+import com.bytes.service.production.application.cache.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightMetricsTest {
+
+    @Test
+    void shouldExposeExecutedAndCoalescedReadsPerReadType() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SingleFlight<Long, String> orderStatusReads = new SingleFlight<>();
+        SingleFlight<String, String> activeOrdersReads = new SingleFlight<>();
+        new SingleFlightMetrics(Map.of("order-status", orderStatusReads, "active-orders", activeOrdersReads)).bindTo(registry);
+
+        orderStatusReads.execute(1L, () -> "received");
+        orderStatusReads.execute(2L, () -> "ready");
+        activeOrdersReads.execute("active", () -> "z");
+
+        assertEquals(2.0, registry.get("production.reads").tag("read", "order-status").tag("result", "executed").functionCounter().count());
+        assertEquals(0.0, registry.get("production.reads").tag("read", "order-status").tag("result", "coalesced").functionCounter().count());
+        assertEquals(1.0, registry.get("production.reads").tag("read", "active-orders").tag("result", "executed").functionCounter().count());
+        assertEquals(0.0, registry.get("production.reads.in.flight").tag("read", "active-orders").gauge().value());
+    }
+}
@@ -0,0 +1,203 @@
+package com.bytes.service.production.application.notifications;
+
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryNotificationOutbox;
+import com.bytes.service.production.domain.models.CustomerNotification;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.CustomerNotificationPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private InMemoryNotificationOutbox outbox;
+    private RecordingDelivery delivery;
+    private MutableClock clock;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new InMemoryNotificationOutbox();
+        delivery = new RecordingDelivery();
+        clock = new MutableClock(TEST_TIME);
+        dispatcher = new NotificationDispatcher(outbox, delivery, Thread.ofVirtual().factory(),
+                100, 3, Duration.ofSeconds(1), Duration.ofSeconds(3), Duration.ofSeconds(30), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    void shouldDeliverDueNotificationsAndRemoveThemFromOutbox() {
+        outbox.append(List.of(
+                new CustomerNotification(1L, ProductionStatus.IN_PREPARATION, TEST_TIME),
+                new CustomerNotification(2L, ProductionStatus.READY, TEST_TIME)
+        ));
+
+        assertEquals(2, dispatcher.dispatchDue());
+
+        assertEquals(2, delivery.delivered.size());
+        assertTrue(outbox.pending().isEmpty());
+    }
+
+    @Test
+    void shouldKeepPerOrderOrdering() {
+        outbox.append(List.of(
+                new CustomerNotification(1L, ProductionStatus.IN_PREPARATION, TEST_TIME),
+                new CustomerNotification(2L, ProductionStatus.IN_PREPARATION, TEST_TIME),
+                new CustomerNotification(1L, ProductionStatus.READY, TEST_TIME),
+                new CustomerNotification(1L, ProductionStatus.FINISHED, TEST_TIME)
+        ));
+
+        dispatcher.dispatchDue();
+
+        assertEquals(List.of(ProductionStatus.IN_PREPARATION, ProductionStatus.READY, ProductionStatus.FINISHED), delivery.statusesOf(1L));
+    }
+
+    @Test
+    void shouldHoldLaterNotificationsOfAnOrderUntilTheFailedOneIsRetried() {
+        outbox.append(List.of(
+                new CustomerNotification(1L, ProductionStatus.READY, TEST_TIME),
+                new CustomerNotification(1L, ProductionStatus.FINISHED, TEST_TIME),
+                new CustomerNotification(2L, ProductionStatus.READY, TEST_TIME)
+        ));
+        delivery.failOnce(1L, ProductionStatus.READY);
+
+        assertEquals(1, dispatcher.dispatchDue());
+        assertEquals(List.of(), delivery.statusesOf(1L));
+        assertEquals(List.of(ProductionStatus.READY), delivery.statusesOf(2L));
+
+        // Ainda dentro do backoff: nada do pedido 1 sai, nem o FINISHED que estava atrás
+        assertEquals(0, dispatcher.dispatchDue());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(2, dispatcher.dispatchDue());
+        assertEquals(List.of(ProductionStatus.READY, ProductionStatus.FINISHED), delivery.statusesOf(1L));
+    }
+
+    @Test
+    void shouldBackOffExponentiallyUpToTheLimit() {
+        assertEquals(Duration.ofSeconds(1), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(2), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(3), dispatcher.backoff(3));
+        assertEquals(Duration.ofSeconds(3), dispatcher.backoff(40));
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        outbox.append(List.of(new CustomerNotification(1L, ProductionStatus.READY, TEST_TIME)));
+        delivery.failAlways(1L);
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            dispatcher.dispatchDue();
+            clock.advance(Duration.ofSeconds(3));
+        }
+
+        assertTrue(outbox.pending().isEmpty());
+        assertEquals(3, delivery.failures);
+    }
+
+    @Test
+    void shouldDeliverInBackgroundOnceStarted() throws Exception {
+        outbox.append(List.of(new CustomerNotification(1L, ProductionStatus.READY, TEST_TIME)));
+
+        dispatcher.start(Duration.ofMillis(10));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!outbox.pending().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(ProductionStatus.READY), delivery.statusesOf(1L));
+    }
+
+    @Test
+    void shouldResumeDeliveringAfterARestart() throws Exception {
+        dispatcher.start(Duration.ofMillis(10));
+        dispatcher.stop();
+        assertFalse(dispatcher.isRunning());
+        outbox.append(List.of(new CustomerNotification(1L, ProductionStatus.READY, TEST_TIME)));
+
+        dispatcher.start(Duration.ofMillis(10));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!outbox.pending().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(ProductionStatus.READY), delivery.statusesOf(1L));
+    }
+
+    private static final class RecordingDelivery implements CustomerNotificationPort {
+        private final List<CustomerNotification> delivered = Collections.synchronizedList(new ArrayList<>());
+        private final Set<String> failOnce = Collections.synchronizedSet(new HashSet<>());
+        private final Set<Long> failAlways = Collections.synchronizedSet(new HashSet<>());
+        private volatile int failures;
+
+        @Override
+        public void send(CustomerNotification notification) {
+            if (failAlways.contains(notification.getOrderId()) || failOnce.remove(notification.getOrderId() + ":" + notification.getStatus())) {
+                failures++;
+                throw new IllegalStateException("push gateway unavailable");
+            }
+            delivered.add(notification);
+        }
+
+        void failOnce(Long orderId, ProductionStatus status) {
+            failOnce.add(orderId + ":" + status);
+        }
+
+        void failAlways(Long orderId) {
+            failAlways.add(orderId);
+        }
+
+        List<ProductionStatus> statusesOf(Long orderId) {
+            synchronized (delivered) {
+                return delivered.stream().filter(n -> n.getOrderId().equals(orderId)).map(CustomerNotification::getStatus).toList();
+            }
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        private MutableClock(LocalDateTime start) {
+            this.now = start.toInstant(ZoneOffset.UTC);
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
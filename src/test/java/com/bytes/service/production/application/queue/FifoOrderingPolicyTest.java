@@ -0,0 +1,117 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FifoOrderingPolicyTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private FifoOrderingPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        policy = new FifoOrderingPolicy();
+    }
+
+    @Test
+    void shouldKeepArrivalOrder() {
+        OrderProduction first = received(1L, 0);
+        OrderProduction second = received(2L, 1);
+        OrderProduction third = received(3L, 2);
+        policy.orderQueued(second);
+        policy.orderQueued(first);
+        policy.orderQueued(third);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(policy.order(List.of(third, first, second))));
+    }
+
+    @Test
+    void shouldForgetOrdersThatLeaveReceived() {
+        OrderProduction first = received(1L, 0);
+        OrderProduction second = received(2L, 1);
+        policy.orderQueued(first);
+        policy.orderQueued(second);
+
+        policy.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+
+        assertEquals(1, policy.size());
+        assertEquals(List.of(2L), ids(policy.order(List.of(second))));
+        assertEquals(List.of(2L), ids(policy.order(List.of(first, second))));
+        assertEquals(1, policy.size());
+    }
+
+    @Test
+    void shouldIgnoreOrdersQueuedOutsideReceived() {
+        policy.orderQueued(new OrderProduction(1L, ProductionStatus.IN_PREPARATION, TEST_TIME, 1, "Preparing"));
+
+        assertEquals(0, policy.size());
+    }
+
+    @Test
+    void shouldLearnOrdersItHasNotSeenInArrivalOrder() {
+        OrderProduction known = received(1L, 5);
+        policy.orderQueued(known);
+        OrderProduction late = received(2L, 1);
+        OrderProduction earlier = received(3L, 0);
+
+        // Pedidos gravados por outra instância chegam só pela leitura
+        assertEquals(List.of(3L, 2L, 1L), ids(policy.order(List.of(known, late, earlier))));
+        assertEquals(3, policy.size());
+    }
+
+    @Test
+    void shouldKeepOrdersMissingFromASnapshot() {
+        OrderProduction first = received(1L, 0);
+        OrderProduction second = received(2L, 1);
+        policy.orderQueued(first);
+        policy.orderQueued(second);
+
+        // Um snapshot atrasado não prova que o pedido saiu da fila
+        assertEquals(List.of(2L), ids(policy.order(List.of(second))));
+        assertEquals(2, policy.size());
+        assertEquals(List.of(1L, 2L), ids(policy.order(List.of(second, first))));
+    }
+
+    @Test
+    void shouldDropOrdersThePrimaryConfirmsLeftReceived() {
+        OrderProduction first = received(1L, 0);
+        OrderProduction second = received(2L, 1);
+        OrderProduction third = received(3L, 2);
+        policy.orderQueued(first);
+        policy.orderQueued(second);
+        policy.orderQueued(third);
+        long mark = policy.mark();
+
+        policy.replay(List.of(new OrderProduction(2L, ProductionStatus.IN_PREPARATION, TEST_TIME, 1, "Customer 2"), third), mark);
+
+        assertEquals(1, policy.size());
+        assertEquals(List.of(3L), ids(policy.order(List.of(first, second, third))));
+    }
+
+    @Test
+    void shouldKeepOrdersQueuedAfterTheReplayMark() {
+        long mark = policy.mark();
+        OrderProduction late = received(1L, 0);
+        policy.orderQueued(late);
+
+        policy.replay(List.of(), mark);
+
+        assertEquals(1, policy.size());
+    }
+
+    private static OrderProduction received(Long orderId, int minute) {
+        return new OrderProduction(orderId, ProductionStatus.RECEIVED, TEST_TIME.plusMinutes(minute), null, "Customer " + orderId);
+    }
+
+    private static List<Long> ids(List<OrderProduction> orders) {
+        return orders.stream().map(OrderProduction::getOrderId).toList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.QueueDelta;
+import com.bytes.service.production.domain.models.QueueDeltaType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueueDeltaCoalescerTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private final QueueDeltaCoalescer coalescer = new QueueDeltaCoalescer();
+
+    @Test
+    void shouldKeepInsertWithLatestStatusWhenOrderMovesInTheSameBatch() {
+        ProductionQueue entry = new ProductionQueue(1L, "John Doe", ProductionStatus.RECEIVED, 1, TEST_TIME);
+        coalescer.add(new QueueDelta(1, QueueDeltaType.INSERT, 1L, ProductionStatus.RECEIVED, TEST_TIME, entry));
+        coalescer.add(new QueueDelta(2, QueueDeltaType.MOVE, 1L, ProductionStatus.IN_PREPARATION, TEST_TIME.plusMinutes(1), null));
+
+        List<QueueDelta> batch = coalescer.drain();
+
+        assertEquals(1, batch.size());
+        QueueDelta merged = batch.get(0);
+        assertEquals(2, merged.getSequence());
+        assertEquals(QueueDeltaType.INSERT, merged.getType());
+        assertEquals(ProductionStatus.IN_PREPARATION, merged.getStatus());
+        assertEquals(ProductionStatus.IN_PREPARATION, merged.getEntry().getStatus());
+        // O delta original continua no buffer de replay do feed e não pode mudar
+        assertEquals(ProductionStatus.RECEIVED, entry.getStatus());
+    }
+
+    @Test
+    void shouldLetRemovalWinOverEarlierDeltas() {
+        coalescer.add(new QueueDelta(1, QueueDeltaType.INSERT, 1L, ProductionStatus.RECEIVED, TEST_TIME,
+                new ProductionQueue(1L, "John Doe", ProductionStatus.RECEIVED, 1, TEST_TIME)));
+        coalescer.add(new QueueDelta(2, QueueDeltaType.MOVE, 1L, ProductionStatus.IN_PREPARATION, TEST_TIME, null));
+        coalescer.add(new QueueDelta(3, QueueDeltaType.REMOVE, 1L, ProductionStatus.READY, TEST_TIME, null));
+
+        List<QueueDelta> batch = coalescer.drain();
+
+        assertEquals(1, batch.size());
+        assertEquals(QueueDeltaType.REMOVE, batch.get(0).getType());
+        assertEquals(3, batch.get(0).getSequence());
+    }
+
+    @Test
+    void shouldReturnOneDeltaPerOrderInSequenceOrder() {
+        coalescer.add(new QueueDelta(1, QueueDeltaType.MOVE, 2L, ProductionStatus.IN_PREPARATION, TEST_TIME, null));
+        coalescer.add(new QueueDelta(2, QueueDeltaType.MOVE, 1L, ProductionStatus.IN_PREPARATION, TEST_TIME, null));
+        coalescer.add(new QueueDelta(3, QueueDeltaType.REMOVE, 2L, ProductionStatus.READY, TEST_TIME, null));
+
+        List<QueueDelta> batch = coalescer.drain();
+
+        assertEquals(List.of(1L, 2L), batch.stream().map(QueueDelta::getOrderId).toList());
+        assertEquals(List.of(2L, 3L), batch.stream().map(QueueDelta::getSequence).toList());
+    }
+
+    @Test
+    void shouldStartAnEmptyBatchAfterDraining() {
+        coalescer.add(new QueueDelta(1, QueueDeltaType.MOVE, 1L, ProductionStatus.IN_PREPARATION, TEST_TIME, null));
+        coalescer.drain();
+
+        assertTrue(coalescer.drain().isEmpty());
+    }
+}
@@ -0,0 +1,148 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.QueueDelta;
+import com.bytes.service.production.domain.models.QueueDeltaType;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueueDeltaFeedTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private QueueDeltaFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new QueueDeltaFeed(new ProductionOrderMapper(), 3);
+    }
+
+    @Test
+    void shouldPublishInsertWithQueueEntry() {
+        List<QueueDelta> received = new ArrayList<>();
+        feed.subscribe(received::add);
+
+        feed.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"));
+
+        assertEquals(1, received.size());
+        QueueDelta delta = received.get(0);
+        assertEquals(QueueDeltaType.INSERT, delta.getType());
+        assertEquals(1L, delta.getOrderId());
+        assertEquals("John Doe", delta.getEntry().getCustomerName());
+        assertEquals(1, delta.getEntry().getQueuePosition());
+        assertEquals(feed.currentSequence(), delta.getSequence());
+    }
+
+    @Test
+    void shouldPublishMoveAndRemoveForActiveOrders() {
+        List<QueueDelta> received = new ArrayList<>();
+        feed.subscribe(received::add);
+
+        feed.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+        feed.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME);
+
+        assertEquals(QueueDeltaType.MOVE, received.get(0).getType());
+        assertEquals(ProductionStatus.IN_PREPARATION, received.get(0).getStatus());
+        assertEquals(QueueDeltaType.REMOVE, received.get(1).getType());
+        assertEquals(received.get(0).getSequence() + 1, received.get(1).getSequence());
+    }
+
+    @Test
+    void shouldIgnoreTransitionsOutsideTheQueue() {
+        List<QueueDelta> received = new ArrayList<>();
+        feed.subscribe(received::add);
+
+        feed.statusChanged(1L, ProductionStatus.READY, ProductionStatus.FINISHED, TEST_TIME);
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void shouldReplayDeltasAfterLastSequence() {
+        long start = feed.currentSequence();
+        feed.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+        feed.statusChanged(2L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+
+        Optional<List<QueueDelta>> missed = feed.since(start + 1);
+
+        assertTrue(missed.isPresent());
+        assertEquals(1, missed.get().size());
+        assertEquals(2L, missed.get().get(0).getOrderId());
+        assertEquals(List.of(), feed.since(feed.currentSequence()).orElseThrow());
+    }
+
+    @Test
+    void shouldRequireSnapshotWhenDeltasLeftTheBuffer() {
+        long start = feed.currentSequence();
+        for (long orderId = 1; orderId <= 5; orderId++) {
+            feed.statusChanged(orderId, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, TEST_TIME);
+        }
+
+        assertTrue(feed.since(start).isEmpty());
+        assertTrue(feed.since(feed.currentSequence() + 10).isEmpty());
+        assertEquals(2, feed.since(start + 3).orElseThrow().size());
+    }
+
+    @Test
+    void shouldPublishWhatAnotherInstanceChangedWhenReconciling() {
+        feed.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"));
+        feed.orderQueued(new OrderProduction(2L, ProductionStatus.RECEIVED, TEST_TIME, 2, "Jane Smith"));
+        List<QueueDelta> received = new ArrayList<>();
+        feed.subscribe(received::add);
+
+        int published = feed.reconcile(List.of(
+                new OrderProduction(2L, ProductionStatus.IN_PREPARATION, TEST_TIME, 1, "Jane Smith"),
+                new OrderProduction(3L, ProductionStatus.RECEIVED, TEST_TIME, 2, "Bob Lee")), feed.currentSequence());
+
+        assertEquals(3, published);
+        assertEquals(QueueDeltaType.MOVE, received.get(0).getType());
+        assertEquals(2L, received.get(0).getOrderId());
+        assertEquals(ProductionStatus.IN_PREPARATION, received.get(0).getStatus());
+        assertEquals(QueueDeltaType.INSERT, received.get(1).getType());
+        assertEquals(3L, received.get(1).getOrderId());
+        assertEquals(2, received.get(1).getEntry().getQueuePosition());
+        assertEquals(QueueDeltaType.REMOVE, received.get(2).getType());
+        assertEquals(1L, received.get(2).getOrderId());
+    }
+
+    @Test
+    void shouldPublishNothingWhenReconciledQueueMatches() {
+        feed.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"));
+        long sequence = feed.currentSequence();
+
+        assertEquals(0, feed.reconcile(List.of(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe")), sequence));
+        assertEquals(sequence, feed.currentSequence());
+    }
+
+    @Test
+    void shouldNotUndoLocalChangesNewerThanTheReconciledRead() {
+        feed.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"));
+        long mark = feed.currentSequence();
+        feed.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, TEST_TIME);
+        feed.orderQueued(new OrderProduction(2L, ProductionStatus.RECEIVED, TEST_TIME, 1, "Jane Smith"));
+
+        int published = feed.reconcile(List.of(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe")), mark);
+
+        assertEquals(0, published);
+    }
+
+    @Test
+    void shouldStopNotifyingAfterUnsubscribe() {
+        List<QueueDelta> received = new ArrayList<>();
+        Runnable unsubscribe = feed.subscribe(received::add);
+
+        unsubscribe.run();
+        feed.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, TEST_TIME);
+
+        assertTrue(received.isEmpty());
+    }
+}
@@ -0,0 +1,70 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.queue.QueuePositionIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueueStandingTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private final QueuePositionIndex index = new QueuePositionIndex();
+    private final ShortestJobFirstPolicy policy = new ShortestJobFirstPolicy(new PreparationTimeEstimator(0.2, Duration.ofMinutes(10)), 0);
+    private final QueueStanding standing = new QueueStanding(index, policy);
+
+    @Test
+    void shouldPlaceWaitingOrdersBehindThoseInPreparationByPolicyRank() {
+        index.add(1L, true);
+        OrderProduction large = received(2L, 0, 20);
+        OrderProduction small = received(3L, 1, 2);
+        List.of(large, small).forEach(order -> {
+            index.add(order.getOrderId(), false);
+            policy.orderQueued(order);
+        });
+
+        assertEquals(1, standing.position(1L, ProductionStatus.IN_PREPARATION));
+        assertEquals(2, standing.position(3L, ProductionStatus.RECEIVED));
+        assertEquals(3, standing.position(2L, ProductionStatus.RECEIVED));
+        assertNull(standing.position(1L, ProductionStatus.READY));
+    }
+
+    @Test
+    void shouldAgreeWithTheServedOrder() {
+        OrderProduction large = received(1L, 0, 20);
+        OrderProduction small = received(2L, 1, 2);
+        OrderProduction medium = received(3L, 2, 8);
+
+        List<OrderProduction> served = policy.order(List.of(large, small, medium));
+
+        for (int i = 0; i < served.size(); i++) {
+            assertEquals(i + 1, standing.position(served.get(i).getOrderId(), ProductionStatus.RECEIVED));
+        }
+    }
+
+    @Test
+    void shouldAdmitWaitingOrdersThePolicyDoesNotKnow() {
+        OrderProduction written = received(7L, 0, 5);
+        OrderProduction preparing = new OrderProduction(8L, ProductionStatus.IN_PREPARATION, TEST_TIME, null, "Customer 8");
+
+        assertNull(standing.position(7L, ProductionStatus.RECEIVED));
+        standing.admit(written);
+        standing.admit(preparing);
+
+        assertEquals(1, standing.position(7L, ProductionStatus.RECEIVED));
+        assertNull(policy.rank(8L));
+    }
+
+    private static OrderProduction received(Long orderId, int minute, Integer estimatedMinutes) {
+        OrderProduction order = new OrderProduction(orderId, ProductionStatus.RECEIVED, TEST_TIME.plusMinutes(minute), null, "Customer " + orderId);
+        order.setEstimatedMinutes(estimatedMinutes);
+        return order;
+    }
+}
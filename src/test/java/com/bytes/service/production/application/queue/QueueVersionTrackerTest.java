@@ -0,0 +1,119 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueueVersionTrackerTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private AtomicLong clock;
+    private QueueVersionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(Duration.ofDays(20000).toMillis());
+        tracker = new QueueVersionTracker(clock::get, 10000);
+    }
+
+    @Test
+    void shouldBumpQueueAndOrderVersionWhenOrderIsQueued() {
+        tracker.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"));
+
+        assertEquals(1, tracker.queueVersion());
+        assertEquals(1, tracker.orderVersion(1L));
+        assertEquals(0, tracker.orderVersion(2L));
+    }
+
+    @Test
+    void shouldChangeOnlyOrderTagWhenTransitionIsOutsideTheQueue() {
+        tracker.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME);
+        String queueTag = tracker.queueTag();
+        String orderTag = tracker.orderTag(1L);
+
+        tracker.statusChanged(1L, ProductionStatus.READY, ProductionStatus.FINISHED, TEST_TIME);
+
+        assertEquals(queueTag, tracker.queueTag());
+        assertNotEquals(orderTag, tracker.orderTag(1L));
+    }
+
+    @Test
+    void shouldKeepSettledOrderTagsWhenOneOrderChanges() {
+        tracker.statusChanged(2L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME);
+        tracker.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+        String otherTag = tracker.orderTag(2L);
+
+        tracker.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME);
+
+        assertEquals(otherTag, tracker.orderTag(2L));
+    }
+
+    @Test
+    void shouldChangeActiveOrderTagWhenQueueMoves() {
+        tracker.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"));
+        tracker.orderQueued(new OrderProduction(2L, ProductionStatus.RECEIVED, TEST_TIME, 2, "Jane Smith"));
+        String activeTag = tracker.orderTag(2L);
+
+        tracker.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, TEST_TIME);
+
+        assertNotEquals(activeTag, tracker.orderTag(2L));
+    }
+
+    @Test
+    void shouldChangeQueueAndActiveOrderTagsWhenQueueIsReplayed() {
+        tracker.orderQueued(new OrderProduction(1L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"));
+        tracker.statusChanged(2L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME);
+        String queueTag = tracker.queueTag();
+        String activeTag = tracker.orderTag(1L);
+        String settledTag = tracker.orderTag(2L);
+
+        tracker.queueReplayed();
+
+        assertNotEquals(queueTag, tracker.queueTag());
+        assertNotEquals(activeTag, tracker.orderTag(1L));
+        assertEquals(settledTag, tracker.orderTag(2L));
+    }
+
+    @Test
+    void shouldChangeQueueTagWhenTheMinuteTurnsButNotWithinIt() {
+        String queueTag = tracker.queueTag();
+
+        clock.addAndGet(Duration.ofSeconds(59).toMillis());
+        assertEquals(queueTag, tracker.queueTag());
+
+        clock.addAndGet(Duration.ofSeconds(1).toMillis());
+        assertNotEquals(queueTag, tracker.queueTag());
+    }
+
+    @Test
+    void shouldForgetOrdersThatSettledLongestAgoOnceTheLimitIsReached() {
+        QueueVersionTracker bounded = new QueueVersionTracker(clock::get, 2);
+        bounded.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME);
+        bounded.statusChanged(2L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME);
+        bounded.statusChanged(1L, ProductionStatus.READY, ProductionStatus.FINISHED, TEST_TIME);
+        String recentTag = bounded.orderTag(1L);
+
+        bounded.statusChanged(3L, ProductionStatus.IN_PREPARATION, ProductionStatus.CANCELLED, TEST_TIME);
+
+        assertEquals(0, bounded.orderVersion(2L));
+        assertTrue(bounded.orderTag(2L).contains("-q"));
+        assertEquals(recentTag, bounded.orderTag(1L));
+        assertEquals(3, bounded.orderVersion(1L));
+        assertEquals(4, bounded.orderVersion(3L));
+    }
+
+    @Test
+    void shouldProduceQuotedTags() {
+        assertTrue(tracker.queueTag().startsWith("\"q-"));
+        assertTrue(tracker.orderTag(7L).startsWith("\"o-"));
+        assertTrue(tracker.orderTag(7L).endsWith("-7-0\""));
+    }
+}
@@ -0,0 +1,67 @@
+package com.bytes.service.production.application.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankedSetTest {
+
+    @Test
+    void shouldRankElementsInComparatorOrder() {
+        RankedSet<Integer> set = new RankedSet<>(Comparator.naturalOrder());
+        set.add(30);
+        set.add(10);
+        set.add(20);
+
+        assertEquals(1, set.rank(10));
+        assertEquals(2, set.rank(20));
+        assertEquals(3, set.rank(30));
+        assertEquals(0, set.rank(15));
+        assertEquals(List.of(10, 20, 30), toList(set));
+    }
+
+    @Test
+    void shouldIgnoreDuplicatesAndUnknownRemovals() {
+        RankedSet<Integer> set = new RankedSet<>(Comparator.naturalOrder());
+
+        assertTrue(set.add(1));
+        assertFalse(set.add(1));
+        assertFalse(set.remove(2));
+        assertTrue(set.remove(1));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void shouldMatchASortedSetUnderRandomChanges() {
+        RankedSet<Integer> set = new RankedSet<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(500);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value));
+            } else {
+                assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        assertEquals(new ArrayList<>(expected), toList(set));
+        for (Integer value : expected) {
+            assertEquals(expected.headSet(value).size() + 1, set.rank(value));
+        }
+    }
+
+    private static List<Integer> toList(RankedSet<Integer> set) {
+        List<Integer> values = new ArrayList<>();
+        set.forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,87 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestJobFirstPolicyTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private final PreparationTimeEstimator estimator = new PreparationTimeEstimator(0.2, Duration.ofMinutes(10));
+
+    @Test
+    void shouldServeShortestOrderFirstWithoutAging() {
+        ShortestJobFirstPolicy policy = new ShortestJobFirstPolicy(estimator, 0);
+        OrderProduction large = received(1L, 0, 20);
+        OrderProduction small = received(2L, 1, 2);
+        OrderProduction medium = received(3L, 2, 8);
+        List.of(large, small, medium).forEach(policy::orderQueued);
+
+        assertEquals(List.of(2L, 3L, 1L), ids(policy.order(List.of(large, small, medium))));
+    }
+
+    @Test
+    void shouldLetLongWaitingOrdersOvertakeNewShortOnes() {
+        ShortestJobFirstPolicy policy = new ShortestJobFirstPolicy(estimator, 1.0);
+        OrderProduction large = received(1L, 0, 20);
+        OrderProduction smallSoon = received(2L, 10, 2);
+        OrderProduction smallLate = received(3L, 30, 2);
+        List.of(large, smallSoon, smallLate).forEach(policy::orderQueued);
+
+        // 20 + 0 < 2 + 30, mas 20 + 0 > 2 + 10
+        assertEquals(List.of(2L, 1L, 3L), ids(policy.order(List.of(large, smallSoon, smallLate))));
+    }
+
+    @Test
+    void shouldUseCurrentAverageWhenOrderHasNoEstimate() {
+        ShortestJobFirstPolicy policy = new ShortestJobFirstPolicy(estimator, 0);
+        OrderProduction unknown = received(1L, 0, null);
+        OrderProduction shorter = received(2L, 1, 5);
+        OrderProduction longer = received(3L, 2, 15);
+        List.of(unknown, shorter, longer).forEach(policy::orderQueued);
+
+        assertEquals(List.of(2L, 1L, 3L), ids(policy.order(List.of(unknown, shorter, longer))));
+    }
+
+    @Test
+    void shouldRankOrdersLikeTheServedOrder() {
+        ShortestJobFirstPolicy policy = new ShortestJobFirstPolicy(estimator, 0);
+        OrderProduction large = received(1L, 0, 20);
+        OrderProduction small = received(2L, 1, 2);
+        OrderProduction medium = received(3L, 2, 8);
+        List.of(large, small, medium).forEach(policy::orderQueued);
+
+        assertEquals(1, policy.rank(2L));
+        assertEquals(2, policy.rank(3L));
+        assertEquals(3, policy.rank(1L));
+
+        policy.statusChanged(2L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+
+        assertNull(policy.rank(2L));
+        assertEquals(1, policy.rank(3L));
+        assertNull(policy.rank(99L));
+    }
+
+    @Test
+    void shouldRejectNegativeAgingRate() {
+        assertThrows(IllegalArgumentException.class, () -> new ShortestJobFirstPolicy(estimator, -0.1));
+    }
+
+    private static OrderProduction received(Long orderId, int minute, Integer estimatedMinutes) {
+        OrderProduction order = new OrderProduction(orderId, ProductionStatus.RECEIVED, TEST_TIME.plusMinutes(minute), null, "Customer " + orderId);
+        order.setEstimatedMinutes(estimatedMinutes);
+        return order;
+    }
+
+    private static List<Long> ids(List<OrderProduction> orders) {
+        return orders.stream().map(OrderProduction::getOrderId).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package com.bytes.service.production.application.queue;
+
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.domain.models.OrderChannel;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedFairPolicyTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private final PreparationTimeEstimator estimator = new PreparationTimeEstimator(0.2, Duration.ofMinutes(10));
+
+    @Test
+    void shouldNotLetABusyChannelStarveTheOthers() {
+        WeightedFairPolicy policy = new WeightedFairPolicy(estimator, Map.of());
+        List<OrderProduction> waiting = new ArrayList<>();
+        for (long orderId = 1; orderId <= 4; orderId++) {
+            waiting.add(received(orderId, OrderChannel.KIOSK));
+        }
+        waiting.add(received(5L, OrderChannel.APP));
+        waiting.forEach(policy::orderQueued);
+
+        assertEquals(List.of(1L, 5L, 2L, 3L, 4L), ids(policy.order(waiting)));
+    }
+
+    @Test
+    void shouldServeChannelsInProportionToTheirWeights() {
+        WeightedFairPolicy policy = new WeightedFairPolicy(estimator, Map.of(OrderChannel.DELIVERY, 2.0));
+        List<OrderProduction> waiting = new ArrayList<>();
+        for (long orderId = 1; orderId <= 3; orderId++) {
+            waiting.add(received(orderId, OrderChannel.KIOSK));
+        }
+        for (long orderId = 11; orderId <= 14; orderId++) {
+            waiting.add(received(orderId, OrderChannel.DELIVERY));
+        }
+        waiting.forEach(policy::orderQueued);
+
+        // Entrega com peso 2 termina em 5, 10, 15, 20; quiosque em 10, 20, 30
+        assertEquals(List.of(11L, 1L, 12L, 13L, 2L, 14L, 3L), ids(policy.order(waiting)));
+    }
+
+    @Test
+    void shouldNotBankCreditForAnIdleChannel() {
+        WeightedFairPolicy policy = new WeightedFairPolicy(estimator, Map.of());
+        List<OrderProduction> first = List.of(received(1L, OrderChannel.KIOSK), received(2L, OrderChannel.KIOSK),
+                received(3L, OrderChannel.KIOSK), received(4L, OrderChannel.APP));
+        first.forEach(policy::orderQueued);
+        for (OrderProduction order : policy.order(first)) {
+            policy.statusChanged(order.getOrderId(), ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+        }
+
+        List<OrderProduction> second = List.of(received(5L, OrderChannel.KIOSK), received(6L, OrderChannel.APP),
+                received(7L, OrderChannel.APP));
+        second.forEach(policy::orderQueued);
+
+        // O aplicativo ficou parado enquanto o quiosque trabalhava; volta a disputar a partir do tempo virtual atual
+        assertEquals(List.of(5L, 6L, 7L), ids(policy.order(second)));
+    }
+
+    @Test
+    void shouldTreatMissingChannelAsKiosk() {
+        WeightedFairPolicy policy = new WeightedFairPolicy(estimator, Map.of());
+        List<OrderProduction> waiting = List.of(received(1L, null), received(2L, OrderChannel.KIOSK), received(3L, OrderChannel.APP));
+        waiting.forEach(policy::orderQueued);
+
+        assertEquals(List.of(1L, 3L, 2L), ids(policy.order(waiting)));
+    }
+
+    @Test
+    void shouldNotChargeAChannelTwiceWhenASnapshotMissesAnOrder() {
+        WeightedFairPolicy policy = new WeightedFairPolicy(estimator, Map.of());
+        OrderProduction first = received(1L, OrderChannel.KIOSK);
+        OrderProduction second = received(2L, OrderChannel.KIOSK);
+        OrderProduction third = received(3L, OrderChannel.APP);
+        List.of(first, second, third).forEach(policy::orderQueued);
+
+        policy.order(List.of(second, third));
+
+        assertEquals(List.of(1L, 3L, 2L), ids(policy.order(List.of(first, second, third))));
+    }
+
+    @Test
+    void shouldRejectNonPositiveWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new WeightedFairPolicy(estimator, Map.of(OrderChannel.APP, 0.0)));
+    }
+
+    private static OrderProduction received(Long orderId, OrderChannel channel) {
+        OrderProduction order = new OrderProduction(orderId, ProductionStatus.RECEIVED, TEST_TIME.plusMinutes(orderId), null, "Customer " + orderId);
+        order.setChannel(channel);
+        order.setEstimatedMinutes(10);
+        return order;
+    }
+
+    private static List<Long> ids(List<OrderProduction> orders) {
+        return orders.stream().map(OrderProduction::getOrderId).toList();
+    }
+}
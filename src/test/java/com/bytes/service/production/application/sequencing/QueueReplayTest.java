@@ -0,0 +1,52 @@
+package com.bytes.service.production.application.sequencing;
+
+import com.bytes.service.production.application.queue.QueueDeltaFeed;
+import com.bytes.service.production.application.queue.QueueVersionTracker;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.QueueDeltaType;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueueReplayTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private QueueDeltaFeed feed;
+    private QueueVersionTracker versions;
+    private List<String> steps;
+    private QueueReplay replay;
+
+    @BeforeEach
+    void setUp() {
+        feed = new QueueDeltaFeed(new ProductionOrderMapper(), 16);
+        versions = new QueueVersionTracker(10000);
+        steps = new ArrayList<>();
+        feed.subscribe(delta -> steps.add("delta " + delta.getType() + " at q" + versions.queueVersion()));
+        replay = new QueueReplay(orders -> steps.add("resequence " + orders.stream().map(OrderProduction::getOrderId).toList()), feed, versions);
+    }
+
+    @Test
+    void shouldResequenceThenPublishDeltasThenBumpQueueVersion() {
+        long mark = replay.mark();
+
+        replay.replay(List.of(new OrderProduction(5L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe")), mark);
+
+        assertEquals(List.of("resequence [5]", "delta " + QueueDeltaType.INSERT + " at q0"), steps);
+        assertEquals(1L, versions.queueVersion());
+    }
+
+    @Test
+    void shouldMarkWithCurrentFeedSequence() {
+        feed.orderQueued(new OrderProduction(5L, ProductionStatus.RECEIVED, TEST_TIME, 1, "John Doe"));
+
+        assertEquals(feed.currentSequence(), replay.mark());
+    }
+}
@@ -0,0 +1,179 @@
+package com.bytes.service.production.application.sequencing;
+
+import com.bytes.service.production.application.queue.QueueReplayListener;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.QueueSequencingPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueueSequencerTest {
+
+    private static final Duration TTL = Duration.ofSeconds(10);
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private QueueSequencingPort sequencing;
+
+    @Mock
+    private QueueReplayListener replayListener;
+
+    private QueueSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        sequencer = new QueueSequencer(sequencing, "node-a", TTL, List.of(replayListener), Thread.ofPlatform().daemon().factory());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.close();
+    }
+
+    @Test
+    void shouldSequenceAndReplayWhenLeading() {
+        List<OrderProduction> queue = List.of(order(10L, ProductionStatus.RECEIVED), order(20L, ProductionStatus.RECEIVED));
+        when(sequencing.tryAcquireLease("node-a", TTL)).thenReturn(OptionalLong.of(3));
+        when(sequencing.assignSequences("node-a", 3)).thenReturn(OptionalInt.of(2));
+        when(sequencing.activeOrdersInQueueOrder()).thenReturn(queue);
+
+        sequencer.tick();
+
+        assertTrue(sequencer.isLeader());
+        verify(replayListener).replay(queue, 0L);
+    }
+
+    @Test
+    void shouldOnlyReplayWhenFollowing() {
+        List<OrderProduction> queue = List.of(order(10L, ProductionStatus.RECEIVED));
+        when(sequencing.tryAcquireLease("node-a", TTL)).thenReturn(OptionalLong.empty());
+        when(sequencing.activeOrdersInQueueOrder()).thenReturn(queue);
+
+        sequencer.tick();
+
+        assertFalse(sequencer.isLeader());
+        verify(sequencing, never()).assignSequences(any(), anyLong());
+        verify(replayListener).replay(queue, 0L);
+    }
+
+    @Test
+    void shouldSkipReplayWhenQueueOrderIsUnchanged() {
+        List<OrderProduction> first = List.of(order(10L, ProductionStatus.RECEIVED));
+        List<OrderProduction> same = List.of(order(10L, ProductionStatus.RECEIVED));
+        List<OrderProduction> grown = List.of(order(10L, ProductionStatus.RECEIVED), order(20L, ProductionStatus.RECEIVED));
+        when(sequencing.tryAcquireLease("node-a", TTL)).thenReturn(OptionalLong.empty());
+        when(sequencing.activeOrdersInQueueOrder()).thenReturn(first).thenReturn(same).thenReturn(grown);
+
+        sequencer.tick();
+        sequencer.tick();
+        sequencer.tick();
+
+        verify(replayListener).replay(first, 0L);
+        verify(replayListener).replay(grown, 0L);
+        verify(replayListener, times(2)).replay(any(), anyLong());
+    }
+
+    @Test
+    void shouldReplayWhenAnotherInstanceChangesAStatus() {
+        List<OrderProduction> received = List.of(order(10L, ProductionStatus.RECEIVED));
+        List<OrderProduction> preparing = List.of(order(10L, ProductionStatus.IN_PREPARATION));
+        when(sequencing.tryAcquireLease("node-a", TTL)).thenReturn(OptionalLong.empty());
+        when(sequencing.activeOrdersInQueueOrder()).thenReturn(received).thenReturn(preparing);
+
+        sequencer.tick();
+        sequencer.tick();
+
+        verify(replayListener).replay(received, 0L);
+        verify(replayListener).replay(preparing, 0L);
+    }
+
+    @Test
+    void shouldTakeReplayMarkBeforeReadingTheQueue() {
+        List<OrderProduction> queue = List.of(order(10L, ProductionStatus.RECEIVED));
+        when(sequencing.tryAcquireLease("node-a", TTL)).thenReturn(OptionalLong.empty());
+        when(replayListener.mark()).thenReturn(7L);
+        when(sequencing.activeOrdersInQueueOrder()).thenReturn(queue);
+
+        sequencer.tick();
+
+        InOrder inOrder = inOrder(replayListener, sequencing);
+        inOrder.verify(replayListener).mark();
+        inOrder.verify(sequencing).activeOrdersInQueueOrder();
+        inOrder.verify(replayListener).replay(queue, 7L);
+    }
+
+    @Test
+    void shouldStepDownWhenFencedOut() {
+        when(sequencing.tryAcquireLease("node-a", TTL)).thenReturn(OptionalLong.of(1));
+        when(sequencing.assignSequences("node-a", 1L)).thenReturn(OptionalInt.of(0), OptionalInt.empty());
+        when(sequencing.activeOrdersInQueueOrder()).thenReturn(List.of());
+
+        sequencer.tick();
+        assertTrue(sequencer.isLeader());
+        sequencer.tick();
+
+        assertFalse(sequencer.isLeader());
+        sequencer.close();
+        verify(sequencing, never()).releaseLease(any());
+    }
+
+    @Test
+    void shouldReleaseLeaseOnCloseWhenLeading() {
+        when(sequencing.tryAcquireLease("node-a", TTL)).thenReturn(OptionalLong.of(1));
+        when(sequencing.assignSequences("node-a", 1)).thenReturn(OptionalInt.of(0));
+        when(sequencing.activeOrdersInQueueOrder()).thenReturn(List.of());
+        sequencer.tick();
+
+        sequencer.close();
+
+        verify(sequencing).releaseLease("node-a");
+        assertFalse(sequencer.isLeader());
+    }
+
+    @Test
+    void shouldReleaseLeaseAndStopPollingOnStop() throws Exception {
+        when(sequencing.tryAcquireLease("node-a", TTL)).thenReturn(OptionalLong.of(1));
+        when(sequencing.assignSequences("node-a", 1)).thenReturn(OptionalInt.of(0));
+        when(sequencing.activeOrdersInQueueOrder()).thenReturn(List.of());
+        sequencer.start(Duration.ofMillis(10));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!sequencer.isLeader() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        sequencer.stop();
+
+        assertFalse(sequencer.isRunning());
+        assertFalse(sequencer.isLeader());
+        verify(sequencing).releaseLease("node-a");
+        clearInvocations(sequencing);
+        Thread.sleep(50);
+        verifyNoInteractions(sequencing);
+    }
+
+    @Test
+    void shouldRejectIntervalNotShorterThanLeaseTtl() {
+        assertThrows(IllegalArgumentException.class, () -> sequencer.start(TTL));
+    }
+
+    private static OrderProduction order(Long orderId, ProductionStatus status) {
+        return new OrderProduction(orderId, status, TEST_TIME.plusSeconds(orderId), null, "Customer " + orderId);
+    }
+}
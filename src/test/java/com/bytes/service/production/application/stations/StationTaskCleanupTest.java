@@ -0,0 +1,54 @@
+package com.bytes.service.production.application.stations;
+
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.StationTaskPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StationTaskCleanupTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private StationTaskPort stationTasks;
+
+    private StationTaskCleanup cleanup;
+
+    @BeforeEach
+    void setUp() {
+        cleanup = new StationTaskCleanup(stationTasks);
+    }
+
+    @Test
+    void shouldDropStationTasksOfCancelledOrder() {
+        cleanup.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.CANCELLED, TEST_TIME);
+
+        verify(stationTasks).deleteByOrderId(1L);
+    }
+
+    @Test
+    void shouldCloseOpenStationTasksWhenOrderLeavesProduction() {
+        cleanup.statusChanged(1L, ProductionStatus.IN_PREPARATION, ProductionStatus.READY, TEST_TIME);
+        cleanup.statusChanged(2L, ProductionStatus.READY, ProductionStatus.FINISHED, TEST_TIME);
+
+        verify(stationTasks).closeOpenByOrderId(1L, TEST_TIME);
+        verify(stationTasks).closeOpenByOrderId(2L, TEST_TIME);
+        verify(stationTasks, never()).deleteByOrderId(any());
+    }
+
+    @Test
+    void shouldKeepStationTasksWhilePreparing() {
+        cleanup.statusChanged(1L, ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION, TEST_TIME);
+
+        verifyNoInteractions(stationTasks);
+    }
+}
@@ -1,5 +1,8 @@
 package com.bytes.service.production.application.useCases;
 
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.application.queue.FifoOrderingPolicy;
+import com.bytes.service.production.application.queue.ShortestJobFirstPolicy;
 import com.bytes.service.production.domain.models.OrderProduction;
 import com.bytes.service.production.domain.models.ProductionQueue;
 import com.bytes.service.production.domain.models.ProductionStatus;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -29,11 +33,13 @@ class GetActiveOrdersUseCaseTest {
     @Mock
     private OrderProductionRepositoryPort repository;
 
+    private final PreparationTimeEstimator estimator = new PreparationTimeEstimator(0.2, Duration.ofMinutes(10));
+
     private GetActiveOrdersUseCase getActiveOrdersUseCase;
 
     @BeforeEach
     void setUp() {
-        getActiveOrdersUseCase = new GetActiveOrdersUseCase(orderMapper, repository);
+        getActiveOrdersUseCase = new GetActiveOrdersUseCase(orderMapper, repository, estimator, new FifoOrderingPolicy());
     }
 
     @Test
@@ -128,9 +134,46 @@ class GetActiveOrdersUseCaseTest {
         assertEquals(1L, result.get(2).getOrderId());
     }
 
+    @Test
+    void shouldFillWaitingTimeFromQueueDepthAndPreparationEstimate() {
+        LocalDateTime now = LocalDateTime.now();
+        OrderProduction preparing = new OrderProduction(1L, ProductionStatus.IN_PREPARATION, now.minusMinutes(10), 1, "Preparing");
+        preparing.setUpdatedAt(now.minusMinutes(4));
+        OrderProduction waiting = new OrderProduction(2L, ProductionStatus.RECEIVED, now, 2, "Waiting");
+        ProductionOrderMapper mapper = new ProductionOrderMapper();
+
+        when(repository.findByStatusIn(any())).thenReturn(List.of(preparing, waiting));
+
+        List<ProductionQueue> result = new GetActiveOrdersUseCase(mapper, repository, estimator, new FifoOrderingPolicy()).execute();
+
+        // Preparo padrão de 10 minutos: o primeiro já gastou 4, o segundo espera um pedido e o próprio preparo
+        assertEquals(6L, result.get(0).getWaitingTimeMinutes());
+        assertEquals(20L, result.get(1).getWaitingTimeMinutes());
+    }
+
+    @Test
+    void shouldListWaitingOrdersInPolicyOrderAndRenumberPositions() {
+        LocalDateTime now = LocalDateTime.now();
+        OrderProduction preparing = new OrderProduction(1L, ProductionStatus.IN_PREPARATION, now.minusMinutes(3), 1, "Preparing");
+        OrderProduction large = new OrderProduction(2L, ProductionStatus.RECEIVED, now.minusMinutes(2), 2, "Large");
+        large.setEstimatedMinutes(20);
+        OrderProduction small = new OrderProduction(3L, ProductionStatus.RECEIVED, now.minusMinutes(1), 3, "Small");
+        small.setEstimatedMinutes(2);
+
+        when(repository.findByStatusIn(any())).thenReturn(List.of(preparing, large, small));
+
+        List<ProductionQueue> result = new GetActiveOrdersUseCase(new ProductionOrderMapper(), repository, estimator,
+                new ShortestJobFirstPolicy(estimator, 0)).execute();
+
+        assertEquals(List.of(1L, 3L, 2L), result.stream().map(ProductionQueue::getOrderId).toList());
+        assertEquals(List.of(1, 2, 3), result.stream().map(ProductionQueue::getQueuePosition).toList());
+        // O pedido grande agora espera dois pedidos à frente
+        assertEquals(30L, result.get(2).getWaitingTimeMinutes());
+    }
+
     @Test
     void shouldConstructUseCaseWithDependencies() {
-        GetActiveOrdersUseCase useCase = new GetActiveOrdersUseCase(orderMapper, repository);
+        GetActiveOrdersUseCase useCase = new GetActiveOrdersUseCase(orderMapper, repository, estimator, new FifoOrderingPolicy());
         assertNotNull(useCase);
     }
 
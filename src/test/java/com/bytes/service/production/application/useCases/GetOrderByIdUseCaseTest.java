@@ -2,6 +2,7 @@ package com.bytes.service.production.application.useCases;
 
 import com.bytes.service.production.domain.models.OrderProduction;
 import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
 import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
 import com.bytes.service.production.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,11 +24,14 @@ class GetOrderByIdUseCaseTest {
     @Mock
     private OrderProductionRepositoryPort repository;
 
+    @Mock
+    private OrderArchivePort archive;
+
     private GetOrderByIdUseCase getOrderByIdUseCase;
 
     @BeforeEach
     void setUp() {
-        getOrderByIdUseCase = new GetOrderByIdUseCase(repository);
+        getOrderByIdUseCase = new GetOrderByIdUseCase(repository, archive);
     }
 
     @Test
@@ -138,9 +142,39 @@ class GetOrderByIdUseCaseTest {
         verify(repository).findByOrderId(eq(orderId));
     }
 
+    @Test
+    void shouldFallBackToArchiveWhenOrderLeftHotTable() {
+        Long orderId = 789L;
+        OrderProduction archived = new OrderProduction(
+                orderId, ProductionStatus.FINISHED, LocalDateTime.of(2024, 1, 1, 10, 0), null, "Archived Customer"
+        );
+
+        when(repository.findByOrderId(eq(orderId))).thenReturn(Optional.empty());
+        when(archive.findByOrderId(eq(orderId))).thenReturn(Optional.of(archived));
+
+        OrderProduction result = getOrderByIdUseCase.execute(orderId);
+
+        assertSame(archived, result);
+        verify(archive).findByOrderId(eq(orderId));
+    }
+
+    @Test
+    void shouldNotQueryArchiveWhenOrderIsActive() {
+        Long orderId = 790L;
+        OrderProduction active = new OrderProduction(
+                orderId, ProductionStatus.RECEIVED, LocalDateTime.of(2024, 1, 1, 10, 0), 1, "Active Customer"
+        );
+
+        when(repository.findByOrderId(eq(orderId))).thenReturn(Optional.of(active));
+
+        getOrderByIdUseCase.execute(orderId);
+
+        verifyNoInteractions(archive);
+    }
+
     @Test
     void shouldConstructUseCaseWithRepository() {
-        GetOrderByIdUseCase useCase = new GetOrderByIdUseCase(repository);
+        GetOrderByIdUseCase useCase = new GetOrderByIdUseCase(repository, archive);
         assertNotNull(useCase);
     }
 }
\ No newline at end of file
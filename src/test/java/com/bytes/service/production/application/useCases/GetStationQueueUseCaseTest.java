@@ -0,0 +1,51 @@
+package com.bytes.service.production.application.useCases;
+
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryStationTaskRepository;
+import com.bytes.service.production.domain.models.ProductionItem;
+import com.bytes.service.production.domain.models.StationTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GetStationQueueUseCaseTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private InMemoryStationTaskRepository stationTasks;
+    private GetStationQueueUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        stationTasks = new InMemoryStationTaskRepository();
+        useCase = new GetStationQueueUseCase(stationTasks);
+    }
+
+    @Test
+    void shouldNumberEachStationIndependently() {
+        List<StationTask> tasks = new ArrayList<>();
+        tasks.addAll(StationTask.splitByStation(1L, List.of(new ProductionItem("Burger", 1, "grill", null)), TEST_TIME));
+        tasks.addAll(StationTask.splitByStation(2L, List.of(
+                new ProductionItem("Fries", 1, "fryer", null),
+                new ProductionItem("Burger", 1, "grill", null)
+        ), TEST_TIME.plusMinutes(1)));
+        stationTasks.saveAll(tasks);
+
+        List<StationTask> grill = useCase.execute("grill");
+        List<StationTask> fryer = useCase.execute("FRYER");
+
+        assertEquals(List.of(1L, 2L), grill.stream().map(StationTask::getOrderId).toList());
+        assertEquals(List.of(1, 2), grill.stream().map(StationTask::getPositionInQueue).toList());
+        assertEquals(List.of(2L), fryer.stream().map(StationTask::getOrderId).toList());
+        assertEquals(1, fryer.get(0).getPositionInQueue());
+    }
+
+    @Test
+    void shouldReturnEmptyQueueForUnknownStation() {
+        assertTrue(useCase.execute("pizza").isEmpty());
+    }
+}
@@ -0,0 +1,106 @@
+package com.bytes.service.production.application.useCases;
+
+import com.bytes.service.production.adapters.inbound.dtos.OrderPageDTO;
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryOrderProductionRepository;
+import com.bytes.service.production.domain.models.OrderCursor;
+import com.bytes.service.production.domain.models.OrderPageQuery;
+import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionQueue;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListOrdersUseCaseTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private OrderArchivePort archive;
+
+    private InMemoryOrderProductionRepository repository;
+    private ListOrdersUseCase listOrdersUseCase;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOrderProductionRepository();
+        listOrdersUseCase = new ListOrdersUseCase(new ProductionOrderMapper(), repository, archive);
+    }
+
+    @Test
+    void shouldWalkAllPagesInStartOrderWithoutRepeatingOrders() {
+        for (long orderId = 1; orderId <= 7; orderId++) {
+            // Dois pedidos por segundo para exercitar o desempate pelo id
+            repository.save(order(orderId, ProductionStatus.RECEIVED, TEST_TIME.plusSeconds(orderId / 2)));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        OrderCursor cursor = null;
+        int pages = 0;
+        do {
+            OrderPageDTO page = listOrdersUseCase.execute(new OrderPageQuery(List.of(ProductionStatus.RECEIVED), null, null, cursor, 3));
+            page.getItems().forEach(item -> seen.add(item.getOrderId()));
+            cursor = page.getNextCursor() == null ? null : OrderCursor.fromToken(page.getNextCursor());
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), seen);
+        assertEquals(3, pages);
+        verifyNoInteractions(archive);
+    }
+
+    @Test
+    void shouldFilterByStatusAndStartTimeRange() {
+        repository.save(order(1L, ProductionStatus.READY, TEST_TIME));
+        repository.save(order(2L, ProductionStatus.READY, TEST_TIME.plusMinutes(10)));
+        repository.save(order(3L, ProductionStatus.RECEIVED, TEST_TIME.plusMinutes(10)));
+        repository.save(order(4L, ProductionStatus.READY, TEST_TIME.plusMinutes(20)));
+
+        OrderPageDTO page = listOrdersUseCase.execute(new OrderPageQuery(
+                List.of(ProductionStatus.READY), TEST_TIME.plusMinutes(5), TEST_TIME.plusMinutes(20), null, 10));
+
+        assertEquals(List.of(2L), page.getItems().stream().map(ProductionQueue::getOrderId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldMergeArchivedOrdersWhenTerminalStatusesAreRequested() {
+        repository.save(order(1L, ProductionStatus.FINISHED, TEST_TIME.plusMinutes(2)));
+        OrderProduction archived = order(2L, ProductionStatus.FINISHED, TEST_TIME.plusMinutes(1));
+        archived.setId(100L);
+        // Arquivado entre as duas leituras: aparece nas duas fontes
+        OrderProduction movedMeanwhile = repository.findByOrderId(1L).orElseThrow();
+
+        when(archive.findPage(any())).thenReturn(List.of(archived, movedMeanwhile));
+
+        OrderPageDTO page = listOrdersUseCase.execute(new OrderPageQuery(List.of(ProductionStatus.FINISHED), null, null, null, 10));
+
+        assertEquals(List.of(2L, 1L), page.getItems().stream().map(ProductionQueue::getOrderId).toList());
+    }
+
+    @Test
+    void shouldAskEachSourceForOneExtraOrder() {
+        when(archive.findPage(any())).thenReturn(List.of());
+
+        listOrdersUseCase.execute(new OrderPageQuery(List.of(), null, null, null, 25));
+
+        verify(archive).findPage(argThat(query -> query.getLimit() == 26));
+    }
+
+    private OrderProduction order(Long orderId, ProductionStatus status, LocalDateTime startedAt) {
+        return new OrderProduction(orderId, status, startedAt, null, "Customer " + orderId);
+    }
+}
@@ -1,17 +1,39 @@
 package com.bytes.service.production.application.useCases;
 
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryOrderProductionRepository;
+import com.bytes.service.production.adapters.outbound.persistence.IndexedOrderProductionRepository;
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.domain.models.IntakeResult;
+import com.bytes.service.production.domain.models.OrderChannel;
+import com.bytes.service.production.domain.models.OrderIntake;
 import com.bytes.service.production.domain.models.OrderProduction;
+import com.bytes.service.production.domain.models.ProductionItem;
 import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.ports.outbound.OrderArchivePort;
 import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+import com.bytes.service.production.domain.ports.outbound.StationTaskPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,11 +46,29 @@ class StartOrderUseCaseTest {
     @Mock
     private OrderProductionRepositoryPort repository;
 
+    @Mock
+    private ProductionEventPort events;
+
+    @Mock
+    private StationTaskPort stationTasks;
+
+    @Mock
+    private OrderArchivePort archive;
+
+    @Captor
+    private ArgumentCaptor<List<StationTask>> tasksCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<OrderProduction>> ordersCaptor;
+
+    private PreparationTimeEstimator estimator;
+
     private StartOrderUseCase startOrderUseCase;
 
     @BeforeEach
     void setUp() {
-        startOrderUseCase = new StartOrderUseCase(repository);
+        estimator = new PreparationTimeEstimator(1.0, Duration.ofMinutes(10));
+        startOrderUseCase = new StartOrderUseCase(repository, events, stationTasks, estimator, archive);
     }
 
     @Test
@@ -36,26 +76,23 @@ class StartOrderUseCaseTest {
         Long orderId = 123L;
         String customerName = "John Doe";
         
-        when(repository.existsByOrderId(eq(orderId))).thenReturn(false);
-        when(repository.countByStatusIn(eq(List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION))))
-                .thenReturn(2);
+        when(repository.insertIfAbsent(any())).thenReturn(true);
 
-        startOrderUseCase.execute(orderId, customerName);
+        assertEquals(IntakeResult.CREATED, startOrderUseCase.execute(new OrderIntake(orderId, customerName)));
 
         ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository).save(orderCaptor.capture());
+        verify(repository).insertIfAbsent(orderCaptor.capture());
 
         OrderProduction savedOrder = orderCaptor.getValue();
         assertNotNull(savedOrder);
         assertEquals(orderId, savedOrder.getOrderId());
         assertEquals(customerName, savedOrder.getCustomerName());
         assertEquals(ProductionStatus.RECEIVED, savedOrder.getStatus());
-        assertEquals(3, savedOrder.getPositionInQueue());
         assertNotNull(savedOrder.getStartedAt());
         assertTrue(savedOrder.getStartedAt().isBefore(LocalDateTime.now().plusSeconds(1)));
 
-        verify(repository).existsByOrderId(eq(orderId));
-        verify(repository).countByStatusIn(eq(List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION)));
+        verify(repository, never()).existsByOrderId(any());
+        verify(repository, never()).save(any());
     }
 
     @Test
@@ -63,49 +100,106 @@ class StartOrderUseCaseTest {
         Long orderId = 456L;
         String customerName = "Jane Smith";
 
-        when(repository.existsByOrderId(eq(orderId))).thenReturn(true);
+        when(repository.insertIfAbsent(any())).thenReturn(false);
 
-        startOrderUseCase.execute(orderId, customerName);
+        assertEquals(IntakeResult.DUPLICATE, startOrderUseCase.execute(new OrderIntake(orderId, customerName)));
 
-        verify(repository).existsByOrderId(eq(orderId));
+        verify(repository).insertIfAbsent(any());
+        verify(repository, never()).existsByOrderId(any());
         verify(repository, never()).countByStatusIn(any());
-        verify(repository, never()).save(any());
+        verifyNoInteractions(events);
     }
 
     @Test
-    void shouldSetCorrectPositionWhenNoActiveOrders() {
+    void shouldPublishQueuedEventAfterSaving() {
+        Long orderId = 444L;
+
+        when(repository.insertIfAbsent(any())).thenReturn(true);
+
+        startOrderUseCase.execute(new OrderIntake(orderId, "Edward Stark"));
+
+        ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
+        var inOrder = inOrder(repository, events);
+        inOrder.verify(repository).insertIfAbsent(orderCaptor.capture());
+        inOrder.verify(events).orderQueued(orderCaptor.getValue());
+    }
+
+    @Test
+    void shouldLeavePositionAllocationToTheRepository() {
         Long orderId = 789L;
-        String customerName = "Alice Johnson";
 
-        when(repository.existsByOrderId(eq(orderId))).thenReturn(false);
-        when(repository.countByStatusIn(eq(List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION))))
-                .thenReturn(0);
+        when(repository.insertIfAbsent(any())).thenReturn(true);
 
-        startOrderUseCase.execute(orderId, customerName);
+        startOrderUseCase.execute(new OrderIntake(orderId, "Alice Johnson"));
 
         ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository).save(orderCaptor.capture());
+        verify(repository).insertIfAbsent(orderCaptor.capture());
+        assertNull(orderCaptor.getValue().getPositionInQueue());
+        verify(repository, never()).countByStatusIn(any());
+    }
 
-        OrderProduction savedOrder = orderCaptor.getValue();
-        assertEquals(1, savedOrder.getPositionInQueue());
+    @Test
+    void shouldSplitSingleIntakeIntoStationTasksWithChannelAndEstimate() {
+        LocalDateTime now = LocalDateTime.now();
+        estimator.recordPreparation("GRILL", now.minusMinutes(12).minusSeconds(30), now);
+        when(repository.insertIfAbsent(any())).thenReturn(true);
+
+        startOrderUseCase.execute(new OrderIntake(1L, "App", List.of(new ProductionItem("Burger", 1, "grill", null),
+                new ProductionItem("Fries", 1, "fryer", null)), OrderChannel.APP));
+
+        ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
+        var inOrder = inOrder(repository, stationTasks, events);
+        inOrder.verify(repository).insertIfAbsent(orderCaptor.capture());
+        inOrder.verify(stationTasks).saveAll(tasksCaptor.capture());
+        inOrder.verify(events).orderQueued(orderCaptor.getValue());
+        assertEquals(OrderChannel.APP, orderCaptor.getValue().getChannel());
+        assertEquals(13, orderCaptor.getValue().getEstimatedMinutes());
+        assertEquals(List.of("GRILL", "FRYER"), orderCaptor.getValue().getStations());
+        assertEquals(List.of("GRILL", "FRYER"), tasksCaptor.getValue().stream().map(StationTask::getStation).toList());
     }
 
     @Test
-    void shouldSetCorrectPositionWhenMultipleActiveOrders() {
-        Long orderId = 999L;
-        String customerName = "Bob Wilson";
+    void shouldNotSaveStationTasksOfRedeliveredSingleIntake() {
+        when(repository.insertIfAbsent(any())).thenReturn(false);
 
-        when(repository.existsByOrderId(eq(orderId))).thenReturn(false);
-        when(repository.countByStatusIn(eq(List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION))))
-                .thenReturn(5);
+        startOrderUseCase.execute(new OrderIntake(1L, "Redelivered", List.of(new ProductionItem("Burger", 1, "grill", null))));
 
-        startOrderUseCase.execute(orderId, customerName);
+        verifyNoInteractions(stationTasks);
+    }
 
-        ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository).save(orderCaptor.capture());
+    @Test
+    void shouldHandOutDistinctPositionsUnderParallelIntake() throws Exception {
+        IndexedOrderProductionRepository indexed = new IndexedOrderProductionRepository(new InMemoryOrderProductionRepository());
+        StartOrderUseCase useCase = new StartOrderUseCase(indexed, events, stationTasks, estimator, archive);
+        int intakes = 200;
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (long orderId = 1; orderId <= intakes; orderId++) {
+                long id = orderId;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    useCase.execute(new OrderIntake(id, "Customer " + id));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
 
-        OrderProduction savedOrder = orderCaptor.getValue();
-        assertEquals(6, savedOrder.getPositionInQueue());
+        ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
+        verify(events, times(intakes)).orderQueued(orderCaptor.capture());
+        Set<Integer> positions = orderCaptor.getAllValues().stream()
+                .map(OrderProduction::getPositionInQueue)
+                .collect(Collectors.toSet());
+        assertEquals(intakes, positions.size());
+        assertEquals(IntStream.rangeClosed(1, intakes).boxed().collect(Collectors.toSet()), positions);
     }
 
     @Test
@@ -113,13 +207,12 @@ class StartOrderUseCaseTest {
         Long orderId = 111L;
         String customerName = null;
 
-        when(repository.existsByOrderId(eq(orderId))).thenReturn(false);
-        when(repository.countByStatusIn(any())).thenReturn(0);
+        when(repository.insertIfAbsent(any())).thenReturn(true);
 
-        startOrderUseCase.execute(orderId, customerName);
+        startOrderUseCase.execute(new OrderIntake(orderId, customerName));
 
         ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository).save(orderCaptor.capture());
+        verify(repository).insertIfAbsent(orderCaptor.capture());
 
         OrderProduction savedOrder = orderCaptor.getValue();
         assertNull(savedOrder.getCustomerName());
@@ -130,13 +223,12 @@ class StartOrderUseCaseTest {
         Long orderId = null;
         String customerName = "Test Customer";
 
-        when(repository.existsByOrderId(eq(orderId))).thenReturn(false);
-        when(repository.countByStatusIn(any())).thenReturn(0);
+        when(repository.insertIfAbsent(any())).thenReturn(true);
 
-        startOrderUseCase.execute(orderId, customerName);
+        startOrderUseCase.execute(new OrderIntake(orderId, customerName));
 
         ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository).save(orderCaptor.capture());
+        verify(repository).insertIfAbsent(orderCaptor.capture());
 
         OrderProduction savedOrder = orderCaptor.getValue();
         assertNull(savedOrder.getOrderId());
@@ -147,33 +239,166 @@ class StartOrderUseCaseTest {
         Long orderId = 222L;
         String customerName = "Charlie Brown";
 
-        when(repository.existsByOrderId(eq(orderId))).thenReturn(false);
-        when(repository.countByStatusIn(any())).thenReturn(0);
+        when(repository.insertIfAbsent(any())).thenReturn(true);
 
-        startOrderUseCase.execute(orderId, customerName);
+        startOrderUseCase.execute(new OrderIntake(orderId, customerName));
 
         ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository).save(orderCaptor.capture());
+        verify(repository).insertIfAbsent(orderCaptor.capture());
 
         OrderProduction savedOrder = orderCaptor.getValue();
         assertEquals(ProductionStatus.RECEIVED, savedOrder.getStatus());
     }
 
     @Test
-    void shouldOnlyCountReceivedAndInPreparationOrders() {
-        Long orderId = 333L;
-        String customerName = "Diana Prince";
+    void shouldCreateExactlyOnceUnderConcurrentDuplicateDeliveries() throws Exception {
+        IndexedOrderProductionRepository indexed = new IndexedOrderProductionRepository(new InMemoryOrderProductionRepository());
+        StartOrderUseCase useCase = new StartOrderUseCase(indexed, events, stationTasks, estimator, archive);
+        int deliveries = 50;
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<IntakeResult> results = new ArrayList<>();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<IntakeResult>> futures = new ArrayList<>();
+            for (int i = 0; i < deliveries; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return useCase.execute(new OrderIntake(42L, "Redelivered"));
+                }));
+            }
+            start.countDown();
+            for (Future<IntakeResult> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, results.stream().filter(result -> result == IntakeResult.CREATED).count());
+        verify(events, times(1)).orderQueued(any());
+        assertEquals(1, indexed.findByOrderId(42L).orElseThrow().getPositionInQueue());
+    }
+
+    @Test
+    void shouldQueueABatchWithOneReadAndOneWrite() {
+        when(repository.findByOrderIdIn(any())).thenReturn(new ArrayList<>());
+
+        int started = startOrderUseCase.executeAll(List.of(new OrderIntake(1L, "First"), new OrderIntake(2L, "Second")));
+
+        assertEquals(2, started);
+        verify(repository).saveAll(ordersCaptor.capture());
+        assertEquals(List.of(1L, 2L), ordersCaptor.getValue().stream().map(OrderProduction::getOrderId).toList());
+        assertTrue(ordersCaptor.getValue().stream().allMatch(order -> order.getStatus() == ProductionStatus.RECEIVED));
+        verify(repository, never()).existsByOrderId(any());
+        verify(repository, never()).save(any());
+        verify(events, times(2)).orderQueued(any());
+        verifyNoInteractions(stationTasks);
+    }
+
+    @Test
+    void shouldSplitNewOrdersIntoStationTasks() {
+        when(repository.findByOrderIdIn(any())).thenReturn(new ArrayList<>(List.of(
+                new OrderProduction(1L, ProductionStatus.RECEIVED, LocalDateTime.of(2024, 1, 1, 10, 0), 1, "Redelivered")
+        )));
+
+        startOrderUseCase.executeAll(List.of(
+                new OrderIntake(1L, "Redelivered", List.of(new ProductionItem("Burger", 1, "grill", null))),
+                new OrderIntake(2L, "New", List.of(
+                        new ProductionItem("Burger", 2, "grill", null),
+                        new ProductionItem("Fries", 1, "fryer", null),
+                        new ProductionItem("Cheeseburger", 1, "Grill", "no onion")
+                ))
+        ));
+
+        verify(stationTasks).saveAll(tasksCaptor.capture());
+        List<StationTask> tasks = tasksCaptor.getValue();
+        assertEquals(List.of("GRILL", "FRYER"), tasks.stream().map(StationTask::getStation).toList());
+        assertTrue(tasks.stream().allMatch(task -> task.getOrderId().equals(2L)));
+        assertEquals(2, tasks.get(0).getItems().size());
+    }
+
+    @Test
+    void shouldSkipOrdersAlreadyQueuedAndDuplicatesWithinTheBatch() {
+        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
+        when(repository.findByOrderIdIn(any())).thenReturn(new ArrayList<>(List.of(
+                new OrderProduction(1L, ProductionStatus.RECEIVED, testTime, 1, "Redelivered")
+        )));
+
+        int started = startOrderUseCase.executeAll(List.of(
+                new OrderIntake(1L, "Redelivered"),
+                new OrderIntake(2L, "New"),
+                new OrderIntake(2L, "New again")
+        ));
+
+        assertEquals(1, started);
+        verify(repository).saveAll(ordersCaptor.capture());
+        assertEquals(1, ordersCaptor.getValue().size());
+        assertEquals("New", ordersCaptor.getValue().get(0).getCustomerName());
+    }
+
+    @Test
+    void shouldStampChannelAndSlowestStationEstimateOnNewOrders() {
+        LocalDateTime now = LocalDateTime.now();
+        estimator.recordPreparation("GRILL", now.minusMinutes(12).minusSeconds(30), now);
+        estimator.recordPreparation("DRINKS", now.minusMinutes(2), now);
+        when(repository.findByOrderIdIn(any())).thenReturn(new ArrayList<>());
+
+        startOrderUseCase.executeAll(List.of(
+                new OrderIntake(1L, "App", List.of(new ProductionItem("Burger", 1, "grill", null),
+                        new ProductionItem("Soda", 1, "drinks", null)), OrderChannel.APP),
+                new OrderIntake(2L, "Kiosk")
+        ));
+
+        verify(repository).saveAll(ordersCaptor.capture());
+        OrderProduction withItems = ordersCaptor.getValue().get(0);
+        assertEquals(OrderChannel.APP, withItems.getChannel());
+        assertEquals(13, withItems.getEstimatedMinutes());
+        OrderProduction withoutItems = ordersCaptor.getValue().get(1);
+        assertEquals(OrderChannel.KIOSK, withoutItems.getChannel());
+        assertNull(withoutItems.getEstimatedMinutes());
+    }
+
+    @Test
+    void shouldNotWriteWhenTheWholeBatchIsRedelivered() {
+        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
+        when(repository.findByOrderIdIn(any())).thenReturn(new ArrayList<>(List.of(
+                new OrderProduction(1L, ProductionStatus.IN_PREPARATION, testTime, 1, "Redelivered")
+        )));
+
+        assertEquals(0, startOrderUseCase.executeAll(List.of(new OrderIntake(1L, "Redelivered"))));
+
+        verify(repository, never()).saveAll(any());
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    void shouldNotRequeueArchivedOrderRedeliveredInABatch() {
+        when(repository.findByOrderIdIn(any())).thenReturn(List.of());
+        when(archive.existingOrderIds(any())).thenReturn(Set.of(1L));
+
+        int started = startOrderUseCase.executeAll(List.of(new OrderIntake(1L, "Archived"), new OrderIntake(2L, "New")));
 
-        when(repository.existsByOrderId(eq(orderId))).thenReturn(false);
+        assertEquals(1, started);
+        ArgumentCaptor<List<OrderProduction>> saved = ArgumentCaptor.captor();
+        verify(repository).saveAll(saved.capture());
+        assertEquals(List.of(2L), saved.getValue().stream().map(OrderProduction::getOrderId).toList());
+        verify(archive).existingOrderIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void shouldSkipHistoryLookupWhenTheWholeBatchIsStillQueued() {
+        when(repository.findByOrderIdIn(any())).thenReturn(List.of(
+                new OrderProduction(1L, ProductionStatus.RECEIVED, LocalDateTime.now(), 1, "Queued")));
 
-        startOrderUseCase.execute(orderId, customerName);
+        assertEquals(0, startOrderUseCase.executeAll(List.of(new OrderIntake(1L, "Queued"))));
 
-        verify(repository).countByStatusIn(eq(List.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION)));
+        verifyNoInteractions(archive);
     }
 
     @Test
     void shouldConstructUseCaseWithRepository() {
-        StartOrderUseCase useCase = new StartOrderUseCase(repository);
+        StartOrderUseCase useCase = new StartOrderUseCase(repository, events, stationTasks, estimator, archive);
         assertNotNull(useCase);
     }
 }
\ No newline at end of file
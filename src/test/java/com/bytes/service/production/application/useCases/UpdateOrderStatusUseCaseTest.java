@@ -1,20 +1,29 @@
 package com.bytes.service.production.application.useCases;
 
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateRequestDTO;
+import com.bytes.service.production.adapters.inbound.dtos.StatusUpdateResultDTO;
 import com.bytes.service.production.domain.models.OrderProduction;
 import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StatusTransition;
+import com.bytes.service.production.domain.models.CustomerNotification;
+import com.bytes.service.production.domain.ports.outbound.NotificationOutboxPort;
 import com.bytes.service.production.domain.ports.outbound.OrderProductionRepositoryPort;
+import com.bytes.service.production.domain.ports.outbound.ProductionEventPort;
+import com.bytes.service.production.exceptions.BusinessException;
 import com.bytes.service.production.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -26,92 +35,90 @@ class UpdateOrderStatusUseCaseTest {
     @Mock
     private OrderProductionRepositoryPort repository;
 
+    @Mock
+    private ProductionEventPort events;
+
+    @Mock
+    private NotificationOutboxPort outbox;
+
+    @Captor
+    private ArgumentCaptor<List<CustomerNotification>> notificationsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<StatusTransition>> transitionsCaptor;
+
     private UpdateOrderStatusUseCase updateOrderStatusUseCase;
 
     @BeforeEach
     void setUp() {
-        updateOrderStatusUseCase = new UpdateOrderStatusUseCase(repository);
+        updateOrderStatusUseCase = new UpdateOrderStatusUseCase(repository, events, outbox);
     }
 
     @Test
     void shouldUpdateStatusFromReceivedToInPreparation() {
         Long orderId = 123L;
-        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
-        
-        OrderProduction order = new OrderProduction(
-                orderId, ProductionStatus.RECEIVED, testTime, 1, "John Doe"
-        );
 
-        when(repository.findByOrderId(eq(orderId))).thenReturn(Optional.of(order));
-        when(repository.findByStatusOrderByStartedAtAsc(eq(ProductionStatus.RECEIVED)))
-                .thenReturn(Arrays.asList());
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.of(ProductionStatus.RECEIVED));
 
         updateOrderStatusUseCase.execute(orderId, ProductionStatus.IN_PREPARATION);
 
-        ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository, atLeast(1)).save(orderCaptor.capture());
-
-        OrderProduction savedOrder = orderCaptor.getValue();
-        assertEquals(ProductionStatus.IN_PREPARATION, savedOrder.getStatus());
-        assertNotNull(savedOrder.getUpdatedAt());
-        assertNotNull(savedOrder.getStartedAt());
-
-        verify(repository).findByOrderId(eq(orderId));
+        StatusTransition transition = capturedTransition();
+        assertEquals(orderId, transition.getOrderId());
+        assertEquals(ProductionStatus.RECEIVED, transition.getExpectedStatus());
+        assertEquals(ProductionStatus.IN_PREPARATION, transition.getNewStatus());
+        assertNotNull(transition.getChangedAt());
+        assertEquals(transition.getChangedAt(), transition.getStartedAt());
+        assertNull(transition.getFinishedAt());
+        assertNull(transition.getDeliveredAt());
     }
 
     @Test
     void shouldUpdateStatusFromInPreparationToReady() {
         Long orderId = 456L;
-        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
-        
-        OrderProduction order = new OrderProduction(
-                orderId, ProductionStatus.IN_PREPARATION, testTime, 1, "Jane Smith"
-        );
 
-        when(repository.findByOrderId(eq(orderId))).thenReturn(Optional.of(order));
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.of(ProductionStatus.IN_PREPARATION));
 
         updateOrderStatusUseCase.execute(orderId, ProductionStatus.READY);
 
-        ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository).save(orderCaptor.capture());
-
-        OrderProduction savedOrder = orderCaptor.getValue();
-        assertEquals(ProductionStatus.READY, savedOrder.getStatus());
-        assertNotNull(savedOrder.getUpdatedAt());
-        assertNotNull(savedOrder.getFinishedAt());
-        assertNull(savedOrder.getPositionInQueue());
-
-        verify(repository).findByOrderId(eq(orderId));
+        StatusTransition transition = capturedTransition();
+        assertEquals(ProductionStatus.IN_PREPARATION, transition.getExpectedStatus());
+        assertEquals(ProductionStatus.READY, transition.getNewStatus());
+        assertEquals(transition.getChangedAt(), transition.getFinishedAt());
+        assertNull(transition.getStartedAt());
     }
 
     @Test
     void shouldUpdateStatusFromReadyToFinished() {
         Long orderId = 789L;
-        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
-        
-        OrderProduction order = new OrderProduction(
-                orderId, ProductionStatus.READY, testTime, null, "Alice Johnson"
-        );
 
-        when(repository.findByOrderId(eq(orderId))).thenReturn(Optional.of(order));
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.of(ProductionStatus.READY));
 
         updateOrderStatusUseCase.execute(orderId, ProductionStatus.FINISHED);
 
-        ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository).save(orderCaptor.capture());
+        StatusTransition transition = capturedTransition();
+        assertEquals(ProductionStatus.READY, transition.getExpectedStatus());
+        assertEquals(ProductionStatus.FINISHED, transition.getNewStatus());
+        assertEquals(transition.getChangedAt(), transition.getDeliveredAt());
+    }
+
+    @Test
+    void shouldNotReadTheOrderWhenTheConditionalUpdateSucceeds() {
+        Long orderId = 124L;
 
-        OrderProduction savedOrder = orderCaptor.getValue();
-        assertEquals(ProductionStatus.FINISHED, savedOrder.getStatus());
-        assertNotNull(savedOrder.getUpdatedAt());
-        assertNotNull(savedOrder.getDeliveredAt());
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.of(ProductionStatus.RECEIVED));
 
-        verify(repository).findByOrderId(eq(orderId));
+        updateOrderStatusUseCase.execute(orderId, ProductionStatus.IN_PREPARATION);
+
+        verify(repository, times(1)).updateStatus(any(StatusTransition.class));
+        verify(repository, never()).findByOrderId(any());
+        verify(repository, never()).save(any());
     }
 
     @Test
     void shouldThrowExceptionWhenOrderNotFound() {
         Long orderId = 999L;
 
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.empty());
         when(repository.findByOrderId(eq(orderId))).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(
@@ -121,113 +128,85 @@ class UpdateOrderStatusUseCaseTest {
 
         assertEquals("Order not found: 999", exception.getMessage());
         verify(repository).findByOrderId(eq(orderId));
-        verify(repository, never()).save(any());
+        verifyNoInteractions(events, outbox);
     }
 
     @Test
     void shouldThrowExceptionForInvalidStatusTransition() {
         Long orderId = 111L;
         LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
-        
+
         OrderProduction order = new OrderProduction(
                 orderId, ProductionStatus.FINISHED, testTime, null, "Bob Wilson"
         );
 
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.empty());
         when(repository.findByOrderId(eq(orderId))).thenReturn(Optional.of(order));
 
-        RuntimeException exception = assertThrows(
-                RuntimeException.class,
+        BusinessException exception = assertThrows(
+                BusinessException.class,
                 () -> updateOrderStatusUseCase.execute(orderId, ProductionStatus.IN_PREPARATION)
         );
 
         assertEquals("Cannot transition from FINISHED to IN_PREPARATION", exception.getMessage());
         verify(repository).findByOrderId(eq(orderId));
-        verify(repository, never()).save(any());
+        verifyNoInteractions(events, outbox);
     }
 
     @Test
-    void shouldAllowCancellationFromReceivedStatus() {
-        Long orderId = 222L;
+    void shouldReportConflictWhenAConcurrentTransitionWinsTheRace() {
+        Long orderId = 112L;
         LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
-        
+
+        // Outra requisição já moveu o pedido para READY entre o clique e o UPDATE
         OrderProduction order = new OrderProduction(
-                orderId, ProductionStatus.RECEIVED, testTime, 1, "Charlie Brown"
+                orderId, ProductionStatus.READY, testTime, null, "Race Customer"
         );
 
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.empty());
         when(repository.findByOrderId(eq(orderId))).thenReturn(Optional.of(order));
 
-        updateOrderStatusUseCase.execute(orderId, ProductionStatus.CANCELLED);
-
-        ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository).save(orderCaptor.capture());
-
-        OrderProduction savedOrder = orderCaptor.getValue();
-        assertEquals(ProductionStatus.CANCELLED, savedOrder.getStatus());
-        assertNotNull(savedOrder.getUpdatedAt());
+        BusinessException exception = assertThrows(
+                BusinessException.class,
+                () -> updateOrderStatusUseCase.execute(orderId, ProductionStatus.READY)
+        );
 
-        verify(repository).findByOrderId(eq(orderId));
+        assertEquals("Cannot transition from READY to READY", exception.getMessage());
     }
 
     @Test
-    void shouldAllowCancellationFromInPreparationStatus() {
-        Long orderId = 333L;
-        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
-        
-        OrderProduction order = new OrderProduction(
-                orderId, ProductionStatus.IN_PREPARATION, testTime, 1, "Diana Prince"
-        );
+    void shouldAllowCancellationFromReceivedStatus() {
+        Long orderId = 222L;
 
-        when(repository.findByOrderId(eq(orderId))).thenReturn(Optional.of(order));
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.of(ProductionStatus.RECEIVED));
 
         updateOrderStatusUseCase.execute(orderId, ProductionStatus.CANCELLED);
 
-        ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository).save(orderCaptor.capture());
-
-        OrderProduction savedOrder = orderCaptor.getValue();
-        assertEquals(ProductionStatus.CANCELLED, savedOrder.getStatus());
-
-        verify(repository).findByOrderId(eq(orderId));
+        StatusTransition transition = capturedTransition();
+        assertTrue(transition.getExpectedStatuses().contains(ProductionStatus.RECEIVED));
+        assertEquals(ProductionStatus.CANCELLED, transition.getNewStatus());
+        verify(events).statusChanged(eq(orderId), eq(ProductionStatus.RECEIVED), eq(ProductionStatus.CANCELLED), any());
     }
 
     @Test
-    void shouldRecalculateQueuePositionsWhenMovingToInPreparation() {
-        Long orderId = 444L;
-        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
-        
-        OrderProduction order = new OrderProduction(
-                orderId, ProductionStatus.RECEIVED, testTime, 2, "Edward Stark"
-        );
-        
-        OrderProduction queuedOrder1 = new OrderProduction(
-                555L, ProductionStatus.RECEIVED, testTime, 1, "Customer 1"
-        );
-        OrderProduction queuedOrder2 = new OrderProduction(
-                666L, ProductionStatus.RECEIVED, testTime, 3, "Customer 2"
-        );
+    void shouldCancelFromEitherActiveStatusWithASingleUpdate() {
+        Long orderId = 333L;
 
-        when(repository.findByOrderId(eq(orderId))).thenReturn(Optional.of(order));
-        when(repository.findByStatusOrderByStartedAtAsc(eq(ProductionStatus.RECEIVED)))
-                .thenReturn(Arrays.asList(queuedOrder1, queuedOrder2));
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.of(ProductionStatus.IN_PREPARATION));
 
-        updateOrderStatusUseCase.execute(orderId, ProductionStatus.IN_PREPARATION);
+        updateOrderStatusUseCase.execute(orderId, ProductionStatus.CANCELLED);
 
-        verify(repository).findByStatusOrderByStartedAtAsc(eq(ProductionStatus.RECEIVED));
-        verify(repository, times(3)).save(any(OrderProduction.class));
-        
-        ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository, times(3)).save(orderCaptor.capture());
-        
-        List<OrderProduction> savedOrders = orderCaptor.getAllValues();
-        assertTrue(savedOrders.stream().anyMatch(o -> o.getOrderId().equals(555L) && o.getPositionInQueue() == 1));
-        assertTrue(savedOrders.stream().anyMatch(o -> o.getOrderId().equals(666L) && o.getPositionInQueue() == 2));
+        StatusTransition transition = capturedTransition();
+        assertEquals(Set.of(ProductionStatus.RECEIVED, ProductionStatus.IN_PREPARATION), transition.getExpectedStatuses());
+        verify(events).statusChanged(eq(orderId), eq(ProductionStatus.IN_PREPARATION), eq(ProductionStatus.CANCELLED), any());
+        verify(repository, never()).findByOrderId(any());
     }
 
     @Test
     void shouldNotAllowInvalidTransitions() {
         Long orderId = 777L;
         LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
-        
+
         OrderProduction order = new OrderProduction(
                 orderId, ProductionStatus.CANCELLED, testTime, null, "Test Customer"
         );
@@ -240,12 +219,60 @@ class UpdateOrderStatusUseCaseTest {
         );
 
         assertTrue(exception.getMessage().contains("Cannot transition from CANCELLED"));
+        // Nenhum status leva a RECEIVED, então nem chega a tentar o UPDATE
+        verify(repository, never()).updateStatus(any());
         verify(repository, never()).save(any());
+        verifyNoInteractions(events, outbox);
+    }
+
+    @Test
+    void shouldPublishStatusChangeWithPreviousStatus() {
+        Long orderId = 555L;
+
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.of(ProductionStatus.IN_PREPARATION));
+
+        updateOrderStatusUseCase.execute(orderId, ProductionStatus.READY);
+
+        StatusTransition transition = capturedTransition();
+        verify(events).statusChanged(eq(orderId), eq(ProductionStatus.IN_PREPARATION), eq(ProductionStatus.READY), eq(transition.getChangedAt()));
+    }
+
+    @Test
+    void shouldWriteCustomerNotificationToOutboxInsteadOfNotifyingInline() {
+        Long orderId = 556L;
+
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.of(ProductionStatus.IN_PREPARATION));
+
+        updateOrderStatusUseCase.execute(orderId, ProductionStatus.READY);
+
+        verify(outbox).append(notificationsCaptor.capture());
+        CustomerNotification notification = notificationsCaptor.getValue().get(0);
+        assertEquals(orderId, notification.getOrderId());
+        assertEquals(ProductionStatus.READY, notification.getStatus());
+        assertEquals(capturedTransition().getChangedAt(), notification.getOccurredAt());
+    }
+
+    @Test
+    void shouldWriteOneOutboxEntryPerAppliedTransitionOfABatch() {
+        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
+        when(repository.findByOrderIdIn(any())).thenReturn(new ArrayList<>(List.of(
+                new OrderProduction(1L, ProductionStatus.IN_PREPARATION, testTime, 1, "Applied"),
+                new OrderProduction(2L, ProductionStatus.IN_PREPARATION, testTime, 2, "Raced")
+        )));
+        when(repository.updateStatuses(any())).thenReturn(Set.of(1L));
+
+        updateOrderStatusUseCase.executeAll(List.of(
+                new StatusUpdateRequestDTO(1L, ProductionStatus.READY),
+                new StatusUpdateRequestDTO(2L, ProductionStatus.READY)
+        ));
+
+        verify(outbox).append(notificationsCaptor.capture());
+        assertEquals(List.of(1L), notificationsCaptor.getValue().stream().map(CustomerNotification::getOrderId).toList());
     }
 
     @Test
     void shouldConstructUseCaseWithRepository() {
-        UpdateOrderStatusUseCase useCase = new UpdateOrderStatusUseCase(repository);
+        UpdateOrderStatusUseCase useCase = new UpdateOrderStatusUseCase(repository, events, outbox);
         assertNotNull(useCase);
     }
 
@@ -253,21 +280,88 @@ class UpdateOrderStatusUseCaseTest {
     void shouldUpdateTimestampOnEveryStatusChange() {
         Long orderId = 888L;
         LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
-        
-        OrderProduction order = new OrderProduction(
-                orderId, ProductionStatus.RECEIVED, testTime, 1, "Time Test Customer"
-        );
 
-        when(repository.findByOrderId(eq(orderId))).thenReturn(Optional.of(order));
-        when(repository.findByStatusOrderByStartedAtAsc(any())).thenReturn(Arrays.asList());
+        when(repository.updateStatus(any(StatusTransition.class))).thenReturn(Optional.of(ProductionStatus.RECEIVED));
 
         updateOrderStatusUseCase.execute(orderId, ProductionStatus.IN_PREPARATION);
 
-        ArgumentCaptor<OrderProduction> orderCaptor = ArgumentCaptor.forClass(OrderProduction.class);
-        verify(repository, atLeast(1)).save(orderCaptor.capture());
+        StatusTransition transition = capturedTransition();
+        assertNotNull(transition.getChangedAt());
+        assertTrue(transition.getChangedAt().isAfter(testTime));
+    }
+
+    @Test
+    void shouldApplyBatchWithOneReadAndOneWrite() {
+        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
+        when(repository.findByOrderIdIn(any())).thenReturn(new ArrayList<>(List.of(
+                new OrderProduction(1L, ProductionStatus.IN_PREPARATION, testTime, 1, "First"),
+                new OrderProduction(2L, ProductionStatus.READY, testTime, null, "Second")
+        )));
+        when(repository.updateStatuses(any())).thenReturn(Set.of(1L, 2L));
+
+        List<StatusUpdateResultDTO> results = updateOrderStatusUseCase.executeAll(List.of(
+                new StatusUpdateRequestDTO(1L, ProductionStatus.READY),
+                new StatusUpdateRequestDTO(2L, ProductionStatus.FINISHED)
+        ));
+
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        verify(repository, times(1)).findByOrderIdIn(any());
+        verify(repository, times(1)).updateStatuses(any());
+        verify(repository, never()).updateStatus(any());
+        verify(events).statusChanged(eq(1L), eq(ProductionStatus.IN_PREPARATION), eq(ProductionStatus.READY), any());
+        verify(events).statusChanged(eq(2L), eq(ProductionStatus.READY), eq(ProductionStatus.FINISHED), any());
+    }
+
+    @Test
+    void shouldReportEachRejectedEntryOfABatch() {
+        LocalDateTime testTime = LocalDateTime.of(2024, 1, 1, 10, 0);
+        when(repository.findByOrderIdIn(any())).thenReturn(new ArrayList<>(List.of(
+                new OrderProduction(1L, ProductionStatus.RECEIVED, testTime, 1, "Invalid"),
+                new OrderProduction(3L, ProductionStatus.IN_PREPARATION, testTime, 2, "Raced"),
+                new OrderProduction(4L, ProductionStatus.IN_PREPARATION, testTime, 3, "Duplicated")
+        )));
+        when(repository.updateStatuses(any())).thenReturn(Set.of());
+
+        List<StatusUpdateResultDTO> results = updateOrderStatusUseCase.executeAll(List.of(
+                new StatusUpdateRequestDTO(1L, ProductionStatus.FINISHED),
+                new StatusUpdateRequestDTO(2L, ProductionStatus.READY),
+                new StatusUpdateRequestDTO(3L, ProductionStatus.READY),
+                new StatusUpdateRequestDTO(4L, ProductionStatus.READY),
+                new StatusUpdateRequestDTO(4L, ProductionStatus.CANCELLED),
+                new StatusUpdateRequestDTO(5L, null)
+        ));
+
+        assertEquals(6, results.size());
+        assertTrue(results.stream().noneMatch(StatusUpdateResultDTO::isSuccess));
+        assertEquals("Cannot transition from RECEIVED to FINISHED", results.get(0).getError());
+        assertEquals("Order not found: 2", results.get(1).getError());
+        assertEquals("Order 3 is no longer IN_PREPARATION", results.get(2).getError());
+        assertEquals("Order appears more than once in the batch: 4", results.get(3).getError());
+        assertEquals("Order appears more than once in the batch: 4", results.get(4).getError());
+        assertEquals("Order id and status are required", results.get(5).getError());
+
+        verify(repository).updateStatuses(transitionsCaptor.capture());
+        assertEquals(1, transitionsCaptor.getValue().size());
+        assertEquals(3L, transitionsCaptor.getValue().get(0).getOrderId());
+        verifyNoInteractions(events, outbox);
+    }
+
+    @Test
+    void shouldNotWriteWhenNoEntryOfTheBatchIsValid() {
+        when(repository.findByOrderIdIn(any())).thenReturn(new ArrayList<>());
+
+        List<StatusUpdateResultDTO> results = updateOrderStatusUseCase.executeAll(List.of(
+                new StatusUpdateRequestDTO(9L, ProductionStatus.READY)
+        ));
+
+        assertFalse(results.get(0).isSuccess());
+        verify(repository, never()).updateStatuses(any());
+    }
 
-        OrderProduction savedOrder = orderCaptor.getValue();
-        assertNotNull(savedOrder.getUpdatedAt());
-        assertTrue(savedOrder.getUpdatedAt().isAfter(testTime));
+    private StatusTransition capturedTransition() {
+        ArgumentCaptor<StatusTransition> captor = ArgumentCaptor.forClass(StatusTransition.class);
+        verify(repository).updateStatus(captor.capture());
+        return captor.getValue();
     }
-}
\ No newline at end of file
+}
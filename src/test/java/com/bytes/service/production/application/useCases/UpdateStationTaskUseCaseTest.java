@@ -0,0 +1,118 @@
+package com.bytes.service.production.application.useCases;
+
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryStationTaskRepository;
+import com.bytes.service.production.application.eta.PreparationTimeEstimator;
+import com.bytes.service.production.domain.models.ProductionItem;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.domain.models.StationTask;
+import com.bytes.service.production.domain.models.StationTaskStatus;
+import com.bytes.service.production.exceptions.BusinessException;
+import com.bytes.service.production.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpdateStationTaskUseCaseTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private UpdateOrderStatusUseCase updateOrderStatusUseCase;
+
+    private InMemoryStationTaskRepository stationTasks;
+    private PreparationTimeEstimator estimator;
+    private UpdateStationTaskUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        stationTasks = new InMemoryStationTaskRepository();
+        stationTasks.saveAll(StationTask.splitByStation(1L, List.of(
+                new ProductionItem("Burger", 1, "grill", null),
+                new ProductionItem("Fries", 1, "fryer", null)
+        ), TEST_TIME));
+        estimator = new PreparationTimeEstimator(1.0, Duration.ofMinutes(10));
+        useCase = new UpdateStationTaskUseCase(stationTasks, updateOrderStatusUseCase, estimator);
+    }
+
+    @Test
+    void shouldMoveOrderToPreparationWhenTheFirstStationStarts() {
+        useCase.execute(1L, "grill", StationTaskStatus.IN_PROGRESS);
+        useCase.execute(1L, "fryer", StationTaskStatus.IN_PROGRESS);
+
+        verify(updateOrderStatusUseCase, times(1)).execute(eq(1L), eq(ProductionStatus.IN_PREPARATION));
+        assertEquals(StationTaskStatus.IN_PROGRESS, statusAt("GRILL"));
+    }
+
+    @Test
+    void shouldMarkOrderReadyOnlyWhenTheLastStationFinishes() {
+        useCase.execute(1L, "grill", StationTaskStatus.IN_PROGRESS);
+        useCase.execute(1L, "fryer", StationTaskStatus.IN_PROGRESS);
+        useCase.execute(1L, "grill", StationTaskStatus.DONE);
+
+        verify(updateOrderStatusUseCase, never()).execute(any(), eq(ProductionStatus.READY));
+
+        useCase.execute(1L, "fryer", StationTaskStatus.DONE);
+
+        verify(updateOrderStatusUseCase).execute(eq(1L), eq(ProductionStatus.READY));
+    }
+
+    @Test
+    void shouldLearnPreparationTimeOfTheStationCategory() {
+        LocalDateTime startedAt = LocalDateTime.now().minusMinutes(3);
+        stationTasks.updateStatus(1L, "GRILL", StationTaskStatus.QUEUED, StationTaskStatus.IN_PROGRESS, startedAt);
+
+        useCase.execute(1L, "grill", StationTaskStatus.DONE);
+
+        Duration learned = estimator.preparationTime("GRILL", startedAt);
+        assertTrue(learned.compareTo(Duration.ofMinutes(3)) >= 0 && learned.compareTo(Duration.ofMinutes(4)) < 0);
+        assertEquals(Duration.ofMinutes(10), estimator.preparationTime("FRYER", startedAt));
+    }
+
+    @Test
+    void shouldRejectSkippingAStep() {
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> useCase.execute(1L, "grill", StationTaskStatus.DONE));
+
+        assertEquals("Cannot transition from QUEUED to DONE", exception.getMessage());
+        assertEquals(StationTaskStatus.QUEUED, statusAt("GRILL"));
+        verifyNoInteractions(updateOrderStatusUseCase);
+    }
+
+    @Test
+    void shouldRejectUnknownStationPart() {
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> useCase.execute(1L, "drinks", StationTaskStatus.IN_PROGRESS));
+
+        assertEquals("Station task not found: order 1 at DRINKS", exception.getMessage());
+    }
+
+    @Test
+    void shouldKeepStationProgressWhenOrderWasAlreadyAdvanced() {
+        doThrow(new BusinessException("Cannot transition from IN_PREPARATION to IN_PREPARATION"))
+                .when(updateOrderStatusUseCase).execute(eq(1L), eq(ProductionStatus.IN_PREPARATION));
+
+        assertDoesNotThrow(() -> useCase.execute(1L, "grill", StationTaskStatus.IN_PROGRESS));
+
+        assertEquals(StationTaskStatus.IN_PROGRESS, statusAt("GRILL"));
+    }
+
+    private StationTaskStatus statusAt(String station) {
+        return stationTasks.lockByOrderId(1L).stream()
+                .filter(task -> task.getStation().equals(station))
+                .findFirst()
+                .orElseThrow()
+                .getStatus();
+    }
+}
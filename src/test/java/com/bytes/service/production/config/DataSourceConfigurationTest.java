@@ -0,0 +1,48 @@
+package com.bytes.service.production.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(DataSourceConfiguration.class)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:routing-primary", "spring.datasource.username=sa");
+
+    @Test
+    void shouldKeepTheSingleDataSourceWithoutReplica() {
+        contextRunner.run(context -> {
+            assertFalse(context.containsBean("replicaDataSource"));
+            assertFalse(context.containsBean("readYourWritesFilter"));
+            assertInstanceOf(HikariDataSource.class, context.getBean(DataSource.class));
+        });
+    }
+
+    @Test
+    void shouldRouteThroughALazyProxyWhenReplicaIsConfigured() {
+        contextRunner
+                .withPropertyValues("production.datasource.replica.url=jdbc:h2:mem:routing-replica",
+                        "production.datasource.replica.maximum-pool-size=3")
+                .run(context -> {
+                    assertInstanceOf(LazyConnectionDataSourceProxy.class, context.getBean(DataSource.class));
+                    HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+                    assertEquals("jdbc:h2:mem:routing-replica", replica.getJdbcUrl());
+                    assertEquals("sa", replica.getUsername());
+                    assertEquals(3, replica.getMaximumPoolSize());
+                    assertTrue(replica.isReadOnly());
+                    assertEquals("jdbc:h2:mem:routing-primary", context.getBean("primaryDataSource", HikariDataSource.class).getJdbcUrl());
+                    assertTrue(context.containsBean("readYourWritesFilter"));
+                });
+    }
+}
@@ -0,0 +1,166 @@
+package com.bytes.service.production.config;
+
+import com.bytes.service.production.Application;
+import com.bytes.service.production.domain.models.OrderIntake;
+import com.bytes.service.production.domain.ports.inbound.ProductionServicePort;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.cloud.stream.binder.test.EnableTestBinder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o Tomcat com threads de plataforma (200, o padrão) e com virtual threads, subindo a aplicação inteira numa
+ * porta aleatória com o H2 atrás do mesmo pool Hikari de 10 conexões. Cada requisição consulta o status sem cache e
+ * depois segura a thread do Tomcat fora do pool, como numa chamada remota ou na escrita para um cliente lento.
+ * A espera de 1s mantém o limite das 200 threads (200 req/s) abaixo do que a CPU aguenta mesmo numa máquina de um
+ * núcleo, então as threads de plataforma viram o gargalo e as virtual threads só esbarram no pool de conexões.
+ *
+ * Roda só com {@code mvn test -Dtest=ExecutionModeLoadTest -Dload-test=true}.
+ */
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class ExecutionModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeLoadTest.class);
+
+    private static final int ORDERS = 500;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final int CONNECTION_POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 200;
+    private static final Duration DOWNSTREAM_LATENCY = Duration.ofSeconds(1);
+
+    @Test
+    void shouldServeMoreThroughputWithLowerP99OnVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        for (Result result : List.of(platform, virtual)) {
+            log.info("{}: {} req/s, p50 {} ms, p99 {} ms", result.mode, String.format("%.0f", result.throughput),
+                    String.format("%.1f", result.p50Millis), String.format("%.1f", result.p99Millis));
+        }
+
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT, platform.succeeded);
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT, virtual.succeeded);
+        // Com 400 clientes e 200 threads metade espera na fila do Tomcat; em virtual threads ninguém espera por thread
+        assertTrue(virtual.throughput > platform.throughput * 1.3,
+                () -> "virtual threads did not raise throughput: " + virtual + " vs " + platform);
+        assertTrue(virtual.p99Millis < platform.p99Millis,
+                () -> "virtual threads did not lower p99: " + virtual + " vs " + platform);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = start(mode, virtualThreads);
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            context.getBean(ProductionServicePort.class).startProductions(LongStream.rangeClosed(1, ORDERS)
+                    .mapToObj(orderId -> new OrderIntake(orderId, "Customer " + orderId))
+                    .toList());
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+            // Aquecimento: JIT, pool de conexões e conexões HTTP abertas antes de medir
+            send(http, port, CLIENTS, 1, new long[CLIENTS], new AtomicInteger(), new AtomicInteger());
+
+            long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            AtomicInteger completed = new AtomicInteger();
+            AtomicInteger succeeded = new AtomicInteger();
+            long start = System.nanoTime();
+            send(http, port, CLIENTS, REQUESTS_PER_CLIENT, latencies, completed, succeeded);
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new Result(mode, succeeded.get(),
+                    completed.get() / (elapsed / 1e9),
+                    latencies[latencies.length / 2] / 1e6,
+                    latencies[(int) (latencies.length * 0.99)] / 1e6);
+        }
+    }
+
+    private void send(HttpClient http, int port, int clients, int requestsPerClient, long[] latencies,
+                      AtomicInteger completed, AtomicInteger succeeded) throws Exception {
+        List<Future<?>> pending = new ArrayList<>();
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                int clientId = client;
+                pending.add(clientThreads.submit(() -> {
+                    for (int request = 0; request < requestsPerClient; request++) {
+                        long orderId = (clientId * requestsPerClient + request) % ORDERS + 1;
+                        HttpRequest status = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/api/v1/production/order/" + orderId + "/status")).build();
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = http.send(status, HttpResponse.BodyHandlers.discarding());
+                        latencies[completed.getAndIncrement()] = System.nanoTime() - sent;
+                        if (response.statusCode() == 200) {
+                            succeeded.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : pending) {
+                client.get();
+            }
+        }
+    }
+
+    // Cache de status e controle de admissão desligados: toda requisição vai ao banco e nenhuma é recusada
+    private ConfigurableApplicationContext start(String mode, boolean virtualThreads) {
+        return new SpringApplicationBuilder(Application.class, DownstreamLatency.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                        "spring.datasource.hikari.maximum-pool-size=" + CONNECTION_POOL_SIZE,
+                        "spring.jpa.show-sql=false",
+                        "spring.cloud.stream.default-binder=integration",
+                        "production.cache.order-status.max-size=0",
+                        "production.admission.enabled=false",
+                        "production.queue.sequencer.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level." + ExecutionModeLoadTest.class.getName() + "=INFO")
+                .run();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableTestBinder
+    static class DownstreamLatency {
+
+        @Bean
+        Filter downstreamLatencyFilter() {
+            return (request, response, chain) -> {
+                chain.doFilter(request, response);
+                try {
+                    Thread.sleep(DOWNSTREAM_LATENCY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+        }
+    }
+
+    private record Result(String mode, int succeeded, double throughput, double p50Millis, double p99Millis) {
+    }
+}
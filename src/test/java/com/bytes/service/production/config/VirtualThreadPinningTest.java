@@ -0,0 +1,87 @@
+package com.bytes.service.production.config;
+
+import com.bytes.service.production.adapters.outbound.persistence.InMemoryOrderProductionRepository;
+import com.bytes.service.production.adapters.outbound.persistence.IndexedOrderProductionRepository;
+import com.bytes.service.production.application.ProductionService;
+import com.bytes.service.production.application.ProductionServiceFixture;
+import com.bytes.service.production.application.cache.OrderStatusCache;
+import com.bytes.service.production.application.events.ProductionEventDispatcher;
+import com.bytes.service.production.application.queue.QueueDeltaFeed;
+import com.bytes.service.production.application.queue.QueueVersionTracker;
+import com.bytes.service.production.domain.models.OrderIntake;
+import com.bytes.service.production.domain.models.ProductionStatus;
+import com.bytes.service.production.mappers.ProductionOrderMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que o caminho quente não prende virtual threads ao carrier (bloqueio dentro de synchronized).
+ * Usa o evento jdk.VirtualThreadPinned do JFR com limiar zero enquanto os casos de uso rodam com concorrência.
+ */
+class VirtualThreadPinningTest {
+
+    @Test
+    void shouldNotPinVirtualThreadsOnHotPaths() throws Exception {
+        ProductionService service = productionService();
+        Path dump = Files.createTempFile("pinning", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            runConcurrently(service);
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> pinned = RecordingFile.readAllEvents(dump);
+        Files.deleteIfExists(dump);
+        assertTrue(pinned.isEmpty(), () -> "Virtual threads pinned:\n" + pinned);
+    }
+
+    private void runConcurrently(ProductionService service) throws Exception {
+        List<Future<?>> tasks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long orderId = 1; orderId <= 100; orderId++) {
+                long id = orderId;
+                tasks.add(executor.submit(() -> {
+                    service.startProduction(new OrderIntake(id, "Customer " + id));
+                    service.getOrderStatus(id);
+                    service.updateStatus(id, ProductionStatus.IN_PREPARATION);
+                    service.getActiveOrders();
+                    service.getOrderStatus(id);
+                    service.updateStatus(id, ProductionStatus.READY);
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+    }
+
+    private ProductionService productionService() {
+        IndexedOrderProductionRepository repository = new IndexedOrderProductionRepository(
+                new InMemoryOrderProductionRepository(4, Duration.ofMillis(1))
+        );
+        OrderStatusCache cache = new OrderStatusCache(1000, Duration.ofMinutes(1));
+        QueueDeltaFeed feed = new QueueDeltaFeed(new ProductionOrderMapper(), 256);
+        feed.subscribe(delta -> { });
+        ProductionEventDispatcher events = new ProductionEventDispatcher(List.of(cache, new QueueVersionTracker(10000), feed));
+
+        return ProductionServiceFixture.inMemory(repository, events).statusCache(cache).build();
+    }
+}
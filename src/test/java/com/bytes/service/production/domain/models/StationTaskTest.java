@@ -0,0 +1,45 @@
+package com.bytes.service.production.domain.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StationTaskTest {
+
+    private static final LocalDateTime TEST_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Test
+    void shouldGroupItemsByStationInOrderOfAppearance() {
+        List<StationTask> tasks = StationTask.splitByStation(1L, List.of(
+                new ProductionItem("Soda", 1, "drinks", null),
+                new ProductionItem("Burger", 1, "grill", null),
+                new ProductionItem("Juice", 1, " Drinks ", null)
+        ), TEST_TIME);
+
+        assertEquals(List.of("DRINKS", "GRILL"), tasks.stream().map(StationTask::getStation).toList());
+        assertEquals(List.of("Soda", "Juice"), tasks.get(0).getItems().stream().map(ProductionItem::getProductName).toList());
+        assertTrue(tasks.stream().allMatch(task -> task.getStatus() == StationTaskStatus.QUEUED));
+        assertTrue(tasks.stream().allMatch(task -> TEST_TIME.equals(task.getQueuedAt())));
+    }
+
+    @Test
+    void shouldSendItemsWithoutCategoryToTheDefaultStation() {
+        assertEquals(StationTask.DEFAULT_STATION, StationTask.stationOf(null));
+        assertEquals(StationTask.DEFAULT_STATION, StationTask.stationOf("  "));
+    }
+
+    @Test
+    void shouldReturnNoTasksForAnOrderWithoutItems() {
+        assertTrue(StationTask.splitByStation(1L, List.of(), TEST_TIME).isEmpty());
+    }
+
+    @Test
+    void shouldOnlyMoveForwardOneStepAtATime() {
+        assertNull(StationTaskStatus.QUEUED.predecessor());
+        assertEquals(StationTaskStatus.QUEUED, StationTaskStatus.IN_PROGRESS.predecessor());
+        assertEquals(StationTaskStatus.IN_PROGRESS, StationTaskStatus.DONE.predecessor());
+    }
+}
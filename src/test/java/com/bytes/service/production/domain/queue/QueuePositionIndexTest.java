@@ -0,0 +1,149 @@
+package com.bytes.service.production.domain.queue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueuePositionIndexTest {
+
+    private QueuePositionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new QueuePositionIndex(4);
+    }
+
+    @Test
+    void shouldAssignPositionsInArrivalOrder() {
+        assertEquals(1, index.add(10L));
+        assertEquals(2, index.add(20L));
+        assertEquals(3, index.add(30L));
+
+        assertEquals(1, index.positionOf(10L));
+        assertEquals(2, index.positionOf(20L));
+        assertEquals(3, index.positionOf(30L));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void shouldShiftFollowingPositionsWhenOrderLeaves() {
+        index.add(10L);
+        index.add(20L);
+        index.add(30L);
+
+        assertTrue(index.remove(10L));
+
+        assertNull(index.positionOf(10L));
+        assertEquals(1, index.positionOf(20L));
+        assertEquals(2, index.positionOf(30L));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void shouldReturnExistingPositionWhenAddingTwice() {
+        index.add(10L);
+        index.add(20L);
+
+        assertEquals(2, index.add(20L));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void shouldReturnFalseWhenRemovingUnknownOrder() {
+        assertFalse(index.remove(99L));
+        assertFalse(index.contains(99L));
+    }
+
+    @Test
+    void shouldKeepOrderWhenGrowingAndCompacting() {
+        List<Long> expected = new ArrayList<>();
+        for (long orderId = 1; orderId <= 1_000; orderId++) {
+            index.add(orderId);
+            expected.add(orderId);
+            if (orderId % 3 == 0) {
+                Long leaving = expected.remove(0);
+                index.remove(leaving);
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, index.positionOf(expected.get(i)));
+        }
+    }
+
+    @Test
+    void shouldClearAllPositions() {
+        index.add(10L);
+        index.add(20L);
+
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertNull(index.positionOf(10L));
+        assertEquals(1, index.add(30L));
+    }
+
+    @Test
+    void shouldReplaceContentsWithGivenOrder() {
+        index.add(10L);
+        index.add(20L);
+
+        index.replaceAll(List.of(30L, 20L, 30L, 40L, 50L, 60L));
+
+        assertEquals(5, index.size());
+        assertNull(index.positionOf(10L));
+        assertEquals(1, index.positionOf(30L));
+        assertEquals(2, index.positionOf(20L));
+        assertEquals(5, index.positionOf(60L));
+        assertEquals(6, index.add(70L));
+        assertTrue(index.remove(30L));
+        assertEquals(1, index.positionOf(20L));
+    }
+
+    @Test
+    void shouldPutOrdersInPreparationAheadOfWaitingOnes() {
+        index.add(10L);
+        index.add(20L);
+        index.add(30L);
+
+        index.setPreparing(20L, true);
+
+        assertEquals(1, index.preparingCount());
+        assertEquals(1, index.positionOf(20L));
+        assertEquals(2, index.positionOf(10L));
+        assertEquals(3, index.positionOf(30L));
+        assertEquals(4, index.add(40L));
+
+        assertTrue(index.remove(20L));
+        assertEquals(0, index.preparingCount());
+        assertEquals(1, index.positionOf(10L));
+    }
+
+    @Test
+    void shouldKeepPreparingOrdersAcrossResizeAndReplace() {
+        for (long id = 1; id <= 4; id++) {
+            index.add(id, id % 2 == 0);
+        }
+        index.remove(1L);
+        index.add(5L);
+        index.add(6L);
+
+        assertEquals(2, index.preparingCount());
+        assertEquals(1, index.positionOf(2L));
+        assertEquals(2, index.positionOf(4L));
+        assertEquals(3, index.positionOf(3L));
+
+        index.replaceAll(List.of(6L, 3L, 5L), Set.of(5L));
+
+        assertEquals(1, index.preparingCount());
+        assertEquals(1, index.positionOf(5L));
+        assertEquals(2, index.positionOf(6L));
+        assertEquals(3, index.positionOf(3L));
+    }
+}